@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Startup benchmark: time from JVM start until the login screen is interactive, per launch mode
+# Every run starts a fresh JVM with -Dquiz.startup.exit-after-login=true and reads the
+# "[Startup] JVM start -> login interactive" line logged by JavaFXApplication.
+# Requires scripts/startup-optimized.sh build and train first (see STARTUP.md).
+# Usage: scripts/startup-benchmark.sh [runs per mode, default 5]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+JAR_NAME=quiz-management-system-0.0.1-SNAPSHOT.jar
+APP_DIR=target/startup-optimized
+ARCHIVE=$APP_DIR/quiz-app.jsa
+PROFILE_ARG=--spring.profiles.active=fast-startup
+EXIT=-Dquiz.startup.exit-after-login=true
+
+# Run one mode RUNS times and print min / median / max of the logged startup time
+benchmark() {
+    local mode=$1
+    shift
+    local times=()
+    for ((i = 1; i <= RUNS; i++)); do
+        local ms
+        ms=$("$@" 2>/dev/null | sed -n 's/.*\[Startup\] JVM start -> login interactive *\([0-9]*\) ms.*/\1/p' | tail -1)
+        if [[ -z "$ms" ]]; then
+            echo "$mode: run $i did not reach the login screen" >&2
+            return 1
+        fi
+        times+=("$ms")
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    printf '%-28s min %6d ms   median %6d ms   max %6d ms   (%d runs)\n' \
+        "$mode" "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${sorted[$((RUNS - 1))]}" "$RUNS"
+}
+
+benchmark "default"               java $EXIT -jar "target/$JAR_NAME"
+benchmark "lazy init"             java $EXIT -jar "target/$JAR_NAME" "$PROFILE_ARG"
+benchmark "lazy init + AOT"       java $EXIT -Dspring.aot.enabled=true -jar "$APP_DIR/$JAR_NAME" "$PROFILE_ARG"
+benchmark "lazy init + AOT + CDS" java $EXIT -Dspring.aot.enabled=true -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto \
+    -jar "$APP_DIR/$JAR_NAME" "$PROFILE_ARG"
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Startup-optimized launch mode of the desktop client (see STARTUP.md)
+#   build  - AOT-processed jar (mvn -Pstartup-optimized), extracted so CDS can map its jars
+#   train  - training run that writes the AppCDS archive (needs the database, exits after login)
+#   run    - start the client with AOT, lazy initialization and the CDS archive
+# Usage: scripts/startup-optimized.sh build|train|run [application args]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAR_NAME=quiz-management-system-0.0.1-SNAPSHOT.jar
+APP_DIR=target/startup-optimized
+ARCHIVE=$APP_DIR/quiz-app.jsa
+PROFILE_ARG=--spring.profiles.active=fast-startup
+
+command=${1:-}
+shift || true
+
+case "$command" in
+    build)
+        sh ./mvnw -B -Pstartup-optimized -DskipTests package
+        rm -rf "$APP_DIR"
+        java -Djarmode=tools -jar "target/$JAR_NAME" extract --destination "$APP_DIR"
+        ;;
+    train)
+        # Classes loaded until the login screen is shown are dumped into the archive at exit
+        java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true \
+            -Dquiz.startup.exit-after-login=true \
+            -jar "$APP_DIR/$JAR_NAME" "$PROFILE_ARG" "$@"
+        ;;
+    run)
+        java -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -Dspring.aot.enabled=true \
+            -jar "$APP_DIR/$JAR_NAME" "$PROFILE_ARG" "$@"
+        ;;
+    *)
+        echo "Usage: $0 build|train|run [application args]" >&2
+        exit 1
+        ;;
+esac
@@ -0,0 +1,72 @@
+package com.se.quiz.quiz_management_system;
+
+import com.se.quiz.quiz_management_system.model.ColumnarExportSummary;
+import com.se.quiz.quiz_management_system.service.ColumnarExportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point for the columnar (Arrow IPC) results export
+ * Starts only the Spring context (no JavaFX, no web server) and writes
+ * results.arrow and answers.arrow into the output directory.
+ *
+ * Usage:
+ *   java --add-opens=java.base/java.nio=ALL-UNNAMED \
+ *        -Dloader.main=com.se.quiz.quiz_management_system.ColumnarExportCli \
+ *        -cp target/quiz-management-system-0.0.1-SNAPSHOT.jar \
+ *        org.springframework.boot.loader.launch.PropertiesLauncher --out exports [--quiz 12]
+ */
+public class ColumnarExportCli {
+    
+    public static void main(String[] args) throws Exception {
+        Path outputDirectory = Path.of("export");
+        Long quizId = null;
+        
+        for (int i = 0; i < args.length; i++) {
+            if ("--out".equals(args[i]) && i + 1 < args.length) {
+                outputDirectory = Path.of(args[++i]);
+            } else if ("--quiz".equals(args[i]) && i + 1 < args.length) {
+                quizId = Long.parseLong(args[++i]);
+            } else {
+                System.err.println("Usage: ColumnarExportCli [--out <directory>] [--quiz <quizId>]");
+                System.exit(2);
+            }
+        }
+        
+        Files.createDirectories(outputDirectory);
+        Path resultsFile = outputDirectory.resolve("results.arrow");
+        Path answersFile = outputDirectory.resolve("answers.arrow");
+        
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(QuizManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .headless(true)
+                .properties("spring.jpa.show-sql=false",
+                            "logging.level.org.hibernate.SQL=WARN",
+                            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                            "logging.level.org.springframework.jdbc.core=WARN")
+                .run();
+             OutputStream results = new BufferedOutputStream(Files.newOutputStream(resultsFile), 1 << 16);
+             OutputStream answers = new BufferedOutputStream(Files.newOutputStream(answersFile), 1 << 16)) {
+            
+            long start = System.nanoTime();
+            ColumnarExportSummary summary = context.getBean(ColumnarExportService.class)
+                .exportResults(quizId, results, answers);
+            results.flush();
+            answers.flush();
+            
+            System.out.println("Exported " + summary.getResultCount() + " results and "
+                + summary.getAnswerCount() + " answers in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            if (summary.getSkippedCount() > 0) {
+                System.out.println("Skipped " + summary.getSkippedCount() + " results with unknown quiz or student");
+            }
+            System.out.println("  " + resultsFile + " (" + Files.size(resultsFile) + " bytes)");
+            System.out.println("  " + answersFile + " (" + Files.size(answersFile) + " bytes)");
+        }
+    }
+}
@@ -1,51 +1,169 @@
 package com.se.quiz.quiz_management_system;
 
 import com.se.quiz.quiz_management_system.navigation.AppScreen;
+import com.se.quiz.quiz_management_system.navigation.FxPulseMonitor;
 import com.se.quiz.quiz_management_system.navigation.NavigationManager;
+import com.se.quiz.quiz_management_system.navigation.SplashScreen;
+import com.se.quiz.quiz_management_system.util.JavaFXHelper;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
 import javafx.stage.Stage;
 import org.springframework.boot.SpringApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * JavaFX Application entry point
  * Integrates JavaFX with Spring Boot
+ *
+ * Startup pipeline: the Spring context boots on a background thread (started in init())
+ * while the FX thread shows a splash and preloads the login FXML. The login screen is
+ * shown once the context is ready. Each phase is logged with a [Startup] prefix.
  */
 public class JavaFXApplication extends Application {
     
+    // -Dquiz.startup.exit-after-login=true: exit as soon as the login screen is up (see STARTUP.md)
+    private static final String EXIT_AFTER_LOGIN_PROPERTY = "quiz.startup.exit-after-login";
+    
     private static ConfigurableApplicationContext springContext;
     
+    // Completes with the Spring context once it has booted (or with the boot failure)
+    private final CompletableFuture<ConfigurableApplicationContext> contextFuture = new CompletableFuture<>();
+    
+    // Set when the application is closed while Spring is still booting
+    private volatile boolean stopping;
+    
+    private long launchNanos;
+    private SplashScreen splash;
+    
     @Override
     public void init() throws Exception {
-        // Start Spring Boot context
-        springContext = SpringApplication.run(QuizManagementSystemApplication.class);
+        launchNanos = System.nanoTime();
+        logPhase("JVM start -> init", ManagementFactory.getRuntimeMXBean().getUptime());
+    
+        // Start Spring Boot context in the background (Hibernate schema update, connection pool)
+        // Command line arguments are passed on, e.g. --spring.profiles.active=fast-startup
+        String[] args = getParameters().getRaw().toArray(new String[0]);
+        Thread bootThread = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                SpringApplication application = new SpringApplication(QuizManagementSystemApplication.class);
+                // Not deducible from this thread's stack; also locates AOT-generated initializers
+                application.setMainApplicationClass(QuizManagementSystemApplication.class);
+                ConfigurableApplicationContext context = application.run(args);
+                logPhase("Spring context ready (background)", (System.nanoTime() - start) / 1_000_000);
+                contextFuture.complete(context);
+            } catch (Throwable e) {
+                contextFuture.completeExceptionally(e);
+            }
+        }, "spring-boot");
+        bootThread.start();
     }
     
     @Override
     public void start(Stage primaryStage) throws Exception {
+        // Optional FX-thread stall detection (-Dquiz.fx.monitor=true)
+        FxPulseMonitor.install();
+        
+        // Show the splash right away
+        splash = new SplashScreen();
+        splash.setStatus("Starting services...");
+        splash.show();
+        logPhase("Splash shown", sinceLaunch());
+    
+        // Preload the login FXML after the splash has been painted
+        Platform.runLater(() -> {
+            try {
+                long preloadNanos = NavigationManager.getInstance().preload(AppScreen.LOGIN);
+                logPhase("Login FXML preloaded", preloadNanos / 1_000_000);
+            } catch (Exception e) {
+                // Not fatal: the login screen is parsed again once the context is ready
+                System.out.println("[Startup] Login preload failed: " + e.getMessage());
+            }
+            if (!contextFuture.isDone()) {
+                splash.setStatus("Connecting to database...");
+            }
+        });
+    
+        // Show the login screen as soon as Spring is ready
+        contextFuture.whenComplete((context, error) -> Platform.runLater(() -> {
+            if (stopping) {
+                return;
+            }
+            if (error != null) {
+                error.printStackTrace();
+                JavaFXHelper.showError("Startup error",
+                    "The application could not start: " + error.getMessage());
+                splash.close();
+                Platform.exit();
+                return;
+            }
+            springContext = context;
+            showLogin(primaryStage);
+        }));
+    }
+    
+    /**
+     * Open the login screen in the primary stage and close the splash
+     * @param primaryStage the primary stage
+     */
+    private void showLogin(Stage primaryStage) {
+        long start = System.nanoTime();
+    
         // Initialize NavigationManager with primary stage and Spring context
         NavigationManager.getInstance().initialize(primaryStage, springContext);
-        
+    
         // Configure primary stage - maximized (full screen)
         primaryStage.setMaximized(true);
         primaryStage.setMinWidth(1024);
         primaryStage.setMinHeight(768);
         primaryStage.setResizable(true);
-        
+    
         // Navigate to Login screen (first screen)
         NavigationManager.getInstance().navigateTo(AppScreen.LOGIN);
+        splash.close();
+    
+        logPhase("Login screen shown", (System.nanoTime() - start) / 1_000_000);
+        logPhase("Launch -> login interactive", sinceLaunch());
+        logPhase("JVM start -> login interactive", ManagementFactory.getRuntimeMXBean().getUptime());
+        
+        // CDS training and startup benchmark runs end once the login screen has been laid out
+        if (Boolean.getBoolean(EXIT_AFTER_LOGIN_PROPERTY)) {
+            Scene scene = primaryStage.getScene();
+            scene.addPostLayoutPulseListener(new Runnable() {
+                @Override
+                public void run() {
+                    // Listeners cannot be removed while the pulse iterates over them
+                    Platform.runLater(() -> {
+                        scene.removePostLayoutPulseListener(this);
+                        Platform.exit();
+                    });
+                }
+            });
+        }
     }
     
     @Override
     public void stop() throws Exception {
-        // Close Spring context when JavaFX application closes
-        if (springContext != null) {
-            springContext.close();
-        }
+        stopping = true;
+    
+        // Close Spring context when JavaFX application closes (or once it has booted)
+        contextFuture.thenAccept(ConfigurableApplicationContext::close);
+    }
+    
+    private long sinceLaunch() {
+        return (System.nanoTime() - launchNanos) / 1_000_000;
+    }
+    
+    private static void logPhase(String phase, long millis) {
+        System.out.printf("[Startup] %-34s %6d ms%n", phase, millis);
     }
     
     public static void main(String[] args) {
         launch(args);
     }
 }
-
+    
\ No newline at end of file
@@ -1,13 +1,32 @@
 package com.se.quiz.quiz_management_system;
 
+import com.se.quiz.quiz_management_system.service.AuthService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class QuizManagementSystemApplication {
 
 	public static void main(String[] args) {
+		// Build-time AOT processing (startup-optimized profile) only needs the bean definitions
+		if (Boolean.getBoolean("spring.aot.processing")) {
+			SpringApplication.run(QuizManagementSystemApplication.class, args);
+			return;
+		}
+
 		// Launch JavaFX Application which will load Login.fxml
 		JavaFXApplication.main(args);
 	}
 
+	// Keep the login path eager when spring.main.lazy-initialization is on (fast-startup profile):
+	// AuthService, its repositories and the EntityManagerFactory are created during startup
+	// so the first login does not pay for Hibernate initialization
+
+	@Bean
+	static LazyInitializationExcludeFilter loginBeansExcludeFilter() {
+		return LazyInitializationExcludeFilter.forBeanTypes(AuthService.class);
+	}
+
 }
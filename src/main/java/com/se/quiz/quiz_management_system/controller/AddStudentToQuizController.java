@@ -3,6 +3,7 @@ package com.se.quiz.quiz_management_system.controller;
 import com.se.quiz.quiz_management_system.entity.Student;
 import com.se.quiz.quiz_management_system.navigation.AppScreen;
 import com.se.quiz.quiz_management_system.navigation.NavigationManager;
+import com.se.quiz.quiz_management_system.navigation.ScreenLoader;
 import com.se.quiz.quiz_management_system.navigation.NavigationAware;
 import com.se.quiz.quiz_management_system.service.AuthService;
 import com.se.quiz.quiz_management_system.service.QuizService;
@@ -17,6 +18,8 @@ import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
 
 import java.net.URL;
 import java.util.List;
@@ -26,6 +29,8 @@ import java.util.ResourceBundle;
 // Controller for the Add Student to Quiz view
 // Allows teachers to assign students to a specific quiz
 
+@Component
+@Scope("prototype")
 public class AddStudentToQuizController implements Initializable, NavigationAware {
     
     @FXML
@@ -55,41 +60,24 @@ public class AddStudentToQuizController implements Initializable, NavigationAwar
     @FXML
     private TableColumn<StudentModel, Void> colAction;
     
-    private AuthService authService;
-    private QuizService quizService;
+    private final AuthService authService;
+    private final QuizService quizService;
     
     private ObservableList<StudentModel> assignedStudents;
     
     // Current quiz ID (passed from navigation)
     private Long currentQuizId;
     
-    // Set the AuthService instance
-    // @param authService the authentication service
-    
-    public void setAuthService(AuthService authService) {
-        this.authService = authService;
-        
-        // Update welcome text if user is logged in
-        if (authService != null && authService.getCurrentUser() != null) {
-            lblWelcome.setText("Xin chào, " + authService.getCurrentUser().getUsername());
-        } else {
-            String username = SessionManager.getCurrentUsername();
-            if (username != null) {
-                lblWelcome.setText("Xin chào, " + username);
-            }
-        }
-    }
+    // Loads the assigned students off the FX thread
+    private final ScreenLoader screenLoader = new ScreenLoader("AddStudentToQuiz");
     
-    // Set the QuizService instance (injected from Spring context)
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
     // @param quizService the quiz service
     
-    public void setQuizService(QuizService quizService) {
+    public AddStudentToQuizController(AuthService authService, QuizService quizService) {
+        this.authService = authService;
         this.quizService = quizService;
-        
-        // Reload assigned students when service is injected
-        if (currentQuizId != null && tblAssignedStudents != null) {
-            loadAssignedStudents();
-        }
     }
     
     // Called when navigating to this screen
@@ -108,13 +96,16 @@ public class AddStudentToQuizController implements Initializable, NavigationAwar
                 }
             }
             
-            // Load assigned students if service is ready
-            if (quizService != null) {
-                loadAssignedStudents();
-            }
+            // Load assigned students
+            loadAssignedStudents();
         }
     }
     
+    @Override
+    public void onNavigatedFrom() {
+        screenLoader.cancel();
+    }
+    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Set up welcome text
@@ -171,42 +162,41 @@ public class AddStudentToQuizController implements Initializable, NavigationAwar
     // Load assigned students from database
     
     private void loadAssignedStudents() {
-        try {
-            // Check if QuizService and quizId are available
-            if (quizService == null || currentQuizId == null) {
-                System.out.println("QuizService or quizId not available, using empty data");
-                assignedStudents = FXCollections.observableArrayList();
-                tblAssignedStudents.setItems(assignedStudents);
-                return;
-            }
-            
-            // Fetch assigned students from database
-            List<Student> students = quizService.getStudentsForQuiz(currentQuizId);
-            
-            // Convert to StudentModel
-            ObservableList<StudentModel> modelList = FXCollections.observableArrayList();
-            for (Student student : students) {
-                modelList.add(new StudentModel(
-                    student.getStudentId(),
-                    student.getUsername()
-                ));
-            }
-            
-            // Set data to table
-            assignedStudents = modelList;
-            tblAssignedStudents.setItems(assignedStudents);
-            
-            System.out.println("Loaded " + students.size() + " assigned students for quiz ID " + currentQuizId);
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            JavaFXHelper.showError("Data Load Error", 
-                "Failed to load assigned students: " + e.getMessage());
-            
-            // Set empty list on error
-            assignedStudents = FXCollections.observableArrayList();
-            tblAssignedStudents.setItems(assignedStudents);
+        if (currentQuizId == null) {
+            screenLoader.cancel();
+            System.out.println("Quiz ID not available, using empty data");
+            assignedStudents.clear();
+            return;
         }
+        
+        tblAssignedStudents.setPlaceholder(JavaFXHelper.loadingPlaceholder("Loading assigned students..."));
+        final Long quizId = currentQuizId;
+        
+        screenLoader.load(
+            () -> {
+                // Fetch assigned students from database and convert to StudentModel
+                List<Student> students = quizService.getStudentsForQuiz(quizId);
+                ObservableList<StudentModel> modelList = FXCollections.observableArrayList();
+                for (Student student : students) {
+                    modelList.add(new StudentModel(
+                        student.getStudentId(),
+                        student.getUsername()
+                    ));
+                }
+                return modelList;
+            },
+            modelList -> {
+                tblAssignedStudents.setPlaceholder(new Label("No students assigned yet"));
+                assignedStudents = modelList;
+                tblAssignedStudents.setItems(assignedStudents);
+                System.out.println("Loaded " + modelList.size() + " assigned students for quiz ID " + quizId);
+            },
+            error -> {
+                error.printStackTrace();
+                tblAssignedStudents.setPlaceholder(new Label("Failed to load assigned students"));
+                JavaFXHelper.showError("Data Load Error", 
+                    "Failed to load assigned students: " + error.getMessage());
+            });
     }
     
     // Handle Add Student button click
@@ -4,20 +4,25 @@ import com.se.quiz.quiz_management_system.entity.Quiz;
 import com.se.quiz.quiz_management_system.model.Role;
 import com.se.quiz.quiz_management_system.model.UserSession;
 import com.se.quiz.quiz_management_system.navigation.AppScreen;
+import com.se.quiz.quiz_management_system.navigation.NavigationAware;
 import com.se.quiz.quiz_management_system.navigation.NavigationManager;
+import com.se.quiz.quiz_management_system.navigation.ScreenLoader;
 import com.se.quiz.quiz_management_system.service.AuthService;
 import com.se.quiz.quiz_management_system.service.QuizService;
 import com.se.quiz.quiz_management_system.service.ResultService;
 import com.se.quiz.quiz_management_system.session.SessionManager;
 import com.se.quiz.quiz_management_system.util.JavaFXHelper;
+import com.se.quiz.quiz_management_system.util.VirtualCardGrid;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
-import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
 
 import java.net.URL;
 import java.util.*;
@@ -26,10 +31,12 @@ import java.util.*;
 // Controller for the Available Quizzes view (Student)
 // Displays available quizzes in a card-based layout
 
-public class AvailableQuizzesController implements Initializable {
+@Component
+@Scope("prototype")
+public class AvailableQuizzesController implements Initializable, NavigationAware {
     
     @FXML
-    private VBox quizContainer;
+    private VirtualCardGrid<QuizData> quizGrid;
     
     @FXML
     private Button btnBack;
@@ -37,41 +44,23 @@ public class AvailableQuizzesController implements Initializable {
     @FXML
     private Button btnLogout;
     
-    private AuthService authService;
-    private QuizService quizService;
-    private ResultService resultService;
+    private final AuthService authService;
+    private final QuizService quizService;
+    private final ResultService resultService;
+    
+    // Loads assigned quizzes and completion status off the FX thread
+    private final ScreenLoader screenLoader = new ScreenLoader("AvailableQuizzes");
     
 
-    // Set the AuthService instance
-    // @param authService the AuthService instance
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
+    // @param quizService the quiz service
+    // @param resultService the result service
     
-    public void setAuthService(AuthService authService) {
+    public AvailableQuizzesController(AuthService authService, QuizService quizService, ResultService resultService) {
         this.authService = authService;
-    }
-    
-    /**
-     * Set the QuizService instance (injected from Spring context)
-     * @param quizService the quiz service
-     */
-    public void setQuizService(QuizService quizService) {
         this.quizService = quizService;
-        
-        // Reload quizzes when service is injected
-        if (quizContainer != null) {
-            loadQuizzes();
-        }
-    }
-    
-    // Set the ResultService instance (injected from Spring context)
-    //@param resultService the result service
-    
-    public void setResultService(ResultService resultService) {
         this.resultService = resultService;
-        
-        // Reload quizzes to check completion status
-        if (quizContainer != null) {
-            loadQuizzes();
-        }
     }
     
 
@@ -81,12 +70,14 @@ public class AvailableQuizzesController implements Initializable {
         private final String subject;
         private final String duration;
         private final String points;
+        private final boolean completed;
         
-        public QuizData(Long quizId, String subject, String duration, String points) {
+        public QuizData(Long quizId, String subject, String duration, String points, boolean completed) {
             this.quizId = quizId;
             this.subject = subject;
             this.duration = duration;
             this.points = points;
+            this.completed = completed;
         }
         
         public Long getQuizId() {
@@ -104,64 +95,86 @@ public class AvailableQuizzesController implements Initializable {
         public String getPoints() {
             return points;
         }
+        
+        public boolean isCompleted() {
+            return completed;
+        }
     }
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        // Quiz cards are built lazily, only for the quizzes that are on screen
+        quizGrid.setCardFactory(QuizCard::new);
+        
+        // Quizzes are loaded in the background by onNavigatedTo
+    }
+    
+    // Load assigned quizzes every time the screen is opened (also when reused from cache)
+    
+    @Override
+    public void onNavigatedTo(Map<String, Object> data) {
         loadQuizzes();
     }
     
+    @Override
+    public void onNavigatedFrom() {
+        screenLoader.cancel();
+    }
+    
     // Load quizzes assigned to the logged-in student
     // CRITICAL: Uses JOIN query to fetch only assigned quizzes
+    // Queries run in the background while skeleton cards are shown
     
     private void loadQuizzes() {
-        try {
-            // Clear existing children
-            quizContainer.getChildren().clear();
-            
-            // Check if services are available
-            if (quizService == null) {
-                System.out.println("QuizService not yet injected, showing empty list");
-                addEmptyStateMessage();
-                return;
-            }
-            
-            // Get current student ID
-            Long studentId = getCurrentStudentId();
-            if (studentId == null) {
-                System.out.println("Student ID not found, showing empty list");
-                addEmptyStateMessage();
-                return;
-            }
-            
-            // CRITICAL: Fetch quizzes assigned to this student via JOIN query
-            // SQL: SELECT q.* FROM quiz q JOIN student_quiz sq ON q.quiz_id = sq.quiz_id WHERE sq.student_id = ?
-            List<Quiz> quizzes = quizService.getQuizzesForStudent(studentId);
-            
-            if (quizzes.isEmpty()) {
-                addEmptyStateMessage();
-                System.out.println("No quizzes assigned to student ID " + studentId);
-            } else {
-                // Create a quiz card for each quiz
+        quizGrid.showSkeletons(3);
+        
+        // Get current student ID
+        Long studentId = getCurrentStudentId();
+        if (studentId == null) {
+            screenLoader.cancel();
+            System.out.println("Student ID not found, showing empty list");
+            addEmptyStateMessage();
+            return;
+        }
+        
+        screenLoader.load(
+            () -> {
+                // CRITICAL: Fetch quizzes assigned to this student via JOIN query
+                // SQL: SELECT q.* FROM quiz q JOIN student_quiz sq ON q.quiz_id = sq.quiz_id WHERE sq.student_id = ?
+                List<Quiz> quizzes = quizService.getQuizzesForStudent(studentId);
+                
+                List<QuizData> quizDataList = new ArrayList<>(quizzes.size());
                 for (Quiz quiz : quizzes) {
-                    QuizData quizData = new QuizData(
+                    // CRITICAL: CHECK IF STUDENT HAS COMPLETED THIS QUIZ
+                    boolean completed = quiz.getQuizId() != null
+                        && resultService.hasStudentCompletedQuiz(studentId, quiz.getQuizId());
+                    quizDataList.add(new QuizData(
                         quiz.getQuizId(),
                         quiz.getQuizName(),
                         (quiz.getTimeLimit() != null ? quiz.getTimeLimit() + " minutes" : "No time limit"),
-                        (quiz.getNumberOfQuestion() != null ? quiz.getNumberOfQuestion() + " questions" : "")
-                    );
-                    HBox quizCard = createQuizCard(quizData);
-                    quizContainer.getChildren().add(quizCard);
+                        (quiz.getQuestionsPerAttempt() != null ? quiz.getQuestionsPerAttempt() + " questions" : ""),
+                        completed
+                    ));
                 }
-                System.out.println("Loaded " + quizzes.size() + " quizzes for student ID " + studentId);
-            }
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            JavaFXHelper.showError("Data Load Error", 
-                "Failed to load quizzes: " + e.getMessage());
-            addEmptyStateMessage();
-        }
+                return quizDataList;
+            },
+            quizDataList -> {
+                if (quizDataList.isEmpty()) {
+                    addEmptyStateMessage();
+                    System.out.println("No quizzes assigned to student ID " + studentId);
+                    return;
+                }
+                
+                // The grid only creates cards for the quizzes that are visible
+                quizGrid.setItems(quizDataList);
+                System.out.println("Loaded " + quizDataList.size() + " quizzes for student ID " + studentId);
+            },
+            error -> {
+                error.printStackTrace();
+                JavaFXHelper.showError("Data Load Error", 
+                    "Failed to load quizzes: " + error.getMessage());
+                addEmptyStateMessage();
+            });
     }
     
     // Get current student ID from AuthService or SessionManager
@@ -197,96 +210,75 @@ public class AvailableQuizzesController implements Initializable {
     
     private void addEmptyStateMessage() {
         Label emptyLabel = new Label("No quizzes assigned yet.\nPlease contact your teacher.");
-        emptyLabel.setStyle(
-            "-fx-font-size: 16px; " +
-            "-fx-text-fill: #757575; " +
-            "-fx-padding: 40px; " +
-            "-fx-text-alignment: center;"
-        );
+        emptyLabel.getStyleClass().add("quiz-list-empty");
         VBox emptyBox = new VBox(emptyLabel);
         emptyBox.setAlignment(Pos.CENTER);
-        quizContainer.getChildren().add(emptyBox);
+        quizGrid.showPlaceholder(emptyBox);
     }
     
-    // Create a quiz card UI component
-    // @param quiz the quiz data
-    // @return HBox representing the quiz card
-
-    private HBox createQuizCard(QuizData quiz) {
-        // Main card container
-        HBox card = new HBox();
-        card.getStyleClass().add("quiz-card");
-        card.setAlignment(Pos.CENTER_LEFT);
-        card.setSpacing(20);
-        
-        // Left section: Quiz information
-        VBox infoSection = new VBox();
-        infoSection.setAlignment(Pos.CENTER_LEFT);
-        infoSection.setSpacing(8);
-        infoSection.setPrefWidth(600);
-        
-        // Subject label
-        Label subjectLabel = new Label(quiz.getSubject());
-        subjectLabel.getStyleClass().add("quiz-subject");
-        
-        // Info labels container
-        HBox infoContainer = new HBox();
-        infoContainer.setSpacing(30);
-        infoContainer.setAlignment(Pos.CENTER_LEFT);
-        
-        // Duration label
-        Label durationLabel = new Label("⏱ " + quiz.getDuration());
-        durationLabel.getStyleClass().add("quiz-info");
-        
-        // Points label
-        Label pointsLabel = new Label("⭐ " + quiz.getPoints());
-        pointsLabel.getStyleClass().add("quiz-info");
-        
-        infoContainer.getChildren().addAll(durationLabel, pointsLabel);
-        infoSection.getChildren().addAll(subjectLabel, infoContainer);
-        
-        // Right section: Join Now button
-        Button joinButton = new Button("Join Now");
-        joinButton.getStyleClass().add("join-button");
+    // QuizCard - Quiz card (HBox) reused by the grid for whichever quiz scrolls into view
+    
+    private class QuizCard implements VirtualCardGrid.Card<QuizData> {
+        private final HBox card = new HBox();
+        private final Label subjectLabel = new Label();
+        private final Label durationLabel = new Label();
+        private final Label pointsLabel = new Label();
+        private final Button joinButton = new Button();
         
-        // ═══════════════════════════════════════════════════════════
-        // CRITICAL: CHECK IF STUDENT HAS COMPLETED THIS QUIZ
-        // ═══════════════════════════════════════════════════════════
-        boolean hasCompleted = false;
-        if (resultService != null) {
-            Long studentId = getCurrentStudentId();
-            if (studentId != null && quiz.getQuizId() != null) {
-                hasCompleted = resultService.hasStudentCompletedQuiz(studentId, quiz.getQuizId());
-            }
+        QuizCard() {
+            card.getStyleClass().add("quiz-card");
+            card.setAlignment(Pos.CENTER_LEFT);
+            card.setSpacing(20);
+            
+            // Left section: Quiz information
+            VBox infoSection = new VBox();
+            infoSection.setAlignment(Pos.CENTER_LEFT);
+            infoSection.setSpacing(8);
+            infoSection.setPrefWidth(600);
+            
+            subjectLabel.getStyleClass().add("quiz-subject");
+            
+            // Info labels container (duration, points)
+            HBox infoContainer = new HBox();
+            infoContainer.setSpacing(30);
+            infoContainer.setAlignment(Pos.CENTER_LEFT);
+            durationLabel.getStyleClass().add("quiz-info");
+            pointsLabel.getStyleClass().add("quiz-info");
+            infoContainer.getChildren().addAll(durationLabel, pointsLabel);
+            infoSection.getChildren().addAll(subjectLabel, infoContainer);
+            
+            // Right section: Join Now button
+            joinButton.getStyleClass().add("join-button");
+            
+            card.getChildren().addAll(infoSection, joinButton);
         }
         
-        if (hasCompleted) {
-            // Student has already completed this quiz
-            joinButton.setText("✓ Completed");
-            joinButton.setDisable(true);
-            joinButton.setStyle(
-                "-fx-background-color: #9E9E9E; " +
-                "-fx-text-fill: white; " +
-                "-fx-font-size: 14px; " +
-                "-fx-font-weight: 600; " +
-                "-fx-padding: 12 30 12 30; " +
-                "-fx-background-radius: 25px; " +
-                "-fx-cursor: default; " +
-                "-fx-opacity: 0.7;"
-            );
-            System.out.println("Quiz " + quiz.getQuizId() + " already completed by student");
-        } else {
-            // Student hasn't completed this quiz yet - allow start
-            joinButton.setOnAction(e -> handleJoinQuiz(quiz));
+        @Override
+        public Node getNode() {
+            return card;
         }
         
-        // Add sections to card
-        card.getChildren().addAll(infoSection, joinButton);
-        
-        // Add vertical spacing between cards inside VBox container
-        VBox.setMargin(card, new Insets(6, 0, 6, 0));
-        
-        return card;
+        @Override
+        public void update(QuizData quiz) {
+            subjectLabel.setText(quiz.getSubject());
+            durationLabel.setText("⏱ " + quiz.getDuration());
+            pointsLabel.setText("⭐ " + quiz.getPoints());
+            
+            // Completion status was checked in the background together with the quiz list
+            joinButton.getStyleClass().remove("join-button-completed");
+            if (quiz.isCompleted()) {
+                // Student has already completed this quiz
+                joinButton.setText("✓ Completed");
+                joinButton.setDisable(true);
+                joinButton.getStyleClass().add("join-button-completed");
+                joinButton.setOnAction(null);
+            } else {
+                // Student hasn't completed this quiz yet - allow start
+                joinButton.setText("Join Now");
+                joinButton.setDisable(false);
+                joinButton.setOnAction(e -> handleJoinQuiz(quiz));
+            }
+        }
     }
     
     // Handle Join Now button click
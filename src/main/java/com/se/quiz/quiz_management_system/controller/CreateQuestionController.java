@@ -2,6 +2,7 @@ package com.se.quiz.quiz_management_system.controller;
 
 import com.se.quiz.quiz_management_system.entity.Question;
 import com.se.quiz.quiz_management_system.entity.Quiz;
+import com.se.quiz.quiz_management_system.model.StratifyBy;
 import com.se.quiz.quiz_management_system.navigation.AppScreen;
 import com.se.quiz.quiz_management_system.navigation.NavigationManager;
 import com.se.quiz.quiz_management_system.service.AuthService;
@@ -10,6 +11,8 @@ import com.se.quiz.quiz_management_system.util.JavaFXHelper;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
 
 import java.net.URL;
 import java.util.ArrayList;
@@ -19,6 +22,8 @@ import java.util.ResourceBundle;
 // Controller for the Create Question view
 // Allows teachers to create new questions and quizzes
 
+@Component
+@Scope("prototype")
 public class CreateQuestionController implements Initializable {
     
     @FXML
@@ -30,9 +35,21 @@ public class CreateQuestionController implements Initializable {
     @FXML
     private TextField txtTimeLimit;
     
+    @FXML
+    private TextField txtDrawCount;
+    
+    @FXML
+    private ComboBox<StratifyBy> cmbStratifyBy;
+    
     @FXML
     private TextArea txtQuestionContent;
     
+    @FXML
+    private TextField txtTag;
+    
+    @FXML
+    private TextField txtDifficulty;
+    
     @FXML
     private RadioButton rbOptionA;
     
@@ -75,33 +92,28 @@ public class CreateQuestionController implements Initializable {
     @FXML
     private Label lblQuestionCount;
     
-    private AuthService authService;
-    private QuizService quizService;
+    private final AuthService authService;
+    private final QuizService quizService;
     
     // Temporary storage for questions added to the quiz
     private List<QuestionData> questionsList = new ArrayList<>();
     
-    // Set the AuthService instance
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
     // @param authService the authentication service
-    
-    public void setAuthService(AuthService authService) {
-        this.authService = authService;
-        
-        // Update welcome text if user is logged in
-        if (authService != null && authService.getCurrentUser() != null) {
-            lblWelcome.setText("Welcome, " + authService.getCurrentUser().getUsername());
-        }
-    }
-    
-    // Set the QuizService instance (injected from Spring context)
     // @param quizService the quiz service
     
-    public void setQuizService(QuizService quizService) {
+    public CreateQuestionController(AuthService authService, QuizService quizService) {
+        this.authService = authService;
         this.quizService = quizService;
     }
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        // Set welcome text if user is logged in
+        if (authService.getCurrentUser() != null) {
+            lblWelcome.setText("Welcome, " + authService.getCurrentUser().getUsername());
+        }
+        
         // ToggleGroup is already defined in FXML, but ensure it's set
         if (answerGroup == null) {
             answerGroup = new ToggleGroup();
@@ -117,6 +129,22 @@ public class CreateQuestionController implements Initializable {
                 txtTimeLimit.setText(newValue.replaceAll("[^\\d]", ""));
             }
         });
+        
+        // Restrict pool draw count and difficulty fields to numbers only
+        txtDrawCount.textProperty().addListener((observable, oldValue, newValue) -> {
+            if (!newValue.matches("\\d*")) {
+                txtDrawCount.setText(newValue.replaceAll("[^\\d]", ""));
+            }
+        });
+        txtDifficulty.textProperty().addListener((observable, oldValue, newValue) -> {
+            if (!newValue.matches("\\d*")) {
+                txtDifficulty.setText(newValue.replaceAll("[^\\d]", ""));
+            }
+        });
+        
+        // Stratification options for "draw N from pool" quizzes
+        cmbStratifyBy.getItems().setAll(StratifyBy.values());
+        cmbStratifyBy.setValue(StratifyBy.NONE);
     }
     
     // Handle Add Question button click
@@ -187,11 +215,25 @@ public class CreateQuestionController implements Initializable {
             correctAnswer = "D";
         }
         
+        // Optional tag / difficulty (used as strata for pool draws)
+        String tag = txtTag.getText().trim();
+        Integer difficulty = null;
+        String difficultyStr = txtDifficulty.getText().trim();
+        if (!difficultyStr.isEmpty()) {
+            difficulty = Integer.parseInt(difficultyStr);
+            if (difficulty < 1 || difficulty > 5) {
+                JavaFXHelper.showError("Validation Error", "Difficulty must be between 1 and 5");
+                return;
+            }
+        }
+        
         // Create question data object and add to list
         QuestionData questionData = new QuestionData(
             quizName, timeLimit, questionContent,
             optionA, optionB, optionC, optionD, correctAnswer
         );
+        questionData.tag = tag.isEmpty() ? null : tag;
+        questionData.difficulty = difficulty;
         questionsList.add(questionData);
         
         // Update question count display
@@ -237,11 +279,26 @@ public class CreateQuestionController implements Initializable {
                     qData.optionD,
                     qData.correctAnswer
                 );
+                question.setTag(qData.tag);
+                question.setDifficulty(qData.difficulty);
                 questions.add(question);
             }
             
+            // Optional "draw N from pool" settings
+            Integer drawCount = null;
+            String drawCountStr = txtDrawCount.getText().trim();
+            if (!drawCountStr.isEmpty()) {
+                drawCount = Integer.parseInt(drawCountStr);
+                if (drawCount <= 0 || drawCount > questions.size()) {
+                    JavaFXHelper.showError("Validation Error",
+                        "Questions per attempt must be between 1 and " + questions.size());
+                    return;
+                }
+            }
+            StratifyBy stratifyBy = cmbStratifyBy.getValue() != null ? cmbStratifyBy.getValue() : StratifyBy.NONE;
+            
             // Save quiz with all questions in a single transaction
-            Quiz savedQuiz = quizService.createQuizWithQuestions(quizName, timeLimit, questions);
+            Quiz savedQuiz = quizService.createQuizWithQuestions(quizName, timeLimit, questions, drawCount, stratifyBy);
             
             // Show success message
             JavaFXHelper.showInfo("Success", 
@@ -277,6 +334,8 @@ public class CreateQuestionController implements Initializable {
     
     private void clearQuestionFields() {
         txtQuestionContent.clear();
+        txtTag.clear();
+        txtDifficulty.clear();
         txtOptionA.clear();
         txtOptionB.clear();
         txtOptionC.clear();
@@ -289,6 +348,8 @@ public class CreateQuestionController implements Initializable {
     private void clearAllFields() {
         txtQuizName.clear();
         txtTimeLimit.clear();
+        txtDrawCount.clear();
+        cmbStratifyBy.setValue(StratifyBy.NONE);
         clearQuestionFields();
     }
     
@@ -326,6 +387,8 @@ public class CreateQuestionController implements Initializable {
         String optionC;
         String optionD;
         String correctAnswer;
+        String tag;
+        Integer difficulty;
         
         QuestionData(String quizName, int timeLimit, String questionContent,
                      String optionA, String optionB, String optionC, String optionD,
@@ -12,12 +12,16 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
 
 import java.net.URL;
 import java.util.ResourceBundle;
 
 // Controller for the Login view
 
+@Component
+@Scope("prototype")
 public class LoginController implements Initializable {
     
     @FXML
@@ -29,12 +33,12 @@ public class LoginController implements Initializable {
     @FXML
     private Button btnLogin;
     
-    private AuthService authService;
+    private final AuthService authService;
     
-    // Set the AuthService instance (injected from Spring context)
-    // @param authService the AuthService instance
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
     
-    public void setAuthService(AuthService authService) {
+    public LoginController(AuthService authService) {
         this.authService = authService;
     }
     
@@ -1,33 +1,47 @@
 package com.se.quiz.quiz_management_system.controller;
 
-import com.se.quiz.quiz_management_system.entity.Quiz;
+import com.se.quiz.quiz_management_system.model.QuizListItem;
 import com.se.quiz.quiz_management_system.navigation.AppScreen;
+import com.se.quiz.quiz_management_system.navigation.NavigationAware;
 import com.se.quiz.quiz_management_system.navigation.NavigationManager;
+import com.se.quiz.quiz_management_system.navigation.ScreenLoader;
 import com.se.quiz.quiz_management_system.service.AuthService;
 import com.se.quiz.quiz_management_system.service.QuizService;
 import com.se.quiz.quiz_management_system.session.SessionManager;
 import com.se.quiz.quiz_management_system.util.JavaFXHelper;
+import javafx.animation.PauseTransition;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Duration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 
 // Controller for the Quiz List view (Teacher)
-// Displays quizzes in a TableView with action buttons
+// Displays quizzes in a TableView with action buttons and a type-ahead name search
+// Quizzes are loaded page by page (more pages while scrolling); typing narrows the loaded
+// rows at once and queries the server once typing pauses
 
-public class QuizListController implements Initializable {
+@Component
+@Scope("prototype")
+public class QuizListController implements Initializable, NavigationAware {
     
     @FXML
     private Label lblWelcome;
@@ -47,38 +61,45 @@ public class QuizListController implements Initializable {
     @FXML
     private TableColumn<QuizModel, Void> colAction;
     
-    private AuthService authService;
-    private QuizService quizService;
+    @FXML
+    private TextField txtSearch;
     
-    private ObservableList<QuizModel> quizData;
+    @FXML
+    private Label lblSearchStatus;
     
-    // Set the AuthService instance
-    // @param authService the authentication service
+    // Rows fetched per query
+    private static final int QUIZ_PAGE_SIZE = 200;
     
-    public void setAuthService(AuthService authService) {
-        this.authService = authService;
-        
-        // Update welcome text if user is logged in
-        if (authService != null && authService.getCurrentUser() != null) {
-            lblWelcome.setText("Hello, " + authService.getCurrentUser().getUsername());
-        } else {
-            String username = SessionManager.getCurrentUsername();
-            if (username != null) {
-                lblWelcome.setText("Hello, " + username);
-            }
-        }
-    }
+    // Start loading the next page when a row this close to the end is shown
+    private static final int PREFETCH_ROWS = 50;
     
-    // Set the QuizService instance (injected from Spring context)
+    // Pause in typing before the server is queried
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(250);
+    
+    private final AuthService authService;
+    private final QuizService quizService;
+    
+    // Loaded pages -> narrowed by the search box -> sorted by the table's sort order
+    private final ObservableList<QuizModel> quizData = FXCollections.observableArrayList();
+    private final FilteredList<QuizModel> filteredQuizzes = new FilteredList<>(quizData);
+    
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    
+    // Search term of the loaded pages and the next page to fetch for it
+    private String loadedTerm = "";
+    private int nextPage;
+    private boolean hasMorePages;
+    
+    // Loads the quiz table off the FX thread
+    private final ScreenLoader screenLoader = new ScreenLoader("QuizList");
+    
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
     // @param quizService the quiz service
     
-    public void setQuizService(QuizService quizService) {
+    public QuizListController(AuthService authService, QuizService quizService) {
+        this.authService = authService;
         this.quizService = quizService;
-        
-        // Reload data when service is injected (after initialization)
-        if (tblQuizzes != null) {
-            loadQuizData();
-        }
     }
     
     @Override
@@ -94,8 +115,44 @@ public class QuizListController implements Initializable {
         // Set up table columns
         setupTableColumns();
         
-        // Load quiz data
-        loadQuizData();
+        // Loaded rows are narrowed by the search box and sorted by the clicked column
+        SortedList<QuizModel> sortedQuizzes = new SortedList<>(filteredQuizzes);
+        sortedQuizzes.comparatorProperty().bind(tblQuizzes.comparatorProperty());
+        tblQuizzes.setItems(sortedQuizzes);
+        
+        // Fetch the next page when a row near the end of the loaded ones is shown
+        // (not while the search box holds a term whose server query has not run yet: the
+        // table then shows a locally narrowed list and every row would look like the end)
+        tblQuizzes.setRowFactory(table -> new TableRow<>() {
+            @Override
+            protected void updateItem(QuizModel quiz, boolean empty) {
+                super.updateItem(quiz, empty);
+                if (!empty && getIndex() >= quizData.size() - PREFETCH_ROWS
+                        && txtSearch.getText().trim().equals(loadedTerm)) {
+                    loadNextQuizPage();
+                }
+            }
+        });
+        
+        setupSearch();
+        
+        // Quiz data is loaded in the background by onNavigatedTo
+    }
+    
+    // Type-ahead search: narrow the loaded rows on every key, query the server after a pause
+    
+    private void setupSearch() {
+        txtSearch.textProperty().addListener((obs, oldText, newText) -> {
+            String term = newText.trim();
+            filteredQuizzes.setPredicate(quiz -> QuizService.matchesSearchTerm(quiz.getName(), term));
+            searchDebounce.playFromStart();
+        });
+        searchDebounce.setOnFinished(event -> {
+            String term = txtSearch.getText().trim();
+            if (!term.equals(loadedTerm)) {
+                loadQuizPage(term, 0);
+            }
+        });
     }
     
     // Set up table columns with cell value factories and custom cell factories
@@ -133,52 +190,82 @@ public class QuizListController implements Initializable {
         });
     }
     
-    // Load quiz data from database into the table
+    // Load the quiz table every time the screen is opened (also when reused from cache)
+    
+    @Override
+    public void onNavigatedTo(Map<String, Object> data) {
+        loadQuizData();
+    }
+    
+    @Override
+    public void onNavigatedFrom() {
+        searchDebounce.stop();
+        screenLoader.cancel();
+    }
+    
+    // Load the first page for the current search term (queries run in the background)
     
     private void loadQuizData() {
-        try {
-            // Check if QuizService is available
-            if (quizService == null) {
-                System.out.println("QuizService not yet injected, using empty data");
-                quizData = FXCollections.observableArrayList();
-                tblQuizzes.setItems(quizData);
-                return;
-            }
-            
-            // Fetch all quizzes from database
-            List<Quiz> quizzes = quizService.getAllQuizzes();
-            
-            // Convert Quiz entities to QuizModel for TableView
-            ObservableList<QuizModel> modelList = FXCollections.observableArrayList();
-            for (Quiz quiz : quizzes) {
-                modelList.add(new QuizModel(
-                    quiz.getQuizId(),
-                    quiz.getQuizName(),
-                    quiz.getTimeLimit() != null ? quiz.getTimeLimit() : 0,
-                    quiz.getNumberOfQuestion() != null ? quiz.getNumberOfQuestion() : 0
-                ));
-            }
-            
-            // Set data to table
-            quizData = modelList;
-            tblQuizzes.setItems(quizData);
-            
-            // Force table refresh
-            tblQuizzes.refresh();
-            
-            System.out.println("Loaded " + quizzes.size() + " quizzes from database");
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            JavaFXHelper.showError("Data Load Error", 
-                "Failed to load quizzes from database: " + e.getMessage());
-            
-            // Set empty list on error
-            quizData = FXCollections.observableArrayList();
-            tblQuizzes.setItems(quizData);
+        searchDebounce.stop();
+        quizData.clear();
+        tblQuizzes.setPlaceholder(JavaFXHelper.loadingPlaceholder("Loading quizzes..."));
+        lblSearchStatus.setText("");
+        loadQuizPage(txtSearch.getText().trim(), 0);
+    }
+    
+    // Load the next page of the current search while the user scrolls
+    
+    private void loadNextQuizPage() {
+        if (hasMorePages && !screenLoader.isLoading()) {
+            loadQuizPage(loadedTerm, nextPage);
         }
     }
     
+    // Fetch one page of quizzes matching a term; a new search supersedes (cancels) the load
+    // in flight, and the loaded rows stay visible until the first page of the new term arrives
+    // @param term the search term (blank for all quizzes)
+    // @param page 0-based page index
+    
+    private void loadQuizPage(String term, int page) {
+        hasMorePages = false;
+        screenLoader.load(
+            () -> {
+                // Fetch one page of list rows and convert them to QuizModel for TableView
+                Slice<QuizListItem> slice = quizService.searchQuizListPage(term, page, QUIZ_PAGE_SIZE);
+                List<QuizModel> models = new ArrayList<>(slice.getNumberOfElements());
+                for (QuizListItem quiz : slice) {
+                    models.add(new QuizModel(
+                        quiz.getQuizId(),
+                        quiz.getQuizName(),
+                        quiz.getTimeLimit() != null ? quiz.getTimeLimit() : 0,
+                        quiz.getNumberOfQuestion() != null ? quiz.getNumberOfQuestion() : 0
+                    ));
+                }
+                return new LoadedPage(models, slice.hasNext());
+            },
+            loaded -> {
+                if (page == 0) {
+                    quizData.setAll(loaded.quizzes);
+                } else {
+                    quizData.addAll(loaded.quizzes);
+                }
+                loadedTerm = term;
+                nextPage = page + 1;
+                hasMorePages = loaded.hasMore;
+                
+                tblQuizzes.setPlaceholder(new Label(term.isEmpty() ? "No quizzes yet" : "No quizzes match \"" + term + "\""));
+                lblSearchStatus.setText(quizData.size() + (hasMorePages ? "+ quizzes (scroll for more)" : " quizzes"));
+                System.out.println("Loaded quiz page " + page + " (" + loaded.quizzes.size() + " rows"
+                    + (term.isEmpty() ? "" : ", search \"" + term + "\"") + ")");
+            },
+            error -> {
+                error.printStackTrace();
+                tblQuizzes.setPlaceholder(new Label("Failed to load quizzes"));
+                JavaFXHelper.showError("Data Load Error", 
+                    "Failed to load quizzes from database: " + error.getMessage());
+            });
+    }
+    
     // Handle Assign to Students button click
     // @param quiz the selected quiz
     
@@ -216,6 +303,18 @@ public class QuizListController implements Initializable {
         NavigationManager.getInstance().navigateToLogin();
     }
     
+    // One page of quiz rows loaded in the background
+    
+    private static class LoadedPage {
+        private final List<QuizModel> quizzes;
+        private final boolean hasMore;
+        
+        LoadedPage(List<QuizModel> quizzes, boolean hasMore) {
+            this.quizzes = quizzes;
+            this.hasMore = hasMore;
+        }
+    }
+    
     // QuizModel class - represents a quiz in the table
     // Wrapper class for Quiz entity with JavaFX properties
     
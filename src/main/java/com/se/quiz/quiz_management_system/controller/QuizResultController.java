@@ -7,6 +7,8 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
 
 import java.net.URL;
 import java.util.Map;
@@ -15,6 +17,8 @@ import java.util.ResourceBundle;
 // Controller for the Quiz Result view
 // Displays the quiz results with score, subject, and completion time
 
+@Component
+@Scope("prototype")
 public class QuizResultController implements Initializable, NavigationAware {
     
     @FXML
@@ -1,33 +1,63 @@
 package com.se.quiz.quiz_management_system.controller;
 
-import com.se.quiz.quiz_management_system.entity.Quiz;
+import com.se.quiz.quiz_management_system.entity.Student;
+import com.se.quiz.quiz_management_system.model.QuizCompletion;
+import com.se.quiz.quiz_management_system.model.QuizSummary;
 import com.se.quiz.quiz_management_system.navigation.AppScreen;
+import com.se.quiz.quiz_management_system.navigation.NavigationAware;
 import com.se.quiz.quiz_management_system.navigation.NavigationManager;
+import com.se.quiz.quiz_management_system.navigation.ScreenLoader;
 import com.se.quiz.quiz_management_system.service.AuthService;
 import com.se.quiz.quiz_management_system.service.QuizService;
+import com.se.quiz.quiz_management_system.service.ResultService;
 import com.se.quiz.quiz_management_system.session.SessionManager;
 import com.se.quiz.quiz_management_system.util.JavaFXHelper;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import org.springframework.context.annotation.Scope;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.net.URL;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.IntConsumer;
 
 // Controller for Quiz Results List View
 // Displays all quizzes with "View All Student Results" button for each quiz
 
-public class QuizResultsListController implements Initializable {
+@Component
+@Scope("prototype")
+public class QuizResultsListController implements Initializable, NavigationAware {
+    
+    // Students per page in the pending-students dialog
+    private static final int PENDING_PAGE_SIZE = 50;
+    
+    // Quiz cards loaded per page
+    private static final int QUIZ_PAGE_SIZE = 50;
+    
+    private static final DateTimeFormatter LAST_SUBMISSION_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
     
     @FXML
     private Label lblWelcome;
@@ -38,39 +68,31 @@ public class QuizResultsListController implements Initializable {
     @FXML
     private Button btnLogout;
     
+    @FXML
+    private Button btnExportGradebook;
+    
     @FXML
     private VBox quizCardsContainer;
     
-    private AuthService authService;
-    private QuizService quizService;
+    private final AuthService authService;
+    private final QuizService quizService;
+    private final ResultService resultService;
     
-    // Set the AuthService instance
-    // @param authService the authentication service
+    // Loads pages of quiz summaries off the FX thread
+    private final ScreenLoader screenLoader = new ScreenLoader("QuizResultsList");
     
-    public void setAuthService(AuthService authService) {
-        this.authService = authService;
-        
-        // Update welcome text if user is logged in
-        if (authService != null && authService.getCurrentUser() != null) {
-            lblWelcome.setText("Welcome, " + authService.getCurrentUser().getUsername());
-        } else {
-            String username = SessionManager.getCurrentUsername();
-            if (username != null) {
-                lblWelcome.setText("Welcome, " + username);
-            }
-        }
-    }
+    // Exports keep running when the screen is left (the file is written either way)
+    private final ScreenLoader exportLoader = ScreenLoader.forJobs("QuizResultsList export");
     
-    // Set the QuizService instance (injected from Spring context)
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
     // @param quizService the quiz service
+    // @param resultService the result service
     
-    public void setQuizService(QuizService quizService) {
+    public QuizResultsListController(AuthService authService, QuizService quizService, ResultService resultService) {
+        this.authService = authService;
         this.quizService = quizService;
-        
-        // Reload data when service is injected
-        if (quizCardsContainer != null) {
-            loadQuizCards();
-        }
+        this.resultService = resultService;
     }
     
     @Override
@@ -83,51 +105,92 @@ public class QuizResultsListController implements Initializable {
             lblWelcome.setText("Welcome,");
         }
         
-        // Load quiz cards (will be called again when service is injected)
+        // Quiz cards are loaded in the background by onNavigatedTo
+    }
+    
+    // Load the first page of quiz cards every time the screen is opened (also when reused from cache)
+    
+    @Override
+    public void onNavigatedTo(Map<String, Object> data) {
         loadQuizCards();
     }
     
-    // Load quiz cards from database
+    @Override
+    public void onNavigatedFrom() {
+        screenLoader.cancel();
+    }
+    
+    // Load quiz cards from database (first page)
     
     private void loadQuizCards() {
         // Clear existing cards
         quizCardsContainer.getChildren().clear();
         
-        // Validate service
-        if (quizService == null) {
-            System.out.println("QuizService not yet injected, waiting...");
-            return;
-        }
+        loadSummaryPage(0);
+    }
+    
+    // Append one page of quiz cards
+    // Each page is one grouped summary query (counts, averages, last submission, completion)
+    // @param pageIndex 0-based page index
+    
+    private void loadSummaryPage(int pageIndex) {
+        // Skeleton cards stand in for the page while its query runs in the background
+        List<Node> skeletons = JavaFXHelper.skeletonCards(pageIndex == 0 ? 3 : 1, 150);
+        quizCardsContainer.getChildren().addAll(skeletons);
         
-        try {
-            // Fetch all quizzes from database
-            List<Quiz> quizzes = quizService.getAllQuizzes();
-            
-            if (quizzes == null || quizzes.isEmpty()) {
-                // Show empty state
-                showEmptyState();
-                return;
-            }
-            
-            // Create a card for each quiz
-            for (Quiz quiz : quizzes) {
-                VBox quizCard = createQuizCard(quiz);
-                quizCardsContainer.getChildren().add(quizCard);
-            }
-            
-            System.out.println("Loaded " + quizzes.size() + " quiz cards");
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            JavaFXHelper.showError("Load Error", "Failed to load quizzes: " + e.getMessage());
-        }
+        screenLoader.load(
+            () -> quizService.getQuizSummaries(pageIndex, QUIZ_PAGE_SIZE),
+            page -> {
+                quizCardsContainer.getChildren().removeAll(skeletons);
+                
+                if (pageIndex == 0 && !page.hasContent()) {
+                    // Show empty state
+                    showEmptyState();
+                    return;
+                }
+                
+                // Create a card for each quiz
+                for (QuizSummary summary : page.getContent()) {
+                    VBox quizCard = createQuizCard(summary);
+                    quizCardsContainer.getChildren().add(quizCard);
+                }
+                
+                // Load More button for the next page
+                if (page.hasNext()) {
+                    Button btnLoadMore = new Button("Load More Quizzes");
+                    btnLoadMore.setMaxWidth(Double.MAX_VALUE);
+                    btnLoadMore.setStyle(
+                        "-fx-background-color: rgba(25,118,210,0.08); " +
+                        "-fx-text-fill: #0b5ed7; " +
+                        "-fx-font-size: 14px; " +
+                        "-fx-font-weight: 600; " +
+                        "-fx-padding: 12 24 12 24; " +
+                        "-fx-background-radius: 8px; " +
+                        "-fx-cursor: hand;"
+                    );
+                    btnLoadMore.setOnAction(e -> {
+                        quizCardsContainer.getChildren().remove(btnLoadMore);
+                        loadSummaryPage(pageIndex + 1);
+                    });
+                    quizCardsContainer.getChildren().add(btnLoadMore);
+                }
+                
+                System.out.println("Loaded " + page.getNumberOfElements() + " quiz cards (page " + (pageIndex + 1) + ")");
+            },
+            error -> {
+                quizCardsContainer.getChildren().removeAll(skeletons);
+                error.printStackTrace();
+                JavaFXHelper.showError("Load Error", "Failed to load quizzes: " + error.getMessage());
+            });
     }
     
     // Create a quiz card UI component
-    // @param quiz the quiz entity
+    // @param quiz the quiz summary row
     // @return VBox containing the quiz card
     
-    private VBox createQuizCard(Quiz quiz) {
+    private VBox createQuizCard(QuizSummary quiz) {
+        QuizCompletion completion = quiz.getCompletion();
+        
         // Main card container
         VBox card = new VBox();
         card.setAlignment(Pos.CENTER_LEFT);
@@ -166,9 +229,24 @@ public class QuizResultsListController implements Initializable {
         Label lblQuestions = new Label("📝 Questions: " + quiz.getNumberOfQuestion());
         lblQuestions.setStyle("-fx-font-size: 14px; -fx-text-fill: #546E7A;");
         
-        detailsBox.getChildren().addAll(lblTimeLimit, lblQuestions);
+        // Completion rate of assigned students
+        Label lblCompletion = new Label(completion.getCompletionRate() != null
+            ? String.format("✅ Completed: %d/%d (%.0f%%)", completion.getCompletedCount(),
+                completion.getAssignedCount(), completion.getCompletionRate())
+            : "✅ Completed: no students assigned");
+        lblCompletion.setStyle("-fx-font-size: 14px; -fx-text-fill: #546E7A;");
         
-        infoSection.getChildren().addAll(lblQuizName, detailsBox);
+        detailsBox.getChildren().addAll(lblTimeLimit, lblQuestions, lblCompletion);
+        
+        // Result aggregates from the summary query
+        Label lblResults = new Label(quiz.getSubmissionCount() == 0
+            ? "📊 No submissions yet"
+            : String.format("📊 Submissions: %d   Average: %.1f   Best: %d   Last: %s",
+                quiz.getSubmissionCount(), quiz.getAverageScore(), quiz.getBestScore(),
+                quiz.getLastSubmittedAt() != null ? quiz.getLastSubmittedAt().format(LAST_SUBMISSION_FORMAT) : "-"));
+        lblResults.setStyle("-fx-font-size: 14px; -fx-text-fill: #546E7A;");
+        
+        infoSection.getChildren().addAll(lblQuizName, detailsBox, lblResults);
         
         // Action section
         HBox actionSection = new HBox(15);
@@ -218,7 +296,27 @@ public class QuizResultsListController implements Initializable {
         // Button click handler
         btnViewResults.setOnAction(e -> handleViewStudentResults(quiz));
         
-        actionSection.getChildren().addAll(spacer, btnViewResults);
+        actionSection.getChildren().add(spacer);
+        
+        // Pending Students button (only when someone has not submitted yet)
+        if (completion.getPendingCount() > 0) {
+            Button btnPending = new Button("Pending Students (" + completion.getPendingCount() + ")");
+            btnPending.setStyle(
+                "-fx-background-color: rgba(25,118,210,0.08); " +
+                "-fx-text-fill: #0b5ed7; " +
+                "-fx-font-size: 14px; " +
+                "-fx-font-weight: 600; " +
+                "-fx-padding: 12 24 12 24; " +
+                "-fx-background-radius: 8px; " +
+                "-fx-border-color: rgba(11,94,215,0.25); " +
+                "-fx-border-radius: 8px; " +
+                "-fx-cursor: hand;"
+            );
+            btnPending.setOnAction(e -> showPendingStudentsDialog(quiz));
+            actionSection.getChildren().add(btnPending);
+        }
+        
+        actionSection.getChildren().add(btnViewResults);
         
         // Add all sections to card
         card.getChildren().addAll(infoSection, actionSection);
@@ -271,7 +369,7 @@ public class QuizResultsListController implements Initializable {
     // Navigate to Student Results screen with quiz data
     // @param quiz the selected quiz
     
-    private void handleViewStudentResults(Quiz quiz) {
+    private void handleViewStudentResults(QuizSummary quiz) {
         try {
             // Prepare data to pass to Student Results screen
             Map<String, Object> data = new HashMap<>();
@@ -289,6 +387,120 @@ public class QuizResultsListController implements Initializable {
         }
     }
     
+    // Show the students assigned to a quiz who have not submitted it, one page at a time
+    // @param quiz the selected quiz
+    
+    private void showPendingStudentsDialog(QuizSummary quiz) {
+        ListView<String> listView = new ListView<>();
+        Label lblPage = new Label();
+        lblPage.setStyle("-fx-font-size: 13px; -fx-text-fill: #546E7A;");
+        Button btnPrevious = new Button("← Previous");
+        Button btnNext = new Button("Next →");
+        int[] currentPage = { 0 };
+        
+        // Pages are fetched in the background; closing the dialog drops a page still in flight
+        ScreenLoader pageLoader = new ScreenLoader("Pending students");
+        IntConsumer loadPage = requested -> {
+            btnPrevious.setDisable(true);
+            btnNext.setDisable(true);
+            pageLoader.load(
+                () -> quizService.getPendingStudents(quiz.getQuizId(), requested, PENDING_PAGE_SIZE),
+                (Page<Student> page) -> {
+                    currentPage[0] = page.getNumber();
+                    listView.getItems().clear();
+                    for (Student student : page.getContent()) {
+                        String name = student.getFullName() != null ? student.getFullName() : student.getUsername();
+                        listView.getItems().add(name + " (" + student.getUsername() + ")");
+                    }
+                    lblPage.setText("Page " + (page.getNumber() + 1) + " of " + Math.max(1, page.getTotalPages())
+                        + " - " + page.getTotalElements() + " pending");
+                    btnPrevious.setDisable(!page.hasPrevious());
+                    btnNext.setDisable(!page.hasNext());
+                },
+                error -> {
+                    // Stay on the page shown before, so Previous/Next retry from there
+                    btnPrevious.setDisable(currentPage[0] == 0);
+                    btnNext.setDisable(false);
+                    error.printStackTrace();
+                    JavaFXHelper.showError("Load Error", "Failed to load pending students: " + error.getMessage());
+                });
+        };
+        btnPrevious.setOnAction(e -> loadPage.accept(currentPage[0] - 1));
+        btnNext.setOnAction(e -> loadPage.accept(currentPage[0] + 1));
+        lblPage.setText("Loading...");
+        loadPage.accept(0);
+        
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox pager = new HBox(10, btnPrevious, lblPage, spacer, btnNext);
+        pager.setAlignment(Pos.CENTER_LEFT);
+        
+        Label lblTitle = new Label("Not yet submitted: " + quiz.getQuizName());
+        lblTitle.setStyle("-fx-font-size: 16px; -fx-font-weight: 700; -fx-text-fill: #1A237E;");
+        
+        VBox root = new VBox(12, lblTitle, listView, pager);
+        root.setPadding(new Insets(20));
+        VBox.setVgrow(listView, Priority.ALWAYS);
+        
+        Stage dialog = new Stage();
+        dialog.initOwner(quizCardsContainer.getScene().getWindow());
+        dialog.initModality(Modality.WINDOW_MODAL);
+        dialog.setTitle("Pending Students");
+        dialog.setScene(new Scene(root, 520, 600));
+        dialog.setOnHidden(e -> pageLoader.cancel());
+        dialog.show();
+    }
+    
+    // Handle Export Gradebook button click
+    // Exports every student's score in every quiz as one wide CSV file
+    
+    @FXML
+    private void handleExportGradebook() {
+        if (resultService == null) {
+            JavaFXHelper.showError("Export Error", "ResultService not available");
+            return;
+        }
+        
+        try {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Export Gradebook");
+            fileChooser.setInitialFileName("gradebook.csv");
+            
+            FileChooser.ExtensionFilter extFilter = new FileChooser.ExtensionFilter("CSV files (*.csv)", "*.csv");
+            fileChooser.getExtensionFilters().add(extFilter);
+            
+            Stage stage = (Stage) btnExportGradebook.getScene().getWindow();
+            File file = fileChooser.showSaveDialog(stage);
+            if (file == null) {
+                return;
+            }
+            
+            // Build and write the gradebook in the background; the button stays disabled meanwhile
+            btnExportGradebook.setDisable(true);
+            exportLoader.load(
+                () -> {
+                    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file), 1 << 16)) {
+                        return resultService.exportGradebook(writer);
+                    }
+                },
+                students -> {
+                    btnExportGradebook.setDisable(false);
+                    JavaFXHelper.showInfo("Export Successful",
+                        "Gradebook of " + students + " students exported to:\n" + file.getAbsolutePath());
+                },
+                error -> {
+                    btnExportGradebook.setDisable(false);
+                    error.printStackTrace();
+                    String reason = error instanceof IOException ? "Failed to write gradebook: " : "Failed to export gradebook: ";
+                    JavaFXHelper.showError("Export Error", reason + error.getMessage());
+                });
+            
+        } catch (Exception e) {
+            e.printStackTrace();
+            JavaFXHelper.showError("Export Error", "Failed to export gradebook: " + e.getMessage());
+        }
+    }
+    
     // Handle Back to Dashboard button click
     
     @FXML
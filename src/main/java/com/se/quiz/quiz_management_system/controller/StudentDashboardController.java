@@ -10,12 +10,16 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.VBox;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
 
 import java.net.URL;
 import java.util.ResourceBundle;
 
 // Controller for the Student Dashboard view
 
+@Component
+@Scope("prototype")
 public class StudentDashboardController implements Initializable {
     
     @FXML
@@ -30,12 +34,12 @@ public class StudentDashboardController implements Initializable {
     @FXML
     private VBox cardMyResults;
     
-    private AuthService authService;
+    private final AuthService authService;
     
-    // Set the AuthService instance (injected from Spring context)
-    // @param authService the AuthService instance
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
     
-    public void setAuthService(AuthService authService) {
+    public StudentDashboardController(AuthService authService) {
         this.authService = authService;
     }
     
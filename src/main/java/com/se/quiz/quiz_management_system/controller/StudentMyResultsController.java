@@ -1,38 +1,44 @@
 package com.se.quiz.quiz_management_system.controller;
 
 import com.se.quiz.quiz_management_system.entity.Quiz;
+import com.se.quiz.quiz_management_system.entity.StudentProgress;
 import com.se.quiz.quiz_management_system.entity.StudentQuizResult;
+import com.se.quiz.quiz_management_system.model.QuizRank;
 import com.se.quiz.quiz_management_system.model.Role;
 import com.se.quiz.quiz_management_system.model.UserSession;
 import com.se.quiz.quiz_management_system.navigation.AppScreen;
+import com.se.quiz.quiz_management_system.navigation.NavigationAware;
 import com.se.quiz.quiz_management_system.navigation.NavigationManager;
+import com.se.quiz.quiz_management_system.navigation.ScreenLoader;
 import com.se.quiz.quiz_management_system.service.AuthService;
 import com.se.quiz.quiz_management_system.service.ResultService;
 import com.se.quiz.quiz_management_system.session.SessionManager;
-import com.se.quiz.quiz_management_system.util.JavaFXHelper;
+import com.se.quiz.quiz_management_system.util.VirtualCardGrid;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
 
-import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 // Controller for the Student My Results screen
 // Displays a grid of quiz results for the logged-in student
 
-public class StudentMyResultsController implements Initializable {
+@Component
+@Scope("prototype")
+public class StudentMyResultsController implements Initializable, NavigationAware {
     
     @FXML
     private Label lblWelcome;
@@ -44,40 +50,26 @@ public class StudentMyResultsController implements Initializable {
     private Button btnLogout;
     
     @FXML
-    private FlowPane resultsContainer;
+    private VirtualCardGrid<QuizResult> resultsGrid;
     
-    private AuthService authService;
-    private ResultService resultService;
+    @FXML
+    private Label lblProgressSummary;
     
-    private List<QuizResult> quizResults;
+    private final AuthService authService;
+    private final ResultService resultService;
     
-    // Set the AuthService instance
-    // @param authService the authentication service
+    private List<QuizResult> quizResults;
     
-    public void setAuthService(AuthService authService) {
-        this.authService = authService;
-        
-        // Update welcome text if user is logged in
-        if (authService != null && authService.getCurrentUser() != null) {
-            lblWelcome.setText("Welcome, " + authService.getCurrentUser().getUsername());
-        } else {
-            String username = SessionManager.getCurrentUsername();
-            if (username != null) {
-                lblWelcome.setText("Welcome, " + username);
-            }
-        }
-    }
+    // Loads results and the progress summary off the FX thread
+    private final ScreenLoader screenLoader = new ScreenLoader("StudentMyResults");
     
-    // Set the ResultService instance (injected from Spring context)
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
     // @param resultService the result service
     
-    public void setResultService(ResultService resultService) {
+    public StudentMyResultsController(AuthService authService, ResultService resultService) {
+        this.authService = authService;
         this.resultService = resultService;
-        
-        // Reload results when service is injected
-        if (resultsContainer != null) {
-            loadQuizResults();
-        }
     }
     
     @Override
@@ -90,80 +82,122 @@ public class StudentMyResultsController implements Initializable {
             lblWelcome.setText("Welcome,");
         }
         
-        // Load quiz results data
+        // Result cards are built lazily, only for the rows that are on screen
+        resultsGrid.setCardFactory(ResultCard::new);
+        
+        // Quiz results are loaded in the background by onNavigatedTo
+    }
+    
+    // Load results every time the screen is opened (also when reused from cache)
+    
+    @Override
+    public void onNavigatedTo(Map<String, Object> data) {
         loadQuizResults();
     }
     
+    @Override
+    public void onNavigatedFrom() {
+        screenLoader.cancel();
+    }
+    
     // Load quiz results and create dynamic cards
-    // CRITICAL: Loads REAL data from database
+    // CRITICAL: Loads REAL data from database (in the background, skeleton cards meanwhile)
     
     private void loadQuizResults() {
-        // Clear existing children (if any)
-        resultsContainer.getChildren().clear();
-        
-        // Check if service is available
-        if (resultService == null) {
-            System.out.println("⚠️ [StudentMyResultsController] ResultService not yet injected, showing empty state");
-            showEmptyState("Service not available", "Please try again later.");
-            return;
-        }
+        lblProgressSummary.setManaged(false);
+        lblProgressSummary.setVisible(false);
         
         // Get current student ID
         Long studentId = getCurrentStudentId();
         if (studentId == null) {
+            screenLoader.cancel();
             System.out.println("⚠️ [StudentMyResultsController] Student ID not found, showing empty state");
             showEmptyState("Not logged in", "Please log in to view your results.");
             return;
         }
         
-        try {
-            System.out.println("🔵 [StudentMyResultsController] Loading results for student ID: " + studentId);
-            
-            // ═══════════════════════════════════════════════════════════
-            // CRITICAL: LOAD REAL RESULTS FROM DATABASE
-            // ═══════════════════════════════════════════════════════════
-            List<StudentQuizResult> dbResults = resultService.getResultsByStudentId(studentId);
-            
-            if (dbResults == null || dbResults.isEmpty()) {
-                System.out.println("ℹ️ [StudentMyResultsController] No results found for student ID: " + studentId);
-                showEmptyState("No results yet", "You haven't completed any quizzes yet.");
-                return;
-            }
-            
-            System.out.println("✅ [StudentMyResultsController] Found " + dbResults.size() + " results from database");
-            
-            // Convert database results to display models
-            quizResults = new ArrayList<>();
-            for (StudentQuizResult dbResult : dbResults) {
-                // Get quiz name from relationship
-                Quiz quiz = dbResult.getQuiz();
-                String quizName = (quiz != null && quiz.getQuizName() != null) 
-                    ? quiz.getQuizName() 
-                    : "Quiz ID: " + dbResult.getQuizId();
+        resultsGrid.showSkeletons(4);
+        System.out.println("🔵 [StudentMyResultsController] Loading results for student ID: " + studentId);
+        
+        screenLoader.load(
+            () -> {
+                List<StudentQuizResult> dbResults = resultService.getResultsByStudentId(studentId);
+                Set<Long> quizIds = new HashSet<>();
+                for (StudentQuizResult dbResult : dbResults) {
+                    quizIds.add(dbResult.getQuizId());
+                }
+                Map<Long, QuizRank> ranks = resultService.getStudentRanks(studentId, quizIds);
                 
-                // Get score
-                int score = dbResult.getScore() != null ? dbResult.getScore() : 0;
-                int maxScore = dbResult.getTotalPoints() != null ? dbResult.getTotalPoints() : 100;
+                // Convert database results to display models
+                List<QuizResult> results = new ArrayList<>();
+                for (StudentQuizResult dbResult : dbResults) {
+                    // Get quiz name from relationship
+                    Quiz quiz = dbResult.getQuiz();
+                    String quizName = (quiz != null && quiz.getQuizName() != null) 
+                        ? quiz.getQuizName() 
+                        : "Quiz ID: " + dbResult.getQuizId();
+                    
+                    // Get score
+                    int score = dbResult.getScore() != null ? dbResult.getScore() : 0;
+                    int maxScore = dbResult.getTotalPoints() != null ? dbResult.getTotalPoints() : 100;
+                    
+                    // Rank among all students who took the quiz (from the cached leaderboards)
+                    QuizRank rank = ranks.get(dbResult.getQuizId());
+                    String rankDisplay = rank != null
+                        ? "Rank " + rank.getRank() + " of " + rank.getTotalResults()
+                        : null;
+                    
+                    results.add(new QuizResult(quizName, score, maxScore, rankDisplay));
+                }
                 
-                QuizResult displayResult = new QuizResult(quizName, score, maxScore);
-                quizResults.add(displayResult);
+                StudentProgress progress = results.isEmpty() ? null : resultService.getStudentProgress(studentId, dbResults);
+                return new LoadedResults(results, progress);
+            },
+            loaded -> {
+                quizResults = loaded.results;
+                if (quizResults.isEmpty()) {
+                    System.out.println("ℹ️ [StudentMyResultsController] No results found for student ID: " + studentId);
+                    showEmptyState("No results yet", "You haven't completed any quizzes yet.");
+                    return;
+                }
                 
-                System.out.println("   - Quiz: " + quizName + ", Score: " + score + "/" + maxScore);
-            }
-            
-            // Create a card for each quiz result
-            for (QuizResult result : quizResults) {
-                AnchorPane card = createResultCard(result);
-                resultsContainer.getChildren().add(card);
-            }
-            
-            System.out.println("✅ [StudentMyResultsController] Displayed " + quizResults.size() + " result cards");
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("❌ [StudentMyResultsController] Error loading results: " + e.getMessage());
-            showEmptyState("Error loading results", "Failed to load your quiz results: " + e.getMessage());
+                // The grid only creates cards for the rows that are visible
+                resultsGrid.setItems(quizResults);
+                
+                System.out.println("✅ [StudentMyResultsController] Displayed " + quizResults.size() + " results");
+                
+                showProgressSummary(loaded.progress);
+            },
+            error -> {
+                error.printStackTrace();
+                System.err.println("❌ [StudentMyResultsController] Error loading results: " + error.getMessage());
+                showEmptyState("Error loading results", "Failed to load your quiz results: " + error.getMessage());
+            });
+    }
+    
+    // Show the maintained progress summary above the cards
+    // @param progress the student's progress summary
+    
+    private void showProgressSummary(StudentProgress progress) {
+        if (progress == null || progress.getResultCount() == 0) {
+            return;
+        }
+        
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Average %.1f%%", progress.getAveragePercent()));
+        text.append(String.format("  ·  Recent %.1f%%", progress.getRollingPercent()));
+        Double slope = progress.getTrendSlope();
+        if (slope != null) {
+            text.append(String.format("  ·  Trend %s%.1f%% per quiz", slope >= 0 ? "▲ +" : "▼ ", slope));
+        }
+        text.append(String.format("  ·  Best %.0f%%  ·  Worst %.0f%%", progress.getBestPercent(), progress.getWorstPercent()));
+        if (progress.getAveragePercentile() != null) {
+            text.append(String.format("  ·  Class percentile %.0f", progress.getAveragePercentile()));
         }
+        
+        lblProgressSummary.setText(text.toString());
+        lblProgressSummary.setManaged(true);
+        lblProgressSummary.setVisible(true);
     }
     
     // Get current student ID from AuthService or SessionManager
@@ -200,84 +234,17 @@ public class StudentMyResultsController implements Initializable {
     private void showEmptyState(String title, String message) {
         VBox emptyState = new VBox(15);
         emptyState.setAlignment(Pos.CENTER);
-        emptyState.setStyle("-fx-padding: 60px;");
-        emptyState.setPrefWidth(600);
+        emptyState.getStyleClass().add("my-results-empty");
         
         Label titleLabel = new Label("📊 " + title);
-        titleLabel.setStyle(
-            "-fx-font-size: 20px; " +
-            "-fx-font-weight: 600; " +
-            "-fx-text-fill: #757575;"
-        );
+        titleLabel.getStyleClass().add("my-results-empty-title");
         
         Label messageLabel = new Label(message);
-        messageLabel.setStyle(
-            "-fx-font-size: 14px; " +
-            "-fx-text-fill: #9E9E9E;"
-        );
+        messageLabel.getStyleClass().add("my-results-empty-message");
         messageLabel.setWrapText(true);
         
         emptyState.getChildren().addAll(titleLabel, messageLabel);
-        resultsContainer.getChildren().add(emptyState);
-    }
-    
-    // Create a result card (AnchorPane)
-    // @param result the quiz result data
-    // @return AnchorPane representing the result card
-    
-    private AnchorPane createResultCard(QuizResult result) {
-        // Main card container
-        AnchorPane card = new AnchorPane();
-        card.getStyleClass().add("my-result-card");
-        card.setPrefWidth(260);
-        card.setPrefHeight(180);
-        card.setMinWidth(260);
-        card.setMinHeight(180);
-        card.setMaxWidth(260);
-        card.setMaxHeight(180);
-        
-        // Top Left: "Quiz Name" Label
-        Label lblQuizTitle = new Label("Quiz Name");
-        lblQuizTitle.setStyle("-fx-font-size: 12px; -fx-font-weight: 400; -fx-text-fill: #757575;");
-        AnchorPane.setTopAnchor(lblQuizTitle, 20.0);
-        AnchorPane.setLeftAnchor(lblQuizTitle, 20.0);
-        
-        // Top Left: Actual Quiz Name (Bold)
-        Label lblQuizName = new Label(result.getQuizName());
-        lblQuizName.setStyle("-fx-font-size: 16px; -fx-font-weight: 700; -fx-text-fill: #2D3447;");
-        lblQuizName.setWrapText(true);
-        lblQuizName.setPrefWidth(180);
-        AnchorPane.setTopAnchor(lblQuizName, 42.0);
-        AnchorPane.setLeftAnchor(lblQuizName, 20.0);
-        
-        // Top Right: Trophy Icon 🏆
-        Label lblTrophy = new Label("🏆");
-        lblTrophy.setStyle("-fx-font-size: 32px;");
-        AnchorPane.setTopAnchor(lblTrophy, 15.0);
-        AnchorPane.setRightAnchor(lblTrophy, 15.0);
-        
-        // Bottom Left: "Score" Label
-        Label lblScoreTitle = new Label("Score");
-        lblScoreTitle.setStyle("-fx-font-size: 12px; -fx-font-weight: 400; -fx-text-fill: #757575;");
-        AnchorPane.setBottomAnchor(lblScoreTitle, 50.0);
-        AnchorPane.setLeftAnchor(lblScoreTitle, 20.0);
-        
-        // Bottom Left: Actual Score (Bold Large)
-        Label lblScore = new Label(result.getScore() + "/" + result.getMaxScore());
-        lblScore.setStyle("-fx-font-size: 28px; -fx-font-weight: 700; -fx-text-fill: #6A1B9A;");
-        AnchorPane.setBottomAnchor(lblScore, 15.0);
-        AnchorPane.setLeftAnchor(lblScore, 20.0);
-        
-        // Bottom Right: Chart Icon 📊
-        Label lblChart = new Label("📊");
-        lblChart.setStyle("-fx-font-size: 32px;");
-        AnchorPane.setBottomAnchor(lblChart, 15.0);
-        AnchorPane.setRightAnchor(lblChart, 15.0);
-        
-        // Add all elements to card
-        card.getChildren().addAll(lblQuizTitle, lblQuizName, lblTrophy, lblScoreTitle, lblScore, lblChart);
-        
-        return card;
+        resultsGrid.showPlaceholder(emptyState);
     }
     
     // Handle Back to Dashboard button click
@@ -292,34 +259,92 @@ public class StudentMyResultsController implements Initializable {
     
     @FXML
     private void handleLogout() {
-        try {
-            // Clear session
-            if (authService != null) {
-                authService.logout();
-            } else {
-                SessionManager.clearSession();
-            }
+        // Clear session
+        if (authService != null) {
+            authService.logout();
+        } else {
+            SessionManager.clearSession();
+        }
+        
+        // Navigate to Login screen (also clears cached screens of this session)
+        NavigationManager.getInstance().navigateToLogin();
+    }
+    
+    // Results and progress summary loaded together in the background
+    
+    private static class LoadedResults {
+        private final List<QuizResult> results;
+        private final StudentProgress progress;
+        
+        LoadedResults(List<QuizResult> results, StudentProgress progress) {
+            this.results = results;
+            this.progress = progress;
+        }
+    }
+    
+    // ResultCard - Result card (AnchorPane) reused by the grid for whichever result scrolls into view
+    
+    private static class ResultCard implements VirtualCardGrid.Card<QuizResult> {
+        private final AnchorPane card = new AnchorPane();
+        private final Label lblQuizName = new Label();
+        private final Label lblScore = new Label();
+        private final Label lblRank = new Label();
+        
+        ResultCard() {
+            card.getStyleClass().add("my-result-card");
             
-            // Load the Login screen
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/Login.fxml"));
-            Parent root = loader.load();
+            // Top Left: "Quiz Name" caption and the actual quiz name (bold)
+            Label lblQuizTitle = new Label("Quiz Name");
+            lblQuizTitle.getStyleClass().add("my-result-caption");
+            AnchorPane.setTopAnchor(lblQuizTitle, 20.0);
+            AnchorPane.setLeftAnchor(lblQuizTitle, 20.0);
             
-            // Pass AuthService to the login controller
-            LoginController controller = loader.getController();
-            if (authService != null) {
-                controller.setAuthService(authService);
-            }
+            lblQuizName.getStyleClass().add("my-result-quiz-name");
+            lblQuizName.setWrapText(true);
+            lblQuizName.setPrefWidth(180);
+            AnchorPane.setTopAnchor(lblQuizName, 42.0);
+            AnchorPane.setLeftAnchor(lblQuizName, 20.0);
             
-            // Get current stage and set new scene
-            Stage stage = (Stage) btnLogout.getScene().getWindow();
-            Scene scene = new Scene(root);
-            stage.setScene(scene);
-            stage.setTitle("Quiz Management System - Login");
-            stage.show();
+            // Top Right: Trophy Icon 🏆
+            Label lblTrophy = new Label("🏆");
+            lblTrophy.getStyleClass().add("my-result-icon");
+            AnchorPane.setTopAnchor(lblTrophy, 15.0);
+            AnchorPane.setRightAnchor(lblTrophy, 15.0);
             
-        } catch (IOException e) {
-            e.printStackTrace();
-            JavaFXHelper.showError("Logout Error", "Failed to logout. Please try again.");
+            // Bottom Left: "Score" caption and the actual score (bold large)
+            Label lblScoreTitle = new Label("Score");
+            lblScoreTitle.getStyleClass().add("my-result-caption");
+            AnchorPane.setBottomAnchor(lblScoreTitle, 50.0);
+            AnchorPane.setLeftAnchor(lblScoreTitle, 20.0);
+            
+            lblScore.getStyleClass().add("my-result-score");
+            AnchorPane.setBottomAnchor(lblScore, 15.0);
+            AnchorPane.setLeftAnchor(lblScore, 20.0);
+            
+            // Bottom Right: Chart Icon 📊 with the rank in the quiz above it
+            Label lblChart = new Label("📊");
+            lblChart.getStyleClass().add("my-result-icon");
+            AnchorPane.setBottomAnchor(lblChart, 15.0);
+            AnchorPane.setRightAnchor(lblChart, 15.0);
+            
+            lblRank.getStyleClass().add("my-result-rank");
+            AnchorPane.setBottomAnchor(lblRank, 58.0);
+            AnchorPane.setRightAnchor(lblRank, 15.0);
+            
+            card.getChildren().addAll(lblQuizTitle, lblQuizName, lblTrophy, lblScoreTitle, lblScore, lblChart, lblRank);
+        }
+        
+        @Override
+        public Node getNode() {
+            return card;
+        }
+        
+        @Override
+        public void update(QuizResult result) {
+            lblQuizName.setText(result.getQuizName());
+            lblScore.setText(result.getScore() + "/" + result.getMaxScore());
+            lblRank.setText(result.getRank() != null ? result.getRank() : "");
+            lblRank.setVisible(result.getRank() != null);
         }
     }
     
@@ -329,11 +354,13 @@ public class StudentMyResultsController implements Initializable {
         private final String quizName;
         private final int score;
         private final int maxScore;
+        private final String rank;
         
-        public QuizResult(String quizName, int score, int maxScore) {
+        public QuizResult(String quizName, int score, int maxScore, String rank) {
             this.quizName = quizName;
             this.score = score;
             this.maxScore = maxScore;
+            this.rank = rank;
         }
         
         public String getQuizName() {
@@ -347,5 +374,9 @@ public class StudentMyResultsController implements Initializable {
         public int getMaxScore() {
             return maxScore;
         }
+        
+        public String getRank() {
+            return rank;
+        }
     }
 }
@@ -1,41 +1,70 @@
 package com.se.quiz.quiz_management_system.controller;
 
-import com.se.quiz.quiz_management_system.entity.Student;
-import com.se.quiz.quiz_management_system.entity.StudentQuizResult;
+import com.se.quiz.quiz_management_system.model.AttemptLayout;
+import com.se.quiz.quiz_management_system.model.ItemAnalysis;
+import com.se.quiz.quiz_management_system.model.RegradeReport;
+import com.se.quiz.quiz_management_system.model.SimilarityReport;
+import com.se.quiz.quiz_management_system.model.StudentResultView;
 import com.se.quiz.quiz_management_system.navigation.AppScreen;
 import com.se.quiz.quiz_management_system.navigation.NavigationAware;
 import com.se.quiz.quiz_management_system.navigation.NavigationManager;
+import com.se.quiz.quiz_management_system.navigation.ScreenLoader;
 import com.se.quiz.quiz_management_system.service.AuthService;
 import com.se.quiz.quiz_management_system.service.ResultService;
 import com.se.quiz.quiz_management_system.session.SessionManager;
 import com.se.quiz.quiz_management_system.util.JavaFXHelper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
+import javafx.stage.Modality;
 import javafx.stage.Stage;
+import org.springframework.context.annotation.Scope;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.Function;
 
 // Controller for the Student Results screen
 // Displays student scores for a specific quiz with CSV export functionality
 
+@Component
+@Scope("prototype")
 public class StudentResultsController implements Initializable, NavigationAware {
     
+    // Result rows fetched per page while scrolling
+    private static final int RESULT_PAGE_SIZE = 200;
+    
+    // Fetch the next page once a cell this close to the end of the loaded rows is shown
+    private static final int PREFETCH_ROWS = 50;
+    
+    // Height of one result row (fixed so the list never measures cells)
+    private static final double RESULT_CELL_HEIGHT = 78;
+    
     @FXML
     private Label lblPageTitle;
     
@@ -48,48 +77,54 @@ public class StudentResultsController implements Initializable, NavigationAware
     @FXML
     private Button btnExportCSV;
     
+    @FXML
+    private Button btnExportXlsx;
+    
+    @FXML
+    private Button btnItemAnalysis;
+    
+    @FXML
+    private Button btnRegrade;
+    
+    @FXML
+    private Button btnSimilarity;
+    
     @FXML
     private Button btnLogout;
     
     @FXML
-    private VBox studentResultsContainer;
+    private ListView<StudentResultView> lstStudentResults;
     
-    private AuthService authService;
-    private ResultService resultService;
+    private final AuthService authService;
+    private final ResultService resultService;
     
     private String currentQuizName = "Quiz 1: Basic";
     private Long currentQuizId; // Store quiz ID from navigation data
     
-    private List<StudentResult> studentResults;
-    private List<StudentQuizResult> dbResults; // Store database results for CSV export
+    // Rows loaded so far (pages are appended while the user scrolls)
+    private final ObservableList<StudentResultView> resultRows = FXCollections.observableArrayList();
+    private int nextResultPage;
+    private boolean hasMoreResults;
     
-    // Set the AuthService instance
-    // @param authService the authentication service
+    // Loads pages of results of the selected quiz off the FX thread
+    private final ScreenLoader screenLoader = new ScreenLoader("StudentResults");
     
-    public void setAuthService(AuthService authService) {
-        this.authService = authService;
-        
-        // Update welcome text if user is logged in
-        if (authService != null && authService.getCurrentUser() != null) {
-            lblWelcome.setText("Welcome, " + authService.getCurrentUser().getUsername());
-        } else {
-            String username = SessionManager.getCurrentUsername();
-            if (username != null) {
-                lblWelcome.setText("Welcome, " + username);
-            }
-        }
-    }
+    // Runs item analysis, similarity check and regrade preview (dropped when the screen is left)
+    private final ScreenLoader actionLoader = new ScreenLoader("StudentResults action");
     
-    // Set the ResultService instance (injected from Spring context)
+    // Exports and the regrade itself keep running when the screen is left (they write either way)
+    // One loader each, so starting one job never supersedes another that is still running
+    private final ScreenLoader csvExportLoader = ScreenLoader.forJobs("StudentResults CSV export");
+    private final ScreenLoader xlsxExportLoader = ScreenLoader.forJobs("StudentResults XLSX export");
+    private final ScreenLoader regradeLoader = ScreenLoader.forJobs("StudentResults regrade");
+    
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
     // @param resultService the result service
     
-    public void setResultService(ResultService resultService) {
+    public StudentResultsController(AuthService authService, ResultService resultService) {
+        this.authService = authService;
         this.resultService = resultService;
-        
-        // Reload results if quiz ID is already set
-        if (currentQuizId != null && studentResultsContainer != null) {
-            loadStudentResults();
-        }
     }
     
     // Set the quiz name and update the UI title
@@ -114,26 +149,35 @@ public class StudentResultsController implements Initializable, NavigationAware
     @Override
     public void onNavigatedTo(Map<String, Object> data) {
         if (data != null) {
+            // Get quiz name and update UI
+            if (data.containsKey("quizName")) {
+                String quizName = (String) data.get("quizName");
+                setQuizName(quizName);
+                System.out.println("Displaying results for quiz: " + quizName);
+            }
+            
             // Get quiz ID and store it
             if (data.containsKey("quizId")) {
                 this.currentQuizId = (Long) data.get("quizId");
                 System.out.println("StudentResultsController received Quiz ID: " + currentQuizId);
                 
                 // Load real student results from database
-                if (resultService != null && studentResultsContainer != null) {
-                    loadStudentResults();
-                }
-            }
-            
-            // Get quiz name and update UI
-            if (data.containsKey("quizName")) {
-                String quizName = (String) data.get("quizName");
-                setQuizName(quizName);
-                System.out.println("Displaying results for quiz: " + quizName);
+                loadStudentResults();
             }
         }
     }
     
+    @Override
+    public void onNavigatedFrom() {
+        screenLoader.cancel();
+        
+        // A regrade being applied keeps the buttons disabled until it completes
+        if (actionLoader.isLoading()) {
+            actionLoader.cancel();
+            setActionsDisabled(false);
+        }
+    }
+    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Set up welcome text
@@ -148,69 +192,69 @@ public class StudentResultsController implements Initializable, NavigationAware
         // Will be overridden by onNavigatedTo if data is passed
         setQuizName("Quiz 1: Basic");
         
-        // Load student results data
-        loadStudentResults();
+        // Virtualized result list: only visible rows have cells, and cells are reused
+        lstStudentResults.setItems(resultRows);
+        lstStudentResults.setFixedCellSize(RESULT_CELL_HEIGHT);
+        lstStudentResults.setCellFactory(list -> new StudentResultCell());
+        
+        // Student results are loaded once, when onNavigatedTo receives the quiz ID
     }
     
     // Load student results and create dynamic cards
     // CRITICAL: Loads REAL data from database
     
     private void loadStudentResults() {
-        // Clear existing children (if any)
-        studentResultsContainer.getChildren().clear();
-        
-        // Check if services and data are available
-        if (resultService == null) {
-            System.out.println("ResultService not yet injected, showing empty state");
-            showEmptyState("Service not available", "Please try again later.");
-            return;
-        }
+        resultRows.clear();
+        nextResultPage = 0;
+        hasMoreResults = false;
         
         if (currentQuizId == null) {
+            screenLoader.cancel();
             System.out.println("Quiz ID not set, showing empty state");
             showEmptyState("No quiz selected", "Please select a quiz to view results.");
             return;
         }
         
-        try {
-            // CRITICAL: LOAD REAL RESULTS FROM DATABASE
-            this.dbResults = resultService.getResultsByQuizId(currentQuizId);
-            
-            if (dbResults == null || dbResults.isEmpty()) {
-                System.out.println("No results found for quiz ID: " + currentQuizId);
-                showEmptyState("No results yet", "No students have completed this quiz yet.");
-                return;
-            }
-            
-            // Convert database results to display models
-            studentResults = new ArrayList<>();
-            for (StudentQuizResult dbResult : dbResults) {
-                // Get student info
-                Student student = dbResult.getStudent();
-                String studentName = (student != null && student.getFullName() != null) 
-                    ? student.getFullName() 
-                    : "Student ID: " + dbResult.getStudentId();
-                
-                // Format score
-                String scoreDisplay = dbResult.getScore() + "/" + dbResult.getTotalPoints();
-                
-                StudentResult displayResult = new StudentResult(studentName, scoreDisplay);
-                studentResults.add(displayResult);
-            }
-            
-            // Create a card for each student result
-            for (StudentResult result : studentResults) {
-                HBox card = createStudentResultCard(result);
-                studentResultsContainer.getChildren().add(card);
-            }
-            
-            System.out.println("✅ Loaded " + studentResults.size() + " real student results for quiz: " + currentQuizName);
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("❌ Error loading student results: " + e.getMessage());
-            showEmptyState("Error loading results", "Failed to load student results: " + e.getMessage());
+        // Drop any page of the previous quiz still in flight, then load the first page
+        screenLoader.cancel();
+        lstStudentResults.setPlaceholder(JavaFXHelper.loadingPlaceholder("Loading student results..."));
+        lstStudentResults.scrollTo(0);
+        loadNextResultPage();
+    }
+    
+    // Append the next page of result rows (no-op while a page is loading or when all are loaded)
+    
+    private void loadNextResultPage() {
+        if (screenLoader.isLoading() || (nextResultPage > 0 && !hasMoreResults)) {
+            return;
         }
+        
+        final Long quizId = currentQuizId;
+        final int page = nextResultPage;
+        screenLoader.load(
+            () -> resultService.getResultViewsPage(quizId, page, RESULT_PAGE_SIZE),
+            (Slice<StudentResultView> slice) -> {
+                resultRows.addAll(slice.getContent());
+                nextResultPage = page + 1;
+                hasMoreResults = slice.hasNext();
+                
+                if (resultRows.isEmpty()) {
+                    System.out.println("No results found for quiz ID: " + quizId);
+                    showEmptyState("No results yet", "No students have completed this quiz yet.");
+                    return;
+                }
+                System.out.println("✅ Loaded " + resultRows.size() + " student results for quiz: " + currentQuizName
+                    + (hasMoreResults ? " (more on scroll)" : ""));
+            },
+            error -> {
+                error.printStackTrace();
+                System.err.println("❌ Error loading student results: " + error.getMessage());
+                if (resultRows.isEmpty()) {
+                    showEmptyState("Error loading results", "Failed to load student results: " + error.getMessage());
+                } else {
+                    JavaFXHelper.showError("Load Error", "Failed to load more results: " + error.getMessage());
+                }
+            });
     }
     
     // Show empty state message when no results available
@@ -236,37 +280,7 @@ public class StudentResultsController implements Initializable, NavigationAware
         );
         
         emptyState.getChildren().addAll(titleLabel, messageLabel);
-        studentResultsContainer.getChildren().add(emptyState);
-    }
-    
-    // Create a student result card (HBox)
-    // @param result the student result data
-    // @return HBox representing the student result card
-    
-    private HBox createStudentResultCard(StudentResult result) {
-        // Main card container
-        HBox card = new HBox();
-        card.getStyleClass().add("student-result-card");
-        card.setAlignment(Pos.CENTER_LEFT);
-        card.setSpacing(20);
-        card.setPrefWidth(900);
-        card.setMaxWidth(900);
-        
-        // Student Name Label
-        Label nameLabel = new Label(result.getStudentName());
-        nameLabel.setPrefWidth(600);
-        nameLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 500; -fx-text-fill: #2D3447;");
-        
-        // Score Label
-        Label scoreLabel = new Label(result.getScore());
-        scoreLabel.setPrefWidth(300);
-        scoreLabel.setAlignment(Pos.CENTER_LEFT);
-        scoreLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 600; -fx-text-fill: #2D3447;");
-        
-        // Add all elements to card
-        card.getChildren().addAll(nameLabel, scoreLabel);
-        
-        return card;
+        lstStudentResults.setPlaceholder(emptyState);
     }
     
     // Handle Export to CSV button click
@@ -288,14 +302,30 @@ public class StudentResultsController implements Initializable, NavigationAware
             File file = fileChooser.showSaveDialog(stage);
             
             if (file != null) {
-                // Write CSV content
-                writeCSVFile(file);
-                
-                // Show success message
-                JavaFXHelper.showInfo("Export Successful", 
-                    "Student results have been exported successfully to:\n" + file.getAbsolutePath());
-                
-                System.out.println("Exported results to: " + file.getAbsolutePath());
+                // Write CSV content in the background; the button stays disabled meanwhile
+                final Long quizId = currentQuizId;
+                final String quizName = currentQuizName;
+                btnExportCSV.setDisable(true);
+                csvExportLoader.load(
+                    () -> {
+                        writeCSVFile(file, quizId, quizName);
+                        return file;
+                    },
+                    written -> {
+                        btnExportCSV.setDisable(false);
+                        
+                        // Show success message
+                        JavaFXHelper.showInfo("Export Successful", 
+                            "Student results have been exported successfully to:\n" + written.getAbsolutePath());
+                        
+                        System.out.println("Exported results to: " + written.getAbsolutePath());
+                    },
+                    error -> {
+                        btnExportCSV.setDisable(false);
+                        error.printStackTrace();
+                        JavaFXHelper.showError("Export Error", 
+                            "Failed to export CSV file: " + error.getMessage());
+                    });
             }
             
         } catch (Exception e) {
@@ -305,51 +335,356 @@ public class StudentResultsController implements Initializable, NavigationAware
         }
     }
     
+    // Handle Export to Excel button click
+    // Streams the quiz's results from the database into an XLSX workbook with typed cells
+    
+    @FXML
+    private void handleExportXlsx() {
+        if (resultService == null || currentQuizId == null) {
+            JavaFXHelper.showWarning("Export to Excel", "No quiz selected.");
+            return;
+        }
+        
+        try {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Export Student Results to Excel");
+            fileChooser.setInitialFileName(currentQuizName.replaceAll("[^a-zA-Z0-9]", "_") + "_results.xlsx");
+            
+            FileChooser.ExtensionFilter extFilter = new FileChooser.ExtensionFilter("Excel workbooks (*.xlsx)", "*.xlsx");
+            fileChooser.getExtensionFilters().add(extFilter);
+            
+            Stage stage = (Stage) btnExportXlsx.getScene().getWindow();
+            File file = fileChooser.showSaveDialog(stage);
+            
+            if (file != null) {
+                // Stream the workbook in the background; the button stays disabled meanwhile
+                final Long quizId = currentQuizId;
+                final String quizName = currentQuizName;
+                btnExportXlsx.setDisable(true);
+                xlsxExportLoader.load(
+                    () -> {
+                        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                            return resultService.exportQuizWorkbook(quizId, quizName, out);
+                        }
+                    },
+                    rows -> {
+                        btnExportXlsx.setDisable(false);
+                        JavaFXHelper.showInfo("Export Successful", 
+                            rows + " student results have been exported successfully to:\n" + file.getAbsolutePath());
+                        
+                        System.out.println("Exported results to: " + file.getAbsolutePath());
+                    },
+                    error -> {
+                        btnExportXlsx.setDisable(false);
+                        error.printStackTrace();
+                        JavaFXHelper.showError("Export Error", 
+                            "Failed to export Excel file: " + error.getMessage());
+                    });
+            }
+            
+        } catch (Exception e) {
+            e.printStackTrace();
+            JavaFXHelper.showError("Export Error", 
+                "Failed to export Excel file: " + e.getMessage());
+        }
+    }
+    
+    // Handle Item Analysis button click
+    // Shows per-question difficulty, discrimination and distractor rates in a modal table
+    
+    @FXML
+    private void handleItemAnalysis() {
+        if (resultService == null || currentQuizId == null) {
+            JavaFXHelper.showWarning("Item Analysis", "No quiz selected.");
+            return;
+        }
+        
+        final Long quizId = currentQuizId;
+        setActionsDisabled(true);
+        actionLoader.load(
+            () -> resultService.getItemAnalysis(quizId),
+            analysis -> {
+                setActionsDisabled(false);
+                if (analysis.getAttemptCount() == 0) {
+                    JavaFXHelper.showInfo("Item Analysis",
+                        "No per-question answers have been recorded for this quiz yet.");
+                    return;
+                }
+                showItemAnalysisDialog(analysis);
+            },
+            error -> {
+                setActionsDisabled(false);
+                error.printStackTrace();
+                JavaFXHelper.showError("Item Analysis Error",
+                    "Failed to compute item analysis: " + error.getMessage());
+            });
+    }
+    
+    // Build and show the item analysis window
+    // @param analysis the computed item analysis
+    
+    private void showItemAnalysisDialog(ItemAnalysis analysis) {
+        TableView<ItemAnalysis.ItemStatistics> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.getColumns().add(statColumn("#", 40, item -> String.valueOf(item.getPosition())));
+        table.getColumns().add(statColumn("Question", 320, ItemAnalysis.ItemStatistics::getProblem));
+        table.getColumns().add(statColumn("Key", 50, ItemAnalysis.ItemStatistics::getCorrectAnswer));
+        table.getColumns().add(statColumn("Seen", 60, item -> String.valueOf(item.getSeenCount())));
+        table.getColumns().add(statColumn("p-value", 80, item -> formatStat(item.getPValue())));
+        table.getColumns().add(statColumn("r(pb)", 80, item -> formatStat(item.getPointBiserial())));
+        for (int option = 0; option < AttemptLayout.OPTION_COUNT; option++) {
+            final int index = option;
+            table.getColumns().add(statColumn(String.valueOf(AttemptLayout.optionLetter(option)), 60,
+                item -> formatPercent(item.getOptionRate(index))));
+        }
+        table.getColumns().add(statColumn("Blank", 60, item -> formatPercent(item.getBlankRate())));
+        table.getItems().setAll(analysis.getItems());
+        
+        Label summary = new Label("Attempts analysed: " + analysis.getAttemptCount()
+            + "    Full-form attempts: " + analysis.getFullFormCount()
+            + "    Cronbach's alpha: " + formatStat(analysis.getCronbachAlpha()));
+        summary.setStyle("-fx-font-size: 14px; -fx-font-weight: 600; -fx-text-fill: #2D3447;");
+        
+        VBox root = new VBox(15, summary, table);
+        root.setStyle("-fx-padding: 20; -fx-background-color: #FFFFFF;");
+        VBox.setVgrow(table, Priority.ALWAYS);
+        
+        Stage dialogStage = new Stage();
+        dialogStage.initModality(Modality.WINDOW_MODAL);
+        dialogStage.initOwner(btnItemAnalysis.getScene().getWindow());
+        dialogStage.setTitle(currentQuizName + " - Item Analysis");
+        dialogStage.setScene(new Scene(root, 1000, 600));
+        dialogStage.show();
+    }
+    
+    private static <T> TableColumn<T, String> statColumn(String title, double prefWidth, Function<T, String> value) {
+        TableColumn<T, String> column = new TableColumn<>(title);
+        column.setPrefWidth(prefWidth);
+        column.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        return column;
+    }
+    
+    // Handle Similarity Check button click
+    // Lists pairs of students sharing an unusual number of identical wrong answers
+    
+    @FXML
+    private void handleSimilarityCheck() {
+        if (resultService == null || currentQuizId == null) {
+            JavaFXHelper.showWarning("Similarity Check", "No quiz selected.");
+            return;
+        }
+        
+        final Long quizId = currentQuizId;
+        setActionsDisabled(true);
+        actionLoader.load(
+            () -> {
+                SimilarityReport report = resultService.findSimilarAnswerPairs(quizId);
+                
+                // Student names of all results (the list may only hold the pages scrolled so far)
+                Map<Long, String> names = new HashMap<>();
+                if (!report.getPairs().isEmpty()) {
+                    for (StudentResultView result : resultService.getResultViews(quizId)) {
+                        if (result.getFullName() != null) {
+                            names.put(result.getStudentId(), result.getFullName());
+                        }
+                    }
+                }
+                return new SimilarityResult(report, names);
+            },
+            result -> {
+                setActionsDisabled(false);
+                if (result.report.getPairs().isEmpty()) {
+                    JavaFXHelper.showInfo("Similarity Check",
+                        "No suspiciously similar answer sheets among " + result.report.getAttemptsAnalysed() + " attempts.");
+                    return;
+                }
+                showSimilarityDialog(result.report, result.names);
+            },
+            error -> {
+                setActionsDisabled(false);
+                error.printStackTrace();
+                JavaFXHelper.showError("Similarity Check Error",
+                    "Failed to compare answer sheets: " + error.getMessage());
+            });
+    }
+    
+    // Build and show the similar-pairs window
+    // @param report the similarity report
+    // @param names full names of the students by student ID
+    
+    private void showSimilarityDialog(SimilarityReport report, Map<Long, String> names) {
+        TableView<SimilarityReport.SuspiciousPair> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.getColumns().add(statColumn("Student A", 250,
+            pair -> names.getOrDefault(pair.getStudentIdA(), "Student ID: " + pair.getStudentIdA())));
+        table.getColumns().add(statColumn("Student B", 250,
+            pair -> names.getOrDefault(pair.getStudentIdB(), "Student ID: " + pair.getStudentIdB())));
+        table.getColumns().add(statColumn("Same wrong answers", 140,
+            pair -> String.valueOf(pair.getMatchingWrongAnswers())));
+        table.getColumns().add(statColumn("Same answers", 110,
+            pair -> String.valueOf(pair.getIdenticalAnswers())));
+        table.getColumns().add(statColumn("Wrong-answer overlap", 150,
+            pair -> formatPercent(pair.getWrongAnswerSimilarity())));
+        table.getItems().setAll(report.getPairs());
+        
+        Label summary = new Label("Attempts compared: " + report.getAttemptsAnalysed()
+            + "    Flagged pairs: " + report.getPairs().size());
+        summary.setStyle("-fx-font-size: 14px; -fx-font-weight: 600; -fx-text-fill: #2D3447;");
+        
+        VBox root = new VBox(15, summary, table);
+        root.setStyle("-fx-padding: 20; -fx-background-color: #FFFFFF;");
+        VBox.setVgrow(table, Priority.ALWAYS);
+        
+        Stage dialogStage = new Stage();
+        dialogStage.initModality(Modality.WINDOW_MODAL);
+        dialogStage.initOwner(btnSimilarity.getScene().getWindow());
+        dialogStage.setTitle(currentQuizName + " - Similarity Check");
+        dialogStage.setScene(new Scene(root, 900, 500));
+        dialogStage.show();
+    }
+    
+    private static String formatStat(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.3f", value);
+    }
+    
+    private static String formatPercent(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.1f%%", value * 100);
+    }
+    
+    // Handle Regrade button click
+    // Shows a dry-run diff against the current answer key, then applies it after confirmation
+    
+    @FXML
+    private void handleRegrade() {
+        if (resultService == null || currentQuizId == null) {
+            JavaFXHelper.showWarning("Regrade", "No quiz selected.");
+            return;
+        }
+        
+        final Long quizId = currentQuizId;
+        setActionsDisabled(true);
+        actionLoader.load(
+            () -> resultService.previewRegrade(quizId),
+            preview -> {
+                if (preview.getChanges().isEmpty()) {
+                    setActionsDisabled(false);
+                    String kept = preview.getOverrides().isEmpty() ? ""
+                        : "\n" + preview.getOverrides().size() + " hand-corrected scores differ and are kept.";
+                    JavaFXHelper.showInfo("Regrade",
+                        "All " + preview.getResultsScanned() + " results already match the current answer key." + kept);
+                    return;
+                }
+                if (!JavaFXHelper.showConfirmation("Regrade Preview", regradeMessage(preview))) {
+                    setActionsDisabled(false);
+                    return;
+                }
+                applyRegrade(preview);
+            },
+            error -> {
+                setActionsDisabled(false);
+                error.printStackTrace();
+                JavaFXHelper.showError("Regrade Error", "Failed to regrade quiz: " + error.getMessage());
+            });
+    }
+    
+    // Build the confirmation text of a regrade preview (first 10 changes and overrides)
+    // @param preview the dry-run report
+    // @return the message shown to the teacher
+    
+    private static String regradeMessage(RegradeReport preview) {
+        StringBuilder message = new StringBuilder();
+        message.append(preview.getChanges().size()).append(" of ").append(preview.getResultsScanned())
+            .append(" results will change (total score delta ").append(preview.getTotalScoreDelta()).append(").\n\n");
+        int shown = 0;
+        for (RegradeReport.ScoreChange change : preview.getChanges()) {
+            if (shown++ == 10) {
+                message.append("...\n");
+                break;
+            }
+            message.append("Student ID ").append(change.getStudentId()).append(": ")
+                .append(change.getOldScore()).append(" -> ").append(change.getNewScore()).append("\n");
+        }
+        if (!preview.getOverrides().isEmpty()) {
+            message.append("\n").append(preview.getOverrides().size())
+                .append(" hand-corrected scores differ from the answer key and are kept:\n");
+            shown = 0;
+            for (RegradeReport.ScoreChange override : preview.getOverrides()) {
+                if (shown++ == 10) {
+                    message.append("...\n");
+                    break;
+                }
+                message.append("Student ID ").append(override.getStudentId()).append(": ")
+                    .append(override.getOldScore()).append(" (answer key: ").append(override.getNewScore()).append(")\n");
+            }
+        }
+        message.append("\nApply the regrade?");
+        return message.toString();
+    }
+    
+    // Apply a confirmed regrade in the background, then reload the results
+    // @param preview the preview the teacher confirmed (rejected if results changed since)
+    
+    private void applyRegrade(RegradeReport preview) {
+        final Long quizId = preview.getQuizId();
+        final String username = SessionManager.getCurrentUsername();
+        regradeLoader.load(
+            () -> resultService.regradeQuiz(preview, username),
+            report -> {
+                setActionsDisabled(false);
+                JavaFXHelper.showInfo("Regrade Complete",
+                    report.getChanges().size() + " results were regraded.");
+                if (quizId.equals(currentQuizId)) {
+                    loadStudentResults();
+                }
+            },
+            error -> {
+                setActionsDisabled(false);
+                error.printStackTrace();
+                JavaFXHelper.showError("Regrade Error", "Failed to regrade quiz: " + error.getMessage());
+            });
+    }
+    
+    // Disable the analysis buttons while one of them is running
+    // @param disabled whether the buttons are disabled
+    
+    private void setActionsDisabled(boolean disabled) {
+        btnItemAnalysis.setDisable(disabled);
+        btnSimilarity.setDisable(disabled);
+        btnRegrade.setDisable(disabled);
+    }
+    
     // Write student results to CSV file
     // CRITICAL: Export raw numeric score only (not "85/100" format) to prevent Excel date conversion
+    // Runs on a loader thread: must not touch the scene graph
     // @param file the file to write to
+    // @param quizId the quiz whose results are exported
+    // @param quizName the quiz name written in each row
     // @throws IOException if writing fails
     
-    private void writeCSVFile(File file) throws IOException {
+    private void writeCSVFile(File file, Long quizId, String quizName) throws IOException {
         try (FileWriter writer = new FileWriter(file)) {
             // Write CSV header
             writer.write("Quiz Name,Username,Score\n");
             
-            // Write data rows
+            // Write data rows (all results, not only the pages loaded into the list)
             // CRITICAL: Use database results to get raw numeric score
-            if (dbResults != null && !dbResults.isEmpty()) {
-                for (StudentQuizResult dbResult : dbResults) {
-                    // Get student name
-                    String studentName = "Unknown";
-                    if (dbResult.getStudent() != null && dbResult.getStudent().getFullName() != null) {
-                        studentName = dbResult.getStudent().getFullName();
-                    } else if (dbResult.getStudent() != null && dbResult.getStudent().getUsername() != null) {
-                        studentName = dbResult.getStudent().getUsername();
-                    }
-                    
-                    // CRITICAL: Export raw numeric score only (not "85/100" format)
-                    // This prevents Excel from auto-converting "85/100" to a date like "30-Oct"
-                    Integer score = dbResult.getScore();
-                    String scoreValue = (score != null) ? String.valueOf(score) : "0";
-                    
-                    writer.write(currentQuizName + ",");
-                    writer.write(studentName + ",");
-                    writer.write(scoreValue + "\n");
-                }
-            } else {
-                // Fallback: If dbResults not available, parse from display format
-                for (StudentResult result : studentResults) {
-                    String scoreStr = result.getScore();
-                    // Extract numeric part before "/" if format is "85/100"
-                    String scoreValue = scoreStr;
-                    if (scoreStr != null && scoreStr.contains("/")) {
-                        scoreValue = scoreStr.substring(0, scoreStr.indexOf("/")).trim();
-                    }
-                    
-                    writer.write(currentQuizName + ",");
-                    writer.write(result.getStudentName() + ",");
-                    writer.write(scoreValue + "\n");
+            for (StudentResultView result : resultService.getResultViews(quizId)) {
+                // Get student name
+                String studentName = "Unknown";
+                if (result.getFullName() != null) {
+                    studentName = result.getFullName();
+                } else if (result.getUsername() != null) {
+                    studentName = result.getUsername();
                 }
+                
+                // CRITICAL: Export raw numeric score only (not "85/100" format)
+                // This prevents Excel from auto-converting "85/100" to a date like "30-Oct"
+                Integer score = result.getScore();
+                String scoreValue = (score != null) ? String.valueOf(score) : "0";
+                
+                writer.write(quizName + ",");
+                writer.write(studentName + ",");
+                writer.write(scoreValue + "\n");
             }
             
             writer.flush();
@@ -370,54 +705,59 @@ public class StudentResultsController implements Initializable, NavigationAware
     
     @FXML
     private void handleLogout() {
-        try {
-            // Clear session
-            if (authService != null) {
-                authService.logout();
-            } else {
-                SessionManager.clearSession();
-            }
-            
-            // Load the Login screen
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/Login.fxml"));
-            Parent root = loader.load();
-            
-            // Pass AuthService to the login controller
-            LoginController controller = loader.getController();
-            if (authService != null) {
-                controller.setAuthService(authService);
-            }
-            
-            // Get current stage and set new scene
-            Stage stage = (Stage) btnLogout.getScene().getWindow();
-            Scene scene = new Scene(root);
-            stage.setScene(scene);
-            stage.setTitle("Quiz Management System - Login");
-            stage.show();
-            
-        } catch (IOException e) {
-            e.printStackTrace();
-            JavaFXHelper.showError("Logout Error", "Failed to logout. Please try again.");
+        // Clear session
+        if (authService != null) {
+            authService.logout();
+        } else {
+            SessionManager.clearSession();
         }
+        
+        // Navigate to Login screen (also clears cached screens of this session)
+        NavigationManager.getInstance().navigateToLogin();
     }
     
-    // StudentResult - represents a student's quiz result
+    // Similarity report and the student names shown with it, loaded together in the background
     
-    private static class StudentResult {
-        private final String studentName;
-        private final String score;
+    private static class SimilarityResult {
+        private final SimilarityReport report;
+        private final Map<Long, String> names;
         
-        public StudentResult(String studentName, String score) {
-            this.studentName = studentName;
-            this.score = score;
+        SimilarityResult(SimilarityReport report, Map<Long, String> names) {
+            this.report = report;
+            this.names = names;
         }
+    }
+    
+    // StudentResultCell - Reusable list row (one card node per visible row)
+    // Requests the next page when it is bound to a row near the end of the loaded results
+    
+    private final class StudentResultCell extends ListCell<StudentResultView> {
+        private final Label nameLabel = new Label();
+        private final Label scoreLabel = new Label();
+        private final HBox card = new HBox(20, nameLabel, scoreLabel);
         
-        public String getStudentName() {
-            return studentName;
+        StudentResultCell() {
+            getStyleClass().add("student-result-cell");
+            card.getStyleClass().add("student-result-card");
+            card.setAlignment(Pos.CENTER_LEFT);
+            nameLabel.getStyleClass().add("student-result-name");
+            scoreLabel.getStyleClass().add("student-result-score");
         }
         
-        public String getScore() {
-            return score;
+        @Override
+        protected void updateItem(StudentResultView result, boolean empty) {
+            super.updateItem(result, empty);
+            if (empty || result == null) {
+                setGraphic(null);
+                return;
+            }
+            nameLabel.setText(result.getDisplayName());
+            scoreLabel.setText(result.getScoreDisplay());
+            setGraphic(card);
+            
+            if (hasMoreResults && getIndex() >= resultRows.size() - PREFETCH_ROWS) {
+                loadNextResultPage();
+            }
         }
     }
 }
@@ -1,12 +1,15 @@
 package com.se.quiz.quiz_management_system.controller;
 
-import com.se.quiz.quiz_management_system.entity.Question;
 import com.se.quiz.quiz_management_system.entity.Quiz;
 import com.se.quiz.quiz_management_system.entity.StudentQuizResult;
+import com.se.quiz.quiz_management_system.model.AttemptLayout;
+import com.se.quiz.quiz_management_system.model.QuestionView;
 import com.se.quiz.quiz_management_system.navigation.AppScreen;
 import com.se.quiz.quiz_management_system.navigation.NavigationAware;
 import com.se.quiz.quiz_management_system.navigation.NavigationManager;
+import com.se.quiz.quiz_management_system.navigation.ScreenLoader;
 import com.se.quiz.quiz_management_system.service.AuthService;
+import com.se.quiz.quiz_management_system.service.QuestionWindow;
 import com.se.quiz.quiz_management_system.service.QuizService;
 import com.se.quiz.quiz_management_system.service.ResultService;
 import com.se.quiz.quiz_management_system.session.SessionManager;
@@ -19,15 +22,19 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.stage.Stage;
 import javafx.util.Duration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
 
 import java.net.URL;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.ResourceBundle;
 
     // Controller for the Take Quiz view
     // Handles quiz question display, answer selection, and timer
     
+@Component
+@Scope("prototype")
 public class TakeQuizController implements Initializable, NavigationAware {
     
     @FXML
@@ -64,49 +71,41 @@ public class TakeQuizController implements Initializable, NavigationAware {
     private Label lblTotalQuestions;
     
     // Current question data
-    private Question currentQuestion;
+    private QuestionView currentQuestion;
     private Button selectedAnswerButton;
     private int timeRemaining; // seconds (loaded from quiz)
     private Timeline timerTimeline;
     
     // Quiz tracking
     private Quiz currentQuiz;
-    private List<Question> questions;
-    private int currentQuestionIndex = 0; // 0-based index
+    private QuestionWindow questions; // lazily paged questions (no solution text loaded)
+    private AttemptLayout layout; // per-student question/option shuffle
+    private int currentQuestionIndex = 0; // 0-based display index
     private int correctAnswers = 0;
     private int startTime; // To track completion time
-    private String[] selectedAnswers; // Stores selected answer letter per question
+    private byte[] selectedAnswers; // Selected display slot (0-3, -1 = none) per display position
     private boolean isSubmitted = false; // Prevent duplicate submissions
     
-    private AuthService authService;
-    private QuizService quizService;
-    private ResultService resultService;
+    private final AuthService authService;
+    private final QuizService quizService;
+    private final ResultService resultService;
     private Long quizId; // Quiz ID passed from previous screen
     private boolean quizDataLoaded = false;
     
-    // Set the AuthService instance
-    // @param authService the authentication service
+    // Loads the quiz and its question IDs off the FX thread
+    private final ScreenLoader screenLoader = new ScreenLoader("TakeQuiz");
     
-    public void setAuthService(AuthService authService) {
-        this.authService = authService;
-    }
+    // Grades and saves the attempt on a job thread (never cancelled: the result is saved either way)
+    private final ScreenLoader submitLoader = ScreenLoader.forJobs("TakeQuiz submit");
     
-    // Set the QuizService instance (injected from Spring context)
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
     // @param quizService the quiz service
-    
-    public void setQuizService(QuizService quizService) {
-        this.quizService = quizService;
-        
-        // If quiz ID already set, load data now
-        if (quizId != null && !quizDataLoaded) {
-            loadQuizData();
-        }
-    }
-    
-    // Set the ResultService instance (injected from Spring context)
     // @param resultService the result service
     
-    public void setResultService(ResultService resultService) {
+    public TakeQuizController(AuthService authService, QuizService quizService, ResultService resultService) {
+        this.authService = authService;
+        this.quizService = quizService;
         this.resultService = resultService;
     }
     
@@ -119,80 +118,103 @@ public class TakeQuizController implements Initializable, NavigationAware {
             this.quizId = (Long) data.get("quizId");
             System.out.println("TakeQuizController received Quiz ID: " + quizId);
             
-            // Load quiz data if service is available
-            if (quizService != null && !quizDataLoaded) {
+            // Load quiz data
+            if (!quizDataLoaded) {
                 loadQuizData();
             }
         }
     }
     
+    @Override
+    public void onNavigatedFrom() {
+        screenLoader.cancel();
+    }
+    
     // Load quiz data from database
     // CRITICAL: Loads real time limit and questions from DB
     
     private void loadQuizData() {
-        try {
-            // Validate quiz service
-            if (quizService == null) {
-                JavaFXHelper.showError("Service Error", "Quiz service is not available.");
-                handleExit();
-                return;
-            }
-            
-            // Validate quiz ID
-            if (quizId == null) {
-                JavaFXHelper.showError("Error", "No quiz selected.");
-                handleExit();
-                return;
-            }
-            
-            // LOAD QUIZ FROM DATABASE
-            currentQuiz = quizService.getQuizById(quizId);
-            
-            // SET TIME LIMIT FROM QUIZ (convert minutes to seconds)
-            if (currentQuiz.getTimeLimit() != null && currentQuiz.getTimeLimit() > 0) {
-                timeRemaining = currentQuiz.getTimeLimit() * 60; // minutes → seconds
-            } else {
-                // Default 30 minutes if not set
-                timeRemaining = 30 * 60;
-            }
-            
-            // LOAD QUESTIONS FROM DATABASE
-            questions = quizService.getQuestionsForQuiz(quizId);
-            
-            // Validate questions exist
-            if (questions == null || questions.isEmpty()) {
-                JavaFXHelper.showError("No Questions", 
-                    "This quiz has no questions. Please contact your teacher.");
-                handleExit();
-                return;
-            }
-            
-            // Mark as loaded
-            quizDataLoaded = true;
-            selectedAnswers = new String[questions.size()];
-            
-            // Record start time
-            startTime = (int) (System.currentTimeMillis() / 1000);
-            
-            // UPDATE UI WITH REAL DATA
-            if (lblTotalQuestions != null) {
-                lblTotalQuestions.setText("/" + questions.size());
-            }
-            
-            // START QUIZ
-            showQuestion(0);
-            startTimer();
-            
-            System.out.println("Loaded quiz: " + currentQuiz.getQuizName() + 
-                             " with " + questions.size() + " questions, " + 
-                             currentQuiz.getTimeLimit() + " minutes time limit");
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            JavaFXHelper.showError("Load Error", 
-                "Failed to load quiz: " + e.getMessage());
+        // Validate quiz ID
+        if (quizId == null) {
+            JavaFXHelper.showError("Error", "No quiz selected.");
             handleExit();
+            return;
         }
+        
+        if (lblQuestion != null) {
+            lblQuestion.setText("Loading quiz...");
+        }
+        
+        final Long studentId = SessionManager.getCurrentUserId();
+        screenLoader.load(
+            () -> {
+                // LOAD QUIZ FROM DATABASE
+                Quiz quiz = quizService.getQuizById(quizId);
+                
+                // LOAD QUESTION IDS FROM DATABASE (drawn subset for "draw N from pool" quizzes)
+                // Question text is fetched page by page by the QuestionWindow
+                long[] questionIds = quizService.getQuestionIdsForAttempt(quizId, studentId);
+                
+                // Build deterministic shuffle for this student (derived from IDs, never stored)
+                if (questionIds == null || questionIds.length == 0) {
+                    return new LoadedQuiz(quiz, null, null);
+                }
+                AttemptLayout attemptLayout = AttemptLayout.forAttempt(studentId, quizId, questionIds);
+                
+                // Open the window and warm the first page here, so showQuestion(0) never waits on the DB
+                QuestionWindow window = quizService.openQuestionWindow(attemptLayout);
+                window.get(0);
+                return new LoadedQuiz(quiz, attemptLayout, window);
+            },
+            loaded -> {
+                currentQuiz = loaded.quiz;
+                
+                // SET TIME LIMIT FROM QUIZ (convert minutes to seconds)
+                if (currentQuiz.getTimeLimit() != null && currentQuiz.getTimeLimit() > 0) {
+                    timeRemaining = currentQuiz.getTimeLimit() * 60; // minutes → seconds
+                } else {
+                    // Default 30 minutes if not set
+                    timeRemaining = 30 * 60;
+                }
+                
+                // Validate questions exist
+                if (loaded.layout == null) {
+                    JavaFXHelper.showError("No Questions", 
+                        "This quiz has no questions. Please contact your teacher.");
+                    handleExit();
+                    return;
+                }
+                
+                layout = loaded.layout;
+                questions = loaded.questions;
+                
+                // Mark as loaded
+                quizDataLoaded = true;
+                selectedAnswers = new byte[questions.size()];
+                Arrays.fill(selectedAnswers, (byte) -1);
+                
+                // Record start time
+                startTime = (int) (System.currentTimeMillis() / 1000);
+                
+                // UPDATE UI WITH REAL DATA
+                if (lblTotalQuestions != null) {
+                    lblTotalQuestions.setText("/" + questions.size());
+                }
+                
+                // START QUIZ
+                showQuestion(0);
+                startTimer();
+                
+                System.out.println("Loaded quiz: " + currentQuiz.getQuizName() + 
+                                 " with " + questions.size() + " questions, " + 
+                                 currentQuiz.getTimeLimit() + " minutes time limit");
+            },
+            error -> {
+                error.printStackTrace();
+                JavaFXHelper.showError("Load Error", 
+                    "Failed to load quiz: " + error.getMessage());
+                handleExit();
+            });
     }
     
     @Override
@@ -214,18 +236,18 @@ public class TakeQuizController implements Initializable, NavigationAware {
             return;
         }
         
-        // Get current question
+        // Get current question (display position -> question via layout, fetched by page)
         currentQuestion = questions.get(questionIndex);
         currentQuestionIndex = questionIndex;
         
         // ✅ DISPLAY REAL QUESTION FROM DATABASE
         lblQuestion.setText(currentQuestion.getProblem());
         
-        // ✅ DISPLAY REAL OPTIONS FROM DATABASE
-        btnAnswerA.setText("A. " + (currentQuestion.getOptionA() != null ? currentQuestion.getOptionA() : ""));
-        btnAnswerB.setText("B. " + (currentQuestion.getOptionB() != null ? currentQuestion.getOptionB() : ""));
-        btnAnswerC.setText("C. " + (currentQuestion.getOptionC() != null ? currentQuestion.getOptionC() : ""));
-        btnAnswerD.setText("D. " + (currentQuestion.getOptionD() != null ? currentQuestion.getOptionD() : ""));
+        // ✅ DISPLAY REAL OPTIONS FROM DATABASE (in this student's shuffled option order)
+        btnAnswerA.setText("A. " + optionText(questionIndex, 0));
+        btnAnswerB.setText("B. " + optionText(questionIndex, 1));
+        btnAnswerC.setText("C. " + optionText(questionIndex, 2));
+        btnAnswerD.setText("D. " + optionText(questionIndex, 3));
         
         // Update question counter
         if (lblCurrentQuestion != null) {
@@ -237,22 +259,22 @@ public class TakeQuizController implements Initializable, NavigationAware {
         
         // Re-apply previous selection for this question (if any)
         if (selectedAnswers != null && questionIndex < selectedAnswers.length) {
-            String saved = selectedAnswers[questionIndex];
-            if (saved != null) {
+            int saved = selectedAnswers[questionIndex];
+            if (saved >= 0) {
                 switch (saved) {
-                    case "A":
+                    case 0:
                         btnAnswerA.getStyleClass().add("selected");
                         selectedAnswerButton = btnAnswerA;
                         break;
-                    case "B":
+                    case 1:
                         btnAnswerB.getStyleClass().add("selected");
                         selectedAnswerButton = btnAnswerB;
                         break;
-                    case "C":
+                    case 2:
                         btnAnswerC.getStyleClass().add("selected");
                         selectedAnswerButton = btnAnswerC;
                         break;
-                    case "D":
+                    case 3:
                         btnAnswerD.getStyleClass().add("selected");
                         selectedAnswerButton = btnAnswerD;
                         break;
@@ -277,6 +299,15 @@ public class TakeQuizController implements Initializable, NavigationAware {
         System.out.println("Showing question " + (questionIndex + 1) + "/" + questions.size());
     }
     
+    // Get the option text shown in a display slot of the current question
+    // @param displayPosition the display position of the question
+    // @param slot the display slot (0 = button A ... 3 = button D)
+    
+    private String optionText(int displayPosition, int slot) {
+        String text = currentQuestion.getOption(layout.optionAt(displayPosition, slot));
+        return text != null ? text : "";
+    }
+    
     // Handle answer button click
     
     @FXML
@@ -293,13 +324,13 @@ public class TakeQuizController implements Initializable, NavigationAware {
         // Persist selection for this question
         if (selectedAnswers != null && currentQuestionIndex < selectedAnswers.length) {
             if (clickedButton == btnAnswerA) {
-                selectedAnswers[currentQuestionIndex] = "A";
+                selectedAnswers[currentQuestionIndex] = 0;
             } else if (clickedButton == btnAnswerB) {
-                selectedAnswers[currentQuestionIndex] = "B";
+                selectedAnswers[currentQuestionIndex] = 1;
             } else if (clickedButton == btnAnswerC) {
-                selectedAnswers[currentQuestionIndex] = "C";
+                selectedAnswers[currentQuestionIndex] = 2;
             } else if (clickedButton == btnAnswerD) {
-                selectedAnswers[currentQuestionIndex] = "D";
+                selectedAnswers[currentQuestionIndex] = 3;
             }
         }
     }
@@ -371,7 +402,7 @@ public class TakeQuizController implements Initializable, NavigationAware {
     @FXML
     private void handleNext() {
         // Ensure current question has an answer
-        if (selectedAnswers == null || currentQuestionIndex >= selectedAnswers.length || selectedAnswers[currentQuestionIndex] == null) {
+        if (selectedAnswers == null || currentQuestionIndex >= selectedAnswers.length || selectedAnswers[currentQuestionIndex] < 0) {
             JavaFXHelper.showWarning("No Selection", "Please select an answer before proceeding.");
             return;
         }
@@ -389,45 +420,83 @@ public class TakeQuizController implements Initializable, NavigationAware {
     
     // Navigate to the Quiz Result screen
     // CRITICAL: Saves result to database before navigating
+    // Grading and saving run on a job thread (the save locks the quiz's statistics row, which
+    // a whole class submitting at the deadline queues on); the window stays responsive meanwhile
     
     private void navigateToResultScreen() {
         // Ensure selectedAnswers array exists to avoid NPE when auto-submitting with unanswered questions
         if (selectedAnswers == null && questions != null) {
-            selectedAnswers = new String[questions.size()];
-        }
-        
-        // Recalculate correct answers based on all saved selections (unanswered are treated as incorrect)
-        correctAnswers = 0;
-        if (questions != null && selectedAnswers != null) {
-            for (int i = 0; i < questions.size() && i < selectedAnswers.length; i++) {
-                String chosen = selectedAnswers[i];
-                String correct = questions.get(i).getCorrectAnswer();
-                if (chosen != null && correct != null && chosen.equalsIgnoreCase(correct)) {
-                    correctAnswers++;
-                }
-            }
+            selectedAnswers = new byte[questions.size()];
+            Arrays.fill(selectedAnswers, (byte) -1);
         }
         
         // Guard: prevent double submissions
         if (!checkAndMarkSubmitted()) {
             return;
         }
-        // Calculate completion time
+        
+        // Calculate completion time (taken now, not when the save finishes)
         int endTime = (int) (System.currentTimeMillis() / 1000);
-        int timeTakenSeconds = endTime - startTime;
-        int minutes = timeTakenSeconds / 60;
-        int seconds = timeTakenSeconds % 60;
-        String timeTaken = minutes + " minute" + (minutes != 1 ? "s" : "");
-        if (seconds > 0) {
-            timeTaken += " " + seconds + " second" + (seconds != 1 ? "s" : "");
-        }
+        final int timeTakenSeconds = endTime - startTime;
         
         // Calculate total questions
-        int totalQuestions = questions != null ? questions.size() : 0;
+        final int totalQuestions = questions != null ? questions.size() : 0;
         
-        // Calculate score (10 points per question)
-        int score = correctAnswers * 10;
-        int totalPoints = totalQuestions * 10;
+        // Freeze the attempt while it is submitted
+        setAnswerControlsDisabled(true);
+        if (lblQuestion != null) {
+            lblQuestion.setText("Submitting your answers...");
+        }
+        
+        final Long studentId = SessionManager.getCurrentUserId();
+        final Long attemptQuizId = quizId;
+        final AttemptLayout attemptLayout = layout;
+        final byte[] answers = selectedAnswers != null ? selectedAnswers.clone() : null;
+        submitLoader.load(
+            () -> submitAttempt(studentId, attemptQuizId, attemptLayout, answers, timeTakenSeconds),
+            outcome -> {
+                if (outcome.duplicate) {
+                    JavaFXHelper.showError("Duplicate Submission", 
+                        "You have already completed this quiz. Duplicate submissions are not allowed.");
+                } else if (outcome.saveFailed) {
+                    JavaFXHelper.showError("Save Error", 
+                        "Failed to save result to database. Please contact your teacher.");
+                }
+                showResultScreen(outcome.correctAnswers, totalQuestions, timeTakenSeconds);
+            },
+            error -> {
+                // Log error but continue to result screen
+                error.printStackTrace();
+                JavaFXHelper.showError("Save Error", 
+                    "Failed to save result to database. Please contact your teacher.");
+                showResultScreen(0, totalQuestions, timeTakenSeconds);
+            });
+    }
+    
+    // Grade and save one attempt (runs on a job thread: must not touch the scene graph)
+    // @param studentId the student ID
+    // @param attemptQuizId the quiz ID
+    // @param attemptLayout the student's layout of the attempt
+    // @param answers the selected display slot per display position
+    // @param timeTakenSeconds the completion time
+    // @return what was graded and whether it was saved
+    
+    private SubmitOutcome submitAttempt(Long studentId, Long attemptQuizId, AttemptLayout attemptLayout,
+                                        byte[] answers, int timeTakenSeconds) {
+        SubmitOutcome outcome = new SubmitOutcome();
+        
+        // Grade in the service: display selections are remapped through the layout onto the
+        // original answer key (unanswered are treated as incorrect)
+        StudentQuizResult graded = null;
+        try {
+            if (quizService != null && attemptLayout != null) {
+                graded = quizService.gradeAttempt(studentId, attemptQuizId, attemptLayout, answers);
+                outcome.correctAnswers = graded.getCorrectAnswers();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.err.println("❌ Error grading quiz: " + e.getMessage());
+        }
         
         // ═══════════════════════════════════════════════════════════
         // CRITICAL: SAVE RESULT TO DATABASE
@@ -437,10 +506,8 @@ public class TakeQuizController implements Initializable, NavigationAware {
         System.out.println("========================================");
         
         try {
-            // Get current student ID from session
-            Long studentId = SessionManager.getCurrentUserId();
             System.out.println("🔵 [TakeQuizController] Retrieved studentId from session: " + studentId);
-            System.out.println("🔵 [TakeQuizController] Current quizId: " + quizId);
+            System.out.println("🔵 [TakeQuizController] Current quizId: " + attemptQuizId);
             System.out.println("🔵 [TakeQuizController] ResultService available: " + (resultService != null));
             
             if (studentId == null) {
@@ -449,7 +516,7 @@ public class TakeQuizController implements Initializable, NavigationAware {
                 System.err.println("   - Student may not be logged in properly");
             }
             
-            if (quizId == null) {
+            if (attemptQuizId == null) {
                 System.err.println("❌ [TakeQuizController] CRITICAL ERROR: Quiz ID is NULL!");
                 System.err.println("   - This means quiz data was not passed correctly");
             }
@@ -457,20 +524,18 @@ public class TakeQuizController implements Initializable, NavigationAware {
             if (resultService == null) {
                 System.err.println("❌ [TakeQuizController] CRITICAL ERROR: ResultService is NULL!");
                 System.err.println("   - This means Spring dependency injection failed");
-                System.err.println("   - Check if NavigationManager.injectResultService() is being called");
+                System.err.println("   - Check that the screen is built through SpringControllerFactory (constructor injection)");
+            }
+            
+            if (graded == null) {
+                System.err.println("❌ [TakeQuizController] CRITICAL ERROR: Attempt could not be graded!");
             }
             
-            if (studentId != null && quizId != null && resultService != null) {
+            if (studentId != null && attemptQuizId != null && resultService != null && graded != null) {
                 System.out.println("🔵 [TakeQuizController] All required data available - creating result object");
                 
-                // Create result object
-                StudentQuizResult result = new StudentQuizResult();
-                result.setStudentId(studentId);
-                result.setQuizId(quizId);
-                result.setScore(score);
-                result.setTotalPoints(totalPoints);
-                result.setCorrectAnswers(correctAnswers);
-                result.setTotalQuestions(totalQuestions);
+                // Graded result already carries score, counts and the canonical answer vector
+                StudentQuizResult result = graded;
                 result.setCompletionTimeSeconds(timeTakenSeconds);
                 // submittedAt will be set automatically in service
                 
@@ -497,23 +562,41 @@ public class TakeQuizController implements Initializable, NavigationAware {
                 System.err.println("========================================");
                 System.err.println("❌ [TakeQuizController] CANNOT SAVE RESULT - Missing required data:");
                 System.err.println("   - studentId: " + studentId);
-                System.err.println("   - quizId: " + quizId);
+                System.err.println("   - quizId: " + attemptQuizId);
                 System.err.println("   - resultService: " + (resultService != null ? "available" : "NULL"));
                 System.err.println("========================================");
             }
         } catch (IllegalStateException e) {
             // Student already completed this quiz (shouldn't happen, but handle it)
             System.err.println("❌ Error: Student has already completed this quiz");
-            JavaFXHelper.showError("Duplicate Submission", 
-                "You have already completed this quiz. Duplicate submissions are not allowed.");
+            outcome.duplicate = true;
         } catch (Exception e) {
             // Log error but continue to result screen
             e.printStackTrace();
             System.err.println("❌ Error saving result to database: " + e.getMessage());
-            JavaFXHelper.showError("Save Error", 
-                "Failed to save result to database. Please contact your teacher.");
+            outcome.saveFailed = true;
+        }
+        return outcome;
+    }
+    
+    // Show the Quiz Result screen for a submitted attempt
+    // @param correct number of correct answers
+    // @param totalQuestions number of questions in the attempt
+    // @param timeTakenSeconds the completion time
+    
+    private void showResultScreen(int correct, int totalQuestions, int timeTakenSeconds) {
+        correctAnswers = correct;
+        int minutes = timeTakenSeconds / 60;
+        int seconds = timeTakenSeconds % 60;
+        String timeTaken = minutes + " minute" + (minutes != 1 ? "s" : "");
+        if (seconds > 0) {
+            timeTaken += " " + seconds + " second" + (seconds != 1 ? "s" : "");
         }
         
+        // Calculate score (10 points per question)
+        int score = correctAnswers * QuizService.POINTS_PER_QUESTION;
+        int totalPoints = totalQuestions * QuizService.POINTS_PER_QUESTION;
+        
         // Prepare result data to pass to next screen
         java.util.Map<String, Object> resultData = new java.util.HashMap<>();
         resultData.put("subject", currentQuiz != null ? currentQuiz.getQuizName() : "Quiz"); // ✅ REAL QUIZ NAME
@@ -525,15 +608,34 @@ public class TakeQuizController implements Initializable, NavigationAware {
         
         System.out.println("Quiz completed: " + correctAnswers + "/" + totalQuestions + " correct");
         
+        // Release loaded question pages before leaving the attempt
+        if (questions != null) {
+            questions.close();
+        }
+        
         // Navigate to Quiz Result screen with data
         NavigationManager.getInstance().navigateTo(AppScreen.QUIZ_RESULT, resultData);
     }
     
+    // Disable answering and navigation while the attempt is submitted
+    // @param disabled whether the controls are disabled
+    
+    private void setAnswerControlsDisabled(boolean disabled) {
+        for (Button button : new Button[] { btnAnswerA, btnAnswerB, btnAnswerC, btnAnswerD, btnPrevious, btnNext }) {
+            if (button != null) {
+                button.setDisable(disabled);
+            }
+        }
+    }
+    
     // Handle Exit button click
     
     @FXML
     private void handleExit() {
         stopTimer();
+        if (questions != null) {
+            questions.close();
+        }
         Stage stage = (Stage) btnExit.getScene().getWindow();
         stage.close();
     }
@@ -556,4 +658,27 @@ public class TakeQuizController implements Initializable, NavigationAware {
         isSubmitted = true;
         return true;
     }
+    
+    // Outcome of grading and saving an attempt in the background
+    
+    private static class SubmitOutcome {
+        private int correctAnswers;
+        private boolean duplicate;
+        private boolean saveFailed;
+    }
+    
+    // Quiz, attempt layout and question window loaded together in the background
+    // (layout and questions are null without questions; the first page is already fetched)
+    
+    private static class LoadedQuiz {
+        private final Quiz quiz;
+        private final AttemptLayout layout;
+        private final QuestionWindow questions;
+        
+        LoadedQuiz(Quiz quiz, AttemptLayout layout, QuestionWindow questions) {
+            this.quiz = quiz;
+            this.layout = layout;
+            this.questions = questions;
+        }
+    }
 }
@@ -13,12 +13,16 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
 
 import java.net.URL;
 import java.util.ResourceBundle;
 
     // Controller for the Teacher Dashboard view
     
+@Component
+@Scope("prototype")
 public class TeacherDashboardController implements Initializable {
     
     @FXML
@@ -42,12 +46,12 @@ public class TeacherDashboardController implements Initializable {
     @FXML
     private StackPane dialogContainer;
     
-    private AuthService authService;
+    private final AuthService authService;
     
-    // Set the AuthService instance (injected from Spring context)
-    // @param authService the AuthService instance
+    // Create the controller with its services (built by Spring, see SpringControllerFactory)
+    // @param authService the authentication service
     
-    public void setAuthService(AuthService authService) {
+    public TeacherDashboardController(AuthService authService) {
         this.authService = authService;
     }
     
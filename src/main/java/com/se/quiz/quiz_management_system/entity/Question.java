@@ -35,6 +35,14 @@ public class Question {
     @Column(name = "correct_answer")
     private String correctAnswer;
     
+    // Optional topic tag, used as stratum when drawing from a pool
+    @Column(name = "tag", length = 50)
+    private String tag;
+    
+    // Optional difficulty level (e.g. 1 = easy ... 5 = hard), used as stratum when drawing
+    @Column(name = "difficulty")
+    private Integer difficulty;
+    
     @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<QuizQuestion> quizQuestions;
     
@@ -114,6 +122,20 @@ public class Question {
         this.optionD = optionD;
     }
     
+    // Get option text by 0-based index (0 = A, 1 = B, 2 = C, 3 = D)
+    // @param index the option index
+    // @return the option text, or null if index is out of range
+    
+    public String getOption(int index) {
+        switch (index) {
+            case 0: return optionA;
+            case 1: return optionB;
+            case 2: return optionC;
+            case 3: return optionD;
+            default: return null;
+        }
+    }
+    
     public String getCorrectAnswer() {
         return correctAnswer;
     }
@@ -122,6 +144,22 @@ public class Question {
         this.correctAnswer = correctAnswer;
     }
     
+    public String getTag() {
+        return tag;
+    }
+    
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+    
+    public Integer getDifficulty() {
+        return difficulty;
+    }
+    
+    public void setDifficulty(Integer difficulty) {
+        this.difficulty = difficulty;
+    }
+    
     public List<QuizQuestion> getQuizQuestions() {
         return quizQuestions;
     }
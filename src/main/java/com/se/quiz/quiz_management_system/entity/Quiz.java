@@ -1,5 +1,6 @@
 package com.se.quiz.quiz_management_system.entity;
 
+import com.se.quiz.quiz_management_system.model.StratifyBy;
 import jakarta.persistence.*;
 import java.util.List;
 
@@ -21,9 +22,19 @@ public class Quiz {
     @Column(name = "time_limit")
     private Integer timeLimit;
     
+    // Size of the quiz's question pool
     @Column(name = "number_of_question")
     private Integer numberOfQuestion;
     
+    // Questions drawn per attempt ("draw N from pool"); null = every attempt gets the whole pool
+    @Column(name = "draw_count")
+    private Integer drawCount;
+    
+    // Stratification of the per-attempt draw (null/NONE = simple random sample)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "draw_stratify_by", length = 20)
+    private StratifyBy drawStratifyBy;
+    
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<QuizQuestion> quizQuestions;
     
@@ -73,6 +84,35 @@ public class Quiz {
         this.numberOfQuestion = numberOfQuestion;
     }
     
+    public Integer getDrawCount() {
+        return drawCount;
+    }
+    
+    public void setDrawCount(Integer drawCount) {
+        this.drawCount = drawCount;
+    }
+    
+    public StratifyBy getDrawStratifyBy() {
+        return drawStratifyBy;
+    }
+    
+    public void setDrawStratifyBy(StratifyBy drawStratifyBy) {
+        this.drawStratifyBy = drawStratifyBy;
+    }
+    
+    // Check if attempts draw a random subset of the pool
+    
+    public boolean isDrawnFromPool() {
+        return drawCount != null && drawCount > 0
+            && (numberOfQuestion == null || drawCount < numberOfQuestion);
+    }
+    
+    // Number of questions a student actually answers per attempt
+    
+    public Integer getQuestionsPerAttempt() {
+        return isDrawnFromPool() ? drawCount : numberOfQuestion;
+    }
+    
     public List<QuizQuestion> getQuizQuestions() {
         return quizQuestions;
     }
@@ -94,6 +134,7 @@ public class Quiz {
         return "Quiz{" +
                 "quizId=" + quizId +
                 ", numberOfQuestion=" + numberOfQuestion +
+                ", drawCount=" + drawCount +
                 '}';
     }
 }
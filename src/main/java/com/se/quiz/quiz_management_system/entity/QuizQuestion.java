@@ -20,6 +20,11 @@ public class QuizQuestion {
     @Column(name = "quiz_id", nullable = false)
     private Long quizId;
 
+    // Explicit 0-based display position of the question inside the quiz
+    // Rows created before this column existed are NULL and sort last (by question_id)
+    @Column(name = "position")
+    private Integer position;
+
     // Relationships to Question and Quiz, mapped via the FK columns above
     @ManyToOne
     @JoinColumn(name = "question_id", insertable = false, updatable = false)
@@ -57,6 +62,14 @@ public class QuizQuestion {
         this.quizId = quizId;
     }
 
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
     public Question getQuestion() {
         return question;
     }
@@ -80,6 +93,7 @@ public class QuizQuestion {
         return "QuizQuestion{" +
                 "questionId=" + questionId +
                 ", quizId=" + quizId +
+                ", position=" + position +
                 '}';
     }
 }
@@ -0,0 +1,272 @@
+package com.se.quiz.quiz_management_system.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Arrays;
+
+    // QuizStats entity - Incrementally maintained score summary of one quiz
+    // Maps to quiz_stats table
+    // Updated in the same transaction as every result insert / score change / delete,
+    // so dashboards read O(1) statistics no matter how many students submitted:
+    // - count, sum and sum of squares (mean and standard deviation)
+    // - min and max score
+    // - fixed-bucket histogram of score percentages (10 buckets of 10%, 100% in the last)
+    // - quantile sketches of score and completion time (see KllSketch)
+    // - a version incremented by every change, so each client can revalidate its in-memory
+    //   caches (leaderboards, sketches) against changes made by other clients
+    // - the version the sketches were last brought up to (sketches are updated after commit)
+
+@Entity
+@Table(name = "quiz_stats")
+public class QuizStats {
+    
+    public static final int HISTOGRAM_BUCKETS = 10;
+    
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+    
+    @Column(name = "result_count", nullable = false)
+    private Long resultCount = 0L;
+    
+    @Column(name = "score_sum", nullable = false)
+    private Long scoreSum = 0L;
+    
+    @Column(name = "score_sum_squares", nullable = false)
+    private Long scoreSumSquares = 0L;
+    
+    @Column(name = "min_score")
+    private Integer minScore;
+    
+    @Column(name = "max_score")
+    private Integer maxScore;
+    
+    // Result count per score-percentage bucket
+    
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "histogram", columnDefinition = "integer[]")
+    private int[] histogram = new int[HISTOGRAM_BUCKETS];
+    
+    // Serialized KllSketch of scores (percentiles / quartiles)
+    
+    @Column(name = "score_sketch")
+    private byte[] scoreSketch;
+    
+    // Serialized KllSketch of completion times in seconds
+    
+    @Column(name = "time_sketch")
+    private byte[] timeSketch;
+    
+    // Incremented on every change (see QuizStatsService)
+    
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version = 0L;
+    
+    // Row version the sketches reflect; behind version while a submission's sketch update is
+    // pending (or was skipped), and after deletes and score changes
+    
+    @Column(name = "sketch_version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long sketchVersion = 0L;
+    
+    // Constructors
+    
+    public QuizStats() {
+    }
+    
+    public QuizStats(Long quizId) {
+        this.quizId = quizId;
+    }
+    
+    // Histogram bucket of a score (percentage of total points, clamped to 0..HISTOGRAM_BUCKETS - 1)
+    // @param score the score
+    // @param totalPoints the total points (0 or null puts the score in the first bucket)
+    // @return bucket index
+    
+    public static int bucketOf(int score, Integer totalPoints) {
+        if (totalPoints == null || totalPoints <= 0) {
+            return 0;
+        }
+        int bucket = (int) ((long) score * HISTOGRAM_BUCKETS / totalPoints);
+        return Math.max(0, Math.min(HISTOGRAM_BUCKETS - 1, bucket));
+    }
+    
+    // Add one result
+    
+    public void add(int score, Integer totalPoints) {
+        add(score, totalPoints, 1);
+    }
+    
+    // Add count results with the same score and total points
+    
+    public void add(int score, Integer totalPoints, long count) {
+        resultCount += count;
+        scoreSum += score * count;
+        scoreSumSquares += (long) score * score * count;
+        minScore = minScore == null ? score : Math.min(minScore, score);
+        maxScore = maxScore == null ? score : Math.max(maxScore, score);
+        histogram()[bucketOf(score, totalPoints)] += (int) count;
+    }
+    
+    // Remove one result
+    // @return true if min or max may now be stale and must be recomputed
+    
+    public boolean remove(int score, Integer totalPoints) {
+        resultCount = Math.max(0, resultCount - 1);
+        scoreSum -= score;
+        scoreSumSquares -= (long) score * score;
+        int[] buckets = histogram();
+        int bucket = bucketOf(score, totalPoints);
+        buckets[bucket] = Math.max(0, buckets[bucket] - 1);
+        
+        if (resultCount == 0) {
+            minScore = null;
+            maxScore = null;
+            return false;
+        }
+        return (minScore != null && score <= minScore) || (maxScore != null && score >= maxScore);
+    }
+    
+    // Mark the row as changed
+    // @return the new version
+    
+    public long incrementVersion() {
+        version = (version != null ? version : 0L) + 1;
+        return version;
+    }
+    
+    // Whether the stored sketches reflect the current version of the row
+    
+    public boolean hasCurrentSketches() {
+        return scoreSketch != null && timeSketch != null && version.equals(sketchVersion);
+    }
+    
+    // Mean score, or null if there are no results
+    
+    public Double getAverageScore() {
+        return resultCount > 0 ? (double) scoreSum / resultCount : null;
+    }
+    
+    // Population standard deviation of scores, or null if there are no results
+    
+    public Double getStandardDeviation() {
+        if (resultCount == 0) {
+            return null;
+        }
+        double mean = (double) scoreSum / resultCount;
+        return Math.sqrt(Math.max(0, (double) scoreSumSquares / resultCount - mean * mean));
+    }
+    
+    // Getters and Setters
+    
+    public Long getQuizId() {
+        return quizId;
+    }
+    
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+    
+    public Long getResultCount() {
+        return resultCount;
+    }
+    
+    public void setResultCount(Long resultCount) {
+        this.resultCount = resultCount;
+    }
+    
+    public Long getScoreSum() {
+        return scoreSum;
+    }
+    
+    public void setScoreSum(Long scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+    
+    public Long getScoreSumSquares() {
+        return scoreSumSquares;
+    }
+    
+    public void setScoreSumSquares(Long scoreSumSquares) {
+        this.scoreSumSquares = scoreSumSquares;
+    }
+    
+    public Integer getMinScore() {
+        return minScore;
+    }
+    
+    public void setMinScore(Integer minScore) {
+        this.minScore = minScore;
+    }
+    
+    public Integer getMaxScore() {
+        return maxScore;
+    }
+    
+    public void setMaxScore(Integer maxScore) {
+        this.maxScore = maxScore;
+    }
+    
+    public int[] getHistogram() {
+        return histogram().clone();
+    }
+    
+    public void setHistogram(int[] histogram) {
+        this.histogram = histogram;
+    }
+    
+    public byte[] getScoreSketch() {
+        return scoreSketch;
+    }
+    
+    public void setScoreSketch(byte[] scoreSketch) {
+        this.scoreSketch = scoreSketch;
+    }
+    
+    public byte[] getTimeSketch() {
+        return timeSketch;
+    }
+    
+    public void setTimeSketch(byte[] timeSketch) {
+        this.timeSketch = timeSketch;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Long getSketchVersion() {
+        return sketchVersion;
+    }
+    
+    public void setSketchVersion(Long sketchVersion) {
+        this.sketchVersion = sketchVersion;
+    }
+    
+    // Histogram array, padded to HISTOGRAM_BUCKETS (rows written by SQL may be shorter)
+    
+    private int[] histogram() {
+        if (histogram == null || histogram.length < HISTOGRAM_BUCKETS) {
+            histogram = histogram == null ? new int[HISTOGRAM_BUCKETS] : Arrays.copyOf(histogram, HISTOGRAM_BUCKETS);
+        }
+        return histogram;
+    }
+    
+    @Override
+    public String toString() {
+        return "QuizStats{" +
+                "quizId=" + quizId +
+                ", resultCount=" + resultCount +
+                ", scoreSum=" + scoreSum +
+                ", minScore=" + minScore +
+                ", maxScore=" + maxScore +
+                ", version=" + version +
+                ", histogram=" + Arrays.toString(histogram) +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+package com.se.quiz.quiz_management_system.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+    // RegradeAudit entity - One record per applied bulk regrade of a quiz
+    // Maps to regrade_audit table
+    // Keeps who regraded, when, how many results changed and the answer key that was applied
+
+@Entity
+@Table(name = "regrade_audit")
+public class RegradeAudit {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "audit_id")
+    private Long auditId;
+    
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+    
+    // Username of the teacher who ran the regrade
+    
+    @Column(name = "performed_by", length = 100)
+    private String performedBy;
+    
+    @Column(name = "performed_at", nullable = false)
+    private LocalDateTime performedAt;
+    
+    // Number of results with stored answers that were rescored
+    
+    @Column(name = "results_scanned", nullable = false)
+    private Integer resultsScanned;
+    
+    // Number of results whose score changed
+    
+    @Column(name = "results_changed", nullable = false)
+    private Integer resultsChanged;
+    
+    // Sum of (new score - old score) over all changed results
+    
+    @Column(name = "score_delta", nullable = false)
+    private Long scoreDelta;
+    
+    // Applied answer key in canonical question order ('A'-'D', '?' if unknown)
+    
+    @Column(name = "answer_key", columnDefinition = "TEXT")
+    private String answerKey;
+    
+    // Constructors
+    
+    public RegradeAudit() {
+    }
+    
+    // Getters and Setters
+    
+    public Long getAuditId() {
+        return auditId;
+    }
+    
+    public void setAuditId(Long auditId) {
+        this.auditId = auditId;
+    }
+    
+    public Long getQuizId() {
+        return quizId;
+    }
+    
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+    
+    public String getPerformedBy() {
+        return performedBy;
+    }
+    
+    public void setPerformedBy(String performedBy) {
+        this.performedBy = performedBy;
+    }
+    
+    public LocalDateTime getPerformedAt() {
+        return performedAt;
+    }
+    
+    public void setPerformedAt(LocalDateTime performedAt) {
+        this.performedAt = performedAt;
+    }
+    
+    public Integer getResultsScanned() {
+        return resultsScanned;
+    }
+    
+    public void setResultsScanned(Integer resultsScanned) {
+        this.resultsScanned = resultsScanned;
+    }
+    
+    public Integer getResultsChanged() {
+        return resultsChanged;
+    }
+    
+    public void setResultsChanged(Integer resultsChanged) {
+        this.resultsChanged = resultsChanged;
+    }
+    
+    public Long getScoreDelta() {
+        return scoreDelta;
+    }
+    
+    public void setScoreDelta(Long scoreDelta) {
+        this.scoreDelta = scoreDelta;
+    }
+    
+    public String getAnswerKey() {
+        return answerKey;
+    }
+    
+    public void setAnswerKey(String answerKey) {
+        this.answerKey = answerKey;
+    }
+    
+    @Override
+    public String toString() {
+        return "RegradeAudit{" +
+                "auditId=" + auditId +
+                ", quizId=" + quizId +
+                ", performedBy='" + performedBy + '\'' +
+                ", performedAt=" + performedAt +
+                ", resultsScanned=" + resultsScanned +
+                ", resultsChanged=" + resultsChanged +
+                ", scoreDelta=" + scoreDelta +
+                '}';
+    }
+}
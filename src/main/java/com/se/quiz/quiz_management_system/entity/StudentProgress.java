@@ -0,0 +1,195 @@
+package com.se.quiz.quiz_management_system.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+    // StudentProgress entity - Incrementally maintained progress summary of one student
+    // Maps to student_progress table
+    // Updated on every submission from the new result alone (no history scan):
+    // - count and sum of score percentages (overall average)
+    // - exponential moving average of the percentage (rolling average, ~last ROLLING_WINDOW quizzes)
+    // - sum of attempt index x percentage, which with the count gives the least-squares trend slope
+    //   (attempt indexes are 1..n, so their sum and sum of squares follow from n)
+    // - best and worst percentage
+    // Deleting or changing a result removes the row; it is rebuilt from history on the next read.
+    // The average class percentile is not stored: a standing versus the class changes with every
+    // later submission, so StudentProgressService computes it on read from the current sketches.
+
+@Entity
+@Table(name = "student_progress")
+public class StudentProgress {
+    
+    // Quizzes the rolling average approximately spans
+    public static final int ROLLING_WINDOW = 5;
+    
+    private static final double ROLLING_ALPHA = 2.0 / (ROLLING_WINDOW + 1);
+    
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+    
+    @Column(name = "result_count", nullable = false)
+    private Integer resultCount = 0;
+    
+    @Column(name = "percent_sum", nullable = false)
+    private Double percentSum = 0.0;
+    
+    @Column(name = "indexed_percent_sum", nullable = false)
+    private Double indexedPercentSum = 0.0;
+    
+    @Column(name = "rolling_percent")
+    private Double rollingPercent;
+    
+    @Column(name = "best_percent")
+    private Double bestPercent;
+    
+    @Column(name = "worst_percent")
+    private Double worstPercent;
+    
+    @Column(name = "last_submitted_at")
+    private LocalDateTime lastSubmittedAt;
+    
+    // Mean class percentile, filled in on read (see StudentProgressService.getProgress)
+    
+    @Transient
+    private Double averagePercentile;
+    
+    // Constructors
+    
+    public StudentProgress() {
+    }
+    
+    public StudentProgress(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    // Percentage of a score (0 if total points are unknown)
+    
+    public static double percentOf(int score, Integer totalPoints) {
+        return totalPoints == null || totalPoints <= 0 ? 0.0 : score * 100.0 / totalPoints;
+    }
+    
+    // Add the next result in submission order
+    // @param percent the result's score percentage
+    // @param submittedAt the submission time
+    
+    public void add(double percent, LocalDateTime submittedAt) {
+        resultCount++;
+        percentSum += percent;
+        indexedPercentSum += resultCount * percent;
+        rollingPercent = rollingPercent == null ? percent : rollingPercent + ROLLING_ALPHA * (percent - rollingPercent);
+        bestPercent = bestPercent == null ? percent : Math.max(bestPercent, percent);
+        worstPercent = worstPercent == null ? percent : Math.min(worstPercent, percent);
+        if (submittedAt != null && (lastSubmittedAt == null || submittedAt.isAfter(lastSubmittedAt))) {
+            lastSubmittedAt = submittedAt;
+        }
+    }
+    
+    // Mean percentage over all results, or null if there are none
+    
+    public Double getAveragePercent() {
+        return resultCount > 0 ? percentSum / resultCount : null;
+    }
+    
+    // Least-squares slope of percentage per quiz taken (positive = improving),
+    // or null with fewer than two results
+    
+    public Double getTrendSlope() {
+        long n = resultCount;
+        if (n < 2) {
+            return null;
+        }
+        double sumX = n * (n + 1) / 2.0;
+        double sumXX = n * (n + 1) * (2 * n + 1) / 6.0;
+        return (n * indexedPercentSum - sumX * percentSum) / (n * sumXX - sumX * sumX);
+    }
+    
+    // Mean class percentile of the student's results (0-100), or null if there are none or
+    // it was not computed
+    
+    public Double getAveragePercentile() {
+        return averagePercentile;
+    }
+    
+    public void setAveragePercentile(Double averagePercentile) {
+        this.averagePercentile = averagePercentile;
+    }
+    
+    // Getters and Setters
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Integer getResultCount() {
+        return resultCount;
+    }
+    
+    public void setResultCount(Integer resultCount) {
+        this.resultCount = resultCount;
+    }
+    
+    public Double getPercentSum() {
+        return percentSum;
+    }
+    
+    public void setPercentSum(Double percentSum) {
+        this.percentSum = percentSum;
+    }
+    
+    public Double getIndexedPercentSum() {
+        return indexedPercentSum;
+    }
+    
+    public void setIndexedPercentSum(Double indexedPercentSum) {
+        this.indexedPercentSum = indexedPercentSum;
+    }
+    
+    public Double getRollingPercent() {
+        return rollingPercent;
+    }
+    
+    public void setRollingPercent(Double rollingPercent) {
+        this.rollingPercent = rollingPercent;
+    }
+    
+    public Double getBestPercent() {
+        return bestPercent;
+    }
+    
+    public void setBestPercent(Double bestPercent) {
+        this.bestPercent = bestPercent;
+    }
+    
+    public Double getWorstPercent() {
+        return worstPercent;
+    }
+    
+    public void setWorstPercent(Double worstPercent) {
+        this.worstPercent = worstPercent;
+    }
+    
+    public LocalDateTime getLastSubmittedAt() {
+        return lastSubmittedAt;
+    }
+    
+    public void setLastSubmittedAt(LocalDateTime lastSubmittedAt) {
+        this.lastSubmittedAt = lastSubmittedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "StudentProgress{" +
+                "studentId=" + studentId +
+                ", resultCount=" + resultCount +
+                ", averagePercent=" + getAveragePercent() +
+                ", rollingPercent=" + rollingPercent +
+                ", trendSlope=" + getTrendSlope() +
+                '}';
+    }
+}
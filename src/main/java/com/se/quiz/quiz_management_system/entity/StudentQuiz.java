@@ -7,7 +7,8 @@ import jakarta.persistence.*;
  * Junction table for many-to-many relationship between student and quiz
  */
 @Entity
-@Table(name = "student_quiz")
+@Table(name = "student_quiz",
+       indexes = @Index(name = "idx_student_quiz_quiz_id", columnList = "quiz_id"))
 @IdClass(StudentQuizId.class)
 public class StudentQuiz {
     
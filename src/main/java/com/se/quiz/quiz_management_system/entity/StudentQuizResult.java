@@ -56,6 +56,24 @@ public class StudentQuizResult {
     @Column(name = "total_questions")
     private Integer totalQuestions;
     
+    // Selected answers in canonical question order (quiz_question.position)
+    // One original option letter per question ('A'-'D'), '-' when unanswered
+    // Stored un-shuffled so regrading never needs the student's display layout
+    
+    @Column(name = "answer_vector", columnDefinition = "TEXT")
+    private String answerVector;
+    
+    // Question IDs drawn for this attempt (canonical order), encoded by QuestionIdCodec
+    // NULL for fixed-form quizzes where every attempt gets the whole pool
+    
+    @Column(name = "drawn_question_ids")
+    private byte[] drawnQuestionIds;
+    
+    // True once a teacher corrected the score by hand; bulk regrades leave such results alone
+    
+    @Column(name = "score_overridden", nullable = false, columnDefinition = "BOOLEAN NOT NULL DEFAULT FALSE")
+    private boolean scoreOverridden;
+    
     // Relationships - CRITICAL: Proper mapping for Hibernate to fetch related entities
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "student_id", nullable = false, insertable = false, updatable = false)
@@ -152,6 +170,30 @@ public class StudentQuizResult {
         this.totalQuestions = totalQuestions;
     }
     
+    public String getAnswerVector() {
+        return answerVector;
+    }
+    
+    public void setAnswerVector(String answerVector) {
+        this.answerVector = answerVector;
+    }
+    
+    public byte[] getDrawnQuestionIds() {
+        return drawnQuestionIds;
+    }
+    
+    public void setDrawnQuestionIds(byte[] drawnQuestionIds) {
+        this.drawnQuestionIds = drawnQuestionIds;
+    }
+    
+    public boolean isScoreOverridden() {
+        return scoreOverridden;
+    }
+    
+    public void setScoreOverridden(boolean scoreOverridden) {
+        this.scoreOverridden = scoreOverridden;
+    }
+    
     public Student getStudent() {
         return student;
     }
@@ -0,0 +1,115 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // AnswerBitPlanes - Packed bitset encoding of a ResponseMatrix, one bit-plane per option
+    // For every attempt, plane o has bit c set when option o was chosen for question c, and the
+    // wrong plane has bit c set when the chosen option was incorrect. Comparing two attempts is
+    // then a handful of AND + popcount operations per 64 questions instead of a byte-by-byte scan.
+
+public final class AnswerBitPlanes {
+
+    private final int rows;
+    private final int words;
+    private final long[][] optionPlanes; // [option][row * words + word]
+    private final long[] wrongPlane;
+    private final int[] wrongCounts;
+
+    private AnswerBitPlanes(int rows, int words) {
+        this.rows = rows;
+        this.words = words;
+        this.optionPlanes = new long[AttemptLayout.OPTION_COUNT][rows * words];
+        this.wrongPlane = new long[rows * words];
+        this.wrongCounts = new int[rows];
+    }
+
+    // Encode all rows of a response matrix
+    // @param matrix the response matrix
+    // @return the bit-planes
+
+    public static AnswerBitPlanes of(ResponseMatrix matrix) {
+        int items = matrix.items();
+        AnswerBitPlanes planes = new AnswerBitPlanes(matrix.rows(), Math.max(1, (items + 63) >>> 6));
+        byte[] key = matrix.answerKey();
+        for (int row = 0; row < matrix.rows(); row++) {
+            int base = row * planes.words;
+            for (int c = 0; c < items; c++) {
+                byte cell = matrix.cell(row, c);
+                if (cell < 0) {
+                    continue;
+                }
+                long bit = 1L << (c & 63);
+                int word = base + (c >>> 6);
+                planes.optionPlanes[cell][word] |= bit;
+                if (key[c] >= 0 && cell != key[c]) {
+                    planes.wrongPlane[word] |= bit;
+                    planes.wrongCounts[row]++;
+                }
+            }
+        }
+        return planes;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    // Number of wrong answers of an attempt
+
+    public int wrongCount(int row) {
+        return wrongCounts[row];
+    }
+
+    // Number of questions where both attempts chose the same option
+
+    public int identicalAnswers(int a, int b) {
+        int baseA = a * words;
+        int baseB = b * words;
+        int count = 0;
+        for (long[] plane : optionPlanes) {
+            for (int w = 0; w < words; w++) {
+                count += Long.bitCount(plane[baseA + w] & plane[baseB + w]);
+            }
+        }
+        return count;
+    }
+
+    // Number of questions where both attempts chose the same wrong option
+
+    public int matchingWrongAnswers(int a, int b) {
+        int baseA = a * words;
+        int baseB = b * words;
+        int count = 0;
+        for (long[] plane : optionPlanes) {
+            for (int w = 0; w < words; w++) {
+                count += Long.bitCount(plane[baseA + w] & plane[baseB + w] & wrongPlane[baseA + w]);
+            }
+        }
+        return count;
+    }
+
+    // Visit the question indices an attempt answered wrongly, with the chosen option
+    // @param row the attempt
+    // @param visitor receives (question column, option)
+
+    public void forEachWrongAnswer(int row, WrongAnswerVisitor visitor) {
+        int base = row * words;
+        for (int w = 0; w < words; w++) {
+            long wrong = wrongPlane[base + w];
+            while (wrong != 0) {
+                int bit = Long.numberOfTrailingZeros(wrong);
+                wrong &= wrong - 1;
+                long mask = 1L << bit;
+                for (int o = 0; o < AttemptLayout.OPTION_COUNT; o++) {
+                    if ((optionPlanes[o][base + w] & mask) != 0) {
+                        visitor.visit((w << 6) + bit, o);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface WrongAnswerVisitor {
+        void visit(int column, int option);
+    }
+}
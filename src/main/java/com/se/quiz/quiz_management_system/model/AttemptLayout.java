@@ -0,0 +1,178 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // AttemptLayout - Deterministic per-student question and option order for one quiz attempt
+    // The layout is derived only from (studentId, quizId, questionId) so it never needs storing:
+    // - Question order: Fisher-Yates shuffle of the canonical order, seeded from (studentId, quizId)
+    // - Option order: one of the 24 permutations of A-D, picked from (seed, questionId)
+    // Rebuilding the layout with the same IDs always yields the same order (used for regrading)
+
+public final class AttemptLayout {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    public static final int OPTION_COUNT = 4;
+
+    // All 24 permutations of the four options (display slot -> original option index)
+    private static final byte[][] OPTION_PERMUTATIONS = buildOptionPermutations();
+
+    // Inverse of OPTION_PERMUTATIONS (original option index -> display slot)
+    private static final byte[][] OPTION_INVERSES = buildOptionInverses();
+
+    private final long seed;
+    private final long[] questionIds;   // canonical order (shared with caller, never modified)
+    private final int[] questionOrder;  // display position -> canonical index
+
+    private AttemptLayout(long seed, long[] questionIds, int[] questionOrder) {
+        this.seed = seed;
+        this.questionIds = questionIds;
+        this.questionOrder = questionOrder;
+    }
+
+    // Build the layout for a student's attempt at a quiz
+    // @param studentId the student ID (null is treated as 0, e.g. previews)
+    // @param quizId the quiz ID
+    // @param questionIds question IDs in canonical order (quiz_question.position)
+    // @return the deterministic layout for this attempt
+
+    public static AttemptLayout forAttempt(Long studentId, Long quizId, long[] questionIds) {
+        long seed = seedFor(studentId != null ? studentId : 0L, quizId != null ? quizId : 0L);
+        int n = questionIds.length;
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+
+        // Fisher-Yates with an inline SplitMix64 stream (no Random object, no boxing)
+        long state = seed;
+        for (int i = n - 1; i > 0; i--) {
+            state += GOLDEN_GAMMA;
+            int j = boundedIndex(mix(state), i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        return new AttemptLayout(seed, questionIds, order);
+    }
+
+    // Derive the attempt seed from student and quiz IDs
+    // @param studentId the student ID
+    // @param quizId the quiz ID
+    // @return a well-mixed 64-bit seed
+
+    public static long seedFor(long studentId, long quizId) {
+        return mix(mix(studentId + GOLDEN_GAMMA) ^ (quizId * GOLDEN_GAMMA));
+    }
+
+    // SplitMix64 finalizer - cheap, well-distributed 64-bit mixing function
+
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Map a random 64-bit value onto [0, bound) using multiply-shift (no division)
+
+    public static int boundedIndex(long random, int bound) {
+        return (int) (((random >>> 32) * bound) >>> 32);
+    }
+
+    // Number of questions in the attempt
+
+    public int size() {
+        return questionOrder.length;
+    }
+
+    // Get the seed of this attempt
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Get the canonical index of the question shown at a display position
+    // @param displayPosition 0-based position on screen
+    // @return 0-based index into the canonical question list
+
+    public int questionIndexAt(int displayPosition) {
+        return questionOrder[displayPosition];
+    }
+
+    // Get the question ID shown at a display position
+
+    public long questionIdAt(int displayPosition) {
+        return questionIds[questionOrder[displayPosition]];
+    }
+
+    // Get the original option (0 = A ... 3 = D) shown in a display slot
+    // @param displayPosition 0-based position on screen
+    // @param slot 0-based display slot (button A-D)
+    // @return original option index
+
+    public int optionAt(int displayPosition, int slot) {
+        return OPTION_PERMUTATIONS[optionPermutation(questionIdAt(displayPosition))][slot];
+    }
+
+    // Get the display slot in which an original option is shown
+    // @param displayPosition 0-based position on screen
+    // @param option original option index (0 = A ... 3 = D)
+    // @return 0-based display slot
+
+    public int slotOf(int displayPosition, int option) {
+        return OPTION_INVERSES[optionPermutation(questionIdAt(displayPosition))][option];
+    }
+
+    // Pick one of the 24 option permutations for a question (keyed by ID, not position)
+
+    private int optionPermutation(long questionId) {
+        return boundedIndex(mix(seed ^ (questionId * GOLDEN_GAMMA)), OPTION_PERMUTATIONS.length);
+    }
+
+    // Convert an answer letter to an option index
+    // @param letter "A"-"D" (case-insensitive)
+    // @return 0-3, or -1 if the letter is null or invalid
+
+    public static int optionIndex(String letter) {
+        if (letter == null || letter.length() != 1) {
+            return -1;
+        }
+        int index = Character.toUpperCase(letter.charAt(0)) - 'A';
+        return (index >= 0 && index < OPTION_COUNT) ? index : -1;
+    }
+
+    // Convert an option index to its answer letter
+    // @param index 0-3
+    // @return 'A'-'D'
+
+    public static char optionLetter(int index) {
+        return (char) ('A' + index);
+    }
+
+    private static byte[][] buildOptionPermutations() {
+        byte[][] permutations = new byte[24][];
+        int count = 0;
+        for (int a = 0; a < OPTION_COUNT; a++) {
+            for (int b = 0; b < OPTION_COUNT; b++) {
+                for (int c = 0; c < OPTION_COUNT; c++) {
+                    int d = 6 - a - b - c;
+                    if (a != b && a != c && b != c && d >= 0 && d < OPTION_COUNT
+                            && d != a && d != b && d != c) {
+                        permutations[count++] = new byte[]{(byte) a, (byte) b, (byte) c, (byte) d};
+                    }
+                }
+            }
+        }
+        return permutations;
+    }
+
+    private static byte[][] buildOptionInverses() {
+        byte[][] inverses = new byte[OPTION_PERMUTATIONS.length][OPTION_COUNT];
+        for (int p = 0; p < OPTION_PERMUTATIONS.length; p++) {
+            for (int slot = 0; slot < OPTION_COUNT; slot++) {
+                inverses[p][OPTION_PERMUTATIONS[p][slot]] = (byte) slot;
+            }
+        }
+        return inverses;
+    }
+}
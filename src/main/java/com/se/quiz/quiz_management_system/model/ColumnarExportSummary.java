@@ -0,0 +1,38 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // ColumnarExportSummary - Row counts of a columnar results export
+
+public class ColumnarExportSummary {
+
+    private final long resultCount;
+    private final long answerCount;
+    private final long skippedCount;
+
+    public ColumnarExportSummary(long resultCount, long answerCount, long skippedCount) {
+        this.resultCount = resultCount;
+        this.answerCount = answerCount;
+        this.skippedCount = skippedCount;
+    }
+
+    // Getters
+
+    public long getResultCount() {
+        return resultCount;
+    }
+
+    public long getAnswerCount() {
+        return answerCount;
+    }
+
+    // Results skipped because their quiz or student was not in the dictionaries
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarExportSummary{results=" + resultCount + ", answers=" + answerCount
+            + ", skipped=" + skippedCount + "}";
+    }
+}
@@ -0,0 +1,171 @@
+package com.se.quiz.quiz_management_system.model;
+
+import com.se.quiz.quiz_management_system.util.LongIntHashMap;
+
+import java.util.Arrays;
+
+    // Gradebook - Dense students x quizzes score matrix
+    // Scores live in one row-major int[] (NOT_TAKEN where a student has no result); quiz and
+    // student IDs map to columns / rows through primitive LongIntHashMaps, so 20k students x
+    // 300 quizzes costs ~24 MB of ints and no boxed Long/Integer objects.
+    // Rows must be filled in student order (one contiguous block of results per student).
+
+public final class Gradebook {
+
+    public static final int NOT_TAKEN = -1;
+
+    private final long[] quizIds;
+    private final String[] quizNames;
+    private final LongIntHashMap columnOfQuiz;
+    private final int columns;
+
+    private final long[] studentIds;
+    private final String[] usernames;
+    private final String[] fullNames;
+    private final LongIntHashMap rowOfStudent;
+    private final int[] scores;
+    private final double[] percentSums; // per row: sum of score / total points * 100
+    private final int[] taken;          // per row: number of quizzes taken
+    private int rows;
+    private int rejected;               // results add() could not place
+
+    // Create an empty gradebook
+    // @param quizIds quiz IDs (one column each, in display order)
+    // @param quizNames quiz names parallel to quizIds
+    // @param maxStudents number of student rows to allocate
+
+    public Gradebook(long[] quizIds, String[] quizNames, int maxStudents) {
+        this.quizIds = quizIds;
+        this.quizNames = quizNames;
+        this.columns = quizIds.length;
+        this.columnOfQuiz = new LongIntHashMap(columns, -1);
+        for (int c = 0; c < columns; c++) {
+            columnOfQuiz.put(quizIds[c], c);
+        }
+
+        this.studentIds = new long[maxStudents];
+        this.usernames = new String[maxStudents];
+        this.fullNames = new String[maxStudents];
+        this.rowOfStudent = new LongIntHashMap(maxStudents, -1);
+        this.scores = new int[maxStudents * columns];
+        Arrays.fill(scores, NOT_TAKEN);
+        this.percentSums = new double[maxStudents];
+        this.taken = new int[maxStudents];
+    }
+
+    // Record one result
+    // @return false if the quiz is unknown or the student does not fit (counted in rejectedCount)
+
+    public boolean add(long studentId, String username, String fullName, long quizId, int score, int totalPoints) {
+        int column = columnOfQuiz.get(quizId);
+        if (column < 0) {
+            rejected++;
+            return false;
+        }
+        int row = rowOfStudent.get(studentId);
+        if (row < 0) {
+            if (rows == studentIds.length) {
+                rejected++;
+                return false;
+            }
+            row = rows++;
+            rowOfStudent.put(studentId, row);
+            studentIds[row] = studentId;
+            usernames[row] = username;
+            fullNames[row] = fullName;
+        }
+
+        int cell = row * columns + column;
+        if (scores[cell] == NOT_TAKEN) {
+            taken[row]++;
+            if (totalPoints > 0) {
+                percentSums[row] += score * 100.0 / totalPoints;
+            }
+        }
+        scores[cell] = score;
+        return true;
+    }
+
+    // Getters
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    // Number of results that add() rejected
+
+    public int rejectedCount() {
+        return rejected;
+    }
+
+    public long quizIdAt(int column) {
+        return quizIds[column];
+    }
+
+    public String quizNameAt(int column) {
+        return quizNames[column];
+    }
+
+    public long studentIdAt(int row) {
+        return studentIds[row];
+    }
+
+    public String usernameAt(int row) {
+        return usernames[row];
+    }
+
+    public String fullNameAt(int row) {
+        return fullNames[row];
+    }
+
+    // Score of a student in a quiz, or NOT_TAKEN
+
+    public int score(int row, int column) {
+        return scores[row * columns + column];
+    }
+
+    public int takenCount(int row) {
+        return taken[row];
+    }
+
+    // Average raw score over taken quizzes, NaN if none
+
+    public double averageScore(int row) {
+        if (taken[row] == 0) {
+            return Double.NaN;
+        }
+        long sum = 0;
+        int base = row * columns;
+        for (int c = 0; c < columns; c++) {
+            if (scores[base + c] != NOT_TAKEN) {
+                sum += scores[base + c];
+            }
+        }
+        return (double) sum / taken[row];
+    }
+
+    // Average percentage (score / total points) over taken quizzes, NaN if none
+
+    public double averagePercent(int row) {
+        return taken[row] == 0 ? Double.NaN : percentSums[row] / taken[row];
+    }
+
+    // Average score of a quiz column over students who took it, NaN if none
+
+    public double quizAverage(int column) {
+        long sum = 0;
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            int score = scores[row * columns + column];
+            if (score != NOT_TAKEN) {
+                sum += score;
+                count++;
+            }
+        }
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+}
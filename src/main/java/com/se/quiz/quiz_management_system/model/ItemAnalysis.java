@@ -0,0 +1,129 @@
+package com.se.quiz.quiz_management_system.model;
+
+import java.util.List;
+
+    // ItemAnalysis - Classical test theory statistics for one quiz
+    // Holds quiz-level reliability (Cronbach's alpha) and one ItemStatistics row per question
+    // in canonical order. Values that are undefined for the data (e.g. alpha with fewer than
+    // two full-form attempts) are reported as NaN.
+
+public class ItemAnalysis {
+
+    private final Long quizId;
+    private final int attemptCount;
+    private final int fullFormCount;
+    private final double cronbachAlpha;
+    private final List<ItemStatistics> items;
+
+    public ItemAnalysis(Long quizId, int attemptCount, int fullFormCount, double cronbachAlpha,
+                        List<ItemStatistics> items) {
+        this.quizId = quizId;
+        this.attemptCount = attemptCount;
+        this.fullFormCount = fullFormCount;
+        this.cronbachAlpha = cronbachAlpha;
+        this.items = items;
+    }
+
+    // Getters
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    // Number of analysed attempts (results with a stored answer vector)
+
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    // Number of attempts that were presented every question (used for alpha)
+
+    public int getFullFormCount() {
+        return fullFormCount;
+    }
+
+    public double getCronbachAlpha() {
+        return cronbachAlpha;
+    }
+
+    public List<ItemStatistics> getItems() {
+        return items;
+    }
+
+    // ItemStatistics - Statistics of a single question
+
+    public static class ItemStatistics {
+
+        private final int position;
+        private final Long questionId;
+        private final String problem;
+        private final String correctAnswer;
+        private final int seenCount;
+        private final double pValue;
+        private final double pointBiserial;
+        private final double[] optionRates;
+        private final double blankRate;
+
+        public ItemStatistics(int position, Long questionId, String problem, String correctAnswer,
+                              int seenCount, double pValue, double pointBiserial,
+                              double[] optionRates, double blankRate) {
+            this.position = position;
+            this.questionId = questionId;
+            this.problem = problem;
+            this.correctAnswer = correctAnswer;
+            this.seenCount = seenCount;
+            this.pValue = pValue;
+            this.pointBiserial = pointBiserial;
+            this.optionRates = optionRates;
+            this.blankRate = blankRate;
+        }
+
+        // Getters
+
+        // 1-based canonical position in the quiz
+
+        public int getPosition() {
+            return position;
+        }
+
+        public Long getQuestionId() {
+            return questionId;
+        }
+
+        public String getProblem() {
+            return problem;
+        }
+
+        public String getCorrectAnswer() {
+            return correctAnswer;
+        }
+
+        // Number of attempts that were presented this question
+
+        public int getSeenCount() {
+            return seenCount;
+        }
+
+        // Difficulty: proportion of attempts answering correctly
+
+        public double getPValue() {
+            return pValue;
+        }
+
+        // Discrimination: correlation between this item and the rest of the test
+
+        public double getPointBiserial() {
+            return pointBiserial;
+        }
+
+        // Selection rate of an option (0 = A .. 3 = D) among attempts that saw the question
+
+        public double getOptionRate(int option) {
+            return optionRates[option];
+        }
+
+        public double getBlankRate() {
+            return blankRate;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.se.quiz.quiz_management_system.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+    // KllSketch - Mergeable streaming quantile sketch (Karnin, Lang & Liberty)
+    // Items are kept in a stack of compactors; compactor h holds items of weight 2^h and
+    // holds at most ~k * (2/3)^(depth from top) of them. When a compactor overflows it is
+    // sorted and every other item (random offset) is promoted to the next level.
+    // With k = 200 the rank error is about 1.3% while the sketch stays under ~3 KB
+    // serialized, regardless of how many values were added.
+    // Queries go through a lazily built sorted view (binary search), so percentile and
+    // quartile lookups take microseconds.
+
+public final class KllSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final byte SERIAL_VERSION = 1;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int k;
+    private long n;
+    private float min = Float.NaN;
+    private float max = Float.NaN;
+    private float[][] levels = new float[1][];
+    private int[] sizes = new int[1];
+    private long coinState;
+
+    // Sorted view for queries (rebuilt after any change)
+    private volatile SortedView view;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    public KllSketch(int k) {
+        this.k = Math.max(8, k);
+        this.levels[0] = new float[capacity(0)];
+    }
+
+    // Number of values added
+
+    public long count() {
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    public float getMin() {
+        return min;
+    }
+
+    public float getMax() {
+        return max;
+    }
+
+    // Add a value
+    // @param value the value (NaN is ignored)
+
+    public void update(float value) {
+        if (Float.isNaN(value)) {
+            return;
+        }
+        if (n == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        n++;
+        append(0, value);
+        compress();
+        view = null;
+    }
+
+    // Merge another sketch into this one (the other sketch is unchanged)
+    // @param other the sketch to merge
+
+    public void merge(KllSketch other) {
+        if (other == null || other.n == 0) {
+            return;
+        }
+        if (n == 0) {
+            min = other.min;
+            max = other.max;
+        } else {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        n += other.n;
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        compress();
+        view = null;
+    }
+
+    // Fraction of added values <= value (0..1)
+    // @param value the value
+    // @return normalized rank, NaN if empty
+
+    public double rank(float value) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        SortedView sorted = view();
+        int index = upperBound(sorted.values, value);
+        return index == 0 ? 0.0 : (double) sorted.cumulativeWeights[index - 1] / n;
+    }
+
+    // Approximate value at a normalized rank
+    // @param fraction rank in [0, 1] (0 = min, 1 = max)
+    // @return the quantile, NaN if empty
+
+    public float quantile(double fraction) {
+        if (n == 0) {
+            return Float.NaN;
+        }
+        if (fraction <= 0) {
+            return min;
+        }
+        if (fraction >= 1) {
+            return max;
+        }
+        SortedView sorted = view();
+        long target = (long) Math.ceil(fraction * n);
+        int lo = 0;
+        int hi = sorted.values.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted.cumulativeWeights[mid] >= target) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return sorted.values[lo];
+    }
+
+    // --- Serialization ---
+
+    // Compact binary form: version, k, n, min, max, level count, then per level size + floats
+
+    public byte[] toBytes() {
+        int retained = 0;
+        for (int h = 0; h < levels.length; h++) {
+            retained += sizes[h];
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 2 + 8 + 4 + 4 + 1 + levels.length * 2 + retained * 4);
+        buffer.put(SERIAL_VERSION);
+        buffer.putShort((short) k);
+        buffer.putLong(n);
+        buffer.putFloat(min);
+        buffer.putFloat(max);
+        buffer.put((byte) levels.length);
+        for (int h = 0; h < levels.length; h++) {
+            buffer.putShort((short) sizes[h]);
+            for (int i = 0; i < sizes[h]; i++) {
+                buffer.putFloat(levels[h][i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    // Restore a sketch written by toBytes()
+    // @param data serialized sketch (null or empty returns an empty sketch)
+    // @return the sketch
+    // @throws IllegalArgumentException if the data is not a serialized sketch
+
+    public static KllSketch fromBytes(byte[] data) {
+        if (data == null || data.length == 0) {
+            return new KllSketch();
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            if (buffer.get() != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Unsupported sketch version");
+            }
+            KllSketch sketch = new KllSketch(buffer.getShort());
+            sketch.n = buffer.getLong();
+            sketch.min = buffer.getFloat();
+            sketch.max = buffer.getFloat();
+            int levelCount = buffer.get();
+            sketch.levels = new float[levelCount][];
+            sketch.sizes = new int[levelCount];
+            for (int h = 0; h < levelCount; h++) {
+                int size = buffer.getShort();
+                sketch.levels[h] = new float[Math.max(size, sketch.capacity(h, levelCount))];
+                for (int i = 0; i < size; i++) {
+                    sketch.levels[h][i] = buffer.getFloat();
+                }
+                sketch.sizes[h] = size;
+            }
+            sketch.coinState = sketch.n;
+            return sketch;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed quantile sketch", e);
+        }
+    }
+
+    // --- Internals ---
+
+    private int capacity(int level) {
+        return capacity(level, levels.length);
+    }
+
+    private int capacity(int level, int levelCount) {
+        int depth = levelCount - 1 - level;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(2.0 / 3.0, depth)));
+    }
+
+    private void append(int level, float value) {
+        while (level >= levels.length) {
+            levels = Arrays.copyOf(levels, levels.length + 1);
+            sizes = Arrays.copyOf(sizes, sizes.length + 1);
+            levels[levels.length - 1] = new float[MIN_CAPACITY];
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], Math.max(MIN_CAPACITY, levels[level].length * 2));
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] >= capacity(h)) {
+                compact(h);
+            }
+        }
+    }
+
+    // Sort a level and promote every other item (random offset) to the level above
+
+    private void compact(int level) {
+        float[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+
+        // Keep one item behind when the count is odd, so pairs stay aligned
+        int start = (size & 1);
+        coinState += 0x9E3779B97F4A7C15L;
+        int offset = (int) (AttemptLayout.mix(coinState) & 1);
+
+        int promoted = (size - start) / 2;
+        float[] toPromote = new float[promoted];
+        for (int i = 0; i < promoted; i++) {
+            toPromote[i] = items[start + 2 * i + offset];
+        }
+        sizes[level] = start;
+
+        for (float value : toPromote) {
+            append(level + 1, value);
+        }
+    }
+
+    private SortedView view() {
+        SortedView sorted = view;
+        if (sorted == null) {
+            sorted = buildView();
+            view = sorted;
+        }
+        return sorted;
+    }
+
+    private SortedView buildView() {
+        int retained = 0;
+        for (int h = 0; h < levels.length; h++) {
+            retained += sizes[h];
+        }
+        // Sort (value, weight) pairs by packing level into an index array
+        float[] values = new float[retained];
+        long[] weights = new long[retained];
+        Integer[] order = new Integer[retained];
+        int i = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int j = 0; j < sizes[h]; j++) {
+                values[i] = levels[h][j];
+                weights[i] = 1L << h;
+                order[i] = i;
+                i++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(values[a], values[b]));
+
+        float[] sortedValues = new float[retained];
+        long[] cumulative = new long[retained];
+        long total = 0;
+        for (int j = 0; j < retained; j++) {
+            sortedValues[j] = values[order[j]];
+            total += weights[order[j]];
+            cumulative[j] = total;
+        }
+        return new SortedView(sortedValues, cumulative);
+    }
+
+    // Index of the first value > key
+
+    private static int upperBound(float[] values, float key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static final class SortedView {
+        final float[] values;
+        final long[] cumulativeWeights;
+
+        SortedView(float[] values, long[] cumulativeWeights) {
+            this.values = values;
+            this.cumulativeWeights = cumulativeWeights;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.se.quiz.quiz_management_system.model;
+
+import java.util.Arrays;
+
+    // LatencyHistogram - Fixed-bucket histogram of durations in milliseconds
+    // Buckets follow frame budgets (one 60 Hz frame = 16.7 ms, two frames, ...) up to
+    // "2 s and more", so a window of UI timings can be logged on one line and compared
+    // across machines. Percentiles are reported as the upper bound of the bucket that
+    // contains them. Not thread-safe; callers synchronize.
+
+public final class LatencyHistogram {
+
+    // Upper bounds (exclusive) of all but the last bucket
+    private static final double[] BUCKET_LIMITS_MS = {16.7, 33.3, 50, 100, 250, 500, 1000, 2000};
+
+    private final long[] counts = new long[BUCKET_LIMITS_MS.length + 1];
+    private long count;
+    private double max;
+
+    // Add one duration
+    // @param millis the duration in milliseconds
+
+    public void record(double millis) {
+        if (millis < 0 || Double.isNaN(millis)) {
+            throw new IllegalArgumentException("Duration must be a non-negative number: " + millis);
+        }
+        int bucket = 0;
+        while (bucket < BUCKET_LIMITS_MS.length && millis >= BUCKET_LIMITS_MS[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        count++;
+        max = Math.max(max, millis);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    // Number of durations in a bucket (0 .. getBucketCount() - 1)
+
+    public long getBucket(int bucket) {
+        return counts[bucket];
+    }
+
+    public static int getBucketCount() {
+        return BUCKET_LIMITS_MS.length + 1;
+    }
+
+    // Upper bound of the bucket containing the given percentile (the maximum for the last bucket)
+    // @param percentile between 0 and 100
+    // @return the bound in milliseconds, 0 when empty
+
+    public double percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return bucket < BUCKET_LIMITS_MS.length ? Math.min(BUCKET_LIMITS_MS[bucket], max) : max;
+            }
+        }
+        return max;
+    }
+
+    // Copy the current counts and start a new window
+    // @return the histogram of the window that just ended
+
+    public LatencyHistogram snapshotAndReset() {
+        LatencyHistogram snapshot = new LatencyHistogram();
+        System.arraycopy(counts, 0, snapshot.counts, 0, counts.length);
+        snapshot.count = count;
+        snapshot.max = max;
+        Arrays.fill(counts, 0);
+        count = 0;
+        max = 0;
+        return snapshot;
+    }
+
+    // One-line summary, e.g. "n=1200 p50<=16.7 p95<=50 p99<=250 max=812.0 ms [<16.7:1100 <33.3:60 ...]"
+
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("n=%d p50<=%s p95<=%s p99<=%s max=%.1f ms [",
+            count, bound(percentile(50)), bound(percentile(95)), bound(percentile(99)), max));
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (bucket > 0) {
+                text.append(' ');
+            }
+            text.append(bucket < BUCKET_LIMITS_MS.length
+                ? "<" + bound(BUCKET_LIMITS_MS[bucket])
+                : ">=" + bound(BUCKET_LIMITS_MS[BUCKET_LIMITS_MS.length - 1]));
+            text.append(':').append(counts[bucket]);
+        }
+        return text.append(']').toString();
+    }
+
+    private static String bound(double millis) {
+        return millis == Math.rint(millis) ? String.valueOf((long) millis) : String.format("%.1f", millis);
+    }
+}
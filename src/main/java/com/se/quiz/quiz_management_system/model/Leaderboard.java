@@ -0,0 +1,306 @@
+package com.se.quiz.quiz_management_system.model;
+
+import com.se.quiz.quiz_management_system.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+    // Leaderboard - In-memory ranked results of one quiz (order-statistic treap)
+    // Entries are ordered by score (high first), then completion time (fast first), then
+    // result ID (earlier submission first). Every node stores its subtree size, so insert,
+    // remove, rank-of and k-th lookups are O(log n) expected. Nodes live in parallel
+    // primitive arrays indexed by int, and students map to nodes through a LongIntHashMap.
+    // All methods are synchronized; reads are cheap enough that a plain monitor suffices.
+
+public final class Leaderboard {
+
+    private static final int NIL = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] size;
+    private int[] priority;
+    private int[] score;
+    private int[] time;
+    private long[] resultId;
+    private long[] studentId;
+
+    private int root = NIL;
+    private int allocated;
+    private int[] freeNodes = new int[16];
+    private int freeCount;
+    private long priorityState = 0x2545F4914F6CDD1DL;
+
+    private final LongIntHashMap nodeOfStudent;
+
+    // Results of split(): entries strictly better than the key / the rest
+    private int splitBetter;
+    private int splitRest;
+
+    public Leaderboard(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        left = new int[capacity];
+        right = new int[capacity];
+        size = new int[capacity];
+        priority = new int[capacity];
+        score = new int[capacity];
+        time = new int[capacity];
+        resultId = new long[capacity];
+        studentId = new long[capacity];
+        nodeOfStudent = new LongIntHashMap(capacity, NIL);
+    }
+
+    // Number of ranked results
+
+    public synchronized int size() {
+        return sizeOf(root);
+    }
+
+    // Add or replace a student's result
+    // @param resultId the result ID
+    // @param studentId the student ID
+    // @param score the score
+    // @param completionTimeSeconds completion time (null ranks after any recorded time)
+
+    public synchronized void put(long resultId, long studentId, int score, Integer completionTimeSeconds) {
+        removeStudent(studentId);
+
+        int t = completionTimeSeconds != null ? completionTimeSeconds : Integer.MAX_VALUE;
+        int node = allocate();
+        this.resultId[node] = resultId;
+        this.studentId[node] = studentId;
+        this.score[node] = score;
+        this.time[node] = t;
+
+        split(root, score, t, resultId);
+        root = merge(merge(splitBetter, node), splitRest);
+        nodeOfStudent.put(studentId, node);
+    }
+
+    // Remove a student's result
+    // @param studentId the student ID
+    // @return true if the student was ranked
+
+    public synchronized boolean remove(long studentId) {
+        return removeStudent(studentId);
+    }
+
+    // 1-based rank of a student (ties broken by completion time, then submission order)
+    // @param studentId the student ID
+    // @return the rank, or 0 if the student has no result
+
+    public synchronized int rankOf(long studentId) {
+        int node = nodeOfStudent.get(studentId);
+        if (node == NIL) {
+            return 0;
+        }
+        return countBetter(score[node], time[node], resultId[node]) + 1;
+    }
+
+    // Number of results strictly better than a hypothetical score / time
+    // @param score the score
+    // @param completionTimeSeconds the completion time (null = slowest)
+    // @return number of better results
+
+    public synchronized int countBetterThan(int score, Integer completionTimeSeconds) {
+        int t = completionTimeSeconds != null ? completionTimeSeconds : Integer.MAX_VALUE;
+        return countBetter(score, t, Long.MAX_VALUE);
+    }
+
+    // Best K results in rank order
+    // @param k number of entries
+    // @return up to k entries
+
+    public synchronized List<Entry> top(int k) {
+        List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(k, sizeOf(root))));
+        int[] stack = new int[64];
+        int depth = 0;
+        int node = root;
+        while ((node != NIL || depth > 0) && entries.size() < k) {
+            while (node != NIL) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                node = left[node];
+            }
+            node = stack[--depth];
+            entries.add(new Entry(entries.size() + 1, studentId[node], resultId[node], score[node],
+                time[node] == Integer.MAX_VALUE ? null : time[node]));
+            node = right[node];
+        }
+        return entries;
+    }
+
+    // Entry - One ranked result
+
+    public static final class Entry {
+
+        private final int rank;
+        private final long studentId;
+        private final long resultId;
+        private final int score;
+        private final Integer completionTimeSeconds;
+
+        public Entry(int rank, long studentId, long resultId, int score, Integer completionTimeSeconds) {
+            this.rank = rank;
+            this.studentId = studentId;
+            this.resultId = resultId;
+            this.score = score;
+            this.completionTimeSeconds = completionTimeSeconds;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public long getStudentId() {
+            return studentId;
+        }
+
+        public long getResultId() {
+            return resultId;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public Integer getCompletionTimeSeconds() {
+            return completionTimeSeconds;
+        }
+    }
+
+    // --- Treap internals ---
+
+    // true if node ranks strictly before (s, t, r)
+
+    private boolean isBetter(int node, int s, int t, long r) {
+        if (score[node] != s) {
+            return score[node] > s;
+        }
+        if (time[node] != t) {
+            return time[node] < t;
+        }
+        return resultId[node] < r;
+    }
+
+    private int countBetter(int s, int t, long r) {
+        int count = 0;
+        int node = root;
+        while (node != NIL) {
+            if (isBetter(node, s, t, r)) {
+                count += sizeOf(left[node]) + 1;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return count;
+    }
+
+    private boolean removeStudent(long id) {
+        int node = nodeOfStudent.remove(id);
+        if (node == NIL) {
+            return false;
+        }
+        root = removeNode(root, node);
+        release(node);
+        return true;
+    }
+
+    private int removeNode(int current, int target) {
+        if (current == target) {
+            return merge(left[current], right[current]);
+        }
+        if (isBetter(current, score[target], time[target], resultId[target])) {
+            right[current] = removeNode(right[current], target);
+        } else {
+            left[current] = removeNode(left[current], target);
+        }
+        update(current);
+        return current;
+    }
+
+    // Split into entries better than (s, t, r) and the rest
+
+    private void split(int node, int s, int t, long r) {
+        if (node == NIL) {
+            splitBetter = NIL;
+            splitRest = NIL;
+            return;
+        }
+        if (isBetter(node, s, t, r)) {
+            split(right[node], s, t, r);
+            right[node] = splitBetter;
+            update(node);
+            splitBetter = node;
+        } else {
+            split(left[node], s, t, r);
+            left[node] = splitRest;
+            update(node);
+            splitRest = node;
+        }
+    }
+
+    // Merge two treaps where every entry of a ranks before every entry of b
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int node) {
+        size[node] = 1 + sizeOf(left[node]) + sizeOf(right[node]);
+    }
+
+    private int sizeOf(int node) {
+        return node == NIL ? 0 : size[node];
+    }
+
+    private int allocate() {
+        int node;
+        if (freeCount > 0) {
+            node = freeNodes[--freeCount];
+        } else {
+            if (allocated == left.length) {
+                int capacity = allocated * 2;
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                size = Arrays.copyOf(size, capacity);
+                priority = Arrays.copyOf(priority, capacity);
+                score = Arrays.copyOf(score, capacity);
+                time = Arrays.copyOf(time, capacity);
+                resultId = Arrays.copyOf(resultId, capacity);
+                studentId = Arrays.copyOf(studentId, capacity);
+            }
+            node = allocated++;
+        }
+        priorityState += 0x9E3779B97F4A7C15L;
+        priority[node] = (int) AttemptLayout.mix(priorityState);
+        left[node] = NIL;
+        right[node] = NIL;
+        size[node] = 1;
+        return node;
+    }
+
+    private void release(int node) {
+        if (freeCount == freeNodes.length) {
+            freeNodes = Arrays.copyOf(freeNodes, freeCount * 2);
+        }
+        freeNodes[freeCount++] = node;
+    }
+}
@@ -0,0 +1,65 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // Quartiles - Five-number summary of a distribution (min, Q1, median, Q3, max)
+
+public class Quartiles {
+
+    private final double min;
+    private final double lowerQuartile;
+    private final double median;
+    private final double upperQuartile;
+    private final double max;
+
+    public Quartiles(double min, double lowerQuartile, double median, double upperQuartile, double max) {
+        this.min = min;
+        this.lowerQuartile = lowerQuartile;
+        this.median = median;
+        this.upperQuartile = upperQuartile;
+        this.max = max;
+    }
+
+    // Read the quartiles from a quantile sketch
+    // @param sketch the sketch
+    // @return quartiles, or null if the sketch is empty
+
+    public static Quartiles of(KllSketch sketch) {
+        if (sketch == null || sketch.isEmpty()) {
+            return null;
+        }
+        return new Quartiles(sketch.getMin(), sketch.quantile(0.25), sketch.quantile(0.5),
+            sketch.quantile(0.75), sketch.getMax());
+    }
+
+    // Getters
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getLowerQuartile() {
+        return lowerQuartile;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public double getUpperQuartile() {
+        return upperQuartile;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "Quartiles{" +
+                "min=" + min +
+                ", q1=" + lowerQuartile +
+                ", median=" + median +
+                ", q3=" + upperQuartile +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,183 @@
+package com.se.quiz.quiz_management_system.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+    // QuestionPool - Immutable, cache-friendly view of a quiz's question IDs
+    // Question IDs are kept in canonical order (quiz_question.position) as a primitive array,
+    // with pool indices grouped by stratum (tag / difficulty) for stratified draws.
+    // One instance is shared by every concurrent attempt of the quiz; draws only allocate O(N).
+
+public final class QuestionPool {
+
+    private static final long DRAW_SALT = 0x5DEECE66DL;
+
+    // Stratum key for questions without a tag / difficulty
+    private static final Object UNCLASSIFIED = new Object();
+
+    private final long[] questionIds;  // canonical pool order
+    private final int[] strataMembers; // pool indices grouped by stratum
+    private final int[] strataStart;   // stratum s = strataMembers[strataStart[s] .. strataStart[s + 1])
+
+    private QuestionPool(long[] questionIds, int[] strataMembers, int[] strataStart) {
+        this.questionIds = questionIds;
+        this.strataMembers = strataMembers;
+        this.strataStart = strataStart;
+    }
+
+    // Build a pool from canonical question IDs and their stratum keys
+    // @param questionIds question IDs in canonical order
+    // @param strataKeys stratum key per question (null array = single stratum; null keys share one stratum)
+    // @return the pool
+
+    public static QuestionPool of(long[] questionIds, Object[] strataKeys) {
+        int n = questionIds.length;
+        if (strataKeys == null) {
+            int[] members = new int[n];
+            for (int i = 0; i < n; i++) {
+                members[i] = i;
+            }
+            return new QuestionPool(questionIds, members, new int[]{0, n});
+        }
+
+        // Assign stratum numbers in order of first appearance (keeps the draw deterministic)
+        Map<Object, Integer> strata = new LinkedHashMap<>();
+        int[] stratumOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            Object key = strataKeys[i] != null ? strataKeys[i] : UNCLASSIFIED;
+            stratumOf[i] = strata.computeIfAbsent(key, k -> strata.size());
+        }
+
+        // Counting sort of pool indices by stratum
+        int[] start = new int[strata.size() + 1];
+        for (int s : stratumOf) {
+            start[s + 1]++;
+        }
+        for (int s = 0; s < strata.size(); s++) {
+            start[s + 1] += start[s];
+        }
+        int[] fill = Arrays.copyOf(start, strata.size());
+        int[] members = new int[n];
+        for (int i = 0; i < n; i++) {
+            members[fill[stratumOf[i]]++] = i;
+        }
+        return new QuestionPool(questionIds, members, start);
+    }
+
+    // Number of questions in the pool
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    // Number of strata in the pool
+
+    public int strataCount() {
+        return strataStart.length - 1;
+    }
+
+    // Get all question IDs in canonical order (copy; the pool itself is shared)
+
+    public long[] allQuestionIds() {
+        return questionIds.clone();
+    }
+
+    // Draw a deterministic random sample of question IDs for one attempt
+    // Each stratum receives a share proportional to its size (largest-remainder rounding)
+    // and is sampled with Floyd's algorithm, so the work is O(N) in the draw size, not the pool.
+    // @param seed the attempt seed (see AttemptLayout.seedFor)
+    // @param count number of questions to draw
+    // @return drawn question IDs in canonical pool order
+
+    public long[] draw(long seed, int count) {
+        int poolSize = questionIds.length;
+        if (count >= poolSize) {
+            return allQuestionIds();
+        }
+        if (count <= 0) {
+            return new long[0];
+        }
+
+        int[] quota = allocateQuota(count);
+
+        // Open-addressing set of chosen pool indices (capacity >= 2 * count)
+        int capacity = Integer.highestOneBit(Math.max(4, count * 2)) << 1;
+        int[] table = new int[capacity];
+        Arrays.fill(table, -1);
+
+        int[] chosen = new int[count];
+        int chosenCount = 0;
+        long state = AttemptLayout.mix(seed ^ DRAW_SALT);
+
+        for (int s = 0; s < quota.length; s++) {
+            int base = strataStart[s];
+            int m = strataStart[s + 1] - base;
+            int k = quota[s];
+
+            // Floyd's algorithm: k distinct picks out of m with exactly k random numbers
+            for (int j = m - k; j < m; j++) {
+                state += 0x9E3779B97F4A7C15L;
+                int t = AttemptLayout.boundedIndex(AttemptLayout.mix(state), j + 1);
+                int poolIndex = strataMembers[base + t];
+                if (!insert(table, poolIndex)) {
+                    poolIndex = strataMembers[base + j];
+                    insert(table, poolIndex);
+                }
+                chosen[chosenCount++] = poolIndex;
+            }
+        }
+
+        // Canonical order = pool order of the drawn subset
+        Arrays.sort(chosen, 0, chosenCount);
+        long[] ids = new long[chosenCount];
+        for (int i = 0; i < chosenCount; i++) {
+            ids[i] = questionIds[chosen[i]];
+        }
+        return ids;
+    }
+
+    // Split the draw size across strata proportionally (largest remainder method)
+
+    private int[] allocateQuota(int count) {
+        int strata = strataCount();
+        int poolSize = questionIds.length;
+        int[] quota = new int[strata];
+        long[] remainder = new long[strata];
+        int assigned = 0;
+        for (int s = 0; s < strata; s++) {
+            long share = (long) count * (strataStart[s + 1] - strataStart[s]);
+            quota[s] = (int) (share / poolSize);
+            remainder[s] = share % poolSize;
+            assigned += quota[s];
+        }
+        while (assigned < count) {
+            int best = -1;
+            for (int s = 0; s < strata; s++) {
+                if (quota[s] < strataStart[s + 1] - strataStart[s]
+                        && (best < 0 || remainder[s] > remainder[best])) {
+                    best = s;
+                }
+            }
+            quota[best]++;
+            remainder[best] = -1;
+            assigned++;
+        }
+        return quota;
+    }
+
+    // Insert into the open-addressing set; returns false if already present
+
+    private static boolean insert(int[] table, int value) {
+        int mask = table.length - 1;
+        int slot = (value * 0x9E3779B9) & mask;
+        while (table[slot] != -1) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // QuestionView - Read-only projection of a question for taking a quiz
+    // Carries only what the student sees (problem + options); the solution TEXT and
+    // correct answer are never loaded during an attempt
+
+public class QuestionView {
+
+    private final Long questionId;
+    private final String problem;
+    private final String optionA;
+    private final String optionB;
+    private final String optionC;
+    private final String optionD;
+
+    public QuestionView(Long questionId, String problem,
+                        String optionA, String optionB, String optionC, String optionD) {
+        this.questionId = questionId;
+        this.problem = problem;
+        this.optionA = optionA;
+        this.optionB = optionB;
+        this.optionC = optionC;
+        this.optionD = optionD;
+    }
+
+    // Getters
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public String getProblem() {
+        return problem;
+    }
+
+    // Get option text by 0-based index (0 = A, 1 = B, 2 = C, 3 = D)
+    // @param index the option index
+    // @return the option text, or null if index is out of range
+
+    public String getOption(int index) {
+        switch (index) {
+            case 0: return optionA;
+            case 1: return optionB;
+            case 2: return optionC;
+            case 3: return optionD;
+            default: return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QuestionView{" +
+                "questionId=" + questionId +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // QuizCompletion - Assigned vs. completed counts of one quiz
+    // "Completed" only counts assigned students that have a submitted result
+
+public class QuizCompletion {
+
+    private final Long quizId;
+    private final long assignedCount;
+    private final long completedCount;
+
+    public QuizCompletion(Long quizId, long assignedCount, long completedCount) {
+        this.quizId = quizId;
+        this.assignedCount = assignedCount;
+        this.completedCount = completedCount;
+    }
+
+    // Getters
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public long getAssignedCount() {
+        return assignedCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getPendingCount() {
+        return assignedCount - completedCount;
+    }
+
+    // Completion percentage 0-100, or null when nobody is assigned
+
+    public Double getCompletionRate() {
+        return assignedCount == 0 ? null : completedCount * 100.0 / assignedCount;
+    }
+}
@@ -0,0 +1,38 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // QuizListItem - Read-only projection of one row of the teacher's quiz list
+    // Only the columns the list shows, so searching and paging through tens of thousands
+    // of quizzes never loads Quiz entities
+
+public class QuizListItem {
+
+    private final Long quizId;
+    private final String quizName;
+    private final Integer timeLimit;
+    private final Integer numberOfQuestion;
+
+    public QuizListItem(Long quizId, String quizName, Integer timeLimit, Integer numberOfQuestion) {
+        this.quizId = quizId;
+        this.quizName = quizName;
+        this.timeLimit = timeLimit;
+        this.numberOfQuestion = numberOfQuestion;
+    }
+
+    // Getters
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public String getQuizName() {
+        return quizName;
+    }
+
+    public Integer getTimeLimit() {
+        return timeLimit;
+    }
+
+    public Integer getNumberOfQuestion() {
+        return numberOfQuestion;
+    }
+}
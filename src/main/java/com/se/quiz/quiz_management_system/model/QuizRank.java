@@ -0,0 +1,41 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // QuizRank - A student's standing in one quiz
+
+public class QuizRank {
+
+    private final int rank;
+    private final int totalResults;
+
+    public QuizRank(int rank, int totalResults) {
+        this.rank = rank;
+        this.totalResults = totalResults;
+    }
+
+    // 1-based rank (1 = best)
+
+    public int getRank() {
+        return rank;
+    }
+
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    // Percentage of other results ranked below this one (100 = best, 0 = last)
+
+    public double getPercentile() {
+        if (totalResults <= 1) {
+            return 100.0;
+        }
+        return 100.0 * (totalResults - rank) / (totalResults - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "QuizRank{" +
+                "rank=" + rank +
+                ", totalResults=" + totalResults +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.se.quiz.quiz_management_system.model;
+
+import java.time.LocalDateTime;
+
+    // QuizSummary - One row of the quiz results overview
+    // Quiz metadata plus result aggregates and assignment completion, all read in one query
+
+public class QuizSummary {
+
+    private final Long quizId;
+    private final String quizName;
+    private final Integer timeLimit;
+    private final Integer numberOfQuestion;
+    private final long submissionCount;
+    private final Double averageScore;
+    private final Integer bestScore;
+    private final LocalDateTime lastSubmittedAt;
+    private final QuizCompletion completion;
+
+    public QuizSummary(Long quizId, String quizName, Integer timeLimit, Integer numberOfQuestion,
+                       long submissionCount, Double averageScore, Integer bestScore,
+                       LocalDateTime lastSubmittedAt, QuizCompletion completion) {
+        this.quizId = quizId;
+        this.quizName = quizName;
+        this.timeLimit = timeLimit;
+        this.numberOfQuestion = numberOfQuestion;
+        this.submissionCount = submissionCount;
+        this.averageScore = averageScore;
+        this.bestScore = bestScore;
+        this.lastSubmittedAt = lastSubmittedAt;
+        this.completion = completion;
+    }
+
+    // Getters
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public String getQuizName() {
+        return quizName;
+    }
+
+    public Integer getTimeLimit() {
+        return timeLimit;
+    }
+
+    public Integer getNumberOfQuestion() {
+        return numberOfQuestion;
+    }
+
+    public long getSubmissionCount() {
+        return submissionCount;
+    }
+
+    // Average score, null if there are no submissions
+
+    public Double getAverageScore() {
+        return averageScore;
+    }
+
+    // Best score, null if there are no submissions
+
+    public Integer getBestScore() {
+        return bestScore;
+    }
+
+    public LocalDateTime getLastSubmittedAt() {
+        return lastSubmittedAt;
+    }
+
+    // Assigned / completed counts
+
+    public QuizCompletion getCompletion() {
+        return completion;
+    }
+}
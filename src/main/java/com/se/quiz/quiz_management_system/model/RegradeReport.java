@@ -0,0 +1,125 @@
+package com.se.quiz.quiz_management_system.model;
+
+import java.util.List;
+
+    // RegradeReport - Outcome (or preview) of a bulk regrade of one quiz
+    // A dry run carries the same diff as an applied regrade but has no audit ID.
+    // Results whose score a teacher corrected by hand are never changed; where the answer key
+    // disagrees with such a score they are listed separately as overrides.
+
+public class RegradeReport {
+
+    private final Long quizId;
+    private final boolean dryRun;
+    private final int resultsScanned;
+    private final String answerKey;
+    private final List<ScoreChange> changes;
+    private final List<ScoreChange> overrides;
+    private final Long auditId;
+
+    public RegradeReport(Long quizId, boolean dryRun, int resultsScanned, String answerKey,
+                         List<ScoreChange> changes, List<ScoreChange> overrides, Long auditId) {
+        this.quizId = quizId;
+        this.dryRun = dryRun;
+        this.resultsScanned = resultsScanned;
+        this.answerKey = answerKey;
+        this.changes = changes;
+        this.overrides = overrides;
+        this.auditId = auditId;
+    }
+
+    // Getters
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public int getResultsScanned() {
+        return resultsScanned;
+    }
+
+    // Answer key used for rescoring, one letter per question in canonical order
+
+    public String getAnswerKey() {
+        return answerKey;
+    }
+
+    public List<ScoreChange> getChanges() {
+        return changes;
+    }
+
+    // Hand-corrected results the answer key would score differently (left unchanged)
+
+    public List<ScoreChange> getOverrides() {
+        return overrides;
+    }
+
+    // Audit record ID, null for a dry run
+
+    public Long getAuditId() {
+        return auditId;
+    }
+
+    // Sum of (new score - old score) over all changes
+
+    public long getTotalScoreDelta() {
+        long delta = 0;
+        for (ScoreChange change : changes) {
+            delta += change.getNewScore() - change.getOldScore();
+        }
+        return delta;
+    }
+
+    // ScoreChange - One result whose score differs under the current answer key
+
+    public static class ScoreChange {
+
+        private final long resultId;
+        private final long studentId;
+        private final int oldScore;
+        private final int newScore;
+        private final int oldCorrect;
+        private final int newCorrect;
+
+        public ScoreChange(long resultId, long studentId, int oldScore, int newScore, int oldCorrect, int newCorrect) {
+            this.resultId = resultId;
+            this.studentId = studentId;
+            this.oldScore = oldScore;
+            this.newScore = newScore;
+            this.oldCorrect = oldCorrect;
+            this.newCorrect = newCorrect;
+        }
+
+        // Getters
+
+        public long getResultId() {
+            return resultId;
+        }
+
+        public long getStudentId() {
+            return studentId;
+        }
+
+        public int getOldScore() {
+            return oldScore;
+        }
+
+        public int getNewScore() {
+            return newScore;
+        }
+
+        // Previously stored correct count (-1 if it was never stored)
+
+        public int getOldCorrect() {
+            return oldCorrect;
+        }
+
+        public int getNewCorrect() {
+            return newCorrect;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.se.quiz.quiz_management_system.model;
+
+import java.util.Arrays;
+
+    // ResponseMatrix - Dense attempts x questions matrix of chosen options for one quiz
+    // Cells are stored row-major in a single byte[] (one row per attempt, one column per
+    // question in canonical pool order): 0-3 = option A-D, BLANK = not answered,
+    // NOT_PRESENTED = question was not drawn for that attempt.
+    // 50,000 attempts x 100 questions is 5 MB, so whole-quiz passes stay cache-friendly.
+
+public final class ResponseMatrix {
+
+    public static final byte BLANK = -1;
+    public static final byte NOT_PRESENTED = -2;
+
+    private final long[] questionIds;
+    private final byte[] answerKey;
+    private final int items;
+
+    private byte[] cells;
+    private long[] resultIds;
+    private long[] studentIds;
+    private int[] storedScores;
+    private int[] storedCorrect;
+    private boolean[] overridden;
+    private int rows;
+
+    // Create an empty matrix
+    // @param questionIds question IDs in canonical order (one column each)
+    // @param answerKey correct option index per column (-1 if unknown)
+
+    public ResponseMatrix(long[] questionIds, byte[] answerKey) {
+        this.questionIds = questionIds;
+        this.answerKey = answerKey;
+        this.items = questionIds.length;
+        int initialRows = 64;
+        this.cells = new byte[initialRows * Math.max(1, items)];
+        this.resultIds = new long[initialRows];
+        this.studentIds = new long[initialRows];
+        this.storedScores = new int[initialRows];
+        this.storedCorrect = new int[initialRows];
+        this.overridden = new boolean[initialRows];
+    }
+
+    // Append one attempt without stored grading data
+    // @param resultId the result ID
+    // @param studentId the student ID
+    // @param answerVector canonical answer letters, one per presented question
+    // @param presentedColumns column of each answer letter (null = identity, i.e. full form)
+
+    public void addAttempt(long resultId, long studentId, String answerVector, int[] presentedColumns) {
+        addAttempt(resultId, studentId, 0, -1, answerVector, presentedColumns);
+    }
+
+    // Append one attempt
+    // @param resultId the result ID
+    // @param studentId the student ID
+    // @param storedScore the score currently stored for the result
+    // @param storedCorrect the correct-answer count currently stored (-1 if unknown)
+    // @param answerVector canonical answer letters, one per presented question
+    // @param presentedColumns column of each answer letter (null = identity, i.e. full form)
+
+    public void addAttempt(long resultId, long studentId, int storedScore, int storedCorrect,
+                           String answerVector, int[] presentedColumns) {
+        addAttempt(resultId, studentId, storedScore, storedCorrect, false, answerVector, presentedColumns);
+    }
+
+    // Append one attempt
+    // @param resultId the result ID
+    // @param studentId the student ID
+    // @param storedScore the score currently stored for the result
+    // @param storedCorrect the correct-answer count currently stored (-1 if unknown)
+    // @param scoreOverridden whether the stored score was corrected by hand
+    // @param answerVector canonical answer letters, one per presented question
+    // @param presentedColumns column of each answer letter (null = identity, i.e. full form)
+
+    public void addAttempt(long resultId, long studentId, int storedScore, int storedCorrect,
+                           boolean scoreOverridden, String answerVector, int[] presentedColumns) {
+        ensureCapacity(rows + 1);
+        int base = rows * items;
+        Arrays.fill(cells, base, base + items, NOT_PRESENTED);
+
+        int length = presentedColumns != null ? presentedColumns.length : items;
+        for (int i = 0; i < length; i++) {
+            int column = presentedColumns != null ? presentedColumns[i] : i;
+            if (column < 0 || column >= items) {
+                continue;
+            }
+            int option = i < answerVector.length() ? Character.toUpperCase(answerVector.charAt(i)) - 'A' : -1;
+            cells[base + column] = option >= 0 && option < AttemptLayout.OPTION_COUNT ? (byte) option : BLANK;
+        }
+
+        resultIds[rows] = resultId;
+        studentIds[rows] = studentId;
+        storedScores[rows] = storedScore;
+        this.storedCorrect[rows] = storedCorrect;
+        overridden[rows] = scoreOverridden;
+        rows++;
+    }
+
+    private void ensureCapacity(int requiredRows) {
+        if (requiredRows <= resultIds.length) {
+            return;
+        }
+        int newRows = Math.max(requiredRows, resultIds.length * 2);
+        cells = Arrays.copyOf(cells, newRows * Math.max(1, items));
+        resultIds = Arrays.copyOf(resultIds, newRows);
+        studentIds = Arrays.copyOf(studentIds, newRows);
+        storedScores = Arrays.copyOf(storedScores, newRows);
+        storedCorrect = Arrays.copyOf(storedCorrect, newRows);
+        overridden = Arrays.copyOf(overridden, newRows);
+    }
+
+    // Getters
+
+    public int rows() {
+        return rows;
+    }
+
+    public int items() {
+        return items;
+    }
+
+    public long questionIdAt(int column) {
+        return questionIds[column];
+    }
+
+    public byte correctOption(int column) {
+        return answerKey[column];
+    }
+
+    public long resultIdAt(int row) {
+        return resultIds[row];
+    }
+
+    public long studentIdAt(int row) {
+        return studentIds[row];
+    }
+
+    public int storedScoreAt(int row) {
+        return storedScores[row];
+    }
+
+    public int storedCorrectAt(int row) {
+        return storedCorrect[row];
+    }
+
+    // Whether the stored score of a row was corrected by hand
+
+    public boolean isOverriddenAt(int row) {
+        return overridden[row];
+    }
+
+    // Number of answers in a row matching the current answer key
+
+    public int countCorrect(int row) {
+        int base = row * items;
+        int correct = 0;
+        for (int c = 0; c < items; c++) {
+            byte cell = cells[base + c];
+            if (cell >= 0 && cell == answerKey[c]) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    // Chosen option of a row / column (0-3, BLANK or NOT_PRESENTED)
+
+    public byte cell(int row, int column) {
+        return cells[row * items + column];
+    }
+
+    // Raw row-major cells (shared, do not modify); valid for rows() * items() entries
+
+    public byte[] cells() {
+        return cells;
+    }
+
+    // Raw answer key (shared, do not modify)
+
+    public byte[] answerKey() {
+        return answerKey;
+    }
+}
@@ -0,0 +1,89 @@
+package com.se.quiz.quiz_management_system.model;
+
+import java.util.List;
+
+    // SimilarityReport - Suspiciously similar answer pairs found in one quiz
+    // Pairs are ordered by number of matching wrong answers (strongest evidence first)
+
+public class SimilarityReport {
+
+    private final Long quizId;
+    private final int attemptsAnalysed;
+    private final long pairsCompared;
+    private final List<SuspiciousPair> pairs;
+
+    public SimilarityReport(Long quizId, int attemptsAnalysed, long pairsCompared, List<SuspiciousPair> pairs) {
+        this.quizId = quizId;
+        this.attemptsAnalysed = attemptsAnalysed;
+        this.pairsCompared = pairsCompared;
+        this.pairs = pairs;
+    }
+
+    // Getters
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public int getAttemptsAnalysed() {
+        return attemptsAnalysed;
+    }
+
+    // Number of attempt pairs that were compared exactly (after LSH candidate filtering)
+
+    public long getPairsCompared() {
+        return pairsCompared;
+    }
+
+    public List<SuspiciousPair> getPairs() {
+        return pairs;
+    }
+
+    // SuspiciousPair - Two attempts with an unusual overlap of wrong answers
+
+    public static class SuspiciousPair {
+
+        private final long studentIdA;
+        private final long studentIdB;
+        private final int identicalAnswers;
+        private final int matchingWrongAnswers;
+        private final double wrongAnswerSimilarity;
+
+        public SuspiciousPair(long studentIdA, long studentIdB, int identicalAnswers,
+                              int matchingWrongAnswers, double wrongAnswerSimilarity) {
+            this.studentIdA = studentIdA;
+            this.studentIdB = studentIdB;
+            this.identicalAnswers = identicalAnswers;
+            this.matchingWrongAnswers = matchingWrongAnswers;
+            this.wrongAnswerSimilarity = wrongAnswerSimilarity;
+        }
+
+        // Getters
+
+        public long getStudentIdA() {
+            return studentIdA;
+        }
+
+        public long getStudentIdB() {
+            return studentIdB;
+        }
+
+        // Questions where both chose the same option (right or wrong)
+
+        public int getIdenticalAnswers() {
+            return identicalAnswers;
+        }
+
+        // Questions where both chose the same wrong option
+
+        public int getMatchingWrongAnswers() {
+            return matchingWrongAnswers;
+        }
+
+        // Jaccard similarity of the two sets of (question, wrong option) choices
+
+        public double getWrongAnswerSimilarity() {
+            return wrongAnswerSimilarity;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // Stratification used when drawing N questions from a quiz's question pool
+    // NONE - simple random sample over the whole pool
+    // TAG - proportional sample per Question.tag
+    // DIFFICULTY - proportional sample per Question.difficulty
+    
+public enum StratifyBy {
+    NONE,
+    TAG,
+    DIFFICULTY
+}
@@ -0,0 +1,63 @@
+package com.se.quiz.quiz_management_system.model;
+
+    // StudentResultView - Read-only projection of one result row for the student results list
+    // Carries only the columns the list and CSV export show, so paging through thousands of
+    // results never loads StudentQuizResult entities (and their eager student/quiz joins)
+
+public class StudentResultView {
+
+    private final Long resultId;
+    private final Long studentId;
+    private final String fullName;
+    private final String username;
+    private final Integer score;
+    private final Integer totalPoints;
+
+    public StudentResultView(Long resultId, Long studentId, String fullName, String username,
+                             Integer score, Integer totalPoints) {
+        this.resultId = resultId;
+        this.studentId = studentId;
+        this.fullName = fullName;
+        this.username = username;
+        this.score = score;
+        this.totalPoints = totalPoints;
+    }
+
+    // Getters
+
+    public Long getResultId() {
+        return resultId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public Integer getTotalPoints() {
+        return totalPoints;
+    }
+
+    // Name shown in the list (full name, or the student ID if missing)
+
+    public String getDisplayName() {
+        return fullName != null ? fullName : "Student ID: " + studentId;
+    }
+
+    // Score shown in the list, e.g. "85/100"
+
+    public String getScoreDisplay() {
+        return score + "/" + totalPoints;
+    }
+}
@@ -2,33 +2,36 @@ package com.se.quiz.quiz_management_system.navigation;
 
     // AppScreen Enum - Định nghĩa tất cả các màn hình trong ứng dụng
     // Mapping từ FSM State sang FXML file
+    // Cached screens keep their parsed root and controller between visits (see NavigationManager)
     
 public enum AppScreen {
     // Authentication Screens
-    LOGIN("/view/Login.fxml", "Quiz Management System - Đăng nhập"),
-    REGISTER("/view/Register.fxml", "Quiz Management System - Đăng ký"),
+    LOGIN("/view/Login.fxml", "Quiz Management System - Đăng nhập", false),
+    REGISTER("/view/Register.fxml", "Quiz Management System - Đăng ký", false),
     
     // Teacher Screens
-    TEACHER_DASHBOARD("/view/TeacherDashboard.fxml", "Teacher Dashboard"),
-    QUIZ_LIST("/view/QuizList.fxml", "Danh sách Quiz"),
-    CREATE_QUESTION("/view/CreateQuestion.fxml", "Tạo câu hỏi mới"),
-    ADD_STUDENT_TO_QUIZ("/view/AddStudentToQuiz.fxml", "Thêm sinh viên vào Quiz"),
-    QUIZ_RESULT("/view/QuizResult.fxml", "Kết quả Quiz"),
-    QUIZ_RESULTS_LIST("/view/QuizResultsListView.fxml", "Quiz Results Overview"),
-    STUDENT_RESULTS("/view/StudentResults.fxml", "Kết quả sinh viên"),
+    TEACHER_DASHBOARD("/view/TeacherDashboard.fxml", "Teacher Dashboard", true),
+    QUIZ_LIST("/view/QuizList.fxml", "Danh sách Quiz", true),
+    CREATE_QUESTION("/view/CreateQuestion.fxml", "Tạo câu hỏi mới", false),
+    ADD_STUDENT_TO_QUIZ("/view/AddStudentToQuiz.fxml", "Thêm sinh viên vào Quiz", false),
+    QUIZ_RESULT("/view/QuizResult.fxml", "Kết quả Quiz", false),
+    QUIZ_RESULTS_LIST("/view/QuizResultsListView.fxml", "Quiz Results Overview", true),
+    STUDENT_RESULTS("/view/StudentResults.fxml", "Kết quả sinh viên", true),
     
     // Student Screens
-    STUDENT_DASHBOARD("/view/StudentDashboard.fxml", "Student Dashboard"),
-    AVAILABLE_QUIZZES("/view/AvailableQuizzes.fxml", "Quiz có thể làm"),
-    TAKE_QUIZ("/view/TakeQuiz.fxml", "Làm bài Quiz"),
-    STUDENT_MY_RESULTS("/view/StudentMyResults.fxml", "Kết quả của tôi");
+    STUDENT_DASHBOARD("/view/StudentDashboard.fxml", "Student Dashboard", true),
+    AVAILABLE_QUIZZES("/view/AvailableQuizzes.fxml", "Quiz có thể làm", true),
+    TAKE_QUIZ("/view/TakeQuiz.fxml", "Làm bài Quiz", false),
+    STUDENT_MY_RESULTS("/view/StudentMyResults.fxml", "Kết quả của tôi", true);
     
     private final String fxmlPath;
     private final String title;
+    private final boolean cached;
     
-    AppScreen(String fxmlPath, String title) {
+    AppScreen(String fxmlPath, String title, boolean cached) {
         this.fxmlPath = fxmlPath;
         this.title = title;
+        this.cached = cached;
     }
     
     public String getFxmlPath() {
@@ -38,5 +41,9 @@ public enum AppScreen {
     public String getTitle() {
         return title;
     }
+    
+    public boolean isCached() {
+        return cached;
+    }
 }
 
@@ -0,0 +1,245 @@
+package com.se.quiz.quiz_management_system.navigation;
+
+import com.se.quiz.quiz_management_system.model.LatencyHistogram;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+    // FxPulseMonitor - Optional FX-thread stall detection and pulse timing (-Dquiz.fx.monitor=true)
+    // A daemon watchdog posts a heartbeat to the FX thread every HEARTBEAT_MS and measures how
+    // long it waits in the queue. While a heartbeat is overdue (a stall), the watchdog samples
+    // the FX thread's stack and attributes the stall to the screen on display and the
+    // controller method on the stack (plus the innermost application frame, e.g. a service
+    // call). Layout pulses of the navigation scene are timed with pre/post layout listeners.
+    // Every report interval one rolling-window summary is logged: heartbeat latency and
+    // pulse histograms, and the stalls grouped by screen and action.
+    // Options: -Dquiz.fx.monitor.stall-ms=200 -Dquiz.fx.monitor.report-seconds=60
+
+public final class FxPulseMonitor {
+
+    public static final String ENABLED_PROPERTY = "quiz.fx.monitor";
+
+    // Interval between heartbeats (also the stack sampling interval during a stall)
+    private static final long HEARTBEAT_MS = 50;
+
+    private static final String APP_PACKAGE = "com.se.quiz.quiz_management_system.";
+    private static final String CONTROLLER_PACKAGE = APP_PACKAGE + "controller.";
+
+    private static FxPulseMonitor instance;
+
+    private final long stallThresholdNanos;
+    private final long reportIntervalNanos;
+
+    // Rolling window, guarded by this
+    private final LatencyHistogram heartbeatLatency = new LatencyHistogram();
+    private final LatencyHistogram layoutPulses = new LatencyHistogram();
+    private final Map<String, StallStats> stallsByAction = new LinkedHashMap<>();
+
+    // Stack samples of the stall in progress, guarded by this
+    private final Map<String, Integer> stallSamples = new LinkedHashMap<>();
+    private AppScreen stallScreen;
+
+    private volatile Thread fxThread;
+    private volatile long heartbeatSentAt;
+    private long pulseStartedAt;
+
+    private FxPulseMonitor(long stallThresholdMillis, long reportIntervalSeconds) {
+        this.stallThresholdNanos = stallThresholdMillis * 1_000_000;
+        this.reportIntervalNanos = reportIntervalSeconds * 1_000_000_000;
+    }
+
+    // Start monitoring if -Dquiz.fx.monitor=true (call once on the FX thread)
+
+    public static void install() {
+        if (instance != null || !Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return;
+        }
+        instance = new FxPulseMonitor(
+            Long.getLong(ENABLED_PROPERTY + ".stall-ms", 200),
+            Long.getLong(ENABLED_PROPERTY + ".report-seconds", 60));
+        instance.fxThread = Thread.currentThread();
+
+        Thread watchdog = new Thread(instance::watch, "fx-pulse-monitor");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        System.out.printf("[FxMonitor] Monitoring FX thread (stall >= %d ms, report every %d s)%n",
+            instance.stallThresholdNanos / 1_000_000, instance.reportIntervalNanos / 1_000_000_000);
+    }
+
+    // Time the layout pulses of a scene (no-op unless the monitor is installed)
+    // @param scene the scene to watch
+
+    public static void watch(Scene scene) {
+        FxPulseMonitor monitor = instance;
+        if (monitor == null) {
+            return;
+        }
+        scene.addPreLayoutPulseListener(() -> monitor.pulseStartedAt = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> {
+            if (monitor.pulseStartedAt != 0) {
+                monitor.recordPulse(System.nanoTime() - monitor.pulseStartedAt);
+                monitor.pulseStartedAt = 0;
+            }
+        });
+    }
+
+    // Watchdog loop: heartbeat, stall sampling and periodic reports
+
+    private void watch() {
+        long lastReport = System.nanoTime();
+        while (true) {
+            try {
+                Thread.sleep(HEARTBEAT_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            long sentAt = heartbeatSentAt;
+            if (sentAt == 0) {
+                heartbeatSentAt = now;
+                Platform.runLater(() -> heartbeatArrived(now));
+            } else if (now - sentAt >= stallThresholdNanos) {
+                sampleStall();
+            }
+
+            if (now - lastReport >= reportIntervalNanos) {
+                report((now - lastReport) / 1_000_000_000);
+                lastReport = now;
+            }
+        }
+    }
+
+    // FX thread: a heartbeat was dequeued; its wait is the FX thread latency
+
+    private void heartbeatArrived(long sentAt) {
+        long latencyNanos = System.nanoTime() - sentAt;
+        synchronized (this) {
+            heartbeatLatency.record(latencyNanos / 1_000_000.0);
+            if (latencyNanos >= stallThresholdNanos) {
+                closeStall(latencyNanos);
+            }
+        }
+        heartbeatSentAt = 0;
+    }
+
+    // Watchdog: record where the FX thread is while the heartbeat is overdue
+
+    private void sampleStall() {
+        Thread thread = fxThread;
+        if (thread == null) {
+            return;
+        }
+        String action = attribute(thread.getStackTrace());
+        synchronized (this) {
+            if (stallSamples.isEmpty()) {
+                stallScreen = NavigationManager.getInstance().getActiveScreen();
+            }
+            stallSamples.merge(action, 1, Integer::sum);
+        }
+    }
+
+    // Log the finished stall and add it to the window (caller holds the lock)
+
+    private void closeStall(long durationNanos) {
+        String action = "(no stack sample)";
+        int samples = 0;
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : stallSamples.entrySet()) {
+            total += entry.getValue();
+            if (entry.getValue() > samples) {
+                action = entry.getKey();
+                samples = entry.getValue();
+            }
+        }
+        AppScreen screen = stallScreen != null ? stallScreen : NavigationManager.getInstance().getActiveScreen();
+        String key = screen + " " + action;
+        double millis = durationNanos / 1_000_000.0;
+        stallsByAction.computeIfAbsent(key, k -> new StallStats()).add(millis);
+        System.out.printf("[FxMonitor] FX thread stalled %.0f ms on %s in %s (%d/%d samples)%n",
+            millis, screen, action, samples, total);
+
+        stallSamples.clear();
+        stallScreen = null;
+    }
+
+    private synchronized void recordPulse(long durationNanos) {
+        layoutPulses.record(durationNanos / 1_000_000.0);
+    }
+
+    // Log the rolling window and start a new one
+
+    private void report(long windowSeconds) {
+        LatencyHistogram latency;
+        LatencyHistogram pulses;
+        StringBuilder stalls = new StringBuilder();
+        synchronized (this) {
+            latency = heartbeatLatency.snapshotAndReset();
+            pulses = layoutPulses.snapshotAndReset();
+            for (Map.Entry<String, StallStats> entry : stallsByAction.entrySet()) {
+                stalls.append(String.format("%n[FxMonitor]   stalls %-60s %3d x, total %6.0f ms, max %6.0f ms",
+                    entry.getKey(), entry.getValue().count, entry.getValue().totalMillis, entry.getValue().maxMillis));
+            }
+            stallsByAction.clear();
+        }
+        System.out.printf("[FxMonitor] Last %d s on %s%n[FxMonitor]   FX latency    %s%n[FxMonitor]   layout pulse  %s%s%n",
+            windowSeconds, NavigationManager.getInstance().getActiveScreen(),
+            latency.format(), pulses.format(), stalls);
+    }
+
+    // Describe the FX thread's current work: "Controller.method" and the innermost
+    // application frame below it when that is another class (e.g. a service call)
+
+    private static String attribute(StackTraceElement[] stack) {
+        String innermost = null;
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (!className.startsWith(APP_PACKAGE) || className.startsWith(FxPulseMonitor.class.getName())) {
+                continue;
+            }
+            String location = simpleName(className) + "." + methodName(frame.getMethodName());
+            if (className.startsWith(CONTROLLER_PACKAGE)) {
+                return innermost == null || innermost.equals(location) ? location : location + " -> " + innermost;
+            }
+            if (innermost == null) {
+                innermost = location;
+            }
+        }
+        if (innermost != null) {
+            return innermost;
+        }
+        return stack.length > 0 ? "(JavaFX) " + simpleName(stack[0].getClassName()) + "." + stack[0].getMethodName() : "(idle)";
+    }
+
+    private static String simpleName(String className) {
+        String simple = className.substring(className.lastIndexOf('.') + 1);
+        int inner = simple.indexOf('$');
+        return inner > 0 ? simple.substring(0, inner) : simple;
+    }
+
+    // lambda$loadQuizzes$3 -> loadQuizzes (callback)
+
+    private static String methodName(String method) {
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            return (end > 0 ? method.substring("lambda$".length(), end) : method) + " (callback)";
+        }
+        return method;
+    }
+
+    // Stall totals of one screen + action in the current window
+
+    private static class StallStats {
+        private int count;
+        private double totalMillis;
+        private double maxMillis;
+
+        void add(double millis) {
+            count++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+        }
+    }
+}
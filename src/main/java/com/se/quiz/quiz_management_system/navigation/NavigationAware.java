@@ -11,5 +11,11 @@ public interface NavigationAware {
     // @param data Data passed from the previous screen
     
     void onNavigatedTo(Map<String, Object> data);
+    
+    // Called when the user leaves the screen (e.g. to cancel its background loads)
+    // Cached screens may be shown again later with another onNavigatedTo call
+    
+    default void onNavigatedFrom() {
+    }
 }
 
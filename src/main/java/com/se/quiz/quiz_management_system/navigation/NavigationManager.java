@@ -25,12 +25,43 @@ public class NavigationManager {
     private static NavigationManager instance;
     private Stage primaryStage;
     private ApplicationContext springContext;
+    private SpringControllerFactory controllerFactory;
     
     // Navigation history để hỗ trợ back navigation
     private final Stack<NavigationState> navigationHistory = new Stack<>();
     
-    // Cache controllers để tránh reload không cần thiết (optional)
-    private final Map<AppScreen, Object> controllerCache = new HashMap<>();
+    // Maximum number of parsed screens kept in the cache
+    private static final int MAX_CACHED_SCREENS = 6;
+    
+    // LRU cache of parsed screens (root + controller) for screens marked as cached in AppScreen
+    private final Map<AppScreen, LoadedScreen> screenCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<AppScreen, LoadedScreen> eldest) {
+            return size() > MAX_CACHED_SCREENS;
+        }
+    };
+    
+    // The single scene of the primary stage; navigation swaps its root
+    private Scene scene;
+    
+    // Controller of the screen currently shown
+    private Object currentController;
+    
+    // Screen currently shown (read by FxPulseMonitor from its watchdog thread)
+    private volatile AppScreen activeScreen;
+    
+    // How a new root is brought on screen
+    // ROOT_SWAP: one CSS/layout pass inside the stable scene (default)
+    // WINDOW_SHAKE: legacy maximize toggle with repeated layout passes, for platforms that need it
+    public enum SceneSwitchMode { ROOT_SWAP, WINDOW_SHAKE }
+    
+    // Pulses observed after a switch before giving up on the size check
+    private static final int MAX_MEASURED_PULSES = 10;
+    
+    private SceneSwitchMode sceneSwitchMode =
+        "window-shake".equalsIgnoreCase(System.getProperty("quiz.navigation.switch-mode"))
+            ? SceneSwitchMode.WINDOW_SHAKE
+            : SceneSwitchMode.ROOT_SWAP;
     
     // Data transfer object để truyền dữ liệu giữa các màn hình
     private final Map<String, Object> transferData = new HashMap<>();
@@ -55,6 +86,7 @@ public class NavigationManager {
     public void initialize(Stage primaryStage, ApplicationContext springContext) {
         this.primaryStage = primaryStage;
         this.springContext = springContext;
+        this.controllerFactory = springContext != null ? new SpringControllerFactory(springContext) : null;
     }
     
     // Navigate to a new screen (Simple version without data)
@@ -100,57 +132,65 @@ public class NavigationManager {
                 transferData.putAll(data);
             }
             
-            // Load FXML
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(screen.getFxmlPath()));
-            Parent root = loader.load();
+            long start = System.nanoTime();
             
-            // Get controller and inject dependencies
-            Object controller = loader.getController();
+            // Reuse the cached root/controller or load FXML
+            LoadedScreen loaded = screen.isCached() ? screenCache.get(screen) : null;
+            boolean fromCache = loaded != null;
+            if (!fromCache) {
+                loaded = loadScreen(screen);
+                if (screen.isCached()) {
+                    screenCache.put(screen, loaded);
+                }
+            }
+            Parent root = loaded.root;
+            Object controller = loaded.controller;
             
-            // Inject Spring services if controller has setter methods
-            if (springContext != null) {
-                injectAuthService(controller);
-                injectQuizService(controller);
-                injectResultService(controller);
+            // Let the screen being left cancel its background loads
+            if (currentController instanceof NavigationAware) {
+                ((NavigationAware) currentController).onNavigatedFrom();
             }
+            currentController = controller;
+            activeScreen = screen;
             
-            // Inject data if implements NavigationAware
+            // Inject data if implements NavigationAware (cached screens reload their data here)
             if (controller instanceof NavigationAware) {
                 ((NavigationAware) controller).onNavigatedTo(transferData);
             }
             
-            // CRITICAL: HARD LAYOUT RESET PROTOCOL
+            long loadNanos = System.nanoTime() - start;
             
             // SNAPSHOT STATE
             final boolean wasMaximized = primaryStage.isMaximized();
             final boolean wasShowing = primaryStage.isShowing();
             
-            // CREATE NEW SCENE
-            Scene newScene = new Scene(root);
-            enhanceScrollSpeed(newScene);
-            
-            // STEP 1: AGGRESSIVE BINDING (Before setting scene)
-            if (root instanceof Region) {
-                Region region = (Region) root;
-                region.prefWidthProperty().bind(newScene.widthProperty());
-                region.prefHeightProperty().bind(newScene.heightProperty());
-                region.setMinWidth(0);
-                region.setMinHeight(0);
-                region.setMaxWidth(Double.MAX_VALUE);
-                region.setMaxHeight(Double.MAX_VALUE);
+            // SWAP ROOT of the persistent scene (created once)
+            long swapStart = System.nanoTime();
+            if (scene == null || primaryStage.getScene() != scene) {
+                scene = new Scene(root);
+                enhanceScrollSpeed(scene);
+                FxPulseMonitor.watch(scene);
+                primaryStage.setScene(scene);
+            } else {
+                scene.setRoot(root);
+                if (sceneSwitchMode == SceneSwitchMode.ROOT_SWAP) {
+                    layoutToScene(root);
+                }
             }
-            
-            // STEP 2: SET SCENE
-            primaryStage.setScene(newScene);
             primaryStage.setTitle(screen.getTitle());
             
             // Show stage if not showing
             if (!wasShowing) {
                 primaryStage.show();
             }
+            long swapNanos = System.nanoTime() - swapStart;
             
-            // STEP 3: THE "WINDOW SHAKE" (Force OS Event)
-            forceLayoutRefresh(primaryStage, root, wasMaximized);
+            // Legacy mode: THE "WINDOW SHAKE" (Force OS Event)
+            if (sceneSwitchMode == SceneSwitchMode.WINDOW_SHAKE) {
+                forceLayoutRefresh(primaryStage, root, wasMaximized);
+            }
+            
+            reportFirstPulse(screen, root, fromCache, loadNanos, swapNanos);
             
         } catch (IOException e) {
             e.printStackTrace();
@@ -159,6 +199,100 @@ public class NavigationManager {
         }
     }
     
+    // Parse the FXML of a screen (its controller is built by the Spring controller factory)
+    // @param screen The screen to load
+    // @return the parsed root and its controller
+    
+    private LoadedScreen loadScreen(AppScreen screen) throws IOException {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(screen.getFxmlPath()));
+        
+        // Controllers are created by Spring with their services already injected
+        if (controllerFactory != null) {
+            loader.setControllerFactory(controllerFactory);
+        }
+        Parent root = loader.load();
+        Object controller = loader.getController();
+        
+        // Let the root shrink and grow with the window (the scene resizes its root)
+        if (root instanceof Region) {
+            Region region = (Region) root;
+            region.setMinWidth(0);
+            region.setMinHeight(0);
+            region.setMaxWidth(Double.MAX_VALUE);
+            region.setMaxHeight(Double.MAX_VALUE);
+        }
+        
+        return new LoadedScreen(root, controller);
+    }
+    
+    // Parse a screen once before the Spring context is ready, to warm up class loading,
+    // FXML reflection, images and the stylesheet cache while Spring boots; the parsed
+    // screen is discarded. Only for screens whose initialize() does not use services.
+    // @param screen The screen to preload
+    // @return time spent parsing in nanoseconds
+    
+    public long preload(AppScreen screen) throws IOException {
+        long start = System.nanoTime();
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(screen.getFxmlPath()));
+        loader.setControllerFactory(SpringControllerFactory::createDetached);
+        loader.load();
+        return System.nanoTime() - start;
+    }
+    
+    // Single CSS + layout pass of a new root at the size of the (already sized) scene
+    // so the next pulse renders it without an intermediate layout at its FXML pref size
+    // @param root The root Parent node
+    
+    private void layoutToScene(Parent root) {
+        root.applyCss();
+        root.resize(scene.getWidth(), scene.getHeight());
+        root.layout();
+    }
+    
+    // Log navigation timings once the first layout pulse after the switch has run
+    // Reports load (FXML or cache), root switch, time to first pulse, the number of
+    // pulses seen by the time the root matched the scene size, and flags a glitch when
+    // the first rendered frame was laid out at a different size
+    // @param screen The destination screen
+    // @param root The new root
+    // @param fromCache Whether the root came from the screen cache
+    // @param loadNanos Time spent loading or refreshing the screen
+    // @param swapNanos Time spent switching the root
+    
+    private void reportFirstPulse(AppScreen screen, Parent root, boolean fromCache,
+                                  long loadNanos, long swapNanos) {
+        final Scene target = scene;
+        final long switchedAt = System.nanoTime();
+        final int[] pulses = new int[1];
+        final boolean[] firstPulseSized = new boolean[1];
+        final Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            if (pulses[0] < 0 || target.getRoot() != root) {
+                return;
+            }
+            pulses[0]++;
+            boolean sized = root.getLayoutBounds().getWidth() == target.getWidth()
+                && root.getLayoutBounds().getHeight() == target.getHeight();
+            if (pulses[0] == 1) {
+                firstPulseSized[0] = sized;
+                System.out.printf("[Navigation] %s (%s, %s): load %.1f ms, switch %.1f ms, first pulse +%.1f ms%n",
+                    screen, fromCache ? "cached" : "parsed", sceneSwitchMode,
+                    loadNanos / 1_000_000.0, swapNanos / 1_000_000.0,
+                    (System.nanoTime() - switchedAt) / 1_000_000.0);
+            }
+            if (sized || pulses[0] >= MAX_MEASURED_PULSES) {
+                if (!firstPulseSized[0]) {
+                    System.out.printf("[Navigation] %s: layout glitch, root matched the scene size after %d pulse(s)%n",
+                        screen, pulses[0]);
+                }
+                pulses[0] = -1;
+                // Listeners cannot be removed while the pulse iterates over them
+                Platform.runLater(() -> target.removePostLayoutPulseListener(listener[0]));
+            }
+        };
+        target.addPostLayoutPulseListener(listener[0]);
+    }
+    
     // FORCE LAYOUT REFRESH using "Window Shake" technique
     
     // This method implements a HARD RESET of the layout system by:
@@ -281,7 +415,7 @@ public class NavigationManager {
     
     public void navigateToLogin() {
         navigationHistory.clear();
-        controllerCache.clear();
+        screenCache.clear();
         transferData.clear();
         navigateTo(AppScreen.LOGIN, null, false);
     }
@@ -338,73 +472,23 @@ public class NavigationManager {
         transferData.clear();
     }
     
-    // Get primary stage
+    // Set how new roots are brought on screen (also -Dquiz.navigation.switch-mode=window-shake)
+    // @param sceneSwitchMode the switch mode
     
-    public Stage getPrimaryStage() {
-        return primaryStage;
+    public void setSceneSwitchMode(SceneSwitchMode sceneSwitchMode) {
+        this.sceneSwitchMode = sceneSwitchMode;
     }
     
-    // Inject AuthService into controller (if has setAuthService method)
+    // Screen currently shown, or null before the first navigation
     
-    private void injectAuthService(Object controller) {
-        try {
-            // Lấy AuthService từ Spring context
-            Object authService = springContext.getBean("authService");
-            
-            // Tìm setAuthService method trong controller
-            for (java.lang.reflect.Method method : controller.getClass().getMethods()) {
-                if (method.getName().equals("setAuthService") && 
-                    method.getParameterCount() == 1) {
-                    method.invoke(controller, authService);
-                    return;
-                }
-            }
-            
-        } catch (Exception e) {
-
-        }
+    public AppScreen getActiveScreen() {
+        return activeScreen;
     }
     
-    // Inject QuizService into controller (if has setQuizService method)
-    
-    private void injectQuizService(Object controller) {
-        try {
-            // Get QuizService from Spring context
-            Object quizService = springContext.getBean("quizService");
-            
-            // Find setQuizService method in controller
-            for (java.lang.reflect.Method method : controller.getClass().getMethods()) {
-                if (method.getName().equals("setQuizService") && 
-                    method.getParameterCount() == 1) {
-                    method.invoke(controller, quizService);
-                    return;
-                }
-            }
-            
-        } catch (Exception e) {
-            // Controller không có setQuizService method hoặc lỗi inject - OK, bỏ qua
-            // Không log để tránh spam console
-        }
-    }
-    
-    // Inject ResultService into controller (if has setResultService method)
+    // Get primary stage
     
-    private void injectResultService(Object controller) {
-        try {
-            // Lấy ResultService từ Spring context
-            Object resultService = springContext.getBean("resultService");
-            
-            // Tìm setResultService method trong controller
-            for (java.lang.reflect.Method method : controller.getClass().getMethods()) {
-                if (method.getName().equals("setResultService") && 
-                    method.getParameterCount() == 1) {
-                    method.invoke(controller, resultService);
-                    return;
-                }
-            }
-            
-        } catch (Exception e) {
-        }
+    public Stage getPrimaryStage() {
+        return primaryStage;
     }
     
     // Determine current screen (helper method)
@@ -427,6 +511,18 @@ public class NavigationManager {
         navigationHistory.clear();
     }
     
+    // Inner class holding a parsed screen
+    
+    private static class LoadedScreen {
+        private final Parent root;
+        private final Object controller;
+        
+        LoadedScreen(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+    
     // Inner class to save navigation state
     
     private static class NavigationState {
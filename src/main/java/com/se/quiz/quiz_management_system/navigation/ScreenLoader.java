@@ -0,0 +1,135 @@
+package com.se.quiz.quiz_management_system.navigation;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+    // ScreenLoader - Runs a screen's data queries off the FX thread
+    // All screens share one bounded pool of daemon threads. Each controller owns one
+    // ScreenLoader: starting a load supersedes the previous one, and cancel() (called from
+    // onNavigatedFrom) drops a load that has not started yet. A query that is already
+    // running is not interrupted (pooled JDBC connections do not survive interrupts well);
+    // its result is discarded instead. Callbacks only ever run on the FX thread and only
+    // for the latest load of the screen.
+    // Long write jobs (exports, regrades) use forJobs(): they run on a pool of their own,
+    // so they never hold up the threads that load screens.
+    
+public class ScreenLoader {
+    
+    // Threads running screen queries (all screens share them)
+    private static final int LOADER_THREADS = 2;
+    
+    // Loads waiting for a thread before new ones are rejected
+    private static final int QUEUE_CAPACITY = 32;
+    
+    // Threads running long write jobs (all screens share them)
+    private static final int JOB_THREADS = 2;
+    
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor("screen-loader-", LOADER_THREADS);
+    
+    private static final ThreadPoolExecutor JOB_EXECUTOR = createExecutor("screen-job-", JOB_THREADS);
+    
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    
+    // Incremented by every load/cancel; a result is applied only if its token is still current
+    private long generation;
+    private Future<?> pending;
+    
+    // @param name Screen name used in log messages
+    
+    public ScreenLoader(String name) {
+        this(name, EXECUTOR);
+    }
+    
+    private ScreenLoader(String name, ThreadPoolExecutor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+    
+    // Create a loader for a long write job (export, regrade) that runs on the job pool
+    // Give each job its own loader: starting a load supersedes the previous one of the loader
+    // @param name Job name used in log messages
+    
+    public static ScreenLoader forJobs(String name) {
+        return new ScreenLoader(name, JOB_EXECUTOR);
+    }
+    
+    private static ThreadPoolExecutor createExecutor(String threadPrefix, int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, threadPrefix + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
+    // Run a query in the background and hand its result to the screen
+    // Must be called on the FX thread; supersedes any load still in flight
+    // @param query The query (runs on a loader thread, must not touch the scene graph)
+    // @param onLoaded Receives the result on the FX thread
+    // @param onFailed Receives the error on the FX thread
+    
+    public <T> void load(Callable<T> query, Consumer<T> onLoaded, Consumer<Throwable> onFailed) {
+        cancel();
+        final long token = generation;
+        final long start = System.nanoTime();
+        
+        try {
+            pending = executor.submit(() -> {
+                T value;
+                try {
+                    value = query.call();
+                } catch (Throwable e) {
+                    Platform.runLater(() -> {
+                        if (token == generation) {
+                            pending = null;
+                            onFailed.accept(e);
+                        }
+                    });
+                    return;
+                }
+                Platform.runLater(() -> {
+                    if (token != generation) {
+                        System.out.println("[ScreenLoader] " + name + ": discarded stale result");
+                        return;
+                    }
+                    pending = null;
+                    System.out.printf("[ScreenLoader] %s loaded in %.1f ms%n", name, (System.nanoTime() - start) / 1_000_000.0);
+                    onLoaded.accept(value);
+                });
+            });
+        } catch (RejectedExecutionException e) {
+            onFailed.accept(new IllegalStateException("Too many screens are loading, please try again", e));
+        }
+    }
+    
+    // Cancel the current load: a queued query never runs, a running one is discarded
+    
+    public void cancel() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+    
+    // Whether a load has been started and its result not yet applied
+    
+    public boolean isLoading() {
+        return pending != null;
+    }
+}
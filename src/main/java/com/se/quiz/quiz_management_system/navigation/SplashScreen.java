@@ -0,0 +1,57 @@
+package com.se.quiz.quiz_management_system.navigation;
+
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+    // SplashScreen - Small undecorated window shown while the application starts
+    // Built in code (no FXML, no Spring) so it can appear before the Spring context exists.
+    // Uses the application stylesheet, which also puts it in the CSS cache for the login screen.
+
+public class SplashScreen {
+
+    private static final double WIDTH = 460;
+    private static final double HEIGHT = 260;
+
+    private final Stage stage = new Stage(StageStyle.UNDECORATED);
+    private final Label lblStatus = new Label("Starting...");
+
+    public SplashScreen() {
+        Label lblTitle = new Label("Quiz Management System");
+        lblTitle.getStyleClass().add("splash-title");
+
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setPrefSize(42, 42);
+
+        lblStatus.getStyleClass().add("splash-status");
+
+        VBox root = new VBox(22, lblTitle, progress, lblStatus);
+        root.setAlignment(Pos.CENTER);
+        root.getStyleClass().add("splash-root");
+
+        Scene scene = new Scene(root, WIDTH, HEIGHT);
+        scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
+        stage.setScene(scene);
+        stage.setTitle("Quiz Management System");
+        stage.centerOnScreen();
+    }
+
+    public void show() {
+        stage.show();
+    }
+
+    // Show what the application is doing right now
+    // @param status Short status text
+
+    public void setStatus(String status) {
+        lblStatus.setText(status);
+    }
+
+    public void close() {
+        stage.close();
+    }
+}
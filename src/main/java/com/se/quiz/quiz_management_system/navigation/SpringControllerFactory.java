@@ -0,0 +1,113 @@
+package com.se.quiz.quiz_management_system.navigation;
+
+import javafx.util.Callback;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.context.ApplicationContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+    // SpringControllerFactory - FXMLLoader controller factory backed by the Spring context
+    // Controllers annotated as prototype beans are created by Spring (constructor injection).
+    // Other controllers fall back to their public no-arg constructor plus setXxxService(..)
+    // setters whose parameter type is a Spring bean. The way to build a controller is
+    // resolved once per class (bean lookup or method handles) and reused for every load.
+    
+public class SpringControllerFactory implements Callback<Class<?>, Object> {
+    
+    private final ApplicationContext springContext;
+    private final Map<Class<?>, ControllerCreator> creators = new ConcurrentHashMap<>();
+    
+    // @param springContext Spring ApplicationContext providing controllers and services
+    
+    public SpringControllerFactory(ApplicationContext springContext) {
+        this.springContext = springContext;
+    }
+    
+    // Create the controller for an FXML file (called by FXMLLoader)
+    // @param type the fx:controller class
+    // @return a new controller instance
+    
+    @Override
+    public Object call(Class<?> type) {
+        return creators.computeIfAbsent(type, this::resolve).create();
+    }
+    
+    // Decide once how instances of a controller class are built
+    
+    private ControllerCreator resolve(Class<?> type) {
+        if (springContext.getBeanNamesForType(type).length > 0) {
+            return () -> springContext.getBean(type);
+        }
+        
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+            
+            List<MethodHandle> setters = new ArrayList<>();
+            List<Class<?>> serviceTypes = new ArrayList<>();
+            for (Method method : type.getMethods()) {
+                if (method.getName().startsWith("set") && method.getName().endsWith("Service")
+                        && method.getParameterCount() == 1 && method.getReturnType() == void.class) {
+                    Class<?> serviceType = method.getParameterTypes()[0];
+                    if (springContext.getBeanNamesForType(serviceType).length > 0) {
+                        setters.add(lookup.unreflect(method));
+                        serviceTypes.add(serviceType);
+                    }
+                }
+            }
+            
+            return () -> {
+                try {
+                    Object controller = constructor.invoke();
+                    for (int i = 0; i < setters.size(); i++) {
+                        setters.get(i).invoke(controller, springContext.getBean(serviceTypes.get(i)));
+                    }
+                    return controller;
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Cannot create controller " + type.getName(), e);
+                }
+            };
+        } catch (NoSuchMethodException | IllegalAccessException | NoSuchBeanDefinitionException e) {
+            throw new IllegalStateException("Controller " + type.getName()
+                + " is neither a Spring bean nor has a public no-arg constructor", e);
+        }
+    }
+    
+    // Create a controller without services, for parsing a screen before the context exists
+    // Uses the first public constructor with null for every service parameter; the
+    // controller must not use its services in initialize()
+    // @param type the fx:controller class
+    // @return a controller instance without services
+    
+    public static Object createDetached(Class<?> type) {
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length == 0) {
+            throw new IllegalStateException("Controller " + type.getName() + " has no public constructor");
+        }
+        for (Class<?> parameterType : constructors[0].getParameterTypes()) {
+            if (parameterType.isPrimitive()) {
+                throw new IllegalStateException("Controller " + type.getName() + " cannot be created without services");
+            }
+        }
+        try {
+            return constructors[0].newInstance(new Object[constructors[0].getParameterCount()]);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create controller " + type.getName(), e);
+        }
+    }
+    
+    // Builds one controller instance
+    
+    @FunctionalInterface
+    private interface ControllerCreator {
+        Object create();
+    }
+}
@@ -0,0 +1,114 @@
+package com.se.quiz.quiz_management_system.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+    // AnswerVectorRepository - Streams stored per-question answers of a quiz without loading entities
+    // Uses a forward-only JDBC cursor (fetch size) so tens of thousands of results never sit
+    // in memory as StudentQuizResult objects. Callers must run inside a transaction so
+    // PostgreSQL honours the fetch size (autocommit off).
+
+@Repository
+public class AnswerVectorRepository {
+
+    // Rows fetched per round-trip while streaming
+    public static final int FETCH_SIZE = 1000;
+
+    // Rows written per JDBC batch
+    public static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Callback receiving one stored attempt at a time
+
+    @FunctionalInterface
+    public interface AnswerRowHandler {
+
+        // @param resultId the result ID
+        // @param studentId the student ID
+        // @param score the stored score
+        // @param correctAnswers the stored number of correct answers (may be null)
+        // @param answerVector canonical answer letters ('A'-'D', '-'), null for legacy results
+        // @param drawnQuestionIds encoded drawn question IDs, null for fixed-form attempts
+        // @param scoreOverridden whether a teacher corrected the score by hand
+
+        void handle(long resultId, long studentId, int score, Integer correctAnswers,
+                    String answerVector, byte[] drawnQuestionIds, boolean scoreOverridden);
+    }
+
+    // Stream all results of a quiz that have a stored answer vector, ordered by result ID
+    // @param quizId the quiz ID
+    // @param handler callback invoked once per row
+
+    public void forEachAnswerVector(Long quizId, AnswerRowHandler handler) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT result_id, student_id, score, correct_answers, answer_vector, drawn_question_ids, " +
+                    "score_overridden " +
+                    "FROM student_quiz_result WHERE quiz_id = ? AND answer_vector IS NOT NULL ORDER BY result_id");
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setLong(1, quizId);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> {
+                int correct = rs.getInt(4);
+                Integer correctAnswers = rs.wasNull() ? null : correct;
+                handler.handle(
+                    rs.getLong(1),
+                    rs.getLong(2),
+                    rs.getInt(3),
+                    correctAnswers,
+                    rs.getString(5),
+                    rs.getBytes(6),
+                    rs.getBoolean(7));
+            });
+    }
+
+    // Write recomputed scores back in JDBC batches (no entities are loaded or dirty-checked)
+    // A row is only updated while it still has the expected score and was not corrected by
+    // hand, so a change made after the preview is never overwritten
+    // @param resultIds result IDs to update
+    // @param expectedScores score each result must still have
+    // @param scores new score per result
+    // @param correctAnswers new correct-answer count per result
+    // @param count number of leading entries to write
+    // @return number of rows updated
+
+    public int updateScores(long[] resultIds, int[] expectedScores, int[] scores, int[] correctAnswers, int count) {
+        int updated = 0;
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            final int offset = from;
+            final int size = Math.min(BATCH_SIZE, count - from);
+            int[] rows = jdbcTemplate.batchUpdate(
+                "UPDATE student_quiz_result SET score = ?, correct_answers = ? " +
+                "WHERE result_id = ? AND score = ? AND NOT score_overridden",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        statement.setInt(1, scores[offset + i]);
+                        statement.setInt(2, correctAnswers[offset + i]);
+                        statement.setLong(3, resultIds[offset + i]);
+                        statement.setInt(4, expectedScores[offset + i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                });
+            for (int row : rows) {
+                updated += row == Statement.SUCCESS_NO_INFO ? 1 : row;
+            }
+        }
+        return updated;
+    }
+}
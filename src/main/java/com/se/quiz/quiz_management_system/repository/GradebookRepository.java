@@ -0,0 +1,71 @@
+package com.se.quiz.quiz_management_system.repository;
+
+import java.sql.PreparedStatement;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+    // GradebookRepository - Cursor-based reads for the students x quizzes gradebook
+    // Rows are streamed with a fetch size so the whole result table is never materialized
+    // as entities. Callers must run inside a transaction so PostgreSQL honours the fetch size.
+
+@Repository
+public class GradebookRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Callback receiving one quiz column
+
+    @FunctionalInterface
+    public interface QuizHandler {
+        void handle(long quizId, String quizName);
+    }
+
+    // Callback receiving one result
+
+    @FunctionalInterface
+    public interface ResultHandler {
+        void handle(long studentId, String username, String fullName, long quizId, int score, int totalPoints);
+    }
+
+    // Visit all quizzes ordered by ID
+    // @param handler callback invoked once per quiz
+
+    public void forEachQuiz(QuizHandler handler) {
+        jdbcTemplate.query("SELECT quiz_id, quiz_name FROM quiz ORDER BY quiz_id",
+            (RowCallbackHandler) rs -> handler.handle(rs.getLong(1), rs.getString(2)));
+    }
+
+    // Number of distinct students with at least one result
+
+    public int countStudentsWithResults() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(DISTINCT student_id) FROM student_quiz_result", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    // Stream every result ordered by student, so each student's results arrive together
+    // @param handler callback invoked once per result
+
+    public void forEachResultByStudent(ResultHandler handler) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT r.student_id, s.username, s.full_name, r.quiz_id, r.score, r.total_points " +
+                    "FROM student_quiz_result r JOIN student s ON s.student_id = r.student_id " +
+                    "ORDER BY r.student_id");
+                statement.setFetchSize(AnswerVectorRepository.FETCH_SIZE);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> handler.handle(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getLong(4),
+                rs.getInt(5),
+                rs.getInt(6)));
+    }
+}
@@ -1,9 +1,13 @@
 package com.se.quiz.quiz_management_system.repository;
 
 import com.se.quiz.quiz_management_system.entity.Question;
+import com.se.quiz.quiz_management_system.model.QuestionView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
     // QuestionRepository - JPA repository for Question entity
@@ -16,5 +20,22 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     // @return list of matching questions
     
     List<Question> findByProblemContainingIgnoreCase(String problem);
+    
+    // Get the answer key (question ID, correct answer letter) for a set of questions
+    // Avoids loading problem/solution TEXT columns when only grading is needed
+    // @param ids the question IDs
+    // @return list of [questionId, correctAnswer] rows
+    
+    @Query("SELECT q.questionId, q.correctAnswer FROM Question q WHERE q.questionId IN :ids")
+    List<Object[]> findAnswerKeys(@Param("ids") Collection<Long> ids);
+    
+    // Get student-facing question projections (no solution / correct answer)
+    // @param ids the question IDs
+    // @return list of question views (unordered)
+    
+    @Query("SELECT new com.se.quiz.quiz_management_system.model.QuestionView(" +
+           "q.questionId, q.problem, q.optionA, q.optionB, q.optionC, q.optionD) " +
+           "FROM Question q WHERE q.questionId IN :ids")
+    List<QuestionView> findViewsByIds(@Param("ids") Collection<Long> ids);
 }
 
@@ -3,6 +3,8 @@ package com.se.quiz.quiz_management_system.repository;
 import com.se.quiz.quiz_management_system.entity.QuizQuestion;
 import com.se.quiz.quiz_management_system.entity.QuizQuestionId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,6 +20,30 @@ public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Quiz
     
     List<QuizQuestion> findByQuizId(Long quizId);
     
+    // Find all quiz-question relationships for a quiz in canonical display order
+    // Legacy rows without a position sort last (PostgreSQL ASC = NULLS LAST), then by question ID
+    // @param quizId the quiz ID
+    // @return list of QuizQuestion records ordered by position
+    
+    List<QuizQuestion> findByQuizIdOrderByPositionAscQuestionIdAsc(Long quizId);
+    
+    // Get only the question IDs of a quiz in canonical display order
+    // @param quizId the quiz ID
+    // @return list of question IDs ordered by position
+    
+    @Query("SELECT qq.questionId FROM QuizQuestion qq WHERE qq.quizId = :quizId " +
+           "ORDER BY qq.position ASC, qq.questionId ASC")
+    List<Long> findQuestionIdsByQuizId(@Param("quizId") Long quizId);
+    
+    // Get the pool entries (question ID, tag, difficulty) of a quiz in canonical order
+    // Used to build the cached QuestionPool without loading question text
+    // @param quizId the quiz ID
+    // @return list of [questionId, tag, difficulty] rows
+    
+    @Query("SELECT qq.questionId, q.tag, q.difficulty FROM QuizQuestion qq JOIN qq.question q " +
+           "WHERE qq.quizId = :quizId ORDER BY qq.position ASC, qq.questionId ASC")
+    List<Object[]> findPoolEntriesByQuizId(@Param("quizId") Long quizId);
+    
     // Delete all quiz-question relationships for a specific quiz
     // @param quizId the quiz ID
     
@@ -1,7 +1,12 @@
 package com.se.quiz.quiz_management_system.repository;
 
 import com.se.quiz.quiz_management_system.entity.Quiz;
+import com.se.quiz.quiz_management_system.model.QuizListItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,15 +16,56 @@ import java.util.List;
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
     
-    // Find quizzes by name (case-insensitive partial match)
-    // @param quizName the quiz name to search for
-    // @return list of matching quizzes
+    // One slice of the quiz list (most recent first, no count query)
+    // @param pageable page index and size
+    // @return slice of quiz list rows
     
-    List<Quiz> findByQuizNameContainingIgnoreCase(String quizName);
+    @Query("SELECT new com.se.quiz.quiz_management_system.model.QuizListItem(" +
+           "q.quizId, q.quizName, q.timeLimit, q.numberOfQuestion) " +
+           "FROM Quiz q ORDER BY q.quizId DESC")
+    Slice<QuizListItem> findListItems(Pageable pageable);
+    
+    // One slice of quizzes whose lower-cased name matches a LIKE pattern ('!' escapes wildcards)
+    // Served by the V9 indexes on lower(quiz_name): the B-tree (text_pattern_ops) for 'term%'
+    // prefix patterns and the pg_trgm GIN index for '%term%' patterns
+    // Names starting with the term come first, then alphabetical
+    // @param pattern lower-cased LIKE pattern to match
+    // @param prefixPattern lower-cased 'term%' pattern ranking prefix matches first
+    // @param pageable page index and size
+    // @return slice of matching quiz list rows
+    
+    @Query("SELECT new com.se.quiz.quiz_management_system.model.QuizListItem(" +
+           "q.quizId, q.quizName, q.timeLimit, q.numberOfQuestion) " +
+           "FROM Quiz q WHERE LOWER(q.quizName) LIKE :pattern ESCAPE '!' " +
+           "ORDER BY CASE WHEN LOWER(q.quizName) LIKE :prefixPattern ESCAPE '!' THEN 0 ELSE 1 END, " +
+           "LOWER(q.quizName), q.quizId")
+    Slice<QuizListItem> searchListItems(@Param("pattern") String pattern,
+                                        @Param("prefixPattern") String prefixPattern,
+                                        Pageable pageable);
     
     // Find all quizzes ordered by creation date (most recent first)
     // @return list of all quizzes
     
     List<Quiz> findAllByOrderByQuizIdDesc();
+    
+    // One page of the results overview (most recent quizzes first) in a single query
+    // The page of quizzes is cut first, then only its results are aggregated; assignment counts
+    // use a correlated count and a NOT EXISTS anti-join per quiz on the page
+    // @param limit page size
+    // @param offset rows to skip
+    // @return rows of [quizId, quizName, timeLimit, numberOfQuestion, submissionCount,
+    //         averageScore, bestScore, lastSubmittedAt, assignedCount, pendingCount]
+    
+    @Query(value = "SELECT q.quiz_id, q.quiz_name, q.time_limit, q.number_of_question, " +
+                   "COUNT(r.result_id), AVG(r.score), MAX(r.score), MAX(r.submitted_at), " +
+                   "(SELECT COUNT(*) FROM student_quiz sq WHERE sq.quiz_id = q.quiz_id), " +
+                   "(SELECT COUNT(*) FROM student_quiz sq WHERE sq.quiz_id = q.quiz_id AND NOT EXISTS " +
+                   "(SELECT 1 FROM student_quiz_result p WHERE p.student_id = sq.student_id AND p.quiz_id = sq.quiz_id)) " +
+                   "FROM (SELECT quiz_id, quiz_name, time_limit, number_of_question FROM quiz " +
+                   "ORDER BY quiz_id DESC LIMIT :limit OFFSET :offset) q " +
+                   "LEFT JOIN student_quiz_result r ON r.quiz_id = q.quiz_id " +
+                   "GROUP BY q.quiz_id, q.quiz_name, q.time_limit, q.number_of_question " +
+                   "ORDER BY q.quiz_id DESC",
+           nativeQuery = true)
+    List<Object[]> findQuizSummaries(@Param("limit") int limit, @Param("offset") long offset);
 }
-
@@ -0,0 +1,78 @@
+package com.se.quiz.quiz_management_system.repository;
+
+import com.se.quiz.quiz_management_system.entity.QuizStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+    // QuizStatsRepository - JPA repository for the per-quiz statistics summary row
+    
+@Repository
+public interface QuizStatsRepository extends JpaRepository<QuizStats, Long> {
+    
+    // Create an empty stats row unless one exists (safe under concurrent submissions)
+    // @param quizId the quiz ID
+    // @return 1 if a row was created, 0 if it already existed
+    
+    @Modifying
+    @Query(value = "INSERT INTO quiz_stats (quiz_id, result_count, score_sum, score_sum_squares, histogram) " +
+                   "VALUES (:quizId, 0, 0, 0, '{}') ON CONFLICT (quiz_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("quizId") Long quizId);
+    
+    // Load the stats row with a row lock so concurrent updates serialize
+    // @param quizId the quiz ID
+    // @return Optional containing the locked stats row
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM QuizStats s WHERE s.quizId = :quizId")
+    Optional<QuizStats> findForUpdate(@Param("quizId") Long quizId);
+    
+    // Version of the stats row only (primary-key lookup used to revalidate caches)
+    // @param quizId the quiz ID
+    // @return Optional containing the version, empty if the row does not exist yet
+    
+    @Query("SELECT s.version FROM QuizStats s WHERE s.quizId = :quizId")
+    Optional<Long> findVersion(@Param("quizId") Long quizId);
+    
+    // Versions of several stats rows in one query
+    // @param quizIds the quiz IDs
+    // @return rows of [quizId, version] for the quizzes that have a stats row
+    
+    @Query("SELECT s.quizId, s.version FROM QuizStats s WHERE s.quizId IN :quizIds")
+    List<Object[]> findVersions(@Param("quizIds") Collection<Long> quizIds);
+    
+    // Store rebuilt sketches unless the row changed since the results were read
+    // @param quizId the quiz ID
+    // @param version the row version the sketches were rebuilt for
+    // @param scoreSketch the serialized score sketch
+    // @param timeSketch the serialized completion time sketch
+    // @return 1 if stored, 0 if the row has a newer version
+    
+    @Modifying
+    @Query("UPDATE QuizStats s SET s.scoreSketch = :scoreSketch, s.timeSketch = :timeSketch, " +
+           "s.sketchVersion = :version WHERE s.quizId = :quizId AND s.version = :version")
+    int updateSketchesIfVersion(@Param("quizId") Long quizId, @Param("version") long version,
+                                @Param("scoreSketch") byte[] scoreSketch, @Param("timeSketch") byte[] timeSketch);
+    
+    // Store sketches with one submission merged in, unless they are no longer exactly one
+    // version behind it (another change or a rebuild got there first)
+    // @param quizId the quiz ID
+    // @param version the row version of the submission
+    // @param scoreSketch the serialized score sketch
+    // @param timeSketch the serialized completion time sketch
+    // @return 1 if stored, 0 if the sketches moved on
+    
+    @Modifying
+    @Query("UPDATE QuizStats s SET s.scoreSketch = :scoreSketch, s.timeSketch = :timeSketch, " +
+           "s.sketchVersion = :version WHERE s.quizId = :quizId AND s.sketchVersion = :version - 1")
+    int updateSketchesIfNext(@Param("quizId") Long quizId, @Param("version") long version,
+                             @Param("scoreSketch") byte[] scoreSketch, @Param("timeSketch") byte[] timeSketch);
+}
@@ -0,0 +1,19 @@
+package com.se.quiz.quiz_management_system.repository;
+
+import com.se.quiz.quiz_management_system.entity.RegradeAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+    // RegradeAuditRepository - JPA repository for bulk regrade audit records
+    
+@Repository
+public interface RegradeAuditRepository extends JpaRepository<RegradeAudit, Long> {
+    
+    // Get the regrade history of a quiz, newest first
+    // @param quizId the quiz ID
+    // @return list of audit records
+    
+    List<RegradeAudit> findByQuizIdOrderByPerformedAtDesc(Long quizId);
+}
@@ -0,0 +1,210 @@
+package com.se.quiz.quiz_management_system.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+    // ResultExportRepository - Streams result rows (with student names) for file exports
+    // Uses a forward-only JDBC cursor (fetch size) and hands every row to the callback through
+    // one reused ResultRow, so exports of any size hold a single row in memory.
+    // Callers must run inside a transaction so PostgreSQL honours the fetch size.
+
+@Repository
+public class ResultExportRepository {
+
+    private static final String SELECT_RESULTS =
+        "SELECT r.result_id, r.quiz_id, r.student_id, s.username, s.full_name, r.score, r.total_points, " +
+        "r.correct_answers, r.total_questions, r.completion_time_seconds, r.submitted_at " +
+        "FROM student_quiz_result r JOIN student s ON s.student_id = r.student_id ";
+
+    private static final String SELECT_RESULTS_WITH_ANSWERS =
+        "SELECT r.result_id, r.quiz_id, r.student_id, s.username, s.full_name, r.score, r.total_points, " +
+        "r.correct_answers, r.total_questions, r.completion_time_seconds, r.submitted_at, " +
+        "r.answer_vector, r.drawn_question_ids " +
+        "FROM student_quiz_result r JOIN student s ON s.student_id = r.student_id ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Callback receiving one result at a time
+    // The row object is reused - copy values out instead of keeping a reference
+
+    @FunctionalInterface
+    public interface ResultRowHandler {
+        void handle(ResultRow row);
+    }
+
+    // Stream the results of one quiz in leaderboard order: score (best first), completion time
+    // (fastest first, missing last), then result ID - so the n-th row has the in-app rank n
+    // @param quizId the quiz ID
+    // @param handler callback invoked once per result
+
+    public void forEachResultOfQuiz(Long quizId, ResultRowHandler handler) {
+        stream(SELECT_RESULTS + "WHERE r.quiz_id = ? " +
+            "ORDER BY r.score DESC, r.completion_time_seconds ASC NULLS LAST, r.result_id", quizId, false, handler);
+    }
+
+    // Stream results including the stored answer vector and drawn question IDs,
+    // ordered by quiz then result ID
+    // @param quizId the quiz ID, or null for all quizzes
+    // @param handler callback invoked once per result
+
+    public void forEachResultWithAnswers(Long quizId, ResultRowHandler handler) {
+        stream(SELECT_RESULTS_WITH_ANSWERS
+            + (quizId != null ? "WHERE r.quiz_id = ? " : "")
+            + "ORDER BY r.quiz_id, r.result_id", quizId, true, handler);
+    }
+
+    // Callback receiving one student
+
+    @FunctionalInterface
+    public interface StudentHandler {
+        void handle(long studentId, String username);
+    }
+
+    // Visit the students that have at least one result (of one quiz), ordered by ID
+    // @param quizId the quiz ID, or null for all quizzes
+    // @param handler callback invoked once per student
+
+    public void forEachStudentWithResults(Long quizId, StudentHandler handler) {
+        String sql = "SELECT s.student_id, s.username FROM student s WHERE EXISTS (" +
+            "SELECT 1 FROM student_quiz_result r WHERE r.student_id = s.student_id" +
+            (quizId != null ? " AND r.quiz_id = ?" : "") + ") ORDER BY s.student_id";
+        RowCallbackHandler rowHandler = rs -> handler.handle(rs.getLong(1), rs.getString(2));
+        if (quizId != null) {
+            jdbcTemplate.query(sql, rowHandler, quizId);
+        } else {
+            jdbcTemplate.query(sql, rowHandler);
+        }
+    }
+
+    private void stream(String sql, Long quizId, boolean withAnswers, ResultRowHandler handler) {
+        ResultRow row = new ResultRow(withAnswers);
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(AnswerVectorRepository.FETCH_SIZE);
+                if (quizId != null) {
+                    statement.setLong(1, quizId);
+                }
+                return statement;
+            },
+            (RowCallbackHandler) rs -> {
+                row.read(rs);
+                handler.handle(row);
+            });
+    }
+
+    // ResultRow - One streamed result (mutable, reused between callbacks)
+
+    public static final class ResultRow {
+
+        private long resultId;
+        private long quizId;
+        private long studentId;
+        private String username;
+        private String fullName;
+        private int score;
+        private int totalPoints;
+        private Integer correctAnswers;
+        private Integer totalQuestions;
+        private Integer completionTimeSeconds;
+        private LocalDateTime submittedAt;
+        private String answerVector;
+        private byte[] drawnQuestionIds;
+        private final boolean withAnswers;
+
+        ResultRow(boolean withAnswers) {
+            this.withAnswers = withAnswers;
+        }
+
+        void read(ResultSet rs) throws SQLException {
+            resultId = rs.getLong(1);
+            quizId = rs.getLong(2);
+            studentId = rs.getLong(3);
+            username = rs.getString(4);
+            fullName = rs.getString(5);
+            score = rs.getInt(6);
+            totalPoints = rs.getInt(7);
+            correctAnswers = nullableInt(rs, 8);
+            totalQuestions = nullableInt(rs, 9);
+            completionTimeSeconds = nullableInt(rs, 10);
+            Timestamp submitted = rs.getTimestamp(11);
+            submittedAt = submitted != null ? submitted.toLocalDateTime() : null;
+            if (withAnswers) {
+                answerVector = rs.getString(12);
+                drawnQuestionIds = rs.getBytes(13);
+            }
+        }
+
+        private static Integer nullableInt(ResultSet rs, int column) throws SQLException {
+            int value = rs.getInt(column);
+            return rs.wasNull() ? null : value;
+        }
+
+        // Getters
+
+        public long getResultId() {
+            return resultId;
+        }
+
+        public long getQuizId() {
+            return quizId;
+        }
+
+        public long getStudentId() {
+            return studentId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getFullName() {
+            return fullName;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getTotalPoints() {
+            return totalPoints;
+        }
+
+        public Integer getCorrectAnswers() {
+            return correctAnswers;
+        }
+
+        public Integer getTotalQuestions() {
+            return totalQuestions;
+        }
+
+        public Integer getCompletionTimeSeconds() {
+            return completionTimeSeconds;
+        }
+
+        public LocalDateTime getSubmittedAt() {
+            return submittedAt;
+        }
+
+        // Canonical answer letters, null for legacy results or when not selected
+
+        public String getAnswerVector() {
+            return answerVector;
+        }
+
+        // Encoded drawn question IDs, null for fixed-form attempts or when not selected
+
+        public byte[] getDrawnQuestionIds() {
+            return drawnQuestionIds;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.se.quiz.quiz_management_system.repository;
+
+import com.se.quiz.quiz_management_system.entity.StudentProgress;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+    // StudentProgressRepository - JPA repository for the per-student progress summary row
+    
+@Repository
+public interface StudentProgressRepository extends JpaRepository<StudentProgress, Long> {
+    
+    // Create an empty progress row unless one exists (safe under concurrent submissions)
+    // @param studentId the student ID
+    // @return 1 if a row was created, 0 if it already existed
+    
+    @Modifying
+    @Query(value = "INSERT INTO student_progress (student_id, result_count, percent_sum, indexed_percent_sum) " +
+                   "VALUES (:studentId, 0, 0, 0) ON CONFLICT (student_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("studentId") Long studentId);
+    
+    // Load the progress row with a row lock so concurrent updates serialize
+    // @param studentId the student ID
+    // @return Optional containing the locked progress row
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM StudentProgress p WHERE p.studentId = :studentId")
+    Optional<StudentProgress> findForUpdate(@Param("studentId") Long studentId);
+    
+    // Drop the summaries of several students (rebuilt on next read)
+    // @param studentIds the student IDs
+    // @return number of rows deleted
+    
+    @Modifying
+    @Query("DELETE FROM StudentProgress p WHERE p.studentId IN :studentIds")
+    int deleteByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+    
+    // Drop the summaries of every student with a result in a quiz (e.g. before deleting the quiz)
+    // @param quizId the quiz ID
+    // @return number of rows deleted
+    
+    @Modifying
+    @Query(value = "DELETE FROM student_progress WHERE student_id IN " +
+                   "(SELECT student_id FROM student_quiz_result WHERE quiz_id = :quizId)", nativeQuery = true)
+    int deleteByQuizId(@Param("quizId") Long quizId);
+}
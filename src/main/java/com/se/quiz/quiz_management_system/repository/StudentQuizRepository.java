@@ -1,7 +1,10 @@
 package com.se.quiz.quiz_management_system.repository;
 
+import com.se.quiz.quiz_management_system.entity.Student;
 import com.se.quiz.quiz_management_system.entity.StudentQuiz;
 import com.se.quiz.quiz_management_system.entity.StudentQuizId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -44,5 +47,18 @@ public interface StudentQuizRepository extends JpaRepository<StudentQuiz, Studen
     // @param quizId the quiz ID
     
     void deleteByQuizId(Long quizId);
+    
+    // Students assigned to a quiz that have not submitted it yet (anti-join), one page at a time
+    // @param quizId the quiz ID
+    // @param pageable page request (sorted by full name, then ID)
+    // @return page of pending students
+    
+    @Query(value = "SELECT s FROM StudentQuiz sq JOIN sq.student s WHERE sq.quizId = :quizId " +
+                   "AND NOT EXISTS (SELECT 1 FROM StudentQuizResult r " +
+                   "WHERE r.studentId = sq.studentId AND r.quizId = sq.quizId) " +
+                   "ORDER BY s.fullName, s.studentId",
+           countQuery = "SELECT COUNT(sq) FROM StudentQuiz sq WHERE sq.quizId = :quizId " +
+                        "AND NOT EXISTS (SELECT 1 FROM StudentQuizResult r " +
+                        "WHERE r.studentId = sq.studentId AND r.quizId = sq.quizId)")
+    Page<Student> findPendingStudents(@Param("quizId") Long quizId, Pageable pageable);
 }
-
@@ -1,6 +1,9 @@
 package com.se.quiz.quiz_management_system.repository;
 
 import com.se.quiz.quiz_management_system.entity.StudentQuizResult;
+import com.se.quiz.quiz_management_system.model.StudentResultView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -59,6 +62,17 @@ public interface StudentQuizResultRepository extends JpaRepository<StudentQuizRe
     
     List<StudentQuizResult> findByQuizIdOrderBySubmittedAtDesc(Long quizId);
     
+    // Get one slice of a quiz's result rows as projections (newest first, no count query)
+    // @param quizId the quiz ID
+    // @param pageable page index and size (Pageable.unpaged() for all rows)
+    // @return slice of result views ordered by submission time (newest first)
+    
+    @Query("SELECT new com.se.quiz.quiz_management_system.model.StudentResultView(" +
+           "r.resultId, r.studentId, s.fullName, s.username, r.score, r.totalPoints) " +
+           "FROM StudentQuizResult r LEFT JOIN r.student s WHERE r.quizId = :quizId " +
+           "ORDER BY r.submittedAt DESC, r.resultId DESC")
+    Slice<StudentResultView> findResultViewsByQuizId(@Param("quizId") Long quizId, Pageable pageable);
+    
     // Count number of students who completed a specific quiz
     // @param quizId the quiz ID
     // @return number of students who completed the quiz
@@ -96,5 +110,36 @@ public interface StudentQuizResultRepository extends JpaRepository<StudentQuizRe
     // @param studentId the student ID
     
     void deleteByStudentId(Long studentId);
+    
+    // Score distribution of a quiz: one row per distinct (score, totalPoints) with its count
+    // Used to rebuild quiz_stats in a single aggregate query
+    // @param quizId the quiz ID
+    // @return list of [score, totalPoints, count] rows
+    
+    @Query("SELECT r.score, r.totalPoints, COUNT(r) FROM StudentQuizResult r " +
+           "WHERE r.quizId = :quizId GROUP BY r.score, r.totalPoints")
+    List<Object[]> getScoreDistributionByQuizId(@Param("quizId") Long quizId);
+    
+    // Ranking fields of all results of a quiz (no entities or relationships are loaded)
+    // @param quizId the quiz ID
+    // @return list of [resultId, studentId, score, completionTimeSeconds] rows
+    
+    @Query("SELECT r.resultId, r.studentId, r.score, r.completionTimeSeconds FROM StudentQuizResult r " +
+           "WHERE r.quizId = :quizId")
+    List<Object[]> findRankingEntriesByQuizId(@Param("quizId") Long quizId);
+    
+    // Scores and completion times of a quiz (used to rebuild quantile sketches)
+    // @param quizId the quiz ID
+    // @return list of [score, completionTimeSeconds] rows
+    
+    @Query("SELECT r.score, r.completionTimeSeconds FROM StudentQuizResult r WHERE r.quizId = :quizId")
+    List<Object[]> findScoresAndTimesByQuizId(@Param("quizId") Long quizId);
+    
+    // Progress fields of a student's results in submission order (used to rebuild student_progress)
+    // @param studentId the student ID
+    // @return list of [quizId, score, totalPoints, submittedAt] rows
+    
+    @Query("SELECT r.quizId, r.score, r.totalPoints, r.submittedAt FROM StudentQuizResult r " +
+           "WHERE r.studentId = :studentId ORDER BY r.submittedAt ASC, r.resultId ASC")
+    List<Object[]> findProgressEntriesByStudentId(@Param("studentId") Long studentId);
 }
-
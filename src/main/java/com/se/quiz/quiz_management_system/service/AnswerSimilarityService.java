@@ -0,0 +1,176 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.exception.ResourceNotFoundException;
+import com.se.quiz.quiz_management_system.model.AnswerBitPlanes;
+import com.se.quiz.quiz_management_system.model.AttemptLayout;
+import com.se.quiz.quiz_management_system.model.ResponseMatrix;
+import com.se.quiz.quiz_management_system.model.SimilarityReport;
+import com.se.quiz.quiz_management_system.repository.QuizRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+    // AnswerSimilarityService - Detects suspiciously similar answer sheets (possible collusion)
+    // Shared wrong answers are the strong signal: two students picking the same distractor on
+    // many questions is unlikely by chance. Attempts are packed into per-option bit-planes and
+    // compared with AND + popcount. Small cohorts are compared exhaustively; larger ones first
+    // go through MinHash LSH over their (question, wrong option) sets so only likely pairs are
+    // compared, avoiding the O(n^2) blow-up.
+
+@Service
+public class AnswerSimilarityService {
+
+    // A pair must share at least this many identical wrong answers to be reported
+    public static final int MIN_MATCHING_WRONG = 5;
+
+    // ... and this Jaccard similarity of their wrong-answer sets
+    public static final double MIN_WRONG_SIMILARITY = 0.6;
+
+    // Up to this many eligible attempts every pair is compared directly (~2M popcount comparisons)
+    private static final int EXACT_PAIR_LIMIT = 2000;
+
+    // LSH banding: 16 bands of 3 MinHash values catch pairs with Jaccard >= ~0.4 with high probability
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = 3;
+
+    // Buckets larger than this are degenerate (e.g. many blank sheets) and are skipped
+    private static final int MAX_BUCKET_SIZE = 256;
+
+    private static final int MAX_REPORTED_PAIRS = 500;
+
+    @Autowired
+    private ItemAnalysisService itemAnalysisService;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    // Find suspiciously similar answer pairs in a quiz
+    // @param quizId the quiz ID
+    // @return the similarity report
+    // @throws ResourceNotFoundException if quiz not found
+
+    @Transactional(readOnly = true)
+    public SimilarityReport analyzeQuiz(Long quizId) {
+        if (quizId == null) {
+            throw new IllegalArgumentException("Quiz ID cannot be null");
+        }
+        if (!quizRepository.existsById(quizId)) {
+            throw new ResourceNotFoundException("Quiz not found with ID: " + quizId);
+        }
+        return detect(quizId, itemAnalysisService.loadResponseMatrix(quizId));
+    }
+
+    // Run the detector over a response matrix
+    // @param quizId the quiz ID (carried into the report)
+    // @param matrix the response matrix
+    // @return the similarity report
+
+    public static SimilarityReport detect(Long quizId, ResponseMatrix matrix) {
+        AnswerBitPlanes planes = AnswerBitPlanes.of(matrix);
+
+        // Attempts with too few wrong answers can never be reported
+        int[] eligible = IntStream.range(0, planes.rows())
+            .filter(row -> planes.wrongCount(row) >= MIN_MATCHING_WRONG)
+            .toArray();
+
+        long[] candidates = eligible.length <= EXACT_PAIR_LIMIT
+            ? allPairs(eligible)
+            : lshCandidates(planes, eligible);
+
+        List<SimilarityReport.SuspiciousPair> pairs = new ArrayList<>(Arrays.stream(candidates)
+            .parallel()
+            .mapToObj(pair -> compare(matrix, planes, (int) (pair >>> 32), (int) pair))
+            .filter(Objects::nonNull)
+            .sorted(Comparator.comparingInt(SimilarityReport.SuspiciousPair::getMatchingWrongAnswers).reversed()
+                .thenComparing(Comparator.comparingDouble(SimilarityReport.SuspiciousPair::getWrongAnswerSimilarity).reversed()))
+            .limit(MAX_REPORTED_PAIRS)
+            .toList());
+
+        return new SimilarityReport(quizId, matrix.rows(), candidates.length, pairs);
+    }
+
+    private static SimilarityReport.SuspiciousPair compare(ResponseMatrix matrix, AnswerBitPlanes planes, int a, int b) {
+        int matchingWrong = planes.matchingWrongAnswers(a, b);
+        if (matchingWrong < MIN_MATCHING_WRONG) {
+            return null;
+        }
+        int union = planes.wrongCount(a) + planes.wrongCount(b) - matchingWrong;
+        double similarity = (double) matchingWrong / union;
+        if (similarity < MIN_WRONG_SIMILARITY) {
+            return null;
+        }
+        return new SimilarityReport.SuspiciousPair(matrix.studentIdAt(a), matrix.studentIdAt(b),
+            planes.identicalAnswers(a, b), matchingWrong, similarity);
+    }
+
+    // Pair key: (smaller row << 32) | larger row
+
+    private static long pairKey(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    private static long[] allPairs(int[] rows) {
+        long[] pairs = new long[rows.length * (rows.length - 1) / 2];
+        int n = 0;
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = i + 1; j < rows.length; j++) {
+                pairs[n++] = pairKey(rows[i], rows[j]);
+            }
+        }
+        return pairs;
+    }
+
+    // MinHash each attempt's wrong-answer set and collect pairs sharing any full band
+
+    private static long[] lshCandidates(AnswerBitPlanes planes, int[] rows) {
+        int hashes = BANDS * ROWS_PER_BAND;
+        long[] signatures = new long[rows.length * hashes];
+        IntStream.range(0, rows.length).parallel().forEach(i -> {
+            int base = i * hashes;
+            Arrays.fill(signatures, base, base + hashes, Long.MAX_VALUE);
+            planes.forEachWrongAnswer(rows[i], (column, option) -> {
+                long token = (long) column * AttemptLayout.OPTION_COUNT + option;
+                for (int h = 0; h < hashes; h++) {
+                    long value = AttemptLayout.mix(token * 0x9E3779B97F4A7C15L + h) >>> 1;
+                    if (value < signatures[base + h]) {
+                        signatures[base + h] = value;
+                    }
+                }
+            });
+        });
+
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < rows.length; i++) {
+                long bucket = band;
+                for (int r = 0; r < ROWS_PER_BAND; r++) {
+                    bucket = AttemptLayout.mix(bucket ^ signatures[i * hashes + band * ROWS_PER_BAND + r]);
+                }
+                buckets.computeIfAbsent(bucket, k -> new ArrayList<>(2)).add(rows[i]);
+            }
+            for (List<Integer> bucket : buckets.values()) {
+                if (bucket.size() < 2 || bucket.size() > MAX_BUCKET_SIZE) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size(); i++) {
+                    for (int j = i + 1; j < bucket.size(); j++) {
+                        candidates.add(pairKey(bucket.get(i), bucket.get(j)));
+                    }
+                }
+            }
+        }
+        return candidates.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,306 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.repository.ResultExportRepository;
+import com.se.quiz.quiz_management_system.util.LongIntHashMap;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+
+    // ArrowResultWriter - Columnar (Arrow IPC file) writer for results and per-question answers
+    // Writes two ZSTD-compressed Arrow files:
+    //   results: result_id, quiz_id, student_id, username, score, total_points, correct_answers,
+    //            total_questions, completion_time_seconds, submitted_at
+    //   answers: result_id, quiz_id, student_id, position, question_id, answer (one row per
+    //            presented question, blank answers are null)
+    // quiz_id, student_id, username and answer are dictionary-encoded: the dictionaries are written
+    // once and each row stores a small integer index. Rows are buffered into record batches of
+    // BATCH_ROWS and flushed, so memory stays bounded while the caller streams from a cursor.
+    // Running on JDK 17 requires --add-opens=java.base/java.nio=ALL-UNNAMED (Arrow memory access).
+
+public class ArrowResultWriter implements AutoCloseable {
+
+    // Rows per record batch (Arrow's equivalent of a Parquet row group)
+    public static final int BATCH_ROWS = 65_536;
+
+    private static final String[] OPTION_LETTERS = { "A", "B", "C", "D" };
+
+    private final BufferAllocator allocator = new RootAllocator();
+    private final DictionaryProvider.MapDictionaryProvider dictionaries = new DictionaryProvider.MapDictionaryProvider();
+    private final LongIntHashMap quizIndex;
+    private final LongIntHashMap studentIndex;
+
+    private final VectorSchemaRoot results;
+    private final BigIntVector resultId;
+    private final IntVector resultQuiz;
+    private final IntVector resultStudent;
+    private final IntVector resultUsername;
+    private final IntVector score;
+    private final IntVector totalPoints;
+    private final IntVector correctAnswers;
+    private final IntVector totalQuestions;
+    private final IntVector completionTime;
+    private final TimeStampMilliVector submittedAt;
+    private final ArrowFileWriter resultsWriter;
+
+    private final VectorSchemaRoot answers;
+    private final BigIntVector answerResultId;
+    private final IntVector answerQuiz;
+    private final IntVector answerStudent;
+    private final SmallIntVector position;
+    private final BigIntVector questionId;
+    private final TinyIntVector answer;
+    private final ArrowFileWriter answersWriter;
+
+    private int resultRows;
+    private int answerRows;
+    private long resultCount;
+    private long answerCount;
+    private long skippedCount;
+
+    // Create a writer and write the file headers and dictionaries
+    // @param quizIds every quiz ID that may appear (quiz_id dictionary)
+    // @param studentIds every student ID that may appear (student_id dictionary)
+    // @param usernames usernames parallel to studentIds (username dictionary)
+    // @param resultsOut destination of the results file (not closed)
+    // @param answersOut destination of the answers file (not closed)
+    // @throws IOException if writing the headers fails
+
+    public ArrowResultWriter(long[] quizIds, long[] studentIds, String[] usernames,
+                             OutputStream resultsOut, OutputStream answersOut) throws IOException {
+        quizIndex = new LongIntHashMap(quizIds.length, -1);
+        studentIndex = new LongIntHashMap(studentIds.length, -1);
+
+        DictionaryEncoding quizEncoding = encoding(0, 32);
+        DictionaryEncoding studentEncoding = encoding(1, 32);
+        DictionaryEncoding usernameEncoding = encoding(2, 32);
+        DictionaryEncoding answerEncoding = encoding(3, 8);
+
+        BigIntVector quizDictionary = new BigIntVector("quiz_id", allocator);
+        quizDictionary.allocateNew(quizIds.length);
+        for (int i = 0; i < quizIds.length; i++) {
+            quizDictionary.set(i, quizIds[i]);
+            quizIndex.put(quizIds[i], i);
+        }
+        quizDictionary.setValueCount(quizIds.length);
+
+        BigIntVector studentDictionary = new BigIntVector("student_id", allocator);
+        VarCharVector usernameDictionary = new VarCharVector("username", allocator);
+        studentDictionary.allocateNew(studentIds.length);
+        usernameDictionary.allocateNew(studentIds.length);
+        for (int i = 0; i < studentIds.length; i++) {
+            studentDictionary.set(i, studentIds[i]);
+            studentIndex.put(studentIds[i], i);
+            if (usernames[i] != null) {
+                usernameDictionary.setSafe(i, usernames[i].getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        studentDictionary.setValueCount(studentIds.length);
+        usernameDictionary.setValueCount(studentIds.length);
+
+        VarCharVector answerDictionary = new VarCharVector("answer", allocator);
+        answerDictionary.allocateNew(OPTION_LETTERS.length);
+        for (int i = 0; i < OPTION_LETTERS.length; i++) {
+            answerDictionary.setSafe(i, OPTION_LETTERS[i].getBytes(StandardCharsets.UTF_8));
+        }
+        answerDictionary.setValueCount(OPTION_LETTERS.length);
+
+        dictionaries.put(new Dictionary(quizDictionary, quizEncoding));
+        dictionaries.put(new Dictionary(studentDictionary, studentEncoding));
+        dictionaries.put(new Dictionary(usernameDictionary, usernameEncoding));
+        dictionaries.put(new Dictionary(answerDictionary, answerEncoding));
+
+        resultId = new BigIntVector(field("result_id", new ArrowType.Int(64, true), false, null), allocator);
+        resultQuiz = new IntVector(field("quiz_id", quizEncoding.getIndexType(), false, quizEncoding), allocator);
+        resultStudent = new IntVector(field("student_id", studentEncoding.getIndexType(), false, studentEncoding), allocator);
+        resultUsername = new IntVector(field("username", usernameEncoding.getIndexType(), true, usernameEncoding), allocator);
+        score = new IntVector(field("score", new ArrowType.Int(32, true), false, null), allocator);
+        totalPoints = new IntVector(field("total_points", new ArrowType.Int(32, true), false, null), allocator);
+        correctAnswers = new IntVector(field("correct_answers", new ArrowType.Int(32, true), true, null), allocator);
+        totalQuestions = new IntVector(field("total_questions", new ArrowType.Int(32, true), true, null), allocator);
+        completionTime = new IntVector(field("completion_time_seconds", new ArrowType.Int(32, true), true, null), allocator);
+        submittedAt = new TimeStampMilliVector(
+            field("submitted_at", new ArrowType.Timestamp(TimeUnit.MILLISECOND, null), true, null), allocator);
+        results = new VectorSchemaRoot(List.<FieldVector>of(resultId, resultQuiz, resultStudent, resultUsername,
+            score, totalPoints, correctAnswers, totalQuestions, completionTime, submittedAt));
+        results.allocateNew();
+
+        answerResultId = new BigIntVector(field("result_id", new ArrowType.Int(64, true), false, null), allocator);
+        answerQuiz = new IntVector(field("quiz_id", quizEncoding.getIndexType(), false, quizEncoding), allocator);
+        answerStudent = new IntVector(field("student_id", studentEncoding.getIndexType(), false, studentEncoding), allocator);
+        position = new SmallIntVector(field("position", new ArrowType.Int(16, true), false, null), allocator);
+        questionId = new BigIntVector(field("question_id", new ArrowType.Int(64, true), true, null), allocator);
+        answer = new TinyIntVector(field("answer", answerEncoding.getIndexType(), true, answerEncoding), allocator);
+        answers = new VectorSchemaRoot(List.<FieldVector>of(answerResultId, answerQuiz, answerStudent,
+            position, questionId, answer));
+        answers.allocateNew();
+
+        resultsWriter = newWriter(results, resultsOut);
+        answersWriter = newWriter(answers, answersOut);
+        resultsWriter.start();
+        answersWriter.start();
+    }
+
+    // Append one result and its answers
+    // @param row the streamed result row
+    // @param questionIds question ID of each answer letter (null = answers are not exported)
+    // @return false if the quiz or student is missing from the dictionaries (row skipped)
+    // @throws IOException if flushing a full batch fails
+
+    public boolean write(ResultExportRepository.ResultRow row, long[] questionIds) throws IOException {
+        int quiz = quizIndex.get(row.getQuizId());
+        int student = studentIndex.get(row.getStudentId());
+        if (quiz < 0 || student < 0) {
+            skippedCount++;
+            return false;
+        }
+
+        int r = resultRows;
+        resultId.setSafe(r, row.getResultId());
+        resultQuiz.setSafe(r, quiz);
+        resultStudent.setSafe(r, student);
+        resultUsername.setSafe(r, student);
+        score.setSafe(r, row.getScore());
+        totalPoints.setSafe(r, row.getTotalPoints());
+        setNullable(correctAnswers, r, row.getCorrectAnswers());
+        setNullable(totalQuestions, r, row.getTotalQuestions());
+        setNullable(completionTime, r, row.getCompletionTimeSeconds());
+        if (row.getSubmittedAt() != null) {
+            submittedAt.setSafe(r, row.getSubmittedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        } else {
+            submittedAt.setNull(r);
+        }
+        resultCount++;
+        if (++resultRows == BATCH_ROWS) {
+            flushResults();
+        }
+
+        String vector = row.getAnswerVector();
+        if (vector != null) {
+            for (int i = 0; i < vector.length(); i++) {
+                int a = answerRows;
+                answerResultId.setSafe(a, row.getResultId());
+                answerQuiz.setSafe(a, quiz);
+                answerStudent.setSafe(a, student);
+                position.setSafe(a, (short) (i + 1));
+                if (questionIds != null && i < questionIds.length) {
+                    questionId.setSafe(a, questionIds[i]);
+                } else {
+                    questionId.setNull(a);
+                }
+                int option = Character.toUpperCase(vector.charAt(i)) - 'A';
+                if (option >= 0 && option < OPTION_LETTERS.length) {
+                    answer.setSafe(a, (byte) option);
+                } else {
+                    answer.setNull(a);
+                }
+                answerCount++;
+                if (++answerRows == BATCH_ROWS) {
+                    flushAnswers();
+                }
+            }
+        }
+        return true;
+    }
+
+    // Counters
+
+    public long getResultCount() {
+        return resultCount;
+    }
+
+    public long getAnswerCount() {
+        return answerCount;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    // Flush the last partial batches and write the file footers
+
+    public void finish() throws IOException {
+        if (resultRows > 0) {
+            flushResults();
+        }
+        if (answerRows > 0) {
+            flushAnswers();
+        }
+        resultsWriter.end();
+        answersWriter.end();
+    }
+
+    @Override
+    public void close() {
+        resultsWriter.close();
+        answersWriter.close();
+        results.close();
+        answers.close();
+        dictionaries.close();
+        allocator.close();
+    }
+
+    private void flushResults() throws IOException {
+        results.setRowCount(resultRows);
+        resultsWriter.writeBatch();
+        resultRows = 0;
+        for (FieldVector vector : results.getFieldVectors()) {
+            vector.reset();
+        }
+    }
+
+    private void flushAnswers() throws IOException {
+        answers.setRowCount(answerRows);
+        answersWriter.writeBatch();
+        answerRows = 0;
+        for (FieldVector vector : answers.getFieldVectors()) {
+            vector.reset();
+        }
+    }
+
+    private ArrowFileWriter newWriter(VectorSchemaRoot root, OutputStream out) {
+        return new ArrowFileWriter(root, dictionaries, Channels.newChannel(out), Collections.emptyMap(),
+            IpcOption.DEFAULT, CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD);
+    }
+
+    private static void setNullable(IntVector vector, int index, Integer value) {
+        if (value != null) {
+            vector.setSafe(index, value);
+        } else {
+            vector.setNull(index);
+        }
+    }
+
+    private static DictionaryEncoding encoding(long id, int indexBits) {
+        return new DictionaryEncoding(id, false, new ArrowType.Int(indexBits, true));
+    }
+
+    private static Field field(String name, ArrowType type, boolean nullable, DictionaryEncoding encoding) {
+        return new Field(name, new FieldType(nullable, type, encoding), null);
+    }
+}
@@ -0,0 +1,100 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.model.ColumnarExportSummary;
+import com.se.quiz.quiz_management_system.repository.GradebookRepository;
+import com.se.quiz.quiz_management_system.repository.QuizQuestionRepository;
+import com.se.quiz.quiz_management_system.repository.ResultExportRepository;
+import com.se.quiz.quiz_management_system.util.QuestionIdCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+    // ColumnarExportService - Arrow IPC export of results and per-question answers for analytics
+    // Dictionaries (quizzes, students) are read first, then results are streamed once through a
+    // fetch-sized cursor into ArrowResultWriter record batches. The whole export runs in one
+    // REPEATABLE READ snapshot so rows submitted mid-export cannot reference a missing dictionary entry.
+
+@Service
+public class ColumnarExportService {
+
+    @Autowired
+    private ResultExportRepository resultExportRepository;
+
+    @Autowired
+    private GradebookRepository gradebookRepository;
+
+    @Autowired
+    private QuizQuestionRepository quizQuestionRepository;
+
+    // Export results (and their answers) as two Arrow IPC files
+    // @param quizId the quiz ID, or null to export every quiz
+    // @param resultsOut destination of the results file (not closed)
+    // @param answersOut destination of the answers file (not closed)
+    // @return row counts of the export
+    // @throws IOException if writing fails
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ColumnarExportSummary exportResults(Long quizId, OutputStream resultsOut, OutputStream answersOut)
+            throws IOException {
+        long[] quizIds;
+        if (quizId != null) {
+            quizIds = new long[] { quizId };
+        } else {
+            List<Long> ids = new ArrayList<>();
+            gradebookRepository.forEachQuiz((id, name) -> ids.add(id));
+            quizIds = ids.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        List<Long> studentIdList = new ArrayList<>();
+        List<String> usernameList = new ArrayList<>();
+        resultExportRepository.forEachStudentWithResults(quizId, (studentId, username) -> {
+            studentIdList.add(studentId);
+            usernameList.add(username);
+        });
+        long[] studentIds = studentIdList.stream().mapToLong(Long::longValue).toArray();
+
+        try (ArrowResultWriter writer = new ArrowResultWriter(quizIds, studentIds,
+                usernameList.toArray(new String[0]), resultsOut, answersOut)) {
+
+            // Results arrive ordered by quiz, so only the current quiz's question order is kept
+            long[] currentQuiz = { Long.MIN_VALUE };
+            long[][] canonicalOrder = { null };
+
+            try {
+                resultExportRepository.forEachResultWithAnswers(quizId, row -> {
+                    long[] questionIds = null;
+                    if (row.getAnswerVector() != null) {
+                        if (row.getDrawnQuestionIds() != null) {
+                            questionIds = QuestionIdCodec.decode(row.getDrawnQuestionIds());
+                        } else {
+                            if (row.getQuizId() != currentQuiz[0]) {
+                                currentQuiz[0] = row.getQuizId();
+                                canonicalOrder[0] = quizQuestionRepository.findQuestionIdsByQuizId(row.getQuizId())
+                                    .stream().mapToLong(Long::longValue).toArray();
+                            }
+                            questionIds = canonicalOrder[0];
+                        }
+                    }
+                    try {
+                        writer.write(row, questionIds);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            writer.finish();
+            return new ColumnarExportSummary(writer.getResultCount(), writer.getAnswerCount(),
+                writer.getSkippedCount());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.model.Gradebook;
+import com.se.quiz.quiz_management_system.repository.GradebookRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+    // GradebookService - Students x quizzes gradebook across every quiz
+    // Results are streamed once, ordered by student, into a dense Gradebook matrix and
+    // written as a wide CSV (one row per student, one column per quiz, plus averages).
+    // No StudentQuizResult entities or boxed per-cell maps are created on the way.
+
+@Service
+public class GradebookService {
+
+    @Autowired
+    private GradebookRepository gradebookRepository;
+
+    // Build the gradebook of all students with at least one result
+    // The quiz list, the student count that sizes the matrix and the result stream are read
+    // from one snapshot (REPEATABLE READ), so a submission committed meanwhile cannot overflow it
+    // @return the filled gradebook
+    // @throws IllegalStateException if a result did not fit (the export would be incomplete)
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Gradebook buildGradebook() {
+        List<Long> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        gradebookRepository.forEachQuiz((quizId, quizName) -> {
+            ids.add(quizId);
+            names.add(quizName);
+        });
+
+        long[] quizIds = new long[ids.size()];
+        for (int i = 0; i < quizIds.length; i++) {
+            quizIds[i] = ids.get(i);
+        }
+
+        Gradebook gradebook = new Gradebook(quizIds, names.toArray(new String[0]),
+            gradebookRepository.countStudentsWithResults());
+        gradebookRepository.forEachResultByStudent(gradebook::add);
+        if (gradebook.rejectedCount() > 0) {
+            throw new IllegalStateException("Gradebook is incomplete: " + gradebook.rejectedCount()
+                + " results did not match the quiz and student lists");
+        }
+        return gradebook;
+    }
+
+    // Write a gradebook as CSV
+    // Scores are raw numbers (never "85/100") so spreadsheets do not reinterpret them;
+    // quizzes a student has not taken are left empty
+    // @param gradebook the gradebook
+    // @param writer destination (not closed)
+    // @throws IOException if writing fails
+
+    public static void writeCsv(Gradebook gradebook, Writer writer) throws IOException {
+        writer.write("Student ID,Username,Full Name");
+        for (int c = 0; c < gradebook.columns(); c++) {
+            writer.write(',');
+            writer.write(escapeCsv(gradebook.quizNameAt(c)));
+        }
+        writer.write(",Quizzes Taken,Average Score,Average %\n");
+
+        for (int row = 0; row < gradebook.rows(); row++) {
+            writer.write(Long.toString(gradebook.studentIdAt(row)));
+            writer.write(',');
+            writer.write(escapeCsv(gradebook.usernameAt(row)));
+            writer.write(',');
+            writer.write(escapeCsv(gradebook.fullNameAt(row)));
+            for (int c = 0; c < gradebook.columns(); c++) {
+                writer.write(',');
+                int score = gradebook.score(row, c);
+                if (score != Gradebook.NOT_TAKEN) {
+                    writer.write(Integer.toString(score));
+                }
+            }
+            writer.write(',');
+            writer.write(Integer.toString(gradebook.takenCount(row)));
+            writer.write(',');
+            writer.write(formatDecimal(gradebook.averageScore(row)));
+            writer.write(',');
+            writer.write(formatDecimal(gradebook.averagePercent(row)));
+            writer.write('\n');
+        }
+
+        // Footer: per-quiz class average
+        writer.write(",,Quiz Average");
+        for (int c = 0; c < gradebook.columns(); c++) {
+            writer.write(',');
+            writer.write(formatDecimal(gradebook.quizAverage(c)));
+        }
+        writer.write(",,,\n");
+    }
+
+    private static String formatDecimal(double value) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    // Quote a field if it contains a separator, quote or line break
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
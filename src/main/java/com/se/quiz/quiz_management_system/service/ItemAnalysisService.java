@@ -0,0 +1,322 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.model.AttemptLayout;
+import com.se.quiz.quiz_management_system.model.ItemAnalysis;
+import com.se.quiz.quiz_management_system.model.QuestionView;
+import com.se.quiz.quiz_management_system.model.ResponseMatrix;
+import com.se.quiz.quiz_management_system.repository.AnswerVectorRepository;
+import com.se.quiz.quiz_management_system.repository.QuestionRepository;
+import com.se.quiz.quiz_management_system.repository.QuizQuestionRepository;
+import com.se.quiz.quiz_management_system.util.QuestionIdCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+    // ItemAnalysisService - Per-question difficulty and discrimination statistics
+    // Stored answer vectors are streamed into a dense ResponseMatrix, then a single parallel
+    // fork-join pass over the primitive cells accumulates every sum needed for:
+    //   - p-value (proportion correct among attempts that saw the question)
+    //   - corrected point-biserial (item vs. rest-of-test proportion correct)
+    //   - distractor selection rates (A-D and blank)
+    //   - Cronbach's alpha over attempts that were presented the full form
+
+@Service
+public class ItemAnalysisService {
+
+    // Minimum rows per fork-join leaf
+    private static final int MIN_LEAF_ROWS = 1024;
+
+    @Autowired
+    private AnswerVectorRepository answerVectorRepository;
+
+    @Autowired
+    private QuizQuestionRepository quizQuestionRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    // Analyse all stored attempts of a quiz
+    // Results saved before answer vectors were recorded are skipped
+    // @param quizId the quiz ID
+    // @return the item analysis
+
+    @Transactional(readOnly = true)
+    public ItemAnalysis analyzeQuiz(Long quizId) {
+        if (quizId == null) {
+            throw new IllegalArgumentException("Quiz ID cannot be null");
+        }
+
+        ResponseMatrix matrix = loadResponseMatrix(quizId);
+
+        List<Long> ids = new ArrayList<>(matrix.items());
+        for (int column = 0; column < matrix.items(); column++) {
+            ids.add(matrix.questionIdAt(column));
+        }
+        Map<Long, String> problems = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (QuestionView view : questionRepository.findViewsByIds(ids)) {
+                problems.put(view.getQuestionId(), view.getProblem());
+            }
+        }
+
+        String[] problemByColumn = new String[matrix.items()];
+        for (int column = 0; column < matrix.items(); column++) {
+            problemByColumn[column] = problems.get(matrix.questionIdAt(column));
+        }
+        return analyze(quizId, matrix, problemByColumn);
+    }
+
+    // Stream the stored answer vectors of a quiz into a response matrix
+    // Columns follow the quiz's canonical question order; drawn attempts only fill their columns
+    // @param quizId the quiz ID
+    // @return the response matrix
+
+    @Transactional(readOnly = true)
+    public ResponseMatrix loadResponseMatrix(Long quizId) {
+        List<Long> questionIds = quizQuestionRepository.findQuestionIdsByQuizId(quizId);
+        int items = questionIds.size();
+
+        long[] ids = new long[items];
+        Map<Long, Integer> columnOf = new HashMap<>(items * 2);
+        for (int i = 0; i < items; i++) {
+            ids[i] = questionIds.get(i);
+            columnOf.put(questionIds.get(i), i);
+        }
+
+        byte[] key = new byte[items];
+        Arrays.fill(key, (byte) -1);
+        if (items > 0) {
+            for (Object[] row : questionRepository.findAnswerKeys(questionIds)) {
+                Integer column = columnOf.get((Long) row[0]);
+                if (column != null) {
+                    key[column] = (byte) AttemptLayout.optionIndex((String) row[1]);
+                }
+            }
+        }
+
+        ResponseMatrix matrix = new ResponseMatrix(ids, key);
+        answerVectorRepository.forEachAnswerVector(quizId,
+            (resultId, studentId, score, correctAnswers, answerVector, drawnQuestionIds, scoreOverridden) -> {
+                int[] columns = null;
+                if (drawnQuestionIds != null) {
+                    long[] drawn = QuestionIdCodec.decode(drawnQuestionIds);
+                    columns = new int[drawn.length];
+                    for (int i = 0; i < drawn.length; i++) {
+                        columns[i] = columnOf.getOrDefault(drawn[i], -1);
+                    }
+                }
+                matrix.addAttempt(resultId, studentId, score,
+                    correctAnswers != null ? correctAnswers : -1, scoreOverridden, answerVector, columns);
+            });
+        return matrix;
+    }
+
+    // Compute item statistics for a response matrix
+    // @param quizId the quiz ID (carried into the result)
+    // @param matrix the response matrix
+    // @param problems question text per column (may contain nulls)
+    // @return the item analysis
+
+    public static ItemAnalysis analyze(Long quizId, ResponseMatrix matrix, String[] problems) {
+        int items = matrix.items();
+        Sums sums = matrix.rows() == 0
+            ? new Sums(items)
+            : ForkJoinPool.commonPool().invoke(new SumTask(matrix, 0, matrix.rows(), leafSize(matrix.rows())));
+
+        List<ItemAnalysis.ItemStatistics> statistics = new ArrayList<>(items);
+        double itemVarianceSum = 0;
+        for (int c = 0; c < items; c++) {
+            long n = sums.seen[c];
+            double pValue = n > 0 ? (double) sums.correct[c] / n : Double.NaN;
+
+            // Point-biserial with a binary item: r = (n*Sxr - Sx*Sr) / sqrt((n*Sx - Sx^2)(n*Srr - Sr^2))
+            double sx = sums.correct[c];
+            double numerator = n * sums.sumXR[c] - sx * sums.sumR[c];
+            double denominator = Math.sqrt((n * sx - sx * sx) * (n * sums.sumRR[c] - sums.sumR[c] * sums.sumR[c]));
+            double pointBiserial = denominator > 0 ? numerator / denominator : Double.NaN;
+
+            double[] optionRates = new double[AttemptLayout.OPTION_COUNT];
+            for (int o = 0; o < AttemptLayout.OPTION_COUNT; o++) {
+                optionRates[o] = n > 0 ? (double) sums.options[c * AttemptLayout.OPTION_COUNT + o] / n : Double.NaN;
+            }
+            double blankRate = n > 0 ? (double) sums.blank[c] / n : Double.NaN;
+
+            if (sums.fullForm > 0) {
+                double p = (double) sums.fullCorrect[c] / sums.fullForm;
+                itemVarianceSum += p * (1 - p);
+            }
+
+            byte correctOption = matrix.correctOption(c);
+            statistics.add(new ItemAnalysis.ItemStatistics(
+                c + 1,
+                matrix.questionIdAt(c),
+                problems != null ? problems[c] : null,
+                correctOption >= 0 ? String.valueOf(AttemptLayout.optionLetter(correctOption)) : null,
+                (int) n,
+                pValue,
+                pointBiserial,
+                optionRates,
+                blankRate));
+        }
+
+        // Cronbach's alpha: k/(k-1) * (1 - sum(item variances) / variance(total))
+        double alpha = Double.NaN;
+        if (items > 1 && sums.fullForm > 1) {
+            double mean = sums.sumTotal / sums.fullForm;
+            double totalVariance = sums.sumTotalSquared / sums.fullForm - mean * mean;
+            if (totalVariance > 0) {
+                alpha = (double) items / (items - 1) * (1 - itemVarianceSum / totalVariance);
+            }
+        }
+
+        return new ItemAnalysis(quizId, matrix.rows(), (int) sums.fullForm, alpha, statistics);
+    }
+
+    private static int leafSize(int rows) {
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        return Math.max(MIN_LEAF_ROWS, rows / (parallelism * 4));
+    }
+
+    // Partial sums of a range of attempts (merged pairwise by the fork-join tree)
+
+    private static final class Sums {
+        final long[] seen;
+        final long[] correct;
+        final long[] blank;
+        final long[] options;
+        final long[] fullCorrect;
+        final double[] sumR;
+        final double[] sumRR;
+        final double[] sumXR;
+        long fullForm;
+        double sumTotal;
+        double sumTotalSquared;
+
+        Sums(int items) {
+            seen = new long[items];
+            correct = new long[items];
+            blank = new long[items];
+            options = new long[items * AttemptLayout.OPTION_COUNT];
+            fullCorrect = new long[items];
+            sumR = new double[items];
+            sumRR = new double[items];
+            sumXR = new double[items];
+        }
+
+        Sums merge(Sums other) {
+            for (int c = 0; c < seen.length; c++) {
+                seen[c] += other.seen[c];
+                correct[c] += other.correct[c];
+                blank[c] += other.blank[c];
+                fullCorrect[c] += other.fullCorrect[c];
+                sumR[c] += other.sumR[c];
+                sumRR[c] += other.sumRR[c];
+                sumXR[c] += other.sumXR[c];
+            }
+            for (int i = 0; i < options.length; i++) {
+                options[i] += other.options[i];
+            }
+            fullForm += other.fullForm;
+            sumTotal += other.sumTotal;
+            sumTotalSquared += other.sumTotalSquared;
+            return this;
+        }
+    }
+
+    // Fork-join task accumulating Sums over rows [from, to)
+
+    private static final class SumTask extends RecursiveTask<Sums> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ResponseMatrix matrix;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        SumTask(ResponseMatrix matrix, int from, int to, int leafSize) {
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Sums compute() {
+            if (to - from <= leafSize) {
+                return computeLeaf();
+            }
+            int mid = (from + to) >>> 1;
+            SumTask left = new SumTask(matrix, from, mid, leafSize);
+            left.fork();
+            Sums right = new SumTask(matrix, mid, to, leafSize).compute();
+            return left.join().merge(right);
+        }
+
+        private Sums computeLeaf() {
+            int items = matrix.items();
+            byte[] cells = matrix.cells();
+            byte[] key = matrix.answerKey();
+            Sums sums = new Sums(items);
+
+            for (int row = from; row < to; row++) {
+                int base = row * items;
+
+                // First sweep: total correct and number of presented questions
+                int total = 0;
+                int presented = 0;
+                for (int c = 0; c < items; c++) {
+                    byte cell = cells[base + c];
+                    if (cell != ResponseMatrix.NOT_PRESENTED) {
+                        presented++;
+                        if (cell >= 0 && cell == key[c]) {
+                            total++;
+                        }
+                    }
+                }
+                if (presented == 0) {
+                    continue;
+                }
+                boolean fullForm = presented == items;
+                if (fullForm) {
+                    sums.fullForm++;
+                    sums.sumTotal += total;
+                    sums.sumTotalSquared += (double) total * total;
+                }
+
+                // Second sweep: per-item sums against the rest-of-test proportion
+                double restScale = presented > 1 ? 1.0 / (presented - 1) : 0.0;
+                for (int c = 0; c < items; c++) {
+                    byte cell = cells[base + c];
+                    if (cell == ResponseMatrix.NOT_PRESENTED) {
+                        continue;
+                    }
+                    int x = cell >= 0 && cell == key[c] ? 1 : 0;
+                    double rest = (total - x) * restScale;
+                    sums.seen[c]++;
+                    sums.correct[c] += x;
+                    sums.sumR[c] += rest;
+                    sums.sumRR[c] += rest * rest;
+                    sums.sumXR[c] += x * rest;
+                    if (cell == ResponseMatrix.BLANK) {
+                        sums.blank[c]++;
+                    } else {
+                        sums.options[c * AttemptLayout.OPTION_COUNT + cell]++;
+                    }
+                    if (fullForm) {
+                        sums.fullCorrect[c] += x;
+                    }
+                }
+            }
+            return sums;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.entity.StudentQuizResult;
+import com.se.quiz.quiz_management_system.model.Leaderboard;
+import com.se.quiz.quiz_management_system.repository.StudentQuizResultRepository;
+import com.se.quiz.quiz_management_system.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+    // LeaderboardService - Live per-quiz rankings
+    // Each active quiz gets a Leaderboard loaded once from student_quiz_result and then kept
+    // current by result changes, so top-K and "my rank" lookups are O(log n) with no table scan.
+    // Every client runs its own copy against the shared database, so each board remembers the
+    // quiz_stats version it reflects and is checked against the current version (one
+    // primary-key lookup) before it is served. Changes committed by this client are applied
+    // in place and advance the version; changes by other clients make the board reload.
+    // Changes are applied only after the surrounding transaction commits, so a rolled-back
+    // submission never shows up in the ranking. Least recently used boards are dropped.
+
+@Service
+public class LeaderboardService {
+
+    // Number of quizzes kept in memory
+    private static final int MAX_CACHED_QUIZZES = 64;
+
+    // Cold loads of the same quiz are serialized on one of these locks (quizId % LOAD_LOCKS)
+    private static final int LOAD_LOCKS = 16;
+
+    // quizId -> board and the quiz_stats version it reflects; guarded by itself
+    private final Map<Long, VersionedBoard> boards = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, VersionedBoard> eldest) {
+                return size() > MAX_CACHED_QUIZZES;
+            }
+        });
+
+    private final Object[] loadLocks = new Object[LOAD_LOCKS];
+
+    @Autowired
+    private StudentQuizResultRepository resultRepository;
+
+    @Autowired
+    private QuizStatsService quizStatsService;
+
+    public LeaderboardService() {
+        for (int i = 0; i < LOAD_LOCKS; i++) {
+            loadLocks[i] = new Object();
+        }
+    }
+
+    // Get the current leaderboard of a quiz, (re)loading it when missing or stale
+    // @param quizId the quiz ID
+    // @return the leaderboard
+
+    @Transactional(readOnly = true)
+    public Leaderboard getLeaderboard(Long quizId) {
+        return board(quizId, quizStatsService.getStatsVersion(quizId));
+    }
+
+    // Get the current leaderboards of several quizzes
+    // Cached boards are revalidated with one version query; only missing or stale boards load
+    // @param quizIds the quiz IDs
+    // @return quizId -> leaderboard
+
+    @Transactional(readOnly = true)
+    public Map<Long, Leaderboard> getLeaderboards(Collection<Long> quizIds) {
+        Map<Long, Long> versions = quizStatsService.getStatsVersions(quizIds);
+        Map<Long, Leaderboard> result = new HashMap<>();
+        for (Long quizId : quizIds) {
+            result.put(quizId, board(quizId, versions.get(quizId)));
+        }
+        return result;
+    }
+
+    // Board of a quiz at the given quiz_stats version, loaded when missing or stale
+    // The version is read before the scan: a change committed in between leaves the
+    // stored version behind the data, which only costs one extra reload
+
+    private Leaderboard board(Long quizId, long version) {
+        VersionedBoard cached = boards.get(quizId);
+        if (cached != null && cached.version == version) {
+            return cached.board;
+        }
+
+        synchronized (loadLocks[(int) Math.floorMod(quizId, (long) LOAD_LOCKS)]) {
+            cached = boards.get(quizId);
+            if (cached != null && cached.version >= version) {
+                return cached.board;
+            }
+
+            List<Object[]> rows = resultRepository.findRankingEntriesByQuizId(quizId);
+            Leaderboard loaded = new Leaderboard(rows.size());
+            for (Object[] row : rows) {
+                loaded.put((Long) row[0], (Long) row[1], (Integer) row[2], (Integer) row[3]);
+            }
+
+            VersionedBoard fresh = new VersionedBoard(loaded, version);
+            TransactionHooks.whenCommitted(() -> store(quizId, fresh));
+            return loaded;
+        }
+    }
+
+    // Best results of a quiz
+    // @param quizId the quiz ID
+    // @param limit number of entries
+    // @return ranked entries, best first
+
+    @Transactional(readOnly = true)
+    public List<Leaderboard.Entry> getTopResults(Long quizId, int limit) {
+        return getLeaderboard(quizId).top(limit);
+    }
+
+    // Record a saved or rescored result (applied after commit)
+    // @param result the persisted result
+    // @param statsVersion the quiz_stats version written with the change
+
+    public void recordResult(StudentQuizResult result, long statsVersion) {
+        long resultId = result.getResultId();
+        long studentId = result.getStudentId();
+        int score = result.getScore();
+        Integer time = result.getCompletionTimeSeconds();
+        applyAfterCommit(result.getQuizId(), statsVersion, board -> board.put(resultId, studentId, score, time));
+    }
+
+    // Record a deleted result (applied after commit)
+    // @param quizId the quiz ID
+    // @param studentId the student whose result was deleted
+    // @param statsVersion the quiz_stats version written with the change
+
+    public void removeResult(Long quizId, Long studentId, long statsVersion) {
+        applyAfterCommit(quizId, statsVersion, board -> board.remove(studentId));
+    }
+
+    // Drop a quiz's leaderboard so it is reloaded on next use (e.g. after a bulk regrade)
+    // @param quizId the quiz ID
+
+    public void invalidate(Long quizId) {
+        TransactionHooks.afterCommit(() -> boards.remove(quizId));
+    }
+
+    // Apply a committed change in place if the board is exactly one version behind it;
+    // a board that missed other changes in between is dropped and reloaded on next use
+
+    private void applyAfterCommit(Long quizId, long statsVersion, Consumer<Leaderboard> change) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (boards) {
+                VersionedBoard cached = boards.get(quizId);
+                if (cached == null || cached.version >= statsVersion) {
+                    return;
+                }
+                if (cached.version == statsVersion - 1) {
+                    change.accept(cached.board);
+                    boards.put(quizId, new VersionedBoard(cached.board, statsVersion));
+                } else {
+                    boards.remove(quizId);
+                }
+            }
+        });
+    }
+
+    // Cache a loaded board unless a newer one was stored meanwhile
+
+    private void store(Long quizId, VersionedBoard fresh) {
+        synchronized (boards) {
+            VersionedBoard cached = boards.get(quizId);
+            if (cached == null || cached.version < fresh.version) {
+                boards.put(quizId, fresh);
+            }
+        }
+    }
+
+    // A leaderboard and the quiz_stats version it reflects
+
+    private static class VersionedBoard {
+        private final Leaderboard board;
+        private final long version;
+
+        VersionedBoard(Leaderboard board, long version) {
+            this.board = board;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.entity.Quiz;
+import com.se.quiz.quiz_management_system.model.QuestionPool;
+import com.se.quiz.quiz_management_system.model.StratifyBy;
+import com.se.quiz.quiz_management_system.repository.QuizQuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+    // QuestionPoolCache - Shared, per-quiz cache of question ID pools
+    // Loaded once per quiz with a single ID/tag/difficulty query; every concurrent attempt
+    // draws from the same immutable QuestionPool instead of querying the question table
+    
+@Service
+public class QuestionPoolCache {
+    
+    @Autowired
+    private QuizQuestionRepository quizQuestionRepository;
+    
+    private final Map<Long, QuestionPool> pools = new ConcurrentHashMap<>();
+    
+    // Incremented by every evict/clear; a pool loaded across one is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+    
+    // Get the question pool of a quiz (loaded on first use)
+    // The query runs outside the map (never inside computeIfAbsent, which would hold the
+    // map's bin lock for the whole query); concurrent first uses may load the pool twice
+    // and the first one stored wins.
+    // @param quiz the quiz (its stratification decides how the pool is grouped)
+    // @return the cached pool
+    
+    public QuestionPool getPool(Quiz quiz) {
+        Long quizId = quiz.getQuizId();
+        QuestionPool pool = pools.get(quizId);
+        if (pool != null) {
+            return pool;
+        }
+        
+        long evictionsBefore = evictions.get();
+        QuestionPool loaded = loadPool(quizId, quiz.getDrawStratifyBy());
+        if (evictions.get() != evictionsBefore) {
+            // The questions may have changed while loading: use it for this attempt only
+            return loaded;
+        }
+        QuestionPool existing = pools.putIfAbsent(quizId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (evictions.get() != evictionsBefore) {
+            // Evicted between the check and the put: do not keep it
+            pools.remove(quizId, loaded);
+        }
+        return loaded;
+    }
+    
+    // Drop the cached pool of a quiz (call after its questions or draw settings change)
+    // @param quizId the quiz ID
+    
+    public void evict(Long quizId) {
+        if (quizId != null) {
+            evictions.incrementAndGet();
+            pools.remove(quizId);
+        }
+    }
+    
+    // Drop all cached pools
+    
+    public void clear() {
+        evictions.incrementAndGet();
+        pools.clear();
+    }
+    
+    private QuestionPool loadPool(Long quizId, StratifyBy stratifyBy) {
+        List<Object[]> rows = quizQuestionRepository.findPoolEntriesByQuizId(quizId);
+        
+        long[] ids = new long[rows.size()];
+        Object[] strataKeys = (stratifyBy == null || stratifyBy == StratifyBy.NONE) ? null : new Object[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            if (strataKeys != null) {
+                strataKeys[i] = stratifyBy == StratifyBy.TAG ? row[1] : row[2];
+            }
+        }
+        
+        QuestionPool pool = QuestionPool.of(ids, strataKeys);
+        System.out.println("🔵 [QuestionPoolCache] Loaded pool for quiz " + quizId + ": " +
+                           pool.size() + " questions, " + pool.strataCount() + " strata");
+        return pool;
+    }
+}
@@ -0,0 +1,141 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.model.AttemptLayout;
+import com.se.quiz.quiz_management_system.model.QuestionView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+    // QuestionWindow - Lazy, paged question provider for one quiz attempt
+    // Questions are fetched in pages of display positions around the current index.
+    // The page after the current one is prefetched in the background, and pages outside
+    // [current - 1, current + 1] are dropped, so at most three pages of text are in memory
+    // no matter how long the quiz is. Pages are always fetched on the prefetch threads (the
+    // page map only ever holds the futures), and get() waits for the one it needs.
+
+public class QuestionWindow {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    // Shared prefetch threads (daemon, so they never keep the application alive)
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "question-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AttemptLayout layout;
+    private final Function<List<Long>, List<QuestionView>> loader;
+    private final int pageSize;
+    private final Map<Integer, CompletableFuture<QuestionView[]>> pages = new ConcurrentHashMap<>();
+
+    // Create a window over an attempt
+    // @param layout the attempt layout (display position -> question ID)
+    // @param loader fetches question views by ID (any order)
+    // @param pageSize number of display positions per page
+
+    public QuestionWindow(AttemptLayout layout, Function<List<Long>, List<QuestionView>> loader, int pageSize) {
+        this.layout = layout;
+        this.loader = loader;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    // Number of questions in the attempt
+
+    public int size() {
+        return layout.size();
+    }
+
+    // Get the question shown at a display position
+    // Blocks only if the page was neither loaded nor prefetched yet
+    // @param displayPosition 0-based display position
+    // @return the question view
+    // @throws IllegalStateException if the page cannot be loaded (a failed page is retried once)
+
+    public QuestionView get(int displayPosition) {
+        int page = displayPosition / pageSize;
+        QuestionView[] views;
+        try {
+            views = awaitPage(page);
+        } catch (CompletionException | CancellationException e) {
+            // Failed or cancelled prefetch - fetch it once more
+            try {
+                views = awaitPage(page);
+            } catch (CompletionException | CancellationException retryFailure) {
+                Throwable cause = retryFailure.getCause() != null ? retryFailure.getCause() : retryFailure;
+                throw new IllegalStateException("Failed to load questions " + (page * pageSize + 1) + "-"
+                    + Math.min(layout.size(), (page + 1) * pageSize) + ": " + cause.getMessage(), cause);
+            }
+        }
+
+        // Keep a small window around the current page and warm up the next one
+        pages.keySet().removeIf(p -> p < page - 1 || p > page + 1);
+        if ((page + 1) * pageSize < layout.size()) {
+            loadPage(page + 1);
+        }
+
+        return views[displayPosition - page * pageSize];
+    }
+
+    // Release all loaded pages and cancel pending prefetches
+
+    public void close() {
+        for (CompletableFuture<QuestionView[]> future : pages.values()) {
+            future.cancel(false);
+        }
+        pages.clear();
+    }
+
+    // Wait for a page; a failed or cancelled page is removed so the next call fetches it again
+
+    private QuestionView[] awaitPage(int page) {
+        CompletableFuture<QuestionView[]> future = loadPage(page);
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            pages.remove(page, future);
+            throw e;
+        }
+    }
+
+    // Start fetching a page unless it is loaded or in flight (never fetches inside the map)
+
+    private CompletableFuture<QuestionView[]> loadPage(int page) {
+        return pages.computeIfAbsent(page, p -> CompletableFuture.supplyAsync(() -> fetchPage(p), PREFETCH_EXECUTOR));
+    }
+
+    private QuestionView[] fetchPage(int page) {
+        int from = page * pageSize;
+        int to = Math.min(layout.size(), from + pageSize);
+
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int p = from; p < to; p++) {
+            ids.add(layout.questionIdAt(p));
+        }
+
+        Map<Long, QuestionView> byId = new HashMap<>();
+        for (QuestionView view : loader.apply(ids)) {
+            byId.put(view.getQuestionId(), view);
+        }
+
+        QuestionView[] views = new QuestionView[to - from];
+        for (int p = from; p < to; p++) {
+            QuestionView view = byId.get(layout.questionIdAt(p));
+            if (view == null) {
+                throw new IllegalStateException("Question " + layout.questionIdAt(p) + " at position " + (p + 1)
+                    + " of this attempt no longer exists");
+            }
+            views[p - from] = view;
+        }
+        return views;
+    }
+}
@@ -5,24 +5,50 @@ import com.se.quiz.quiz_management_system.entity.Quiz;
 import com.se.quiz.quiz_management_system.entity.QuizQuestion;
 import com.se.quiz.quiz_management_system.entity.Student;
 import com.se.quiz.quiz_management_system.entity.StudentQuiz;
+import com.se.quiz.quiz_management_system.entity.StudentQuizResult;
 import com.se.quiz.quiz_management_system.exception.ResourceNotFoundException;
+import com.se.quiz.quiz_management_system.model.AttemptLayout;
+import com.se.quiz.quiz_management_system.model.QuestionPool;
+import com.se.quiz.quiz_management_system.model.QuestionView;
+import com.se.quiz.quiz_management_system.model.QuizCompletion;
+import com.se.quiz.quiz_management_system.model.QuizListItem;
+import com.se.quiz.quiz_management_system.model.QuizSummary;
+import com.se.quiz.quiz_management_system.model.StratifyBy;
 import com.se.quiz.quiz_management_system.repository.QuestionRepository;
 import com.se.quiz.quiz_management_system.repository.QuizQuestionRepository;
 import com.se.quiz.quiz_management_system.repository.QuizRepository;
+import com.se.quiz.quiz_management_system.repository.QuizStatsRepository;
 import com.se.quiz.quiz_management_system.repository.StudentRepository;
 import com.se.quiz.quiz_management_system.repository.StudentQuizRepository;
+import com.se.quiz.quiz_management_system.util.QuestionIdCodec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
     // QuizService - Handles quiz management operations
     
 @Service
 public class QuizService {
     
+    // Points awarded per correct answer
+    public static final int POINTS_PER_QUESTION = 10;
+    
+    // Shortest search term matched anywhere in the name; pg_trgm needs a full trigram
+    // to use its index, so shorter terms only match name prefixes
+    public static final int MIN_SUBSTRING_SEARCH_LENGTH = 3;
+    
     @Autowired
     private QuizRepository quizRepository;
     
@@ -38,6 +64,15 @@ public class QuizService {
     @Autowired
     private StudentQuizRepository studentQuizRepository;
     
+    @Autowired
+    private QuizStatsRepository quizStatsRepository;
+    
+    @Autowired
+    private QuestionPoolCache questionPoolCache;
+    
+    @Autowired
+    private StudentProgressService studentProgressService;
+    
     // Create a new quiz with multiple questions in a single transaction
     // @param quizName the name of the quiz
     // @param timeLimit the time limit per question in minutes
@@ -47,16 +82,39 @@ public class QuizService {
     
     @Transactional
     public Quiz createQuizWithQuestions(String quizName, Integer timeLimit, List<Question> questions) {
+        return createQuizWithQuestions(quizName, timeLimit, questions, null, StratifyBy.NONE);
+    }
+    
+    // Create a new "draw N from pool" quiz in a single transaction
+    // The questions form the pool; each attempt gets drawCount questions sampled from it
+    // @param quizName the name of the quiz
+    // @param timeLimit the time limit in minutes
+    // @param questions the question pool
+    // @param drawCount questions per attempt (null = whole pool)
+    // @param stratifyBy how the draw is stratified (tag / difficulty / none)
+    // @return the created Quiz entity with generated ID
+    // @throws IllegalArgumentException if questions list is empty or drawCount is invalid
+    
+    @Transactional
+    public Quiz createQuizWithQuestions(String quizName, Integer timeLimit, List<Question> questions,
+                                        Integer drawCount, StratifyBy stratifyBy) {
         if (questions == null || questions.isEmpty()) {
             throw new IllegalArgumentException("Quiz must have at least one question");
         }
+        if (drawCount != null && (drawCount <= 0 || drawCount > questions.size())) {
+            throw new IllegalArgumentException("Questions per attempt must be between 1 and " + questions.size());
+        }
         
         try {
             // Step 1: Create and save the Quiz entity
             Quiz quiz = new Quiz(quizName, timeLimit, questions.size());
+            quiz.setDrawCount(drawCount);
+            quiz.setDrawStratifyBy(stratifyBy);
             quiz = quizRepository.save(quiz);
             
             // Step 2: Save all questions and create quiz-question relationships
+            // Position follows the order in which the teacher added the questions
+            int position = 0;
             for (Question question : questions) {
                 // Save the question to get generated ID
                 Question savedQuestion = questionRepository.save(question);
@@ -67,10 +125,12 @@ public class QuizService {
                 quizQuestion.setQuestionId(savedQuestion.getQuestionId());
                 quizQuestion.setQuiz(quiz);
                 quizQuestion.setQuestion(savedQuestion);
+                quizQuestion.setPosition(position++);
                 
                 quizQuestionRepository.save(quizQuestion);
             }
             
+            questionPoolCache.evict(quiz.getQuizId());
             return quiz;
             
         } catch (Exception e) {
@@ -100,7 +160,7 @@ public class QuizService {
     }
     
     
-    // Get all questions for a specific quiz
+    // Get all questions for a specific quiz in canonical order (quiz_question.position)
     // @param quizId the quiz ID
     // @return list of questions
     // @throws ResourceNotFoundException if quiz not found
@@ -112,8 +172,8 @@ public class QuizService {
             throw new ResourceNotFoundException("Quiz not found with ID: " + quizId);
         }
         
-        // Get all quiz-question relationships
-        List<QuizQuestion> quizQuestions = quizQuestionRepository.findByQuizId(quizId);
+        // Get all quiz-question relationships in position order
+        List<QuizQuestion> quizQuestions = quizQuestionRepository.findByQuizIdOrderByPositionAscQuestionIdAsc(quizId);
         
         // Extract questions
         List<Question> questions = new ArrayList<>();
@@ -129,6 +189,140 @@ public class QuizService {
         return questions;
     }
     
+    // Get the question IDs a student answers in an attempt, in canonical order
+    // Fixed-form quizzes return the whole pool; "draw N" quizzes return a deterministic
+    // sample seeded from (studentId, quizId), drawn from the shared cached pool
+    // @param quizId the quiz ID
+    // @param studentId the student ID
+    // @return question IDs in canonical order
+    // @throws ResourceNotFoundException if quiz not found
+    
+    @Transactional(readOnly = true)
+    public long[] getQuestionIdsForAttempt(Long quizId, Long studentId) {
+        Quiz quiz = getQuizById(quizId);
+        QuestionPool pool = questionPoolCache.getPool(quiz);
+        
+        if (!quiz.isDrawnFromPool()) {
+            return pool.allQuestionIds();
+        }
+        long seed = AttemptLayout.seedFor(studentId != null ? studentId : 0L, quizId);
+        return pool.draw(seed, quiz.getDrawCount());
+    }
+    
+    // Get the questions a student answers in an attempt, in canonical order
+    // @param quizId the quiz ID
+    // @param studentId the student ID
+    // @return list of questions (drawn subset for pool quizzes)
+    // @throws ResourceNotFoundException if quiz not found
+    
+    @Transactional(readOnly = true)
+    public List<Question> getQuestionsForAttempt(Long quizId, Long studentId) {
+        long[] ids = getQuestionIdsForAttempt(quizId, studentId);
+        
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, Question> byId = new HashMap<>();
+        for (Question question : questionRepository.findAllById(idList)) {
+            byId.put(question.getQuestionId(), question);
+        }
+        
+        List<Question> questions = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Question question = byId.get(id);
+            if (question != null) {
+                questions.add(question);
+            }
+        }
+        return questions;
+    }
+    
+    // Get student-facing question views (problem + options only, no solution text)
+    // Used by QuestionWindow to fetch one page of an attempt at a time
+    // @param questionIds the question IDs of the page
+    // @return list of question views (unordered)
+    
+    @Transactional(readOnly = true)
+    public List<QuestionView> getQuestionViews(List<Long> questionIds) {
+        if (questionIds == null || questionIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return questionRepository.findViewsByIds(questionIds);
+    }
+    
+    // Open a lazily paged question window for an attempt
+    // @param layout the attempt layout
+    // @return a window that fetches and prefetches pages of question views on demand
+    
+    public QuestionWindow openQuestionWindow(AttemptLayout layout) {
+        return new QuestionWindow(layout, this::getQuestionViews, QuestionWindow.DEFAULT_PAGE_SIZE);
+    }
+    
+    // Grade an attempt against the answer key
+    // Selections arrive in display order (display slot per display position); each one is
+    // remapped through the attempt layout onto the original option before comparison,
+    // so shuffled questions/options are graded exactly like the canonical quiz
+    // @param studentId the student ID
+    // @param quizId the quiz ID
+    // @param layout the attempt layout the student was shown
+    // @param selectedSlots display slot (0-3, -1 = unanswered) indexed by display position
+    // @return an unsaved result with score, counts and the canonical answer vector
+    
+    @Transactional(readOnly = true)
+    public StudentQuizResult gradeAttempt(Long studentId, Long quizId, AttemptLayout layout, byte[] selectedSlots) {
+        if (layout == null) {
+            throw new IllegalArgumentException("Attempt layout is required for grading");
+        }
+        
+        int total = layout.size();
+        
+        // Build answer key in canonical order (only ID + correct letter are fetched)
+        List<Long> ids = new ArrayList<>(total);
+        for (int p = 0; p < total; p++) {
+            ids.add(layout.questionIdAt(p));
+        }
+        Map<Long, String> keyById = new HashMap<>();
+        for (Object[] row : questionRepository.findAnswerKeys(ids)) {
+            keyById.put((Long) row[0], (String) row[1]);
+        }
+        
+        char[] answerVector = new char[total];
+        int correct = 0;
+        for (int p = 0; p < total; p++) {
+            int canonical = layout.questionIndexAt(p);
+            int slot = (selectedSlots != null && p < selectedSlots.length) ? selectedSlots[p] : -1;
+            int original = slot >= 0 ? layout.optionAt(p, slot) : -1;
+            
+            answerVector[canonical] = original >= 0 ? AttemptLayout.optionLetter(original) : '-';
+            
+            int key = AttemptLayout.optionIndex(keyById.get(layout.questionIdAt(p)));
+            if (original >= 0 && original == key) {
+                correct++;
+            }
+        }
+        
+        StudentQuizResult result = new StudentQuizResult();
+        result.setStudentId(studentId);
+        result.setQuizId(quizId);
+        result.setCorrectAnswers(correct);
+        result.setTotalQuestions(total);
+        result.setScore(correct * POINTS_PER_QUESTION);
+        result.setTotalPoints(total * POINTS_PER_QUESTION);
+        result.setAnswerVector(new String(answerVector));
+        
+        // Pool quizzes: remember which questions were drawn (canonical order) for regrading/analysis
+        Quiz quiz = quizRepository.findById(quizId).orElse(null);
+        if (quiz != null && quiz.isDrawnFromPool()) {
+            long[] drawnIds = new long[total];
+            for (int p = 0; p < total; p++) {
+                drawnIds[layout.questionIndexAt(p)] = layout.questionIdAt(p);
+            }
+            result.setDrawnQuestionIds(QuestionIdCodec.encode(drawnIds));
+        }
+        return result;
+    }
+    
     
     // Delete a quiz and all its questions
     // @param quizId the quiz ID
@@ -139,20 +333,68 @@ public class QuizService {
         Quiz quiz = quizRepository.findById(quizId)
             .orElseThrow(() -> new ResourceNotFoundException("Quiz not found with ID: " + quizId));
         
+        // Progress summaries of students who took the quiz must not keep its results
+        studentProgressService.invalidateQuiz(quizId);
+        
         // Delete all quiz-question relationships (will cascade delete if configured)
         quizQuestionRepository.deleteByQuizId(quizId);
         
         // Delete the quiz itself
         quizRepository.delete(quiz);
+        quizStatsRepository.deleteById(quizId);
+        questionPoolCache.evict(quizId);
     }
     
-    // Search quizzes by name
-    // @param quizName the name to search for (partial match)
-    // @return list of matching quizzes
+    // Get one slice of the quiz list, optionally filtered by a name search (type-ahead)
+    // Terms of MIN_SUBSTRING_SEARCH_LENGTH+ characters match anywhere in the name (trigram
+    // index), shorter terms match the start of the name (prefix index); names starting with
+    // the term come first. A blank term lists all quizzes, most recent first.
+    // @param term the search term (may be null or blank)
+    // @param page 0-based page index
+    // @param size rows per page
+    // @return slice of quiz list rows (hasNext tells whether another page exists)
     
     @Transactional(readOnly = true)
-    public List<Quiz> searchQuizzesByName(String quizName) {
-        return quizRepository.findByQuizNameContainingIgnoreCase(quizName);
+    public Slice<QuizListItem> searchQuizListPage(String term, int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Invalid page request: page " + page + ", size " + size);
+        }
+        PageRequest request = PageRequest.of(page, size);
+        String normalized = normalizeSearchTerm(term);
+        if (normalized.isEmpty()) {
+            return quizRepository.findListItems(request);
+        }
+        
+        String prefixPattern = escapeLikePattern(normalized) + "%";
+        String pattern = normalized.length() >= MIN_SUBSTRING_SEARCH_LENGTH ? "%" + prefixPattern : prefixPattern;
+        return quizRepository.searchListItems(pattern, prefixPattern, request);
+    }
+    
+    // Client-side counterpart of searchQuizListPage, used to narrow loaded rows while typing
+    // @param quizName the quiz name
+    // @param term the search term (may be null or blank)
+    // @return true if searchQuizListPage would return a quiz with this name for the term
+    
+    public static boolean matchesSearchTerm(String quizName, String term) {
+        String normalized = normalizeSearchTerm(term);
+        if (normalized.isEmpty()) {
+            return true;
+        }
+        if (quizName == null) {
+            return false;
+        }
+        String name = quizName.toLowerCase(Locale.ROOT);
+        return normalized.length() >= MIN_SUBSTRING_SEARCH_LENGTH ? name.contains(normalized) : name.startsWith(normalized);
+    }
+    
+    private static String normalizeSearchTerm(String term) {
+        return term != null ? term.trim().toLowerCase(Locale.ROOT) : "";
+    }
+    
+    // Escape LIKE wildcards so they match literally ('!' is the escape character of the queries)
+    
+    static String escapeLikePattern(String term) {
+        return term.replace("!", "!!").replace("%", "!%").replace("_", "!_");
     }
     
     // Assign a quiz to a student
@@ -263,5 +505,64 @@ public class QuizService {
         
         return students;
     }
+    
+    // Get one page of students assigned to a quiz who have not submitted it yet
+    // @param quizId the quiz ID
+    // @param page 0-based page index
+    // @param size page size
+    // @return page of pending students ordered by full name
+    
+    @Transactional(readOnly = true)
+    public Page<Student> getPendingStudents(Long quizId, int page, int size) {
+        if (quizId == null) {
+            throw new IllegalArgumentException("Quiz ID cannot be null");
+        }
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Invalid page request");
+        }
+        return studentQuizRepository.findPendingStudents(quizId, PageRequest.of(page, size));
+    }
+    
+    // Get one page of the quiz results overview (most recent quizzes first)
+    // Submission count, average, best score, last submission and completion come from a single
+    // grouped query, so the cost does not grow with one stats call per quiz. One extra row is
+    // fetched to tell whether another page follows, so no separate count query is needed
+    // @param page 0-based page index
+    // @param size page size
+    // @return slice of quiz summaries
+    
+    @Transactional(readOnly = true)
+    public Slice<QuizSummary> getQuizSummaries(int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Invalid page request");
+        }
+        
+        PageRequest request = PageRequest.of(page, size);
+        List<QuizSummary> summaries = new ArrayList<>(size);
+        List<Object[]> rows = quizRepository.findQuizSummaries(size + 1, request.getOffset());
+        boolean hasNext = rows.size() > size;
+        for (Object[] row : hasNext ? rows.subList(0, size) : rows) {
+            Long quizId = ((Number) row[0]).longValue();
+            long assigned = ((Number) row[8]).longValue();
+            long pending = ((Number) row[9]).longValue();
+            summaries.add(new QuizSummary(
+                quizId,
+                (String) row[1],
+                row[2] != null ? ((Number) row[2]).intValue() : null,
+                row[3] != null ? ((Number) row[3]).intValue() : null,
+                ((Number) row[4]).longValue(),
+                row[5] != null ? ((Number) row[5]).doubleValue() : null,
+                row[6] != null ? ((Number) row[6]).intValue() : null,
+                toLocalDateTime(row[7]),
+                new QuizCompletion(quizId, assigned, assigned - pending)));
+        }
+        return new SliceImpl<>(summaries, request, hasNext);
+    }
+    
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
 }
-
@@ -0,0 +1,311 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.entity.QuizStats;
+import com.se.quiz.quiz_management_system.model.KllSketch;
+import com.se.quiz.quiz_management_system.repository.QuizStatsRepository;
+import com.se.quiz.quiz_management_system.repository.StudentQuizResultRepository;
+import com.se.quiz.quiz_management_system.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+    // QuizStatsService - Maintains the quiz_stats summary row of each quiz
+    // Every method joins the caller's transaction, so the summary commits or rolls back
+    // together with the result change it reflects. The row is locked (SELECT ... FOR UPDATE)
+    // for each delta, serializing concurrent submissions to the same quiz. Every change
+    // increments the row version, which in-memory caches compare against to pick up changes
+    // made by other clients of the shared database.
+    // The first time a quiz is touched its row is rebuilt from student_quiz_result, which
+    // backfills quizzes that already had results before quiz_stats existed.
+    // Quantile sketches are kept out of the locked section. A submission merges its score into
+    // them after commit, in a short transaction of its own, and only while they are exactly one
+    // version behind it (the same rule as leaderboards). Sketches cannot forget a value, so
+    // deletes and score changes just leave them behind the row version; a read that finds them
+    // behind rebuilds them from the results, also without the row lock. Deserialized sketches
+    // are cached per quiz together with the row version they came from; each lookup compares
+    // that with the current version (one primary-key lookup) and reloads the sketches when
+    // another client has changed the quiz's results.
+
+@Service
+public class QuizStatsService {
+
+    @Autowired
+    private QuizStatsRepository statsRepository;
+
+    @Autowired
+    private StudentQuizResultRepository resultRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // quizId -> score and completion time sketches of one row version; read-only once cached
+    private final Map<Long, VersionedSketches> sketchCache = new ConcurrentHashMap<>();
+
+    // Record a newly saved result (call after the result is persisted)
+    // @param quizId the quiz ID
+    // @param score the result score
+    // @param totalPoints the result total points
+    // @param completionTimeSeconds the completion time (may be null)
+    // @return the new statistics version
+
+    @Transactional
+    public long recordAdded(Long quizId, int score, Integer totalPoints, Integer completionTimeSeconds) {
+        long version = apply(quizId, stats -> {
+            stats.add(score, totalPoints);
+            return false;
+        });
+        TransactionHooks.afterCommit(() -> mergeIntoSketches(quizId, version, score, completionTimeSeconds));
+        return version;
+    }
+
+    // Record a deleted result (call after the result is deleted)
+    // @param quizId the quiz ID
+    // @param score the deleted result's score
+    // @param totalPoints the deleted result's total points
+    // @return the new statistics version
+
+    @Transactional
+    public long recordRemoved(Long quizId, int score, Integer totalPoints) {
+        return apply(quizId, stats -> {
+            return stats.remove(score, totalPoints);
+        });
+    }
+
+    // Record a score change of an existing result (call after the change is saved)
+    // @param quizId the quiz ID
+    // @param oldScore the previous score
+    // @param newScore the new score
+    // @param totalPoints the result total points
+    // @return the new statistics version
+
+    @Transactional
+    public long recordScoreChanged(Long quizId, int oldScore, int newScore, Integer totalPoints) {
+        return apply(quizId, stats -> {
+            boolean stale = stats.remove(oldScore, totalPoints);
+            stats.add(newScore, totalPoints);
+            return stale;
+        });
+    }
+
+    // Get the statistics of a quiz, building the row on first access
+    // @param quizId the quiz ID
+    // @return the current statistics
+
+    @Transactional
+    public QuizStats getStats(Long quizId) {
+        return statsRepository.findById(quizId).orElseGet(() -> rebuild(quizId));
+    }
+
+    // Get the version of a quiz's statistics (one primary-key lookup)
+    // Changes whenever a result of the quiz is added, rescored or deleted by any client
+    // @param quizId the quiz ID
+    // @return the version, 0 if the quiz has no statistics row yet
+
+    @Transactional(readOnly = true)
+    public long getStatsVersion(Long quizId) {
+        return statsRepository.findVersion(quizId).orElse(0L);
+    }
+
+    // Get the versions of several quizzes' statistics in one query
+    // @param quizIds the quiz IDs
+    // @return quizId -> version (0 for quizzes without a statistics row)
+
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getStatsVersions(Collection<Long> quizIds) {
+        Map<Long, Long> versions = new HashMap<>();
+        if (!quizIds.isEmpty()) {
+            for (Object[] row : statsRepository.findVersions(quizIds)) {
+                versions.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        for (Long quizId : quizIds) {
+            versions.putIfAbsent(quizId, 0L);
+        }
+        return versions;
+    }
+
+    // Get the score sketch of a quiz (cached; do not modify)
+    // @param quizId the quiz ID
+    // @return the score sketch
+
+    @Transactional
+    public KllSketch getScoreSketch(Long quizId) {
+        return sketches(quizId).scores;
+    }
+
+    // Get the score sketches of several quizzes (cached; do not modify)
+    // All cached sketches are revalidated with one version query; only stale ones are reloaded
+    // @param quizIds the quiz IDs
+    // @return quizId -> score sketch
+
+    @Transactional
+    public Map<Long, KllSketch> getScoreSketches(Collection<Long> quizIds) {
+        Map<Long, Long> versions = getStatsVersions(quizIds);
+        Map<Long, KllSketch> sketches = new HashMap<>();
+        for (Long quizId : quizIds) {
+            VersionedSketches cached = sketchCache.get(quizId);
+            boolean current = cached != null && cached.version == versions.get(quizId);
+            sketches.put(quizId, (current ? cached : loadSketches(quizId)).scores);
+        }
+        return sketches;
+    }
+
+    // Get the completion time sketch of a quiz (cached; do not modify)
+    // @param quizId the quiz ID
+    // @return the completion time sketch
+
+    @Transactional
+    public KllSketch getCompletionTimeSketch(Long quizId) {
+        return sketches(quizId).times;
+    }
+
+    // Recompute a quiz's statistics from student_quiz_result (e.g. after a bulk regrade)
+    // Uses one GROUP BY query over (score, totalPoints), so no result entities are loaded
+    // @param quizId the quiz ID
+    // @return the rebuilt statistics
+
+    @Transactional
+    public QuizStats rebuild(Long quizId) {
+        statsRepository.insertIfAbsent(quizId);
+        QuizStats stats = statsRepository.findForUpdate(quizId).orElseThrow();
+
+        QuizStats fresh = new QuizStats(quizId);
+        for (Object[] row : resultRepository.getScoreDistributionByQuizId(quizId)) {
+            fresh.add((Integer) row[0], (Integer) row[1], (Long) row[2]);
+        }
+
+        stats.setResultCount(fresh.getResultCount());
+        stats.setScoreSum(fresh.getScoreSum());
+        stats.setScoreSumSquares(fresh.getScoreSumSquares());
+        stats.setMinScore(fresh.getMinScore());
+        stats.setMaxScore(fresh.getMaxScore());
+        stats.setHistogram(fresh.getHistogram());
+        VersionedSketches sketches = readSketches(quizId, 0);
+        stats.setScoreSketch(sketches.scores.toBytes());
+        stats.setTimeSketch(sketches.times.toBytes());
+        stats.setSketchVersion(stats.incrementVersion());
+        return stats;
+    }
+
+    // Lock the row and apply a delta; a delta returning true means min/max must be re-queried
+    // @return the new version of the row
+
+    private long apply(Long quizId, Predicate<QuizStats> delta) {
+        if (statsRepository.insertIfAbsent(quizId) == 1) {
+            // First touch: the rebuild already reflects the change being recorded
+            return rebuild(quizId).getVersion();
+        }
+
+        QuizStats stats = statsRepository.findForUpdate(quizId).orElseThrow();
+        if (delta.test(stats)) {
+            stats.setMinScore(resultRepository.getLowestScoreByQuizId(quizId));
+            stats.setMaxScore(resultRepository.getHighestScoreByQuizId(quizId));
+        }
+        return stats.incrementVersion();
+    }
+
+    // Merge one committed submission into the stored sketches (runs after commit, in its own
+    // transaction). Skipped when the sketches are not exactly one version behind the submission:
+    // they either include it already (rebuilt) or missed an earlier change, and then the next
+    // read rebuilds them. A failure here never fails the submission, which is already committed.
+    // @param quizId the quiz ID
+    // @param version the row version written by the submission
+    // @param score the submitted score
+    // @param completionTimeSeconds the completion time (may be null)
+
+    private void mergeIntoSketches(Long quizId, long version, int score, Integer completionTimeSeconds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transaction.executeWithoutResult(status -> {
+                QuizStats stats = statsRepository.findById(quizId).orElse(null);
+                if (stats == null || stats.getScoreSketch() == null || stats.getTimeSketch() == null
+                        || stats.getSketchVersion() != version - 1) {
+                    return;
+                }
+
+                KllSketch scores = KllSketch.fromBytes(stats.getScoreSketch());
+                scores.update(score);
+                KllSketch times = KllSketch.fromBytes(stats.getTimeSketch());
+                if (completionTimeSeconds != null) {
+                    times.update(completionTimeSeconds);
+                }
+                statsRepository.updateSketchesIfNext(quizId, version, scores.toBytes(), times.toBytes());
+            });
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ [QuizStatsService] Sketch update skipped for quiz " + quizId + ": " + e.getMessage());
+        }
+    }
+
+    // Build both sketches from the quiz's results (one query over score and completion time)
+
+    private VersionedSketches readSketches(Long quizId, long version) {
+        KllSketch scores = new KllSketch();
+        KllSketch times = new KllSketch();
+        for (Object[] row : resultRepository.findScoresAndTimesByQuizId(quizId)) {
+            scores.update((Integer) row[0]);
+            if (row[1] != null) {
+                times.update((Integer) row[1]);
+            }
+        }
+        return new VersionedSketches(version, scores, times);
+    }
+
+    // Sketches of the current row version, deserialized again only when the version changed
+
+    private VersionedSketches sketches(Long quizId) {
+        VersionedSketches cached = sketchCache.get(quizId);
+        if (cached != null && cached.version == getStatsVersion(quizId)) {
+            return cached;
+        }
+        return loadSketches(quizId);
+    }
+
+    private VersionedSketches loadSketches(Long quizId) {
+        QuizStats stats = getStats(quizId);
+        VersionedSketches loaded;
+        if (!stats.hasCurrentSketches()) {
+            // Behind after a delete or score change, or a submission whose merge is pending or
+            // was skipped (or the row predates the sketch columns): rebuild without locking the
+            // row, and store the result only if no change was committed meanwhile. The version
+            // is not bumped - the content of this version is the same whichever client rebuilds it.
+            loaded = readSketches(quizId, stats.getVersion());
+            int stored = statsRepository.updateSketchesIfVersion(quizId, stats.getVersion(),
+                loaded.scores.toBytes(), loaded.times.toBytes());
+            if (stored == 0) {
+                // Superseded by a newer version: good for this read, not worth caching
+                return loaded;
+            }
+        } else {
+            loaded = new VersionedSketches(stats.getVersion(),
+                KllSketch.fromBytes(stats.getScoreSketch()), KllSketch.fromBytes(stats.getTimeSketch()));
+        }
+        // A row changed by this transaction is cached only once the change commits
+        TransactionHooks.whenCommitted(() -> sketchCache.merge(quizId, loaded,
+            (current, fresh) -> fresh.version >= current.version ? fresh : current));
+        return loaded;
+    }
+
+    // Score and completion time sketches of one quiz_stats version
+
+    private static class VersionedSketches {
+        private final long version;
+        private final KllSketch scores;
+        private final KllSketch times;
+
+        VersionedSketches(long version, KllSketch scores, KllSketch times) {
+            this.version = version;
+            this.scores = scores;
+            this.times = times;
+        }
+    }
+}
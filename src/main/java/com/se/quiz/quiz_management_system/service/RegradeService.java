@@ -0,0 +1,201 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.entity.RegradeAudit;
+import com.se.quiz.quiz_management_system.exception.ResourceNotFoundException;
+import com.se.quiz.quiz_management_system.model.AttemptLayout;
+import com.se.quiz.quiz_management_system.model.RegradeReport;
+import com.se.quiz.quiz_management_system.model.ResponseMatrix;
+import com.se.quiz.quiz_management_system.repository.AnswerVectorRepository;
+import com.se.quiz.quiz_management_system.repository.QuizRepository;
+import com.se.quiz.quiz_management_system.repository.RegradeAuditRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+    // RegradeService - Bulk rescoring of a quiz after answer-key corrections
+    // Stored answer vectors are streamed into a ResponseMatrix together with the current
+    // answer key (fetched once per run), rows are rescored in parallel, and only results
+    // whose score changed are written back with batched JDBC updates.
+    // No StudentQuizResult entities are loaded, so tens of thousands of results are cheap.
+    // Scores corrected by hand are never regraded (they are reported as overrides), and an
+    // apply writes exactly the change set the teacher confirmed in the preview - it is
+    // rejected if the results or the answer key changed in between.
+
+@Service
+public class RegradeService {
+
+    @Autowired
+    private ItemAnalysisService itemAnalysisService;
+
+    @Autowired
+    private AnswerVectorRepository answerVectorRepository;
+
+    @Autowired
+    private RegradeAuditRepository regradeAuditRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuizStatsService quizStatsService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private StudentProgressService studentProgressService;
+
+    // Compute which results would change under the current answer key (nothing is written)
+    // @param quizId the quiz ID
+    // @return dry-run report with the full diff
+    // @throws ResourceNotFoundException if quiz not found
+
+    @Transactional(readOnly = true)
+    public RegradeReport previewRegrade(Long quizId) {
+        ResponseMatrix matrix = loadMatrix(quizId);
+        Diff diff = diff(matrix);
+        return new RegradeReport(quizId, true, matrix.rows(), answerKeyOf(matrix), diff.changes, diff.overrides, null);
+    }
+
+    // Apply a previewed regrade and record it in the audit table
+    // @param preview the dry-run report the teacher confirmed
+    // @param performedBy username of the teacher running the regrade
+    // @return report of the applied changes
+    // @throws IllegalArgumentException if the report is not a preview
+    // @throws IllegalStateException if results or the answer key changed since the preview
+    // @throws ResourceNotFoundException if quiz not found
+
+    @Transactional
+    public RegradeReport regradeQuiz(RegradeReport preview, String performedBy) {
+        if (preview == null || !preview.isDryRun()) {
+            throw new IllegalArgumentException("A regrade can only apply a confirmed preview");
+        }
+        Long quizId = preview.getQuizId();
+        ResponseMatrix matrix = loadMatrix(quizId);
+        String answerKey = answerKeyOf(matrix);
+        Diff current = diff(matrix);
+        if (!answerKey.equals(preview.getAnswerKey()) || !sameChanges(current.changes, preview.getChanges())) {
+            throw new IllegalStateException(changedSincePreview(quizId));
+        }
+        List<RegradeReport.ScoreChange> changes = preview.getChanges();
+
+        int count = changes.size();
+        long[] resultIds = new long[count];
+        int[] expectedScores = new int[count];
+        int[] scores = new int[count];
+        int[] correct = new int[count];
+        long scoreDelta = 0;
+        for (int i = 0; i < count; i++) {
+            RegradeReport.ScoreChange change = changes.get(i);
+            resultIds[i] = change.getResultId();
+            expectedScores[i] = change.getOldScore();
+            scores[i] = change.getNewScore();
+            correct[i] = change.getNewCorrect();
+            scoreDelta += change.getNewScore() - change.getOldScore();
+        }
+        int updated = answerVectorRepository.updateScores(resultIds, expectedScores, scores, correct, count);
+        if (updated != count) {
+            // A result was rescored or corrected by hand after it was read: roll everything back
+            throw new IllegalStateException(changedSincePreview(quizId));
+        }
+        if (updated > 0) {
+            quizStatsService.rebuild(quizId);
+            leaderboardService.invalidate(quizId);
+            Set<Long> students = new HashSet<>();
+            for (RegradeReport.ScoreChange change : changes) {
+                students.add(change.getStudentId());
+            }
+            studentProgressService.invalidateAll(students);
+        }
+
+        RegradeAudit audit = new RegradeAudit();
+        audit.setQuizId(quizId);
+        audit.setPerformedBy(performedBy);
+        audit.setPerformedAt(LocalDateTime.now());
+        audit.setResultsScanned(matrix.rows());
+        audit.setResultsChanged(updated);
+        audit.setScoreDelta(scoreDelta);
+        audit.setAnswerKey(answerKey);
+        audit = regradeAuditRepository.save(audit);
+
+        System.out.println("Regraded quiz " + quizId + ": " + updated + "/" + matrix.rows() + " results changed");
+        return new RegradeReport(quizId, false, matrix.rows(), answerKey, changes, current.overrides,
+            audit.getAuditId());
+    }
+
+    private static String changedSincePreview(Long quizId) {
+        return "Results or the answer key of quiz " + quizId + " changed since the preview; preview the regrade again";
+    }
+
+    private ResponseMatrix loadMatrix(Long quizId) {
+        if (quizId == null) {
+            throw new IllegalArgumentException("Quiz ID cannot be null");
+        }
+        if (!quizRepository.existsById(quizId)) {
+            throw new ResourceNotFoundException("Quiz not found with ID: " + quizId);
+        }
+        return itemAnalysisService.loadResponseMatrix(quizId);
+    }
+
+    // Rescore all rows in parallel and collect those that differ from the stored grading
+    // Rows whose score was corrected by hand go to the overrides instead of the changes
+
+    static Diff diff(ResponseMatrix matrix) {
+        int rows = matrix.rows();
+        int[] newCorrect = new int[rows];
+        IntStream.range(0, rows).parallel().forEach(row -> newCorrect[row] = matrix.countCorrect(row));
+
+        Diff diff = new Diff();
+        for (int row = 0; row < rows; row++) {
+            int newScore = newCorrect[row] * QuizService.POINTS_PER_QUESTION;
+            int oldScore = matrix.storedScoreAt(row);
+            int oldCorrect = matrix.storedCorrectAt(row);
+            if (newScore != oldScore || (oldCorrect >= 0 && newCorrect[row] != oldCorrect)) {
+                RegradeReport.ScoreChange change = new RegradeReport.ScoreChange(matrix.resultIdAt(row),
+                    matrix.studentIdAt(row), oldScore, newScore, oldCorrect, newCorrect[row]);
+                (matrix.isOverriddenAt(row) ? diff.overrides : diff.changes).add(change);
+            }
+        }
+        return diff;
+    }
+
+    // Whether two change sets (both in result ID order) write the same scores to the same results
+
+    static boolean sameChanges(List<RegradeReport.ScoreChange> a, List<RegradeReport.ScoreChange> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            RegradeReport.ScoreChange x = a.get(i);
+            RegradeReport.ScoreChange y = b.get(i);
+            if (x.getResultId() != y.getResultId() || x.getOldScore() != y.getOldScore()
+                    || x.getNewScore() != y.getNewScore() || x.getNewCorrect() != y.getNewCorrect()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String answerKeyOf(ResponseMatrix matrix) {
+        char[] key = new char[matrix.items()];
+        for (int c = 0; c < key.length; c++) {
+            byte option = matrix.correctOption(c);
+            key[c] = option >= 0 ? AttemptLayout.optionLetter(option) : '?';
+        }
+        return new String(key);
+    }
+
+    // Changes to apply and hand-corrected results left alone, both in result ID order
+
+    static final class Diff {
+        final List<RegradeReport.ScoreChange> changes = new ArrayList<>();
+        final List<RegradeReport.ScoreChange> overrides = new ArrayList<>();
+    }
+}
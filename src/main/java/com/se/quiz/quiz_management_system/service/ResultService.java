@@ -1,13 +1,35 @@
 package com.se.quiz.quiz_management_system.service;
 
+import com.se.quiz.quiz_management_system.entity.QuizStats;
+import com.se.quiz.quiz_management_system.entity.StudentProgress;
 import com.se.quiz.quiz_management_system.entity.StudentQuizResult;
+import com.se.quiz.quiz_management_system.model.Gradebook;
+import com.se.quiz.quiz_management_system.model.ItemAnalysis;
+import com.se.quiz.quiz_management_system.model.KllSketch;
+import com.se.quiz.quiz_management_system.model.Leaderboard;
+import com.se.quiz.quiz_management_system.model.Quartiles;
+import com.se.quiz.quiz_management_system.model.QuizRank;
+import com.se.quiz.quiz_management_system.model.RegradeReport;
+import com.se.quiz.quiz_management_system.model.SimilarityReport;
+import com.se.quiz.quiz_management_system.model.StudentResultView;
 import com.se.quiz.quiz_management_system.repository.StudentQuizResultRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
     // ResultService - Business logic for quiz results
@@ -19,6 +41,30 @@ public class ResultService {
     @Autowired
     private StudentQuizResultRepository resultRepository;
     
+    @Autowired
+    private QuizStatsService quizStatsService;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private ItemAnalysisService itemAnalysisService;
+    
+    @Autowired
+    private RegradeService regradeService;
+    
+    @Autowired
+    private AnswerSimilarityService answerSimilarityService;
+    
+    @Autowired
+    private GradebookService gradebookService;
+    
+    @Autowired
+    private ResultWorkbookService resultWorkbookService;
+    
+    @Autowired
+    private StudentProgressService studentProgressService;
+    
     // Check if a student has already completed a specific quiz
     // CRITICAL: Used to prevent students from taking quiz multiple times
     // @param studentId the student ID
@@ -81,6 +127,10 @@ public class ResultService {
         // CRITICAL: Save to database
         System.out.println("🔵 [ResultService.saveResult] Calling repository.save()...");
         StudentQuizResult savedResult = resultRepository.save(result);
+        long statsVersion = quizStatsService.recordAdded(savedResult.getQuizId(), savedResult.getScore(),
+            savedResult.getTotalPoints(), savedResult.getCompletionTimeSeconds());
+        leaderboardService.recordResult(savedResult, statsVersion);
+        studentProgressService.recordAdded(savedResult);
         
         // DEBUG: Log success
         System.out.println("✅ [ResultService.saveResult] SUCCESS - Result saved with ID: " + savedResult.getResultId());
@@ -129,6 +179,36 @@ public class ResultService {
         return results;
     }
     
+    // Get one page of a quiz's result rows (projections, newest first)
+    // Used by the virtualized student results list, which fetches pages while scrolling
+    // @param quizId the quiz ID
+    // @param page 0-based page index
+    // @param size rows per page
+    // @return slice of result views (hasNext tells whether another page exists)
+    
+    @Transactional(readOnly = true)
+    public Slice<StudentResultView> getResultViewsPage(Long quizId, int page, int size) {
+        if (quizId == null) {
+            throw new IllegalArgumentException("Quiz ID cannot be null");
+        }
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Invalid page request: page " + page + ", size " + size);
+        }
+        return resultRepository.findResultViewsByQuizId(quizId, PageRequest.of(page, size));
+    }
+    
+    // Get all result rows of a quiz as projections (newest first), e.g. for CSV export
+    // @param quizId the quiz ID
+    // @return list of result views
+    
+    @Transactional(readOnly = true)
+    public List<StudentResultView> getResultViews(Long quizId) {
+        if (quizId == null) {
+            throw new IllegalArgumentException("Quiz ID cannot be null");
+        }
+        return resultRepository.findResultViewsByQuizId(quizId, Pageable.unpaged()).getContent();
+    }
+    
     // Get all results for a specific student
     // Used by student to view their quiz history
     // CRITICAL: Returns results with Student and Quiz relationships loaded
@@ -156,21 +236,173 @@ public class ResultService {
     }
     
     // Get quiz statistics (average, highest, lowest scores)
+    // Reads the incrementally maintained quiz_stats row - O(1) regardless of result count
     // @param quizId the quiz ID
     // @return QuizStatistics object containing stats
     
-    @Transactional(readOnly = true)
+    @Transactional
     public QuizStatistics getQuizStatistics(Long quizId) {
         if (quizId == null) {
             throw new IllegalArgumentException("Quiz ID cannot be null");
         }
         
-        long totalStudents = resultRepository.countByQuizId(quizId);
-        Double averageScore = resultRepository.getAverageScoreByQuizId(quizId);
-        Integer highestScore = resultRepository.getHighestScoreByQuizId(quizId);
-        Integer lowestScore = resultRepository.getLowestScoreByQuizId(quizId);
-        
-        return new QuizStatistics(totalStudents, averageScore, highestScore, lowestScore);
+        QuizStats stats = quizStatsService.getStats(quizId);
+        return new QuizStatistics(stats.getResultCount(), stats.getAverageScore(),
+            stats.getMaxScore(), stats.getMinScore(), stats.getStandardDeviation(), stats.getHistogram());
+    }
+    
+    // Get the percentile of a score within a quiz (share of results at or below it)
+    // Answered from the cached quantile sketch - no query once the sketch is loaded
+    // @param quizId the quiz ID
+    // @param score the score
+    // @return percentile 0-100, or null if the quiz has no results
+    
+    @Transactional
+    public Double getScorePercentile(Long quizId, int score) {
+        KllSketch sketch = quizStatsService.getScoreSketch(quizId);
+        return sketch.isEmpty() ? null : sketch.rank(score) * 100.0;
+    }
+    
+    // Get the score quartiles of a quiz (approximate, from the quantile sketch)
+    // @param quizId the quiz ID
+    // @return quartiles, or null if the quiz has no results
+    
+    @Transactional
+    public Quartiles getScoreQuartiles(Long quizId) {
+        return Quartiles.of(quizStatsService.getScoreSketch(quizId));
+    }
+    
+    // Get the completion time quartiles (seconds) of a quiz
+    // @param quizId the quiz ID
+    // @return quartiles, or null if no completion times were recorded
+    
+    @Transactional
+    public Quartiles getCompletionTimeQuartiles(Long quizId) {
+        return Quartiles.of(quizStatsService.getCompletionTimeSketch(quizId));
+    }
+    
+    // Get a student's rank in a quiz (score first, then completion time)
+    // O(log n) on the in-memory leaderboard - no table scan per lookup
+    // @param quizId the quiz ID
+    // @param studentId the student ID
+    // @return Optional containing the rank, empty if the student has no result
+    
+    @Transactional(readOnly = true)
+    public Optional<QuizRank> getStudentRank(Long quizId, Long studentId) {
+        if (quizId == null || studentId == null) {
+            return Optional.empty();
+        }
+        Leaderboard board = leaderboardService.getLeaderboard(quizId);
+        int rank = board.rankOf(studentId);
+        return rank > 0 ? Optional.of(new QuizRank(rank, board.size())) : Optional.empty();
+    }
+    
+    // Get a student's rank in several quizzes (O(log n) per quiz on the in-memory leaderboards)
+    // Cached boards are revalidated with one version query; only quizzes without a current
+    // board are loaded
+    // @param studentId the student ID
+    // @param quizIds the quizzes the student took
+    // @return quizId -> rank, for the quizzes where the student has a result
+    
+    @Transactional(readOnly = true)
+    public Map<Long, QuizRank> getStudentRanks(Long studentId, Collection<Long> quizIds) {
+        if (studentId == null || quizIds == null || quizIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, QuizRank> ranks = new HashMap<>();
+        for (Map.Entry<Long, Leaderboard> entry : leaderboardService.getLeaderboards(quizIds).entrySet()) {
+            Leaderboard board = entry.getValue();
+            int rank = board.rankOf(studentId);
+            if (rank > 0) {
+                ranks.put(entry.getKey(), new QuizRank(rank, board.size()));
+            }
+        }
+        return ranks;
+    }
+    
+    // Get the best results of a quiz in rank order
+    // @param quizId the quiz ID
+    // @param limit maximum number of entries
+    // @return ranked leaderboard entries, best first
+    
+    @Transactional(readOnly = true)
+    public List<Leaderboard.Entry> getTopResults(Long quizId, int limit) {
+        if (quizId == null) {
+            throw new IllegalArgumentException("Quiz ID cannot be null");
+        }
+        return leaderboardService.getTopResults(quizId, limit);
+    }
+    
+    // Get a student's progress summary (rolling average, trend, best/worst, class percentile)
+    // Read from the maintained student_progress row - no scan of the result history
+    // @param studentId the student ID
+    // @param results the student's results, already loaded by the caller (class percentile input)
+    // @return the progress summary
+    
+    @Transactional
+    public StudentProgress getStudentProgress(Long studentId, List<StudentQuizResult> results) {
+        return studentProgressService.getProgress(studentId, results);
+    }
+    
+    // Get per-question item analysis for a quiz (difficulty, discrimination, distractors, alpha)
+    // @param quizId the quiz ID
+    // @return ItemAnalysis for all results with stored answers
+    
+    @Transactional(readOnly = true)
+    public ItemAnalysis getItemAnalysis(Long quizId) {
+        return itemAnalysisService.analyzeQuiz(quizId);
+    }
+    
+    // Find pairs of students with suspiciously similar answers (shared wrong answers)
+    // @param quizId the quiz ID
+    // @return SimilarityReport with the flagged pairs, strongest first
+    
+    @Transactional(readOnly = true)
+    public SimilarityReport findSimilarAnswerPairs(Long quizId) {
+        return answerSimilarityService.analyzeQuiz(quizId);
+    }
+    
+    // Preview a bulk regrade against the current answer key (dry run, nothing is written)
+    // @param quizId the quiz ID
+    // @return RegradeReport listing every result whose score would change
+    
+    @Transactional(readOnly = true)
+    public RegradeReport previewRegrade(Long quizId) {
+        return regradeService.previewRegrade(quizId);
+    }
+    
+    // Apply a previewed regrade of a quiz (rejected if results changed since the preview)
+    // @param preview the dry-run report the teacher confirmed
+    // @param performedBy username of the teacher running the regrade (stored in the audit record)
+    // @return RegradeReport of the applied changes
+    
+    @Transactional
+    public RegradeReport regradeQuiz(RegradeReport preview, String performedBy) {
+        return regradeService.regradeQuiz(preview, performedBy);
+    }
+    
+    // Export the gradebook of all students across all quizzes as CSV
+    // @param writer destination (not closed)
+    // @return number of student rows written
+    // @throws IOException if writing fails
+    
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public int exportGradebook(Writer writer) throws IOException {
+        Gradebook gradebook = gradebookService.buildGradebook();
+        GradebookService.writeCsv(gradebook, writer);
+        return gradebook.rows();
+    }
+    
+    // Export the results of a quiz as an XLSX workbook (results sheet + statistics sheet)
+    // @param quizId the quiz ID
+    // @param quizName the quiz name (used as the results sheet name)
+    // @param out destination stream (not closed)
+    // @return number of result rows written
+    // @throws IOException if writing fails
+    
+    @Transactional
+    public int exportQuizWorkbook(Long quizId, String quizName, OutputStream out) throws IOException {
+        return resultWorkbookService.exportQuizWorkbook(quizId, quizName, out);
     }
     
     // Delete a result (admin/teacher only)
@@ -183,8 +415,14 @@ public class ResultService {
             return false;
         }
         
-        if (resultRepository.existsById(resultId)) {
-            resultRepository.deleteById(resultId);
+        Optional<StudentQuizResult> resultOpt = resultRepository.findById(resultId);
+        if (resultOpt.isPresent()) {
+            StudentQuizResult result = resultOpt.get();
+            resultRepository.delete(result);
+            resultRepository.flush();
+            long statsVersion = quizStatsService.recordRemoved(result.getQuizId(), result.getScore(), result.getTotalPoints());
+            leaderboardService.removeResult(result.getQuizId(), result.getStudentId(), statsVersion);
+            studentProgressService.invalidate(result.getStudentId());
             return true;
         }
         
@@ -206,8 +444,15 @@ public class ResultService {
         Optional<StudentQuizResult> resultOpt = resultRepository.findById(resultId);
         if (resultOpt.isPresent()) {
             StudentQuizResult result = resultOpt.get();
+            int oldScore = result.getScore();
             result.setScore(newScore);
-            return Optional.of(resultRepository.save(result));
+            result.setScoreOverridden(true); // kept as corrected by later regrades
+            StudentQuizResult saved = resultRepository.save(result);
+            long statsVersion = quizStatsService.recordScoreChanged(saved.getQuizId(), oldScore, newScore,
+                saved.getTotalPoints());
+            leaderboardService.recordResult(saved, statsVersion);
+            studentProgressService.invalidate(saved.getStudentId());
+            return Optional.of(saved);
         }
         
         return Optional.empty();
@@ -220,13 +465,22 @@ public class ResultService {
         private final Double averageScore;
         private final Integer highestScore;
         private final Integer lowestScore;
+        private final Double standardDeviation;
+        private final int[] histogram;
         
         public QuizStatistics(long totalStudents, Double averageScore, 
                             Integer highestScore, Integer lowestScore) {
+            this(totalStudents, averageScore, highestScore, lowestScore, null, new int[0]);
+        }
+        
+        public QuizStatistics(long totalStudents, Double averageScore, Integer highestScore,
+                            Integer lowestScore, Double standardDeviation, int[] histogram) {
             this.totalStudents = totalStudents;
             this.averageScore = averageScore;
             this.highestScore = highestScore;
             this.lowestScore = lowestScore;
+            this.standardDeviation = standardDeviation;
+            this.histogram = histogram;
         }
         
         public long getTotalStudents() {
@@ -245,6 +499,16 @@ public class ResultService {
             return lowestScore;
         }
         
+        public Double getStandardDeviation() {
+            return standardDeviation;
+        }
+        
+        // Result count per 10% score bucket (see QuizStats.bucketOf)
+        
+        public int[] getHistogram() {
+            return histogram.clone();
+        }
+        
         @Override
         public String toString() {
             return "QuizStatistics{" +
@@ -0,0 +1,207 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.entity.QuizStats;
+import com.se.quiz.quiz_management_system.model.Quartiles;
+import com.se.quiz.quiz_management_system.repository.ResultExportRepository;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+    // ResultWorkbookService - Streaming XLSX export of a quiz's results
+    // Uses POI's SXSSF writer: only the last ROW_WINDOW rows stay in memory, older rows are
+    // flushed to a compressed temp file, so exporting a large class costs the same heap as a
+    // small one. Scores, percentages, times and dates are written as typed cells (no text
+    // that Excel could reinterpret). The workbook has a results sheet and a statistics sheet.
+    // Results are streamed in Leaderboard order, so the Rank column matches the rank shown in
+    // the app (ties on score and time are broken by submission order there as well).
+
+@Service
+public class ResultWorkbookService {
+
+    // Rows kept in memory while writing
+    public static final int ROW_WINDOW = 200;
+
+    private static final String[] RESULT_HEADERS = {
+        "Rank", "Username", "Full Name", "Score", "Total Points", "Percent",
+        "Correct Answers", "Total Questions", "Completion Time (s)", "Submitted At"
+    };
+
+    private static final int[] RESULT_WIDTHS = { 8, 20, 30, 10, 14, 10, 17, 17, 20, 20 };
+
+    @Autowired
+    private ResultExportRepository resultExportRepository;
+
+    @Autowired
+    private QuizStatsService quizStatsService;
+
+    // Write the results and statistics of one quiz as an XLSX workbook
+    // @param quizId the quiz ID
+    // @param quizName the quiz name (used for the results sheet name)
+    // @param out destination stream (not closed)
+    // @return number of result rows written
+    // @throws IOException if writing fails
+
+    @Transactional
+    public int exportQuizWorkbook(Long quizId, String quizName, OutputStream out) throws IOException {
+        if (quizId == null) {
+            throw new IllegalArgumentException("Quiz ID cannot be null");
+        }
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Styles styles = new Styles(workbook);
+
+            String sheetName = WorkbookUtil.createSafeSheetName(
+                quizName != null && !quizName.isBlank() ? quizName : "Quiz " + quizId);
+            Sheet results = workbook.createSheet(sheetName);
+            writeHeader(results, RESULT_HEADERS, RESULT_WIDTHS, styles.header);
+
+            int[] rowCount = { 0 };
+            resultExportRepository.forEachResultOfQuiz(quizId, result -> {
+                int index = ++rowCount[0];
+                Row row = results.createRow(index);
+                row.createCell(0).setCellValue(index);
+                setText(row, 1, result.getUsername());
+                setText(row, 2, result.getFullName());
+                row.createCell(3).setCellValue(result.getScore());
+                row.createCell(4).setCellValue(result.getTotalPoints());
+                if (result.getTotalPoints() > 0) {
+                    Cell percent = row.createCell(5);
+                    percent.setCellValue((double) result.getScore() / result.getTotalPoints());
+                    percent.setCellStyle(styles.percent);
+                }
+                setNumber(row, 6, result.getCorrectAnswers());
+                setNumber(row, 7, result.getTotalQuestions());
+                setNumber(row, 8, result.getCompletionTimeSeconds());
+                if (result.getSubmittedAt() != null) {
+                    Cell submitted = row.createCell(9);
+                    submitted.setCellValue(result.getSubmittedAt());
+                    submitted.setCellStyle(styles.dateTime);
+                }
+            });
+
+            writeStatisticsSheet(workbook.createSheet("Statistics"), quizId, styles);
+
+            workbook.write(out);
+            System.out.println("XLSX export: " + rowCount[0] + " results of quiz " + quizId);
+            return rowCount[0];
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+
+    // Summary figures from quiz_stats plus the score histogram
+    // Reads the maintained statistics row and sketches, so this costs no scan of the results
+
+    private void writeStatisticsSheet(Sheet sheet, Long quizId, Styles styles) {
+        writeHeader(sheet, new String[] { "Statistic", "Value" }, new int[] { 28, 14 }, styles.header);
+
+        QuizStats stats = quizStatsService.getStats(quizId);
+        Quartiles scores = Quartiles.of(quizStatsService.getScoreSketch(quizId));
+        Quartiles times = Quartiles.of(quizStatsService.getCompletionTimeSketch(quizId));
+
+        int index = 1;
+        index = statRow(sheet, index, "Results", stats.getResultCount(), styles.integer);
+        index = statRow(sheet, index, "Average Score", stats.getAverageScore(), styles.decimal);
+        index = statRow(sheet, index, "Standard Deviation", stats.getStandardDeviation(), styles.decimal);
+        index = statRow(sheet, index, "Lowest Score", stats.getMinScore(), styles.integer);
+        index = statRow(sheet, index, "Highest Score", stats.getMaxScore(), styles.integer);
+        if (scores != null) {
+            index = statRow(sheet, index, "Score Q1", scores.getLowerQuartile(), styles.decimal);
+            index = statRow(sheet, index, "Score Median", scores.getMedian(), styles.decimal);
+            index = statRow(sheet, index, "Score Q3", scores.getUpperQuartile(), styles.decimal);
+        }
+        if (times != null) {
+            index = statRow(sheet, index, "Median Completion Time (s)", times.getMedian(), styles.decimal);
+        }
+
+        index++;
+        Row histogramHeader = sheet.createRow(index++);
+        setText(histogramHeader, 0, "Score Range (% of total)").setCellStyle(styles.header);
+        setText(histogramHeader, 1, "Results").setCellStyle(styles.header);
+        int[] histogram = stats.getHistogram();
+        int buckets = QuizStats.HISTOGRAM_BUCKETS;
+        int width = 100 / buckets;
+        for (int b = 0; b < buckets; b++) {
+            String range = b == buckets - 1
+                ? (b * width) + "-100%"
+                : (b * width) + "-" + ((b + 1) * width - 1) + "%";
+            index = statRow(sheet, index, range, histogram != null ? histogram[b] : 0, styles.integer);
+        }
+    }
+
+    private static int statRow(Sheet sheet, int index, String label, Number value, CellStyle style) {
+        Row row = sheet.createRow(index);
+        setText(row, 0, label);
+        if (value != null && !Double.isNaN(value.doubleValue())) {
+            Cell cell = row.createCell(1);
+            cell.setCellValue(value.doubleValue());
+            cell.setCellStyle(style);
+        }
+        return index + 1;
+    }
+
+    private static void writeHeader(Sheet sheet, String[] headers, int[] widths, CellStyle style) {
+        Row header = sheet.createRow(0);
+        for (int c = 0; c < headers.length; c++) {
+            setText(header, c, headers[c]).setCellStyle(style);
+            sheet.setColumnWidth(c, widths[c] * 256);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    private static Cell setText(Row row, int column, String value) {
+        Cell cell = row.createCell(column);
+        if (value != null) {
+            cell.setCellValue(value);
+        }
+        return cell;
+    }
+
+    private static void setNumber(Row row, int column, Integer value) {
+        if (value != null) {
+            row.createCell(column).setCellValue(value);
+        }
+    }
+
+    // Cell styles shared by every row (a workbook allows only ~64k styles)
+
+    private static final class Styles {
+        final CellStyle header;
+        final CellStyle percent;
+        final CellStyle decimal;
+        final CellStyle integer;
+        final CellStyle dateTime;
+
+        Styles(SXSSFWorkbook workbook) {
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            header = workbook.createCellStyle();
+            header.setFont(bold);
+
+            percent = workbook.createCellStyle();
+            percent.setDataFormat(workbook.createDataFormat().getFormat("0.0%"));
+
+            decimal = workbook.createCellStyle();
+            decimal.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+
+            integer = workbook.createCellStyle();
+            integer.setDataFormat(workbook.createDataFormat().getFormat("0"));
+
+            dateTime = workbook.createCellStyle();
+            dateTime.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.entity.StudentProgress;
+import com.se.quiz.quiz_management_system.entity.StudentQuizResult;
+import com.se.quiz.quiz_management_system.model.KllSketch;
+import com.se.quiz.quiz_management_system.repository.StudentProgressRepository;
+import com.se.quiz.quiz_management_system.repository.StudentQuizResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+    // StudentProgressService - Maintains the per-student progress summary row
+    // A submission folds its single result into the locked student_progress row, so the
+    // dashboard never recomputes averages, trend or best/worst from the history. Corrections
+    // (delete / score change / regrade) drop the row instead, and the next read rebuilds it with
+    // one ordered history query. Both paths fold the same values in the same order, so a rebuilt
+    // row equals the incrementally maintained one.
+    // The class percentile is always computed on read, from the results the caller already
+    // loaded, against each quiz's current score sketch (revalidated for all of the student's
+    // quizzes with one version query). It reflects everyone who submitted since, never depends
+    // on cache or rebuild timing, and reading it costs no history query.
+
+@Service
+public class StudentProgressService {
+
+    // Student IDs per bulk delete statement
+    private static final int INVALIDATE_CHUNK = 1000;
+
+    @Autowired
+    private StudentProgressRepository progressRepository;
+
+    @Autowired
+    private StudentQuizResultRepository resultRepository;
+
+    @Autowired
+    private QuizStatsService quizStatsService;
+
+    // Record a newly saved result (call after the result is saved)
+    // @param result the saved result
+
+    @Transactional
+    public void recordAdded(StudentQuizResult result) {
+        Long studentId = result.getStudentId();
+        if (progressRepository.insertIfAbsent(studentId) == 1) {
+            // First touch: the rebuild already includes the new result
+            rebuild(studentId);
+            return;
+        }
+
+        StudentProgress progress = progressRepository.findForUpdate(studentId).orElseThrow();
+        int score = result.getScore() != null ? result.getScore() : 0;
+        progress.add(StudentProgress.percentOf(score, result.getTotalPoints()), result.getSubmittedAt());
+    }
+
+    // Drop a student's summary after one of their results was deleted or rescored
+    // @param studentId the student ID
+
+    @Transactional
+    public void invalidate(Long studentId) {
+        if (studentId != null && progressRepository.existsById(studentId)) {
+            progressRepository.deleteById(studentId);
+        }
+    }
+
+    // Drop the summaries of several students (e.g. after a bulk regrade)
+    // @param studentIds the student IDs
+
+    @Transactional
+    public void invalidateAll(Collection<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return;
+        }
+        // Chunked to stay well below the driver's bind parameter limit
+        List<Long> ids = new ArrayList<>(studentIds);
+        for (int from = 0; from < ids.size(); from += INVALIDATE_CHUNK) {
+            progressRepository.deleteByStudentIds(ids.subList(from, Math.min(ids.size(), from + INVALIDATE_CHUNK)));
+        }
+    }
+
+    // Drop the summaries of every student who took a quiz (call before the quiz is deleted)
+    // @param quizId the quiz ID
+
+    @Transactional
+    public void invalidateQuiz(Long quizId) {
+        progressRepository.deleteByQuizId(quizId);
+    }
+
+    // Get a student's progress summary, rebuilding it if it was dropped
+    // The average class percentile is computed from the given results against the current
+    // score sketches; the history is only queried when the row has to be rebuilt
+    // @param studentId the student ID
+    // @param results the student's results (already loaded by the caller)
+    // @return the progress summary (resultCount 0 if the student has no results)
+
+    @Transactional
+    public StudentProgress getProgress(Long studentId, Collection<StudentQuizResult> results) {
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student ID cannot be null");
+        }
+        StudentProgress progress = progressRepository.findById(studentId).orElseGet(() -> rebuild(studentId));
+        progress.setAveragePercentile(averageClassPercentile(results));
+        return progress;
+    }
+
+    // Recompute a student's summary from their results in submission order
+    // @param studentId the student ID
+    // @return the rebuilt summary
+
+    @Transactional
+    public StudentProgress rebuild(Long studentId) {
+        progressRepository.insertIfAbsent(studentId);
+        StudentProgress progress = progressRepository.findForUpdate(studentId).orElseThrow();
+
+        StudentProgress fresh = new StudentProgress(studentId);
+        for (Object[] row : resultRepository.findProgressEntriesByStudentId(studentId)) {
+            fresh.add(StudentProgress.percentOf((Integer) row[1], (Integer) row[2]), (LocalDateTime) row[3]);
+        }
+
+        progress.setResultCount(fresh.getResultCount());
+        progress.setPercentSum(fresh.getPercentSum());
+        progress.setIndexedPercentSum(fresh.getIndexedPercentSum());
+        progress.setRollingPercent(fresh.getRollingPercent());
+        progress.setBestPercent(fresh.getBestPercent());
+        progress.setWorstPercent(fresh.getWorstPercent());
+        progress.setLastSubmittedAt(fresh.getLastSubmittedAt());
+        return progress;
+    }
+
+    // Mean class percentile of a student's results against the current score sketches
+    // @param results the student's results
+    // @return the mean percentile (0-100), or null without results
+
+    private Double averageClassPercentile(Collection<StudentQuizResult> results) {
+        if (results == null || results.isEmpty()) {
+            return null;
+        }
+        Set<Long> quizIds = new HashSet<>();
+        for (StudentQuizResult result : results) {
+            quizIds.add(result.getQuizId());
+        }
+        Map<Long, KllSketch> sketches = quizStatsService.getScoreSketches(quizIds);
+        double sum = 0;
+        for (StudentQuizResult result : results) {
+            int score = result.getScore() != null ? result.getScore() : 0;
+            sum += classPercentile(sketches.get(result.getQuizId()), score);
+        }
+        return sum / results.size();
+    }
+
+    // Share of the quiz's results at or below a score (0-100); 100 when the sketch is empty
+
+    private static double classPercentile(KllSketch sketch, int score) {
+        return sketch == null || sketch.isEmpty() ? 100.0 : sketch.rank(score) * 100.0;
+    }
+}
@@ -4,11 +4,14 @@ import com.se.quiz.quiz_management_system.model.ImportResult;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
@@ -18,6 +21,8 @@ import javafx.stage.StageStyle;
 import javafx.stage.Window;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * JavaFXHelper - Utility class for JavaFX UI operations
@@ -283,5 +288,54 @@ public class JavaFXHelper {
         
         showModernDialog(Alert.AlertType.ERROR, title, null, fullMessage, false);
     }
+    
+    /**
+     * Create a loading placeholder (spinner and message), e.g. for TableView.setPlaceholder
+     * @param message the text shown next to the spinner
+     * @return the placeholder node
+     */
+    public static Node loadingPlaceholder(String message) {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setPrefSize(28, 28);
+        Label label = new Label(message);
+        label.getStyleClass().add("loading-label");
+        HBox box = new HBox(12, indicator, label);
+        box.setAlignment(Pos.CENTER);
+        box.setPadding(new Insets(30));
+        return box;
+    }
+    
+    /**
+     * Create grey skeleton cards shown in a card list while its data is loading
+     * @param count the number of skeleton cards
+     * @param height the height of each card
+     * @return the skeleton cards
+     */
+    public static List<Node> skeletonCards(int count, double height) {
+        List<Node> cards = skeletonCards(count, Region.USE_COMPUTED_SIZE, height);
+        for (Node card : cards) {
+            ((Region) card).setMaxWidth(Double.MAX_VALUE);
+            VBox.setMargin(card, new Insets(6, 0, 6, 0));
+        }
+        return cards;
+    }
+    
+    /**
+     * Create fixed-size grey skeleton cards, e.g. for a FlowPane of cards
+     * @param count the number of skeleton cards
+     * @param width the width of each card
+     * @param height the height of each card
+     * @return the skeleton cards
+     */
+    public static List<Node> skeletonCards(int count, double width, double height) {
+        List<Node> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Region card = new Region();
+            card.getStyleClass().add("skeleton-card");
+            card.setPrefSize(width, height);
+            card.setMinHeight(height);
+            cards.add(card);
+        }
+        return cards;
+    }
 }
-
@@ -0,0 +1,160 @@
+package com.se.quiz.quiz_management_system.util;
+
+import java.util.Arrays;
+
+    // LongIntHashMap - Open-addressing hash map from long keys to int values
+    // Avoids boxing Long/Integer for ID -> index lookups over large result sets.
+    // Linear probing with backward-shift deletion; not thread-safe.
+
+public final class LongIntHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private boolean hasEmptyKey;
+    private int emptyKeyValue;
+
+    // Create a map
+    // @param expectedSize expected number of entries
+    // @param missingValue value returned by get() for absent keys
+
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Get the value of a key, or the missing value
+    // @param key the key
+    // @return the value
+
+    public int get(long key) {
+        if (key == EMPTY) {
+            return hasEmptyKey ? emptyKeyValue : missingValue;
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    // Associate a value with a key
+    // @param key the key
+    // @param value the value
+    // @return the previous value, or the missing value
+
+    public int put(long key, int value) {
+        if (key == EMPTY) {
+            int previous = hasEmptyKey ? emptyKeyValue : missingValue;
+            if (!hasEmptyKey) {
+                size++;
+            }
+            hasEmptyKey = true;
+            emptyKeyValue = value;
+            return previous;
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            grow();
+        }
+        return missingValue;
+    }
+
+    // Remove a key
+    // @param key the key
+    // @return the removed value, or the missing value
+
+    public int remove(long key) {
+        if (key == EMPTY) {
+            if (!hasEmptyKey) {
+                return missingValue;
+            }
+            hasEmptyKey = false;
+            size--;
+            return emptyKeyValue;
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                shiftBack(slot, mask);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    // Close the gap left at slot so later probes still find displaced keys
+
+    private void shiftBack(int gap, int mask) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = slot(key, mask);
+            // Move the entry if its home is not cyclically within (gap, slot]
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,79 @@
+package com.se.quiz.quiz_management_system.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+    // QuestionIdCodec - Compact binary encoding for per-attempt question ID lists
+    // Format: varint(count) followed by zigzag varint deltas between consecutive IDs
+    // Drawn IDs are mostly increasing and close together, so a 50-question draw
+    // typically fits in ~60-100 bytes instead of 400 bytes of raw longs
+
+public final class QuestionIdCodec {
+
+    // Private constructor to prevent instantiation
+    private QuestionIdCodec() {
+    }
+
+    // Encode question IDs (order is preserved)
+    // @param ids the question IDs
+    // @return encoded bytes
+
+    public static byte[] encode(long[] ids) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4 + ids.length * 2);
+        writeVarint(out, ids.length);
+        long previous = 0;
+        for (long id : ids) {
+            long delta = id - previous;
+            writeVarint(out, (delta << 1) ^ (delta >> 63)); // zigzag
+            previous = id;
+        }
+        return out.toByteArray();
+    }
+
+    // Decode question IDs produced by encode()
+    // @param data encoded bytes (null returns an empty array)
+    // @return question IDs in their original order
+    // @throws IllegalArgumentException if the data is truncated
+
+    public static long[] decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return new long[0];
+        }
+        int[] cursor = {0};
+        int count = (int) readVarint(data, cursor);
+        long[] ids = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long zigzag = readVarint(data, cursor);
+            long delta = (zigzag >>> 1) ^ -(zigzag & 1);
+            previous += delta;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] data, int[] cursor) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            if (cursor[0] >= data.length || shift > 63) {
+                throw new IllegalArgumentException("Malformed question ID list: " + Arrays.toString(
+                    Arrays.copyOf(data, Math.min(data.length, 16))));
+            }
+            byte b = data[cursor[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.se.quiz.quiz_management_system.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+    // TransactionHooks - Run in-memory cache updates only once the database change is committed
+
+public final class TransactionHooks {
+
+    // Private constructor to prevent instantiation
+    private TransactionHooks() {
+    }
+
+    // Run an action after the current transaction commits (immediately if there is none)
+    // Rolled-back transactions never run the action
+    // @param action the action to run
+
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Run an action once the data read by the current transaction is known to be committed:
+    // immediately in a read-only transaction (or none), after commit in a writing one
+    // Used to cache loaded state, so a rolled-back change never ends up in a cache
+    // @param action the action to run
+
+    public static void whenCommitted(Runnable action) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            action.run();
+            return;
+        }
+        afterCommit(action);
+    }
+}
@@ -0,0 +1,263 @@
+package com.se.quiz.quiz_management_system.util;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+    // VirtualCardGrid - Scrollable grid of fixed-size cards that only builds the visible ones
+    // Items are split into rows of as many cards as fit the width, and the rows are shown by a
+    // ListView. The ListView only creates cells for the rows in the viewport and reuses them
+    // while scrolling, and each row cell creates its card nodes the first time it needs them,
+    // then only calls Card.update() with the next item. A grid of 500 results therefore keeps
+    // a few dozen card nodes in the scene graph instead of 500.
+    // Usable from FXML: <VirtualCardGrid fx:id="..." cardWidth="260" cardHeight="180" gap="20" />
+
+public class VirtualCardGrid<T> extends StackPane {
+
+    // Width kept free for the vertical scroll bar when computing the number of columns
+    private static final double SCROLL_BAR_RESERVE = 18;
+
+    // A reusable card: one node whose content is replaced for each item it shows
+
+    public interface Card<T> {
+
+        // @return the node added to the grid (created once per card)
+
+        Node getNode();
+
+        // Show an item in this card
+        // @param item the item to display
+
+        void update(T item);
+    }
+
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final ListView<List<T>> rows = new ListView<>();
+
+    private Supplier<? extends Card<T>> cardFactory;
+    private double cardWidth = 260;
+    private double cardHeight = 180;
+    private double gap = 20;
+    private int maxColumns = Integer.MAX_VALUE;
+    private Pos alignment = Pos.TOP_LEFT;
+    private int columns = 1;
+
+    public VirtualCardGrid() {
+        getStyleClass().add("virtual-card-grid");
+        rows.getStyleClass().add("virtual-card-grid-rows");
+        rows.setFocusTraversable(false);
+        rows.setCellFactory(list -> new RowCell());
+        getChildren().add(rows);
+
+        items.addListener((ListChangeListener<T>) change -> rebuildRows());
+        rows.widthProperty().addListener((obs, oldWidth, newWidth) -> {
+            int fitting = columnsFor(newWidth.doubleValue());
+            if (fitting != columns) {
+                columns = fitting;
+                rebuildRows();
+            }
+        });
+    }
+
+    // Items shown by the grid (replace them with setAll, the rows follow automatically)
+
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    // Show the given items and drop any placeholder
+    // @param newItems the items to show
+
+    public void setItems(List<T> newItems) {
+        items.setAll(newItems);
+    }
+
+    // Clear the grid and show a node instead (empty state, error message)
+    // @param placeholder the node to show while there are no items
+
+    public void showPlaceholder(Node placeholder) {
+        items.clear();
+        rows.setPlaceholder(placeholder);
+    }
+
+    // Clear the grid and show grey skeleton cards of the configured size while loading
+    // @param count the number of skeleton cards
+
+    public void showSkeletons(int count) {
+        double width = cardWidth > 0 ? cardWidth : Region.USE_COMPUTED_SIZE;
+        FlowPane skeletons = new FlowPane(gap, gap);
+        skeletons.setAlignment(alignment);
+        skeletons.setPadding(new Insets(0, SCROLL_BAR_RESERVE, 0, 0));
+        skeletons.getChildren().setAll(JavaFXHelper.skeletonCards(count, width, cardHeight));
+        if (cardWidth <= 0) {
+            for (Node skeleton : skeletons.getChildren()) {
+                ((Region) skeleton).prefWidthProperty().bind(skeletons.widthProperty().subtract(SCROLL_BAR_RESERVE));
+            }
+        }
+        showPlaceholder(skeletons);
+    }
+
+    // Set how cards are created; a card is only created when a visible row needs one
+    // @param cardFactory creates an empty card
+
+    public void setCardFactory(Supplier<? extends Card<T>> cardFactory) {
+        this.cardFactory = cardFactory;
+        rows.setCellFactory(list -> new RowCell());
+    }
+
+    // Card width in pixels; 0 or less makes a single column of full-width cards
+
+    public double getCardWidth() {
+        return cardWidth;
+    }
+
+    public void setCardWidth(double cardWidth) {
+        this.cardWidth = cardWidth;
+        relayoutRows();
+    }
+
+    public double getCardHeight() {
+        return cardHeight;
+    }
+
+    public void setCardHeight(double cardHeight) {
+        this.cardHeight = cardHeight;
+        relayoutRows();
+    }
+
+    // Space between cards, horizontally and vertically
+
+    public double getGap() {
+        return gap;
+    }
+
+    public void setGap(double gap) {
+        this.gap = gap;
+        relayoutRows();
+    }
+
+    // Upper bound for the number of cards per row (1 for a plain list of cards)
+
+    public int getMaxColumns() {
+        return maxColumns;
+    }
+
+    public void setMaxColumns(int maxColumns) {
+        if (maxColumns < 1) {
+            throw new IllegalArgumentException("maxColumns must be at least 1");
+        }
+        this.maxColumns = maxColumns;
+        relayoutRows();
+    }
+
+    // Position of the cards within a row
+
+    public Pos getCardAlignment() {
+        return alignment;
+    }
+
+    public void setCardAlignment(Pos alignment) {
+        this.alignment = alignment;
+        relayoutRows();
+    }
+
+    // Recompute columns and recreate the row cells after a size property changed
+
+    private void relayoutRows() {
+        columns = columnsFor(rows.getWidth());
+        rows.setCellFactory(list -> new RowCell());
+        rebuildRows();
+    }
+
+    private int columnsFor(double width) {
+        if (cardWidth <= 0 || width <= 0) {
+            return 1;
+        }
+        Insets insets = rows.getInsets();
+        double available = width - insets.getLeft() - insets.getRight() - SCROLL_BAR_RESERVE;
+        int fitting = (int) Math.floor((available + gap) / (cardWidth + gap));
+        return Math.max(1, Math.min(maxColumns, fitting));
+    }
+
+    // Split the items into rows of the current column count
+
+    private void rebuildRows() {
+        rows.setFixedCellSize(cardHeight + gap);
+        List<List<T>> chunks = new ArrayList<>((items.size() + columns - 1) / columns);
+        for (int from = 0; from < items.size(); from += columns) {
+            chunks.add(new ArrayList<>(items.subList(from, Math.min(from + columns, items.size()))));
+        }
+        rows.getItems().setAll(chunks);
+    }
+
+    // Row of cards; keeps its card nodes and refills them when the ListView reuses the cell
+
+    private final class RowCell extends ListCell<List<T>> {
+
+        private final HBox box = new HBox(gap);
+        private final List<Card<T>> cards = new ArrayList<>();
+
+        RowCell() {
+            box.setAlignment(alignment);
+            box.setPadding(new Insets(0, 0, gap, 0));
+        }
+
+        @Override
+        protected void updateItem(List<T> row, boolean empty) {
+            super.updateItem(row, empty);
+            setText(null);
+            if (empty || row == null || cardFactory == null) {
+                setGraphic(null);
+                return;
+            }
+
+            while (cards.size() < row.size()) {
+                cards.add(createCard());
+            }
+            for (int i = 0; i < cards.size(); i++) {
+                Card<T> card = cards.get(i);
+                boolean used = i < row.size();
+                if (used) {
+                    card.update(row.get(i));
+                }
+                card.getNode().setVisible(used);
+                card.getNode().setManaged(used);
+            }
+            setGraphic(box);
+        }
+
+        private Card<T> createCard() {
+            Card<T> card = cardFactory.get();
+            Node node = card.getNode();
+            if (node instanceof Region region) {
+                region.setMinHeight(cardHeight);
+                region.setPrefHeight(cardHeight);
+                region.setMaxHeight(cardHeight);
+                if (cardWidth > 0) {
+                    region.setMinWidth(cardWidth);
+                    region.setPrefWidth(cardWidth);
+                    region.setMaxWidth(cardWidth);
+                } else {
+                    region.setMaxWidth(Double.MAX_VALUE);
+                    HBox.setHgrow(region, Priority.ALWAYS);
+                }
+            }
+            box.getChildren().add(node);
+            return card;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- ============================================================
+-- ALTER TABLE: quiz_stats
+-- PURPOSE: Change counter used by every client to revalidate its in-memory
+--          leaderboards and quantile sketches (clients share this database)
+-- CRITICAL: Incremented in the same transaction as every change to the row
+--           (see QuizStatsService)
+-- ============================================================
+
+ALTER TABLE quiz_stats ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Comments for documentation
+COMMENT ON COLUMN quiz_stats.version IS 'Incremented on every change to the row';
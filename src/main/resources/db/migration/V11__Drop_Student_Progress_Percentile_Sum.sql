@@ -0,0 +1,10 @@
+-- ============================================================
+-- ALTER TABLE: student_progress
+-- PURPOSE: Stop storing class percentiles at submission time
+-- CRITICAL: The average class percentile is computed on read from the
+--           current quiz score sketches (see StudentProgressService), so a
+--           student's standing follows later submissions and rebuilds agree
+--           with incrementally maintained rows
+-- ============================================================
+
+ALTER TABLE student_progress DROP COLUMN IF EXISTS percentile_sum;
@@ -0,0 +1,11 @@
+-- ============================================================
+-- ALTER TABLE: student_quiz_result
+-- PURPOSE: Remember scores corrected by hand (ResultService.updateScore)
+-- CRITICAL: Bulk regrades skip these results and list them separately in
+--           the preview, so a regrade never undoes a manual correction
+-- ============================================================
+
+ALTER TABLE student_quiz_result ADD COLUMN IF NOT EXISTS score_overridden BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Comments for documentation
+COMMENT ON COLUMN student_quiz_result.score_overridden IS 'True once a teacher corrected the score by hand';
@@ -0,0 +1,13 @@
+-- ============================================================
+-- ALTER TABLE: quiz_stats
+-- PURPOSE: Row version the quantile sketches reflect. Submissions merge
+--          their score into the sketches after commit, outside the row
+--          lock taken for the counters (see QuizStatsService)
+-- CRITICAL: Sketches are only used while sketch_version = version; any
+--           other value makes the next read rebuild them from the results
+-- ============================================================
+
+ALTER TABLE quiz_stats ADD COLUMN IF NOT EXISTS sketch_version BIGINT NOT NULL DEFAULT 0;
+
+-- Comments for documentation
+COMMENT ON COLUMN quiz_stats.sketch_version IS 'Version of the row the score and time sketches reflect';
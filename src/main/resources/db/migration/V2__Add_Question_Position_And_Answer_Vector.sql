@@ -0,0 +1,29 @@
+-- ============================================================
+-- ALTER TABLE: quiz_question, student_quiz_result
+-- PURPOSE: Explicit question order per quiz + stored answers per attempt
+-- CRITICAL: Per-student shuffles are derived from (student_id, quiz_id, question_id)
+--           on top of this canonical order, so the position must never be renumbered
+--           once students have submitted
+-- ============================================================
+
+ALTER TABLE quiz_question ADD COLUMN IF NOT EXISTS position INTEGER;
+
+-- Backfill existing quizzes with their historical order (question_id ascending)
+UPDATE quiz_question qq
+SET position = ordered.rn - 1
+FROM (
+    SELECT quiz_id, question_id,
+           ROW_NUMBER() OVER (PARTITION BY quiz_id ORDER BY question_id) AS rn
+    FROM quiz_question
+) ordered
+WHERE qq.quiz_id = ordered.quiz_id
+  AND qq.question_id = ordered.question_id
+  AND qq.position IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_quiz_question_position ON quiz_question(quiz_id, position);
+
+ALTER TABLE student_quiz_result ADD COLUMN IF NOT EXISTS answer_vector TEXT;
+
+-- Comments for documentation
+COMMENT ON COLUMN quiz_question.position IS 'Canonical 0-based question order within the quiz';
+COMMENT ON COLUMN student_quiz_result.answer_vector IS 'Chosen original option letter per question in canonical order, - = unanswered';
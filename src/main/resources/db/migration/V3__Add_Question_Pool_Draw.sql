@@ -0,0 +1,20 @@
+-- ============================================================
+-- ALTER TABLE: quiz, question, student_quiz_result
+-- PURPOSE: "Draw N from pool" quizzes with optional stratification
+-- CRITICAL: drawn_question_ids stores the exact question set of each attempt
+--           (varint-delta encoded), so pool edits never change past attempts
+-- ============================================================
+
+ALTER TABLE quiz ADD COLUMN IF NOT EXISTS draw_count INTEGER;
+ALTER TABLE quiz ADD COLUMN IF NOT EXISTS draw_stratify_by VARCHAR(20);
+
+ALTER TABLE question ADD COLUMN IF NOT EXISTS tag VARCHAR(50);
+ALTER TABLE question ADD COLUMN IF NOT EXISTS difficulty INTEGER;
+
+ALTER TABLE student_quiz_result ADD COLUMN IF NOT EXISTS drawn_question_ids BYTEA;
+
+-- Comments for documentation
+COMMENT ON COLUMN quiz.number_of_question IS 'Size of the question pool';
+COMMENT ON COLUMN quiz.draw_count IS 'Questions drawn per attempt, NULL = whole pool';
+COMMENT ON COLUMN quiz.draw_stratify_by IS 'NONE, TAG or DIFFICULTY';
+COMMENT ON COLUMN student_quiz_result.drawn_question_ids IS 'Question IDs of the attempt (count + zigzag varint deltas), NULL = whole pool';
@@ -0,0 +1,29 @@
+-- ============================================================
+-- TABLE: regrade_audit
+-- PURPOSE: History of bulk regrades after answer-key corrections
+-- CRITICAL: answer_key keeps the exact key that was applied, so a regrade
+--           can be explained even after questions are edited again
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS regrade_audit (
+    audit_id BIGSERIAL PRIMARY KEY,
+    quiz_id BIGINT NOT NULL,
+    performed_by VARCHAR(100),
+    performed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    results_scanned INTEGER NOT NULL,
+    results_changed INTEGER NOT NULL,
+    score_delta BIGINT NOT NULL,
+    answer_key TEXT,
+
+    CONSTRAINT fk_regrade_audit_quiz
+        FOREIGN KEY (quiz_id)
+        REFERENCES quiz(quiz_id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_regrade_audit_quiz_id ON regrade_audit(quiz_id);
+
+-- Comments for documentation
+COMMENT ON TABLE regrade_audit IS 'One row per applied bulk regrade of a quiz';
+COMMENT ON COLUMN regrade_audit.score_delta IS 'Sum of (new score - old score) over changed results';
+COMMENT ON COLUMN regrade_audit.answer_key IS 'Applied key in canonical question order (A-D, ? = unknown)';
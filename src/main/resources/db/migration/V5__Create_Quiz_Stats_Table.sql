@@ -0,0 +1,46 @@
+-- ============================================================
+-- TABLE: quiz_stats
+-- PURPOSE: Incrementally maintained score summary per quiz
+-- CRITICAL: Updated in the same transaction as every result insert,
+--           score change and delete (see QuizStatsService)
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS quiz_stats (
+    quiz_id BIGINT PRIMARY KEY,
+    result_count BIGINT NOT NULL DEFAULT 0,
+    score_sum BIGINT NOT NULL DEFAULT 0,
+    score_sum_squares BIGINT NOT NULL DEFAULT 0,
+    min_score INTEGER,
+    max_score INTEGER,
+    histogram INTEGER[],
+
+    CONSTRAINT fk_quiz_stats_quiz
+        FOREIGN KEY (quiz_id)
+        REFERENCES quiz(quiz_id)
+        ON DELETE CASCADE
+);
+
+-- Backfill existing quizzes (10 buckets of 10% of total points, 100% in the last bucket)
+INSERT INTO quiz_stats (quiz_id, result_count, score_sum, score_sum_squares, min_score, max_score, histogram)
+SELECT r.quiz_id,
+       COUNT(*),
+       SUM(r.score),
+       SUM(r.score::BIGINT * r.score),
+       MIN(r.score),
+       MAX(r.score),
+       ARRAY(
+           SELECT COUNT(r2.result_id)::INTEGER
+           FROM generate_series(0, 9) AS b(bucket)
+           LEFT JOIN student_quiz_result r2
+               ON r2.quiz_id = r.quiz_id
+              AND LEAST(9, GREATEST(0, COALESCE(r2.score * 10 / NULLIF(r2.total_points, 0), 0))) = b.bucket
+           GROUP BY b.bucket
+           ORDER BY b.bucket
+       )
+FROM student_quiz_result r
+GROUP BY r.quiz_id
+ON CONFLICT (quiz_id) DO NOTHING;
+
+-- Comments for documentation
+COMMENT ON TABLE quiz_stats IS 'Per-quiz score summary maintained on every result change';
+COMMENT ON COLUMN quiz_stats.histogram IS 'Result count per 10% score bucket (index 9 includes 100%)';
@@ -0,0 +1,13 @@
+-- ============================================================
+-- ALTER TABLE: quiz_stats
+-- PURPOSE: Mergeable quantile sketches (KLL, k = 200) for percentile queries
+-- CRITICAL: Existing rows start with NULL sketches; they are rebuilt from
+--           student_quiz_result on the next change to the quiz's results
+-- ============================================================
+
+ALTER TABLE quiz_stats ADD COLUMN IF NOT EXISTS score_sketch BYTEA;
+ALTER TABLE quiz_stats ADD COLUMN IF NOT EXISTS time_sketch BYTEA;
+
+-- Comments for documentation
+COMMENT ON COLUMN quiz_stats.score_sketch IS 'Serialized KllSketch of score';
+COMMENT ON COLUMN quiz_stats.time_sketch IS 'Serialized KllSketch of completion_time_seconds';
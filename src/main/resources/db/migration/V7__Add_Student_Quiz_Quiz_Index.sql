@@ -0,0 +1,9 @@
+-- ============================================================
+-- INDEX: student_quiz(quiz_id)
+-- PURPOSE: Per-quiz completion counts and pending-student pages
+-- CRITICAL: The primary key (student_id, quiz_id) cannot serve lookups by quiz_id;
+--           the NOT EXISTS probe into student_quiz_result uses its
+--           (student_id, quiz_id) unique constraint index
+-- ============================================================
+
+CREATE INDEX IF NOT EXISTS idx_student_quiz_quiz_id ON student_quiz (quiz_id);
@@ -0,0 +1,31 @@
+-- ============================================================
+-- TABLE: student_progress
+-- PURPOSE: Incrementally maintained progress summary per student
+-- CRITICAL: Updated in the same transaction as every submission; deleting or
+--           rescoring a result deletes the row (see StudentProgressService)
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS student_progress (
+    student_id BIGINT PRIMARY KEY,
+    result_count INTEGER NOT NULL DEFAULT 0,
+    percent_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    indexed_percent_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    rolling_percent DOUBLE PRECISION,
+    best_percent DOUBLE PRECISION,
+    worst_percent DOUBLE PRECISION,
+    percentile_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    last_submitted_at TIMESTAMP,
+
+    CONSTRAINT fk_student_progress_student
+        FOREIGN KEY (student_id)
+        REFERENCES student(student_id)
+        ON DELETE CASCADE
+);
+
+-- No backfill: rows are built from student_quiz_result on first read
+
+-- Comments for documentation
+COMMENT ON TABLE student_progress IS 'Per-student progress summary (rolling average, trend, best/worst, class percentile)';
+COMMENT ON COLUMN student_progress.indexed_percent_sum IS 'Sum of attempt index (1..n) x score percentage, for the trend slope';
+COMMENT ON COLUMN student_progress.rolling_percent IS 'Exponential moving average of score percentage (~last 5 quizzes)';
+COMMENT ON COLUMN student_progress.percentile_sum IS 'Sum of class percentiles at submission time';
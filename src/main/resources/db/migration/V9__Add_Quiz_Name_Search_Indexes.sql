@@ -0,0 +1,15 @@
+-- ============================================================
+-- INDEXES: quiz(lower(quiz_name)) for the type-ahead quiz search
+-- PURPOSE: Keep name search fast with tens of thousands of quizzes
+-- CRITICAL: Queries must compare LOWER(quiz_name) (see QuizRepository.searchListItems)
+--           - terms of 1-2 characters use a 'term%' prefix pattern: B-tree with
+--             text_pattern_ops (usable for LIKE prefixes under any collation)
+--           - terms of 3+ characters use '%term%': pg_trgm GIN index (a plain
+--             B-tree cannot serve a leading wildcard)
+-- ============================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_quiz_name_lower_prefix ON quiz (lower(quiz_name) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_quiz_name_lower_trgm ON quiz USING gin (lower(quiz_name) gin_trgm_ops);
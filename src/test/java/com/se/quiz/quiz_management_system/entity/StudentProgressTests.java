@@ -0,0 +1,56 @@
+package com.se.quiz.quiz_management_system.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StudentProgressTests {
+
+	private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 4, 10, 0);
+
+	@Test
+	void rollingPercentIsExponentialMovingAverage() {
+		StudentProgress progress = new StudentProgress(1L);
+		progress.add(60, MONDAY);
+		assertEquals(60, progress.getRollingPercent(), 1e-9);
+
+		// alpha = 2 / (ROLLING_WINDOW + 1) = 1/3
+		progress.add(90, MONDAY.plusDays(1));
+		assertEquals(70, progress.getRollingPercent(), 1e-9);
+		progress.add(30, MONDAY.plusDays(2));
+		assertEquals(70 - 40.0 / 3, progress.getRollingPercent(), 1e-9);
+	}
+
+	@Test
+	void trendSlopeIsLeastSquaresPerQuiz() {
+		StudentProgress progress = new StudentProgress(1L);
+		progress.add(50, MONDAY);
+		assertNull(progress.getTrendSlope());
+
+		progress.add(60, MONDAY.plusDays(1));
+		progress.add(70, MONDAY.plusDays(2));
+		assertEquals(10, progress.getTrendSlope(), 1e-9);
+
+		progress.add(20, MONDAY.plusDays(3));
+		// x = 1..4, y = 50, 60, 70, 20: slope = (4 * 460 - 10 * 200) / (4 * 30 - 100)
+		assertEquals(-8, progress.getTrendSlope(), 1e-9);
+	}
+
+	@Test
+	void tracksAverageBestWorstAndLastSubmission() {
+		StudentProgress progress = new StudentProgress(1L);
+		progress.add(80, MONDAY.plusDays(2));
+		progress.add(40, MONDAY);
+
+		assertEquals(2, progress.getResultCount());
+		assertEquals(60, progress.getAveragePercent(), 1e-9);
+		assertEquals(80, progress.getBestPercent(), 1e-9);
+		assertEquals(40, progress.getWorstPercent(), 1e-9);
+		assertEquals(MONDAY.plusDays(2), progress.getLastSubmittedAt());
+		assertEquals(25.0, StudentProgress.percentOf(5, 20), 1e-9);
+		assertEquals(0.0, StudentProgress.percentOf(5, null), 1e-9);
+	}
+}
@@ -0,0 +1,61 @@
+package com.se.quiz.quiz_management_system.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class AttemptLayoutTests {
+
+	private static final long[] QUESTION_IDS = {11, 12, 13, 14, 15, 16, 17, 18, 19, 20};
+
+	@Test
+	void sameIdsProduceSameLayout() {
+		AttemptLayout first = AttemptLayout.forAttempt(7L, 3L, QUESTION_IDS);
+		AttemptLayout second = AttemptLayout.forAttempt(7L, 3L, QUESTION_IDS);
+
+		assertArrayEquals(order(first), order(second));
+		for (int p = 0; p < first.size(); p++) {
+			for (int slot = 0; slot < AttemptLayout.OPTION_COUNT; slot++) {
+				assertEquals(first.optionAt(p, slot), second.optionAt(p, slot));
+			}
+		}
+	}
+
+	@Test
+	void questionOrderIsPermutation() {
+		AttemptLayout layout = AttemptLayout.forAttempt(42L, 9L, QUESTION_IDS);
+		boolean[] seen = new boolean[QUESTION_IDS.length];
+		for (int p = 0; p < layout.size(); p++) {
+			int index = layout.questionIndexAt(p);
+			assertFalse(seen[index]);
+			seen[index] = true;
+		}
+	}
+
+	@Test
+	void optionSlotsRoundTrip() {
+		AttemptLayout layout = AttemptLayout.forAttempt(5L, 1L, QUESTION_IDS);
+		for (int p = 0; p < layout.size(); p++) {
+			for (int slot = 0; slot < AttemptLayout.OPTION_COUNT; slot++) {
+				assertEquals(slot, layout.slotOf(p, layout.optionAt(p, slot)));
+			}
+		}
+	}
+
+	@Test
+	void differentStudentsSeeDifferentOrders() {
+		AttemptLayout a = AttemptLayout.forAttempt(1L, 1L, QUESTION_IDS);
+		AttemptLayout b = AttemptLayout.forAttempt(2L, 1L, QUESTION_IDS);
+		assertFalse(java.util.Arrays.equals(order(a), order(b)));
+	}
+
+	private static int[] order(AttemptLayout layout) {
+		int[] order = new int[layout.size()];
+		for (int p = 0; p < order.length; p++) {
+			order[p] = layout.questionIndexAt(p);
+		}
+		return order;
+	}
+}
@@ -0,0 +1,58 @@
+package com.se.quiz.quiz_management_system.model;
+
+import com.se.quiz.quiz_management_system.service.GradebookService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradebookTests {
+
+	private Gradebook sampleGradebook() {
+		Gradebook gradebook = new Gradebook(new long[] { 10, 20, 30 }, new String[] { "Intro", "Loops, Arrays", "Final" }, 2);
+		gradebook.add(1, "alice", "Alice", 10, 8, 10);
+		gradebook.add(1, "alice", "Alice", 30, 15, 20);
+		gradebook.add(2, "bob", "Bob \"B\"", 20, 5, 10);
+		return gradebook;
+	}
+
+	@Test
+	void fillsDenseMatrix() {
+		Gradebook gradebook = sampleGradebook();
+
+		assertEquals(2, gradebook.rows());
+		assertEquals(8, gradebook.score(0, 0));
+		assertEquals(Gradebook.NOT_TAKEN, gradebook.score(0, 1));
+		assertEquals(15, gradebook.score(0, 2));
+		assertEquals(2, gradebook.takenCount(0));
+		assertEquals(11.5, gradebook.averageScore(0), 1e-9);
+		assertEquals(77.5, gradebook.averagePercent(0), 1e-9);
+		assertEquals(5.0, gradebook.quizAverage(1), 1e-9);
+	}
+
+	@Test
+	void rejectsUnknownQuizAndOverflow() {
+		Gradebook gradebook = sampleGradebook();
+
+		assertFalse(gradebook.add(1, "alice", "Alice", 99, 1, 1));
+		assertFalse(gradebook.add(3, "carol", "Carol", 10, 1, 1));
+		assertTrue(gradebook.add(2, "bob", "Bob", 10, 7, 10));
+		assertEquals(2, gradebook.rejectedCount());
+	}
+
+	@Test
+	void writesWideCsv() throws IOException {
+		StringWriter writer = new StringWriter();
+		GradebookService.writeCsv(sampleGradebook(), writer);
+
+		String[] lines = writer.toString().split("\n");
+		assertEquals("Student ID,Username,Full Name,Intro,\"Loops, Arrays\",Final,Quizzes Taken,Average Score,Average %", lines[0]);
+		assertEquals("1,alice,Alice,8,,15,2,11.50,77.50", lines[1]);
+		assertEquals("2,bob,\"Bob \"\"B\"\"\",,5,,1,5.00,50.00", lines[2]);
+		assertEquals(",,Quiz Average,8.00,5.00,15.00,,,", lines[3]);
+	}
+}
@@ -0,0 +1,46 @@
+package com.se.quiz.quiz_management_system.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KllSketchTests {
+
+	@Test
+	void ranksAndQuantilesStayWithinErrorBound() {
+		KllSketch sketch = new KllSketch();
+		Random random = new Random(11);
+		for (int i = 0; i < 100_000; i++) {
+			sketch.update(random.nextInt(10_000));
+		}
+
+		assertEquals(100_000, sketch.count());
+		assertEquals(0.25, sketch.rank(2_500), 0.02);
+		assertEquals(0.50, sketch.rank(5_000), 0.02);
+		assertEquals(7_500, sketch.quantile(0.75), 200);
+		assertTrue(sketch.toBytes().length < 4_096);
+	}
+
+	@Test
+	void serializationAndMergeRoundTrip() {
+		KllSketch first = new KllSketch();
+		KllSketch second = new KllSketch();
+		for (int i = 0; i < 5_000; i++) {
+			first.update(i);
+			second.update(5_000 + i);
+		}
+
+		KllSketch restored = KllSketch.fromBytes(first.toBytes());
+		assertEquals(first.count(), restored.count());
+		assertEquals(first.quantile(0.5), restored.quantile(0.5));
+
+		restored.merge(second);
+		assertEquals(10_000, restored.count());
+		assertEquals(0, restored.getMin());
+		assertEquals(9_999, restored.getMax());
+		assertEquals(5_000, restored.quantile(0.5), 250);
+	}
+}
@@ -0,0 +1,74 @@
+package com.se.quiz.quiz_management_system.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTests {
+
+	@Test
+	void durationsLandInFrameBudgetBuckets() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(0);
+		histogram.record(16.6);
+		histogram.record(16.7);
+		histogram.record(120);
+		histogram.record(5000);
+
+		assertEquals(5, histogram.getCount());
+		assertEquals(2, histogram.getBucket(0));
+		assertEquals(1, histogram.getBucket(1));
+		assertEquals(1, histogram.getBucket(4));
+		assertEquals(1, histogram.getBucket(LatencyHistogram.getBucketCount() - 1));
+		assertEquals(5000, histogram.getMax());
+	}
+
+	@Test
+	void percentilesReportBucketUpperBound() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 98; i++) {
+			histogram.record(5);
+		}
+		histogram.record(300);
+		histogram.record(2500);
+
+		assertEquals(16.7, histogram.percentile(50), 1e-9);
+		assertEquals(16.7, histogram.percentile(98), 1e-9);
+		assertEquals(500, histogram.percentile(99), 1e-9);
+		assertEquals(2500, histogram.percentile(100), 1e-9);
+		assertEquals(0, new LatencyHistogram().percentile(95));
+	}
+
+	@Test
+	void percentileNeverExceedsMaximum() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(3);
+
+		assertEquals(3, histogram.percentile(95), 1e-9);
+	}
+
+	@Test
+	void snapshotStartsNewWindow() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(40);
+		histogram.record(700);
+
+		LatencyHistogram window = histogram.snapshotAndReset();
+
+		assertEquals(2, window.getCount());
+		assertEquals(700, window.getMax());
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertTrue(window.format().startsWith("n=2 "));
+		assertTrue(window.format().contains("<1000:1"));
+	}
+
+	@Test
+	void rejectsInvalidInput() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+		assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+	}
+}
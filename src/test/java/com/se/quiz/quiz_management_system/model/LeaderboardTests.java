@@ -0,0 +1,64 @@
+package com.se.quiz.quiz_management_system.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LeaderboardTests {
+
+	@Test
+	void ordersByScoreThenTime() {
+		Leaderboard board = new Leaderboard(4);
+		board.put(1, 100, 70, 300);
+		board.put(2, 200, 90, 500);
+		board.put(3, 300, 90, 200);
+		board.put(4, 400, 50, null);
+
+		assertEquals(1, board.rankOf(300));
+		assertEquals(2, board.rankOf(200));
+		assertEquals(3, board.rankOf(100));
+		assertEquals(4, board.rankOf(400));
+		assertEquals(0, board.rankOf(999));
+		assertEquals(300, board.top(1).get(0).getStudentId());
+	}
+
+	@Test
+	void matchesSortedListUnderRandomUpdates() {
+		Leaderboard board = new Leaderboard(16);
+		Map<Long, long[]> expected = new HashMap<>(); // studentId -> {resultId, score, time}
+		Random random = new Random(3);
+		for (int step = 0; step < 5000; step++) {
+			long student = random.nextInt(300);
+			if (random.nextInt(4) == 0) {
+				board.remove(student);
+				expected.remove(student);
+			} else {
+				long resultId = step;
+				int score = random.nextInt(11) * 10;
+				int time = random.nextInt(50);
+				board.put(resultId, student, score, time);
+				expected.put(student, new long[]{resultId, score, time});
+			}
+		}
+
+		List<Map.Entry<Long, long[]>> sorted = new ArrayList<>(expected.entrySet());
+		sorted.sort(Comparator.<Map.Entry<Long, long[]>>comparingLong(e -> -e.getValue()[1])
+			.thenComparingLong(e -> e.getValue()[2])
+			.thenComparingLong(e -> e.getValue()[0]));
+
+		assertEquals(sorted.size(), board.size());
+		List<Leaderboard.Entry> top = board.top(sorted.size());
+		for (int i = 0; i < sorted.size(); i++) {
+			long student = sorted.get(i).getKey();
+			assertEquals(i + 1, board.rankOf(student));
+			assertEquals(student, top.get(i).getStudentId());
+		}
+	}
+}
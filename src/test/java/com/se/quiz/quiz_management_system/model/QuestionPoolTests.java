@@ -0,0 +1,115 @@
+package com.se.quiz.quiz_management_system.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionPoolTests {
+
+	private static long[] ids(int count) {
+		long[] ids = new long[count];
+		for (int i = 0; i < count; i++) {
+			ids[i] = 100 + i * 3;
+		}
+		return ids;
+	}
+
+	@Test
+	void drawHasRequestedSizeAndDistinctIds() {
+		QuestionPool pool = QuestionPool.of(ids(200), null);
+		for (long seed = 0; seed < 50; seed++) {
+			long[] drawn = pool.draw(seed, 40);
+			assertEquals(40, drawn.length);
+
+			Set<Long> distinct = new HashSet<>();
+			for (long id : drawn) {
+				assertTrue(distinct.add(id), "duplicate question " + id);
+			}
+		}
+	}
+
+	@Test
+	void drawKeepsCanonicalOrder() {
+		long[] drawn = QuestionPool.of(ids(100), null).draw(17L, 30);
+		for (int i = 1; i < drawn.length; i++) {
+			assertTrue(drawn[i - 1] < drawn[i]);
+		}
+	}
+
+	@Test
+	void drawIsDeterministicPerSeed() {
+		QuestionPool pool = QuestionPool.of(ids(100), null);
+		assertArrayEquals(pool.draw(42L, 25), pool.draw(42L, 25));
+		assertFalse(Arrays.equals(pool.draw(42L, 25), pool.draw(43L, 25)));
+	}
+
+	@Test
+	void drawOfWholePoolOrMoreReturnsAllIds() {
+		QuestionPool pool = QuestionPool.of(ids(10), null);
+		assertArrayEquals(ids(10), pool.draw(1L, 10));
+		assertArrayEquals(ids(10), pool.draw(1L, 15));
+		assertEquals(0, pool.draw(1L, 0).length);
+	}
+
+	@Test
+	void strataReceiveProportionalQuotas() {
+		// 60 "easy", 30 "medium", 10 untagged questions, interleaved in canonical order
+		long[] ids = ids(100);
+		Object[] keys = new Object[100];
+		Map<Long, Object> keyOf = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			keys[i] = i % 10 < 6 ? "easy" : i % 10 < 9 ? "medium" : null;
+			keyOf.put(ids[i], keys[i] != null ? keys[i] : "none");
+		}
+		QuestionPool pool = QuestionPool.of(ids, keys);
+		assertEquals(3, pool.strataCount());
+
+		for (long seed = 0; seed < 20; seed++) {
+			Map<Object, Integer> counts = new HashMap<>();
+			for (long id : pool.draw(seed, 20)) {
+				counts.merge(keyOf.get(id), 1, Integer::sum);
+			}
+			assertEquals(12, counts.get("easy"));
+			assertEquals(6, counts.get("medium"));
+			assertEquals(2, counts.get("none"));
+		}
+	}
+
+	@Test
+	void largestRemainderRoundsQuotasToDrawSize() {
+		// Strata of 6, 3 and 1 questions: exact shares for 5 are 3, 1.5 and 0.5;
+		// the tied remainder goes to the first stratum in pool order
+		Object[] keys = {"a", "a", "a", "a", "a", "a", "b", "b", "b", "c"};
+		QuestionPool pool = QuestionPool.of(ids(10), keys);
+
+		long[] all = ids(10);
+		for (long seed = 0; seed < 20; seed++) {
+			int a = 0;
+			int b = 0;
+			int c = 0;
+			for (long id : pool.draw(seed, 5)) {
+				int index = (int) ((id - 100) / 3);
+				assertEquals(all[index], id);
+				if (index < 6) {
+					a++;
+				} else if (index < 9) {
+					b++;
+				} else {
+					c++;
+				}
+			}
+			assertEquals(3, a);
+			assertEquals(2, b);
+			assertEquals(0, c);
+		}
+	}
+}
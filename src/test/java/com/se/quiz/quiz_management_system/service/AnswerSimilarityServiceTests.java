@@ -0,0 +1,57 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.model.ResponseMatrix;
+import com.se.quiz.quiz_management_system.model.SimilarityReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerSimilarityServiceTests {
+
+	@Test
+	void findsCopiedWrongAnswersInSmallCohort() {
+		SimilarityReport report = AnswerSimilarityService.detect(1L, cohort(200, 40));
+
+		assertEquals(1, report.getPairs().size());
+		SimilarityReport.SuspiciousPair pair = report.getPairs().get(0);
+		assertEquals(0, pair.getStudentIdA());
+		assertEquals(1, pair.getStudentIdB());
+	}
+
+	@Test
+	void findsCopiedWrongAnswersThroughLsh() {
+		SimilarityReport report = AnswerSimilarityService.detect(1L, cohort(5000, 60));
+
+		assertTrue(report.getPairsCompared() < 5000L * 4999 / 2 / 10);
+		assertEquals(1, report.getPairs().size());
+		assertEquals(0, report.getPairs().get(0).getStudentIdA());
+		assertEquals(1, report.getPairs().get(0).getStudentIdB());
+	}
+
+	// Random independent answers (key = A everywhere), except student 1 copies student 0
+
+	private static ResponseMatrix cohort(int students, int items) {
+		long[] ids = new long[items];
+		for (int i = 0; i < items; i++) {
+			ids[i] = i + 1;
+		}
+		ResponseMatrix matrix = new ResponseMatrix(ids, new byte[items]);
+		Random random = new Random(7);
+		char[] vector = new char[items];
+		String copied = null;
+		for (int s = 0; s < students; s++) {
+			for (int i = 0; i < items; i++) {
+				vector[i] = random.nextDouble() < 0.5 ? 'A' : (char) ('B' + random.nextInt(3));
+			}
+			String answers = s == 1 ? copied : new String(vector);
+			if (s == 0) {
+				copied = answers;
+			}
+			matrix.addAttempt(s, s, answers, null);
+		}
+		return matrix;
+	}
+}
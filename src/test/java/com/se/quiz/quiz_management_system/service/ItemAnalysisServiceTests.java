@@ -0,0 +1,79 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.model.ItemAnalysis;
+import com.se.quiz.quiz_management_system.model.ResponseMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemAnalysisServiceTests {
+
+	private static final long[] QUESTION_IDS = {1, 2, 3};
+	private static final byte[] ANSWER_KEY = {0, 0, 0};
+
+	@Test
+	void computesDifficultyDistractorsAndAlpha() {
+		ResponseMatrix matrix = new ResponseMatrix(QUESTION_IDS, ANSWER_KEY);
+		matrix.addAttempt(1, 1, "AAA", null);
+		matrix.addAttempt(2, 2, "AAB", null);
+		matrix.addAttempt(3, 3, "ABB", null);
+		matrix.addAttempt(4, 4, "BB-", null);
+
+		ItemAnalysis analysis = ItemAnalysisService.analyze(9L, matrix, null);
+
+		assertEquals(4, analysis.getAttemptCount());
+		assertEquals(4, analysis.getFullFormCount());
+		assertEquals(0.75, analysis.getItems().get(0).getPValue(), 1e-9);
+		assertEquals(0.50, analysis.getItems().get(1).getPValue(), 1e-9);
+		assertEquals(0.25, analysis.getItems().get(2).getPValue(), 1e-9);
+		assertEquals(0.50, analysis.getItems().get(2).getOptionRate(1), 1e-9);
+		assertEquals(0.25, analysis.getItems().get(2).getBlankRate(), 1e-9);
+		// Item variances sum to 0.625, total-score variance is 1.25
+		assertEquals(0.75, analysis.getCronbachAlpha(), 1e-9);
+		for (ItemAnalysis.ItemStatistics item : analysis.getItems()) {
+			assertTrue(item.getPointBiserial() > 0);
+		}
+	}
+
+	@Test
+	void drawnAttemptsOnlyCountPresentedQuestions() {
+		ResponseMatrix matrix = new ResponseMatrix(QUESTION_IDS, ANSWER_KEY);
+		matrix.addAttempt(1, 1, "AB", new int[]{0, 2});
+		matrix.addAttempt(2, 2, "AAA", null);
+
+		ItemAnalysis analysis = ItemAnalysisService.analyze(9L, matrix, null);
+
+		assertEquals(1, analysis.getFullFormCount());
+		assertEquals(2, analysis.getItems().get(0).getSeenCount());
+		assertEquals(1, analysis.getItems().get(1).getSeenCount());
+		assertEquals(0.5, analysis.getItems().get(2).getPValue(), 1e-9);
+	}
+
+	@Test
+	void handlesLargeMatrix() {
+		int items = 100;
+		long[] ids = new long[items];
+		byte[] key = new byte[items];
+		for (int i = 0; i < items; i++) {
+			ids[i] = i + 1;
+		}
+		ResponseMatrix matrix = new ResponseMatrix(ids, key);
+		Random random = new Random(1);
+		char[] vector = new char[items];
+		for (int row = 0; row < 50_000; row++) {
+			double ability = random.nextDouble();
+			for (int i = 0; i < items; i++) {
+				vector[i] = random.nextDouble() < ability ? 'A' : (char) ('B' + random.nextInt(3));
+			}
+			matrix.addAttempt(row, row, new String(vector), null);
+		}
+
+		ItemAnalysis analysis = ItemAnalysisService.analyze(1L, matrix, null);
+
+		assertEquals(50_000, analysis.getAttemptCount());
+		assertTrue(analysis.getCronbachAlpha() > 0.9);
+	}
+}
@@ -0,0 +1,69 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.model.AttemptLayout;
+import com.se.quiz.quiz_management_system.model.QuestionView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionWindowTests {
+
+	private static final long[] QUESTION_IDS = { 11, 12, 13, 14, 15 };
+
+	private static AttemptLayout layout() {
+		return AttemptLayout.forAttempt(1L, 2L, QUESTION_IDS);
+	}
+
+	private static List<QuestionView> views(List<Long> ids) {
+		List<QuestionView> views = new ArrayList<>();
+		for (Long id : ids) {
+			views.add(new QuestionView(id, "Question " + id, "A", "B", "C", "D"));
+		}
+		return views;
+	}
+
+	@Test
+	void returnsQuestionsInLayoutOrder() {
+		AttemptLayout layout = layout();
+		QuestionWindow window = new QuestionWindow(layout, QuestionWindowTests::views, 2);
+
+		for (int p = 0; p < layout.size(); p++) {
+			assertEquals(layout.questionIdAt(p), window.get(p).getQuestionId());
+		}
+		window.close();
+	}
+
+	@Test
+	void failedPageIsRetriedOnce() {
+		AtomicInteger calls = new AtomicInteger();
+		Function<List<Long>, List<QuestionView>> flaky = ids -> {
+			if (calls.getAndIncrement() == 0) {
+				throw new IllegalStateException("connection reset");
+			}
+			return views(ids);
+		};
+		AttemptLayout layout = layout();
+		QuestionWindow window = new QuestionWindow(layout, flaky, 10);
+
+		assertEquals(layout.questionIdAt(0), window.get(0).getQuestionId());
+		assertEquals(2, calls.get());
+		window.close();
+	}
+
+	@Test
+	void missingQuestionFailsWithClearError() {
+		Function<List<Long>, List<QuestionView>> incomplete = ids -> views(ids.subList(1, ids.size()));
+		QuestionWindow window = new QuestionWindow(layout(), incomplete, 10);
+
+		IllegalStateException error = assertThrows(IllegalStateException.class, () -> window.get(0));
+		assertTrue(error.getMessage().contains("no longer exists"), error.getMessage());
+		window.close();
+	}
+}
@@ -0,0 +1,38 @@
+package com.se.quiz.quiz_management_system.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizSearchTests {
+
+	@Test
+	void shortTermsMatchNamePrefix() {
+		assertTrue(QuizService.matchesSearchTerm("Java Basics", "ja"));
+		assertTrue(QuizService.matchesSearchTerm("Java Basics", " JA "));
+		assertFalse(QuizService.matchesSearchTerm("Advanced Java", "ja"));
+	}
+
+	@Test
+	void longerTermsMatchAnywhereInName() {
+		assertTrue(QuizService.matchesSearchTerm("Advanced Java", "jav"));
+		assertTrue(QuizService.matchesSearchTerm("Advanced Java", "ANCED"));
+		assertFalse(QuizService.matchesSearchTerm("Advanced Java", "python"));
+	}
+
+	@Test
+	void blankTermMatchesEverything() {
+		assertTrue(QuizService.matchesSearchTerm("Any quiz", null));
+		assertTrue(QuizService.matchesSearchTerm("Any quiz", "   "));
+		assertFalse(QuizService.matchesSearchTerm(null, "quiz"));
+	}
+
+	@Test
+	void likeWildcardsAreEscaped() {
+		assertEquals("100!% sure", QuizService.escapeLikePattern("100% sure"));
+		assertEquals("a!_b!!c", QuizService.escapeLikePattern("a_b!c"));
+		assertEquals("plain", QuizService.escapeLikePattern("plain"));
+	}
+}
@@ -0,0 +1,98 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.model.RegradeReport;
+import com.se.quiz.quiz_management_system.model.ResponseMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegradeServiceTests {
+
+	private static final long[] QUESTION_IDS = {1, 2, 3};
+
+	// Corrected key: question 3 is now B (it was A when the attempts were graded)
+	private static final byte[] ANSWER_KEY = {0, 0, 1};
+
+	private static final int POINTS = QuizService.POINTS_PER_QUESTION;
+
+	private static ResponseMatrix matrix() {
+		ResponseMatrix matrix = new ResponseMatrix(QUESTION_IDS, ANSWER_KEY);
+		matrix.addAttempt(1, 11, 3 * POINTS, 3, false, "AAA", null); // loses question 3
+		matrix.addAttempt(2, 12, 2 * POINTS, 2, false, "AAB", null); // gains question 3
+		matrix.addAttempt(3, 13, 1 * POINTS, 1, false, "ABC", null); // unchanged
+		matrix.addAttempt(4, 14, 25, 2, true, "AAB", null);          // corrected by hand
+		matrix.addAttempt(5, 15, 2 * POINTS, -1, false, "ABB", null); // legacy row without a correct count
+		return matrix;
+	}
+
+	@Test
+	void listsOnlyResultsWhoseGradingChanges() {
+		RegradeService.Diff diff = RegradeService.diff(matrix());
+
+		assertEquals(2, diff.changes.size());
+		RegradeReport.ScoreChange lost = diff.changes.get(0);
+		assertEquals(1, lost.getResultId());
+		assertEquals(11, lost.getStudentId());
+		assertEquals(3 * POINTS, lost.getOldScore());
+		assertEquals(2 * POINTS, lost.getNewScore());
+		assertEquals(2, lost.getNewCorrect());
+
+		RegradeReport.ScoreChange gained = diff.changes.get(1);
+		assertEquals(2, gained.getResultId());
+		assertEquals(3 * POINTS, gained.getNewScore());
+	}
+
+	@Test
+	void handCorrectedScoresAreReportedSeparatelyAndNeverChanged() {
+		RegradeService.Diff diff = RegradeService.diff(matrix());
+
+		assertEquals(1, diff.overrides.size());
+		RegradeReport.ScoreChange override = diff.overrides.get(0);
+		assertEquals(4, override.getResultId());
+		assertEquals(25, override.getOldScore());
+		assertEquals(3 * POINTS, override.getNewScore());
+		for (RegradeReport.ScoreChange change : diff.changes) {
+			assertTrue(change.getResultId() != 4);
+		}
+	}
+
+	@Test
+	void correctCountMismatchAloneIsAChange() {
+		ResponseMatrix matrix = new ResponseMatrix(QUESTION_IDS, ANSWER_KEY);
+		matrix.addAttempt(1, 11, 2 * POINTS, 1, false, "AAB", null);
+
+		List<RegradeReport.ScoreChange> changes = RegradeService.diff(matrix).changes;
+
+		assertEquals(1, changes.size());
+		assertEquals(changes.get(0).getOldScore() + POINTS, changes.get(0).getNewScore());
+	}
+
+	@Test
+	void unpresentedQuestionsDoNotCount() {
+		ResponseMatrix matrix = new ResponseMatrix(QUESTION_IDS, ANSWER_KEY);
+		// Drawn attempt that only saw questions 1 and 3, both correct under the new key
+		matrix.addAttempt(1, 11, 2 * POINTS, 2, false, "AB", new int[] {0, 2});
+
+		assertTrue(RegradeService.diff(matrix).changes.isEmpty());
+	}
+
+	@Test
+	void sameChangesComparesTheWrittenScores() {
+		List<RegradeReport.ScoreChange> preview = RegradeService.diff(matrix()).changes;
+		assertTrue(RegradeService.sameChanges(preview, RegradeService.diff(matrix()).changes));
+
+		// Result 2 was rescored after the preview
+		ResponseMatrix changed = new ResponseMatrix(QUESTION_IDS, ANSWER_KEY);
+		changed.addAttempt(1, 11, 3 * POINTS, 3, false, "AAA", null);
+		changed.addAttempt(2, 12, 3 * POINTS, 3, false, "AAB", null);
+		assertFalse(RegradeService.sameChanges(preview, RegradeService.diff(changed).changes));
+
+		List<RegradeReport.ScoreChange> fewer = new ArrayList<>(preview.subList(0, 1));
+		assertFalse(RegradeService.sameChanges(preview, fewer));
+	}
+}
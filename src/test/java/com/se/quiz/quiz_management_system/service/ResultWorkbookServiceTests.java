@@ -0,0 +1,118 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.entity.QuizStats;
+import com.se.quiz.quiz_management_system.model.KllSketch;
+import com.se.quiz.quiz_management_system.repository.ResultExportRepository;
+import com.se.quiz.quiz_management_system.repository.ResultExportRepository.ResultRow;
+import com.se.quiz.quiz_management_system.repository.ResultExportRepository.ResultRowHandler;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResultWorkbookServiceTests {
+
+	private static ResultRow result(String username, int score, Integer seconds) {
+		ResultRow row = mock(ResultRow.class);
+		when(row.getUsername()).thenReturn(username);
+		when(row.getFullName()).thenReturn(username.toUpperCase());
+		when(row.getScore()).thenReturn(score);
+		when(row.getTotalPoints()).thenReturn(10);
+		when(row.getCompletionTimeSeconds()).thenReturn(seconds);
+		when(row.getSubmittedAt()).thenReturn(LocalDateTime.of(2024, 5, 1, 9, 30));
+		return row;
+	}
+
+	private XSSFWorkbook exportSample() throws IOException {
+		// Rows arrive in leaderboard order from the repository
+		ResultRow[] rows = { result("ann", 9, 60), result("ben", 9, 75), result("cid", 4, null) };
+		ResultExportRepository repository = mock(ResultExportRepository.class);
+		doAnswer(invocation -> {
+			ResultRowHandler handler = invocation.getArgument(1);
+			for (ResultRow row : rows) {
+				handler.handle(row);
+			}
+			return null;
+		}).when(repository).forEachResultOfQuiz(eq(7L), any());
+
+		QuizStats stats = new QuizStats(7L);
+		KllSketch scores = new KllSketch();
+		KllSketch times = new KllSketch();
+		for (ResultRow row : rows) {
+			stats.add(row.getScore(), row.getTotalPoints());
+			scores.update(row.getScore());
+			if (row.getCompletionTimeSeconds() != null) {
+				times.update(row.getCompletionTimeSeconds());
+			}
+		}
+		QuizStatsService statsService = mock(QuizStatsService.class);
+		when(statsService.getStats(7L)).thenReturn(stats);
+		when(statsService.getScoreSketch(7L)).thenReturn(scores);
+		when(statsService.getCompletionTimeSketch(7L)).thenReturn(times);
+
+		ResultWorkbookService service = new ResultWorkbookService();
+		ReflectionTestUtils.setField(service, "resultExportRepository", repository);
+		ReflectionTestUtils.setField(service, "quizStatsService", statsService);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(3, service.exportQuizWorkbook(7L, "Loops: Part 1", out));
+		return new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+	}
+
+	@Test
+	void writesRankedResultsSheet() throws IOException {
+		try (XSSFWorkbook workbook = exportSample()) {
+			Sheet results = workbook.getSheetAt(0);
+			assertEquals("Loops  Part 1", results.getSheetName());
+
+			Row header = results.getRow(0);
+			assertEquals("Rank", header.getCell(0).getStringCellValue());
+			assertEquals("Username", header.getCell(1).getStringCellValue());
+			assertEquals("Submitted At", header.getCell(9).getStringCellValue());
+
+			assertEquals(3, results.getLastRowNum());
+			String[] usernames = { "ann", "ben", "cid" };
+			for (int i = 0; i < usernames.length; i++) {
+				Row row = results.getRow(i + 1);
+				assertEquals(i + 1, row.getCell(0).getNumericCellValue(), 1e-9);
+				assertEquals(usernames[i], row.getCell(1).getStringCellValue());
+			}
+			assertEquals(0.9, results.getRow(1).getCell(5).getNumericCellValue(), 1e-9);
+			assertEquals(null, results.getRow(3).getCell(8));
+		}
+	}
+
+	@Test
+	void writesStatisticsSheet() throws IOException {
+		try (XSSFWorkbook workbook = exportSample()) {
+			Sheet statistics = workbook.getSheet("Statistics");
+
+			assertEquals("Results", statistics.getRow(1).getCell(0).getStringCellValue());
+			assertEquals(3, statistics.getRow(1).getCell(1).getNumericCellValue(), 1e-9);
+			assertEquals("Average Score", statistics.getRow(2).getCell(0).getStringCellValue());
+			assertEquals(22.0 / 3, statistics.getRow(2).getCell(1).getNumericCellValue(), 1e-9);
+			assertEquals("Highest Score", statistics.getRow(5).getCell(0).getStringCellValue());
+			assertEquals(9, statistics.getRow(5).getCell(1).getNumericCellValue(), 1e-9);
+
+			// Histogram: two results at 90-100%, one at 40-49%
+			int last = statistics.getLastRowNum();
+			assertEquals("90-100%", statistics.getRow(last).getCell(0).getStringCellValue());
+			assertEquals(2, statistics.getRow(last).getCell(1).getNumericCellValue(), 1e-9);
+			assertEquals("40-49%", statistics.getRow(last - 5).getCell(0).getStringCellValue());
+			assertEquals(1, statistics.getRow(last - 5).getCell(1).getNumericCellValue(), 1e-9);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.se.quiz.quiz_management_system.service;
+
+import com.se.quiz.quiz_management_system.entity.StudentProgress;
+import com.se.quiz.quiz_management_system.entity.StudentQuizResult;
+import com.se.quiz.quiz_management_system.model.KllSketch;
+import com.se.quiz.quiz_management_system.repository.StudentProgressRepository;
+import com.se.quiz.quiz_management_system.repository.StudentQuizResultRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentProgressServiceTests {
+
+	private static final long STUDENT = 5L;
+
+	private final List<StudentQuizResult> submissions = List.of(
+		result(1L, 6, 10, 1), result(2L, 18, 20, 2), result(1L, 3, 10, 3), result(3L, 7, 7, 4));
+
+	private static StudentQuizResult result(Long quizId, int score, int totalPoints, int day) {
+		StudentQuizResult result = new StudentQuizResult(STUDENT, quizId, score, totalPoints);
+		result.setSubmittedAt(LocalDateTime.of(2024, 3, day, 9, 0));
+		return result;
+	}
+
+	private static Object[] entry(StudentQuizResult result) {
+		return new Object[] { result.getQuizId(), result.getScore(), result.getTotalPoints(), result.getSubmittedAt() };
+	}
+
+	// Service over mocks: the history query returns the results submitted so far
+	private static StudentProgressService service(StudentProgress row, List<Object[]> history) {
+		StudentProgressRepository progressRepository = mock(StudentProgressRepository.class);
+		when(progressRepository.insertIfAbsent(STUDENT)).thenReturn(1, 0);
+		when(progressRepository.findForUpdate(STUDENT)).thenReturn(Optional.of(row));
+		when(progressRepository.findById(STUDENT)).thenReturn(Optional.of(row));
+
+		StudentQuizResultRepository resultRepository = mock(StudentQuizResultRepository.class);
+		when(resultRepository.findProgressEntriesByStudentId(STUDENT)).thenAnswer(invocation -> new ArrayList<>(history));
+
+		// Class of each quiz: scores 0..9 once each, so rank(score) = (score + 1) / 10
+		KllSketch classScores = new KllSketch();
+		for (int score = 0; score < 10; score++) {
+			classScores.update(score);
+		}
+		QuizStatsService quizStatsService = mock(QuizStatsService.class);
+		when(quizStatsService.getScoreSketches(any())).thenReturn(Map.of(1L, classScores, 2L, classScores, 3L, classScores));
+
+		StudentProgressService service = new StudentProgressService();
+		ReflectionTestUtils.setField(service, "progressRepository", progressRepository);
+		ReflectionTestUtils.setField(service, "resultRepository", resultRepository);
+		ReflectionTestUtils.setField(service, "quizStatsService", quizStatsService);
+		return service;
+	}
+
+	@Test
+	void rebuildMatchesIncrementalUpdates() {
+		List<Object[]> history = new ArrayList<>();
+		StudentProgress incremental = new StudentProgress(STUDENT);
+		StudentProgressService incrementalService = service(incremental, history);
+		for (StudentQuizResult submission : submissions) {
+			history.add(entry(submission));
+			incrementalService.recordAdded(submission);
+		}
+
+		StudentProgress rebuilt = new StudentProgress(STUDENT);
+		service(rebuilt, history).rebuild(STUDENT);
+
+		assertEquals(rebuilt.getResultCount(), incremental.getResultCount());
+		assertEquals(rebuilt.getPercentSum(), incremental.getPercentSum(), 1e-9);
+		assertEquals(rebuilt.getIndexedPercentSum(), incremental.getIndexedPercentSum(), 1e-9);
+		assertEquals(rebuilt.getRollingPercent(), incremental.getRollingPercent(), 1e-9);
+		assertEquals(rebuilt.getTrendSlope(), incremental.getTrendSlope(), 1e-9);
+		assertEquals(rebuilt.getBestPercent(), incremental.getBestPercent(), 1e-9);
+		assertEquals(rebuilt.getWorstPercent(), incremental.getWorstPercent(), 1e-9);
+		assertEquals(rebuilt.getLastSubmittedAt(), incremental.getLastSubmittedAt());
+	}
+
+	@Test
+	void classPercentileIsComputedOnReadFromCurrentSketches() {
+		StudentProgress row = new StudentProgress(STUDENT);
+		StudentProgressService service = service(row, new ArrayList<>());
+
+		StudentProgress progress = service.getProgress(STUDENT, submissions);
+
+		// Scores 6, 18, 3, 7 against 0..9: ranks 70%, 100%, 40%, 80%
+		assertEquals(72.5, progress.getAveragePercentile(), 1e-9);
+	}
+
+	@Test
+	void readingAnExistingRowDoesNotQueryTheHistory() {
+		StudentProgressService service = service(new StudentProgress(STUDENT), new ArrayList<>());
+		StudentQuizResultRepository resultRepository =
+			(StudentQuizResultRepository) ReflectionTestUtils.getField(service, "resultRepository");
+
+		service.getProgress(STUDENT, submissions);
+
+		verify(resultRepository, never()).findProgressEntriesByStudentId(STUDENT);
+	}
+}
@@ -0,0 +1,49 @@
+package com.se.quiz.quiz_management_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionIdCodecTests {
+
+	@Test
+	void increasingIdsRoundTrip() {
+		long[] ids = {3, 4, 9, 27, 28, 1000, 1001, 5_000_000};
+		assertArrayEquals(ids, QuestionIdCodec.decode(QuestionIdCodec.encode(ids)));
+	}
+
+	@Test
+	void negativeDeltasRoundTrip() {
+		// Shuffled order produces negative deltas (zigzag encoded)
+		long[] ids = {900, 12, 450, 13, 1, 899, 0, Long.MAX_VALUE, 7};
+		assertArrayEquals(ids, QuestionIdCodec.decode(QuestionIdCodec.encode(ids)));
+	}
+
+	@Test
+	void emptyAndNullDecodeToEmpty() {
+		assertArrayEquals(new long[0], QuestionIdCodec.decode(QuestionIdCodec.encode(new long[0])));
+		assertEquals(0, QuestionIdCodec.decode(null).length);
+		assertEquals(0, QuestionIdCodec.decode(new byte[0]).length);
+	}
+
+	@Test
+	void closeIdsEncodeCompactly() {
+		long[] ids = new long[50];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = 10_000 + i * 7;
+		}
+		assertTrue(QuestionIdCodec.encode(ids).length < 60);
+	}
+
+	@Test
+	void truncatedDataIsRejected() {
+		byte[] encoded = QuestionIdCodec.encode(new long[] {100_000, 200_000, 300_000});
+		byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+		assertThrows(IllegalArgumentException.class, () -> QuestionIdCodec.decode(truncated));
+	}
+}